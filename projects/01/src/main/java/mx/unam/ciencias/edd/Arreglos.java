@@ -0,0 +1,821 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Clase para ordenar y buscar arreglos genéricos.
+ */
+public class Arreglos {
+
+    /* Constructor privado para evitar instanciación. */
+    private Arreglos() {}
+
+    /**
+     * Aplica QuickSort utilizando índices y un método auxiliar partition
+     * que regresa el punto de partición escogido.
+     * @param A el arreglo a ordenar.
+     * @param p el índice izquierdo.
+     * @param r el índice derecho.
+     * @param comp el comparador para ordenar el arreglo
+     */
+    private static <T> void quickSort(T[] A, int p, int r, Comparator<T> comp) {
+        if (p < r) {
+            int q = qsPartition(A, p, r, comp);
+            quickSort(A, p, q - 1, comp);
+            quickSort(A, q + 1, r, comp);
+        }
+    }
+
+    /**
+     * Escoge el último elemento del arreglo como pivote y aplica los
+     * procedimientos de partición de Quick Sort.
+     * @param A el arreglo a ordenar.
+     * @param p el índice izqiuerdo.
+     * @param r el índice derecho.
+     * @param comp el comparador.
+     * @return la posición del punto de partición.
+     */
+    private static <T> int qsPartition(T[] A, int p, int r, Comparator<T> comp) {
+        T pivot = A[p];
+        int i = r + 1;
+        for (int j = r; j > p; j--)
+            if (comp.compare(A[j], pivot) >= 0) {
+                i -= 1;
+                swapElements(A, i, j);
+            }
+        swapElements(A, i - 1, p);
+        return i - 1;
+    }
+
+    /**
+     * Ordena el arreglo recibido usando QickSort.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     */
+    public static <T> void quickSort(T[] arreglo, Comparator<T> comparador) {
+        quickSort(arreglo, 0, arreglo.length - 1, comparador);
+    }
+
+    /**
+     * Ordena el arreglo recibido usando QickSort.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     */
+    public static <T extends Comparable<T>> void quickSort(T[] arreglo) {
+        quickSort(arreglo, (a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Ordena el arreglo recibido usando SelectionSort.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordernar el arreglo.
+     */
+    public static <T> void selectionSort(T[] arreglo, Comparator<T> comparador) {
+        for (int i = 0; i < arreglo.length; i++) {
+            int min = i;
+            for (int j = i + 1; j < arreglo.length; j++) {
+                if (comparador.compare(arreglo[j], arreglo[min]) < 0) {
+                    min = j;
+                }
+            }
+            swapElements(arreglo, i, min);
+        }
+    }
+
+    /**
+     * Ordena el arreglo recibido usando SelectionSort.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     */
+    public static <T extends Comparable<T>> void selectionSort(T[] arreglo) {
+        selectionSort(arreglo, (a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * <p>Ordena el arreglo recibido usando <em>TimSort</em>, un ordenamiento
+     * adaptativo y estable.</p>
+     *
+     * <p>El algoritmo recorre el arreglo buscando corridas naturales, que son
+     * tramos ya ordenados; las corridas estrictamente descendientes se
+     * voltean, y las muy cortas se extienden con inserción binaria. Las
+     * corridas se mezclan en una pila que mantiene sus longitudes
+     * balanceadas; cuando una corrida gana muchas comparaciones seguidas, la
+     * mezcla <em>galopa</em>: busca con saltos exponenciales y búsqueda
+     * binaria cuántos elementos puede copiar de golpe.</p>
+     *
+     * <p>En el peor caso toma tiempo <em>O</em>(<em>n</em> log <em>n</em>) y
+     * memoria extra <em>O</em>(<em>n</em>/2); en un arreglo ya ordenado, o
+     * ordenado al revés, toma tiempo <em>O</em>(<em>n</em>) y no usa memoria
+     * extra.</p>
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     * @throws IllegalArgumentException si el arreglo o el comparador son
+     *         <code>null</code>, o si el comparador no es consistente.
+     */
+    public static <T> void timSort(T[] arreglo, Comparator<T> comparador) {
+        if (arreglo == null || comparador == null)
+            throw new IllegalArgumentException();
+        timSort(arreglo, 0, arreglo.length, comparador);
+    }
+
+    /* Ordena el tramo [ini, fin) del arreglo con TimSort. */
+    private static <T> void timSort(T[] arreglo, int ini, int fin,
+                                    Comparator<T> comparador) {
+        int n = fin - ini;
+        if (n < 2)
+            return;
+        if (n < MEZCLA_MINIMA) {
+            int corrida = corrida(arreglo, ini, fin, comparador);
+            insercionBinaria(arreglo, ini, fin, ini + corrida, comparador);
+            return;
+        }
+        Mezclador<T> mezclador = new Mezclador<T>(arreglo, comparador);
+        int minima = corridaMinima(n);
+        int i = ini;
+        while (i < fin) {
+            int corrida = corrida(arreglo, i, fin, comparador);
+            if (corrida < minima) {
+                int forzada = Math.min(minima, fin - i);
+                insercionBinaria(arreglo, i, i + forzada, i + corrida,
+                                 comparador);
+                corrida = forzada;
+            }
+            mezclador.empuja(i, corrida);
+            mezclador.colapsa();
+            i += corrida;
+        }
+        mezclador.colapsaTodas();
+    }
+
+    /**
+     * Ordena el arreglo recibido usando <em>TimSort</em>.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     * @throws IllegalArgumentException si el arreglo es <code>null</code>.
+     * @see #timSort(Object[], Comparator)
+     */
+    public static <T extends Comparable<T>> void timSort(T[] arreglo) {
+        timSort(arreglo, (a, b) -> a.compareTo(b));
+    }
+
+    /* Los arreglos más cortos se ordenan nada más con inserción binaria. */
+    private static final int MEZCLA_MINIMA = 32;
+    /* Victorias seguidas de una corrida para empezar a galopar. */
+    private static final int GALOPE_MINIMO = 7;
+
+    /* Regresa la longitud mínima de las corridas para un arreglo de n
+     * elementos: un número entre 16 y 32 tal que n entre él es una potencia de
+     * dos, o un poco menos, para que las mezclas queden balanceadas. */
+    private static int corridaMinima(int n) {
+        int r = 0;
+        while (n >= MEZCLA_MINIMA) {
+            r |= n & 1;
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    /* Regresa la longitud de la corrida que empieza en ini, sin pasar de
+     * fin. Si la corrida es estrictamente descendiente la voltea; sólo las
+     * estrictas, para no desordenar elementos iguales. */
+    private static <T> int corrida(T[] a, int ini, int fin,
+                                   Comparator<T> comparador) {
+        int i = ini + 1;
+        if (i == fin)
+            return 1;
+        if (comparador.compare(a[i++], a[ini]) < 0) {
+            while (i < fin && comparador.compare(a[i], a[i-1]) < 0)
+                i++;
+            for (int j = ini, k = i - 1; j < k; j++, k--)
+                swapElements(a, j, k);
+        } else {
+            while (i < fin && comparador.compare(a[i], a[i-1]) >= 0)
+                i++;
+        }
+        return i - ini;
+    }
+
+    /* Ordena el tramo [ini, fin) con inserción binaria, sabiendo que el tramo
+     * [ini, ordenado) ya está ordenado. Cada elemento se inserta después de
+     * sus iguales, así que es estable. */
+    private static <T> void insercionBinaria(T[] a, int ini, int fin,
+                                             int ordenado,
+                                             Comparator<T> comparador) {
+        if (ordenado == ini)
+            ordenado++;
+        for (; ordenado < fin; ordenado++) {
+            T pivote = a[ordenado];
+            int izq = ini, der = ordenado;
+            while (izq < der) {
+                int m = (izq + der) >>> 1;
+                if (comparador.compare(pivote, a[m]) < 0)
+                    der = m;
+                else
+                    izq = m + 1;
+            }
+            System.arraycopy(a, izq, a, izq + 1, ordenado - izq);
+            a[izq] = pivote;
+        }
+    }
+
+    /* Regresa la posición k en [0, n) del tramo de a que empieza en base
+     * donde se insertaría llave antes de sus iguales: a[base+k-1] < llave <=
+     * a[base+k]. Galopa desde la posición pista. */
+    private static <T> int galopaIzquierda(T llave, T[] a, int base, int n,
+                                           int pista,
+                                           Comparator<T> comparador) {
+        int ultimo = 0, salto = 1;
+        if (comparador.compare(llave, a[base + pista]) > 0) {
+            /* Galopa a la derecha hasta a[base+pista+ultimo] < llave <=
+             * a[base+pista+salto]. */
+            int maximo = n - pista;
+            while (salto < maximo &&
+                   comparador.compare(llave, a[base + pista + salto]) > 0) {
+                ultimo = salto;
+                salto = (salto << 1) + 1;
+                if (salto <= 0)
+                    salto = maximo;
+            }
+            if (salto > maximo)
+                salto = maximo;
+            ultimo += pista;
+            salto += pista;
+        } else {
+            /* Galopa a la izquierda hasta a[base+pista-salto] < llave <=
+             * a[base+pista-ultimo]. */
+            int maximo = pista + 1;
+            while (salto < maximo &&
+                   comparador.compare(llave, a[base + pista - salto]) <= 0) {
+                ultimo = salto;
+                salto = (salto << 1) + 1;
+                if (salto <= 0)
+                    salto = maximo;
+            }
+            if (salto > maximo)
+                salto = maximo;
+            int t = ultimo;
+            ultimo = pista - salto;
+            salto = pista - t;
+        }
+        /* a[base+ultimo] < llave <= a[base+salto]; busca en medio. */
+        ultimo++;
+        while (ultimo < salto) {
+            int m = ultimo + ((salto - ultimo) >>> 1);
+            if (comparador.compare(llave, a[base + m]) > 0)
+                ultimo = m + 1;
+            else
+                salto = m;
+        }
+        return salto;
+    }
+
+    /* Como galopaIzquierda, pero regresa la posición después de los iguales
+     * de llave: a[base+k-1] <= llave < a[base+k]. */
+    private static <T> int galopaDerecha(T llave, T[] a, int base, int n,
+                                         int pista,
+                                         Comparator<T> comparador) {
+        int ultimo = 0, salto = 1;
+        if (comparador.compare(llave, a[base + pista]) < 0) {
+            int maximo = pista + 1;
+            while (salto < maximo &&
+                   comparador.compare(llave, a[base + pista - salto]) < 0) {
+                ultimo = salto;
+                salto = (salto << 1) + 1;
+                if (salto <= 0)
+                    salto = maximo;
+            }
+            if (salto > maximo)
+                salto = maximo;
+            int t = ultimo;
+            ultimo = pista - salto;
+            salto = pista - t;
+        } else {
+            int maximo = n - pista;
+            while (salto < maximo &&
+                   comparador.compare(llave, a[base + pista + salto]) >= 0) {
+                ultimo = salto;
+                salto = (salto << 1) + 1;
+                if (salto <= 0)
+                    salto = maximo;
+            }
+            if (salto > maximo)
+                salto = maximo;
+            ultimo += pista;
+            salto += pista;
+        }
+        ultimo++;
+        while (ultimo < salto) {
+            int m = ultimo + ((salto - ultimo) >>> 1);
+            if (comparador.compare(llave, a[base + m]) < 0)
+                salto = m;
+            else
+                ultimo = m + 1;
+        }
+        return salto;
+    }
+
+    /* Clase interna privada para la pila de corridas de TimSort y sus
+     * mezclas. */
+    private static class Mezclador<T> {
+
+        /* El arreglo. */
+        private T[] a;
+        /* El comparador. */
+        private Comparator<T> comparador;
+        /* Arreglo temporal para la corrida más corta de cada mezcla. */
+        private T[] temporal;
+        /* Victorias seguidas para galopar; se adapta a los datos. */
+        private int galope;
+        /* Inicio y longitud de las corridas en la pila. */
+        private int[] inicios, longitudes;
+        /* Número de corridas en la pila. */
+        private int corridas;
+
+        /* Construye un mezclador para el arreglo y el comparador. Con las
+         * invariantes de la pila y corridas de al menos 16 elementos, 49
+         * corridas alcanzan para cualquier arreglo. */
+        public Mezclador(T[] a, Comparator<T> comparador) {
+            this.a = a;
+            this.comparador = comparador;
+            this.galope = GALOPE_MINIMO;
+            this.inicios = new int[49];
+            this.longitudes = new int[49];
+        }
+
+        /* Empuja una corrida a la pila. */
+        public void empuja(int inicio, int longitud) {
+            this.inicios[this.corridas] = inicio;
+            this.longitudes[this.corridas] = longitud;
+            this.corridas++;
+        }
+
+        /* Mezcla corridas hasta que, de abajo hacia arriba, cada longitud sea
+         * mayor que la suma de las dos siguientes, y cada una mayor que la
+         * siguiente. Así las longitudes crecen al menos como los números de
+         * Fibonacci y las mezclas quedan balanceadas. */
+        public void colapsa() {
+            int[] l = this.longitudes;
+            while (this.corridas > 1) {
+                int k = this.corridas - 2;
+                if ((k > 0 && l[k-1] <= l[k] + l[k+1]) ||
+                    (k > 1 && l[k-2] <= l[k-1] + l[k])) {
+                    if (l[k-1] < l[k+1])
+                        k--;
+                } else if (l[k] > l[k+1]) {
+                    break;
+                }
+                this.mezcla(k);
+            }
+        }
+
+        /* Mezcla todas las corridas de la pila. */
+        public void colapsaTodas() {
+            int[] l = this.longitudes;
+            while (this.corridas > 1) {
+                int k = this.corridas - 2;
+                if (k > 0 && l[k-1] < l[k+1])
+                    k--;
+                this.mezcla(k);
+            }
+        }
+
+        /* Regresa un arreglo temporal de al menos n elementos. */
+        @SuppressWarnings("unchecked") private T[] temporal(int n) {
+            if (this.temporal == null || this.temporal.length < n) {
+                int m = Math.max(n, Math.min(this.a.length >>> 1,
+                                             this.temporal == null ? 256 :
+                                             2 * this.temporal.length));
+                this.temporal = (T[])new Object[m];
+            }
+            return this.temporal;
+        }
+
+        /* Mezcla las corridas k y k+1 de la pila. */
+        private void mezcla(int k) {
+            int i1 = this.inicios[k], n1 = this.longitudes[k];
+            int i2 = this.inicios[k+1], n2 = this.longitudes[k+1];
+            this.longitudes[k] = n1 + n2;
+            if (k == this.corridas - 3) {
+                this.inicios[k+1] = this.inicios[k+2];
+                this.longitudes[k+1] = this.longitudes[k+2];
+            }
+            this.corridas--;
+            /* Los elementos de la primera corrida menores o iguales al primero
+             * de la segunda ya están en su lugar. */
+            int s = galopaDerecha(this.a[i2], this.a, i1, n1, 0,
+                                  this.comparador);
+            i1 += s;
+            n1 -= s;
+            if (n1 == 0)
+                return;
+            /* Y los de la segunda mayores que el último de la primera. */
+            n2 = galopaIzquierda(this.a[i1 + n1 - 1], this.a, i2, n2, n2 - 1,
+                                 this.comparador);
+            if (n2 == 0)
+                return;
+            if (n1 <= n2)
+                this.mezclaBaja(i1, n1, i2, n2);
+            else
+                this.mezclaAlta(i1, n1, i2, n2);
+        }
+
+        /* Mezcla de izquierda a derecha, copiando al temporal la primera
+         * corrida, que es la más corta. Se sabe que el primer elemento de la
+         * segunda va primero, y que el último de la primera va al final. */
+        private void mezclaBaja(int i1, int n1, int i2, int n2) {
+            T[] a = this.a;
+            T[] t = this.temporal(n1);
+            Comparator<T> c = this.comparador;
+            System.arraycopy(a, i1, t, 0, n1);
+            int p1 = 0, p2 = i2, d = i1;
+            a[d++] = a[p2++];
+            if (--n2 == 0) {
+                System.arraycopy(t, p1, a, d, n1);
+                return;
+            }
+            if (n1 == 1) {
+                System.arraycopy(a, p2, a, d, n2);
+                a[d + n2] = t[p1];
+                return;
+            }
+            int galope = this.galope;
+            mezcla:
+            while (true) {
+                int g1 = 0, g2 = 0;
+                /* Uno por uno, hasta que una corrida gane seguido. */
+                do {
+                    if (c.compare(a[p2], t[p1]) < 0) {
+                        a[d++] = a[p2++];
+                        g2++;
+                        g1 = 0;
+                        if (--n2 == 0)
+                            break mezcla;
+                    } else {
+                        a[d++] = t[p1++];
+                        g1++;
+                        g2 = 0;
+                        if (--n1 == 1)
+                            break mezcla;
+                    }
+                } while ((g1 | g2) < galope);
+                /* Galopando, mientras convenga. */
+                do {
+                    g1 = galopaDerecha(a[p2], t, p1, n1, 0, c);
+                    if (g1 != 0) {
+                        System.arraycopy(t, p1, a, d, g1);
+                        d += g1;
+                        p1 += g1;
+                        n1 -= g1;
+                        if (n1 <= 1)
+                            break mezcla;
+                    }
+                    a[d++] = a[p2++];
+                    if (--n2 == 0)
+                        break mezcla;
+                    g2 = galopaIzquierda(t[p1], a, p2, n2, 0, c);
+                    if (g2 != 0) {
+                        System.arraycopy(a, p2, a, d, g2);
+                        d += g2;
+                        p2 += g2;
+                        n2 -= g2;
+                        if (n2 == 0)
+                            break mezcla;
+                    }
+                    a[d++] = t[p1++];
+                    if (--n1 == 1)
+                        break mezcla;
+                    galope--;
+                } while (g1 >= GALOPE_MINIMO || g2 >= GALOPE_MINIMO);
+                if (galope < 0)
+                    galope = 0;
+                galope += 2;
+            }
+            this.galope = galope < 1 ? 1 : galope;
+            if (n1 == 1) {
+                System.arraycopy(a, p2, a, d, n2);
+                a[d + n2] = t[p1];
+            } else if (n1 == 0) {
+                throw new IllegalArgumentException();
+            } else {
+                System.arraycopy(t, p1, a, d, n1);
+            }
+        }
+
+        /* Mezcla de derecha a izquierda, copiando al temporal la segunda
+         * corrida, que es la más corta. */
+        private void mezclaAlta(int i1, int n1, int i2, int n2) {
+            T[] a = this.a;
+            T[] t = this.temporal(n2);
+            Comparator<T> c = this.comparador;
+            System.arraycopy(a, i2, t, 0, n2);
+            int p1 = i1 + n1 - 1, p2 = n2 - 1, d = i2 + n2 - 1;
+            a[d--] = a[p1--];
+            if (--n1 == 0) {
+                System.arraycopy(t, 0, a, d - (n2 - 1), n2);
+                return;
+            }
+            if (n2 == 1) {
+                d -= n1;
+                p1 -= n1;
+                System.arraycopy(a, p1 + 1, a, d + 1, n1);
+                a[d] = t[p2];
+                return;
+            }
+            int galope = this.galope;
+            mezcla:
+            while (true) {
+                int g1 = 0, g2 = 0;
+                do {
+                    if (c.compare(t[p2], a[p1]) < 0) {
+                        a[d--] = a[p1--];
+                        g1++;
+                        g2 = 0;
+                        if (--n1 == 0)
+                            break mezcla;
+                    } else {
+                        a[d--] = t[p2--];
+                        g2++;
+                        g1 = 0;
+                        if (--n2 == 1)
+                            break mezcla;
+                    }
+                } while ((g1 | g2) < galope);
+                do {
+                    g1 = n1 - galopaDerecha(t[p2], a, i1, n1, n1 - 1, c);
+                    if (g1 != 0) {
+                        d -= g1;
+                        p1 -= g1;
+                        n1 -= g1;
+                        System.arraycopy(a, p1 + 1, a, d + 1, g1);
+                        if (n1 == 0)
+                            break mezcla;
+                    }
+                    a[d--] = t[p2--];
+                    if (--n2 == 1)
+                        break mezcla;
+                    g2 = n2 - galopaIzquierda(a[p1], t, 0, n2, n2 - 1, c);
+                    if (g2 != 0) {
+                        d -= g2;
+                        p2 -= g2;
+                        n2 -= g2;
+                        System.arraycopy(t, p2 + 1, a, d + 1, g2);
+                        if (n2 <= 1)
+                            break mezcla;
+                    }
+                    a[d--] = a[p1--];
+                    if (--n1 == 0)
+                        break mezcla;
+                    galope--;
+                } while (g1 >= GALOPE_MINIMO || g2 >= GALOPE_MINIMO);
+                if (galope < 0)
+                    galope = 0;
+                galope += 2;
+            }
+            this.galope = galope < 1 ? 1 : galope;
+            if (n2 == 1) {
+                d -= n1;
+                p1 -= n1;
+                System.arraycopy(a, p1 + 1, a, d + 1, n1);
+                a[d] = t[p2];
+            } else if (n2 == 0) {
+                throw new IllegalArgumentException();
+            } else {
+                System.arraycopy(t, 0, a, d - (n2 - 1), n2);
+            }
+        }
+    }
+
+    /**
+     * <p>Ordena el arreglo recibido usando <em>MergeSort</em> en paralelo,
+     * con un {@link ForkJoinPool}. El ordenamiento es estable.</p>
+     *
+     * <p>El arreglo se parte a la mitad recursivamente, y cada mitad se
+     * ordena en su propia tarea; los tramos de a lo más 8192 elementos se
+     * ordenan secuencialmente con {@link #timSort(Object[],Comparator)}. Las mezclas también son paralelas: la
+     * corrida más larga se parte en su elemento de en medio, se busca con
+     * búsqueda binaria dónde partir la otra, y las dos mitades se mezclan en
+     * tareas distintas. Las mezclas alternan entre el arreglo y un arreglo
+     * auxiliar del mismo tamaño, así que no hay copias de regreso.</p>
+     *
+     * <p>El trabajo total es <em>O</em>(<em>n</em> log <em>n</em>), y la
+     * ruta crítica es <em>O</em>(log<sup>3</sup> <em>n</em>), así que con
+     * <em>p</em> núcleos el tiempo es <em>O</em>((<em>n</em> log
+     * <em>n</em>)/<em>p</em> + log<sup>3</sup> <em>n</em>): la aceleración
+     * es casi lineal en <em>p</em> hasta que la memoria se satura, que en
+     * arreglos de referencias suele pasar entre 8 y 16 núcleos.</p>
+     *
+     * <p>Si se llama desde una tarea de un {@link ForkJoinPool}, las tareas
+     * se ejecutan en ese mismo; si no, en el {@link
+     * ForkJoinPool#commonPool}.</p>
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo; tiene que
+     *                   poder usarse desde varios hilos a la vez.
+     * @throws IllegalArgumentException si el arreglo o el comparador son
+     *         <code>null</code>.
+     */
+    public static <T> void ordenaParalelo(T[] arreglo,
+                                          Comparator<T> comparador) {
+        if (arreglo == null || comparador == null)
+            throw new IllegalArgumentException();
+        int n = arreglo.length;
+        if (n <= CORTE_PARALELO) {
+            timSort(arreglo, 0, n, comparador);
+            return;
+        }
+        @SuppressWarnings("unchecked") T[] auxiliar = (T[])new Object[n];
+        new OrdenaParalelo<T>(arreglo, auxiliar, 0, n, false,
+                              comparador).invoke();
+    }
+
+    /**
+     * Ordena el arreglo recibido usando <em>MergeSort</em> en paralelo.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     * @throws IllegalArgumentException si el arreglo es <code>null</code>.
+     * @see #ordenaParalelo(Object[], Comparator)
+     */
+    public static <T extends Comparable<T>> void ordenaParalelo(T[] arreglo) {
+        ordenaParalelo(arreglo, (a, b) -> a.compareTo(b));
+    }
+
+    /* Los tramos de a lo más este tamaño se ordenan o mezclan en una sola
+     * tarea. */
+    private static final int CORTE_PARALELO = 1 << 13;
+
+    /* Clase interna privada para tareas que ordenan un tramo del arreglo. */
+    private static class OrdenaParalelo<T> extends RecursiveAction {
+
+        /* Para serialización. */
+        private static final long serialVersionUID = 1L;
+
+        /* El arreglo y el auxiliar. */
+        private T[] a, auxiliar;
+        /* El tramo [ini, fin). */
+        private int ini, fin;
+        /* Si el tramo ordenado tiene que terminar en el auxiliar. */
+        private boolean enAuxiliar;
+        /* El comparador. */
+        private Comparator<T> comparador;
+
+        /* Construye la tarea para ordenar el tramo [ini, fin), que está en
+         * el arreglo, dejándolo en el auxiliar o en el arreglo. */
+        public OrdenaParalelo(T[] a, T[] auxiliar, int ini, int fin,
+                              boolean enAuxiliar, Comparator<T> comparador) {
+            this.a = a;
+            this.auxiliar = auxiliar;
+            this.ini = ini;
+            this.fin = fin;
+            this.enAuxiliar = enAuxiliar;
+            this.comparador = comparador;
+        }
+
+        /* Ordena las dos mitades en el otro arreglo y las mezcla en el que
+         * toca. */
+        @Override protected void compute() {
+            if (this.fin - this.ini <= CORTE_PARALELO) {
+                timSort(this.a, this.ini, this.fin, this.comparador);
+                if (this.enAuxiliar)
+                    System.arraycopy(this.a, this.ini, this.auxiliar,
+                                     this.ini, this.fin - this.ini);
+                return;
+            }
+            int m = (this.ini + this.fin) >>> 1;
+            invokeAll(new OrdenaParalelo<T>(this.a, this.auxiliar, this.ini, m,
+                                            !this.enAuxiliar, this.comparador),
+                      new OrdenaParalelo<T>(this.a, this.auxiliar, m, this.fin,
+                                            !this.enAuxiliar, this.comparador));
+            T[] origen = this.enAuxiliar ? this.a : this.auxiliar;
+            T[] destino = this.enAuxiliar ? this.auxiliar : this.a;
+            new MezclaParalela<T>(origen, this.ini, m, m, this.fin, destino,
+                                  this.ini, this.comparador).invoke();
+        }
+    }
+
+    /* Clase interna privada para tareas que mezclan dos corridas de un
+     * arreglo en otro. */
+    private static class MezclaParalela<T> extends RecursiveAction {
+
+        /* Para serialización. */
+        private static final long serialVersionUID = 1L;
+
+        /* El arreglo de las corridas y el arreglo destino. */
+        private T[] origen, destino;
+        /* Las corridas [i1, f1) y [i2, f2). */
+        private int i1, f1, i2, f2;
+        /* Dónde empieza la mezcla en el destino. */
+        private int d;
+        /* El comparador. */
+        private Comparator<T> comparador;
+
+        /* Construye la tarea para mezclar las corridas. */
+        public MezclaParalela(T[] origen, int i1, int f1, int i2, int f2,
+                              T[] destino, int d, Comparator<T> comparador) {
+            this.origen = origen;
+            this.i1 = i1;
+            this.f1 = f1;
+            this.i2 = i2;
+            this.f2 = f2;
+            this.destino = destino;
+            this.d = d;
+            this.comparador = comparador;
+        }
+
+        /* Parte la corrida más larga en su elemento de en medio y la otra
+         * donde va ese elemento, y mezcla las mitades en paralelo. Los
+         * iguales de la primera corrida quedan antes que los de la segunda,
+         * así que la mezcla es estable. */
+        @Override protected void compute() {
+            T[] o = this.origen;
+            int n1 = this.f1 - this.i1, n2 = this.f2 - this.i2;
+            if (n1 + n2 <= CORTE_PARALELO) {
+                this.mezcla();
+                return;
+            }
+            int m1, m2;
+            if (n1 >= n2) {
+                m1 = (this.i1 + this.f1) >>> 1;
+                m2 = n2 == 0 ? this.i2 :
+                    this.i2 + galopaIzquierda(o[m1], o, this.i2, n2, n2 >>> 1,
+                                              this.comparador);
+            } else {
+                m2 = (this.i2 + this.f2) >>> 1;
+                m1 = n1 == 0 ? this.i1 :
+                    this.i1 + galopaDerecha(o[m2], o, this.i1, n1, n1 >>> 1,
+                                            this.comparador);
+            }
+            int dm = this.d + (m1 - this.i1) + (m2 - this.i2);
+            invokeAll(new MezclaParalela<T>(o, this.i1, m1, this.i2, m2,
+                                            this.destino, this.d,
+                                            this.comparador),
+                      new MezclaParalela<T>(o, m1, this.f1, m2, this.f2,
+                                            this.destino, dm,
+                                            this.comparador));
+        }
+
+        /* Mezcla las corridas secuencialmente. */
+        private void mezcla() {
+            T[] o = this.origen, s = this.destino;
+            int p = this.i1, q = this.i2, k = this.d;
+            while (p < this.f1 && q < this.f2)
+                s[k++] = this.comparador.compare(o[q], o[p]) < 0 ?
+                    o[q++] : o[p++];
+            System.arraycopy(o, p, s, k, this.f1 - p);
+            System.arraycopy(o, q, s, k + this.f1 - p, this.f2 - q);
+        }
+    }
+
+    /**
+     * Hace una búsqueda binaria del elemento en el arreglo. Regresa el índice
+     * del elemento en el arreglo, o -1 si no se encuentra.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo dónde buscar.
+     * @param elemento el elemento a buscar.
+     * @param comparador el comparador para hacer la búsqueda.
+     * @return el índice del elemento en el arreglo, o -1 si no se encuentra.
+     */
+    public static <T> int busquedaBinaria(T[] arreglo, T elemento, Comparator<T> comparador) {
+        int start = 0;
+        int end = arreglo.length - 1;
+        while (start <= end) {
+            int mid = (start + end) / 2;
+            if(comparador.compare(arreglo[mid], elemento) == 0) {
+                return mid;
+            } else if(comparador.compare(arreglo[mid], elemento) < 0) {
+                start = mid + 1;
+            } else {
+                end = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Hace una búsqueda binaria del elemento en el arreglo. Regresa el índice
+     * del elemento en el arreglo, o -1 si no se encuentra.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     * @param elemento el elemento a buscar.
+     * @return el índice del elemento en el arreglo, o -1 si no se encuentra.
+     */
+    public static <T extends Comparable<T>> int busquedaBinaria(T[] arreglo, T elemento) {
+        return busquedaBinaria(arreglo, elemento, (a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Dado un arreglo y dos índices, intercambia los valores.
+     * @param arreglo el arreglo donde los índices existen
+     * @param i el primer índice por ser intercambiado
+     * @param j el segundo índice por ser intercambiado
+     */
+    private static <T> void swapElements(T[] A, int i, int j) {
+        T tmp = A[i];
+        A[i] = A[j];
+        A[j] = tmp;
+    }
+}
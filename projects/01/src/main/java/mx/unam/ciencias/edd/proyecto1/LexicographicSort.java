@@ -60,7 +60,7 @@ public class LexicographicSort {
         this.content = this.buildRecords(this.rawContent);
 
         // Sort content
-        this.content = Lista.mergeSort(this.content);
+        this.content = Lista.mergeSortParalelo(this.content);
 
         // Ouput sorted content
         this.outputContent(this.content, options[2], options[1]);
@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
@@ -544,6 +546,98 @@ public class TestLista {
         } catch (ExcepcionIndiceInvalido eii) {}
     }
 
+    /**
+     * Prueba unitaria para {@link Lista#get} recorriendo una lista larga por
+     * índices, en ambas direcciones.
+     */
+    @Test public void testGetSecuencial() {
+        int n = 100000 + random.nextInt(100000);
+        for (int i = 0; i < n; i++)
+            lista.agrega(i);
+        /* Cada acceso camina desde el anterior, así que es lineal. */
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(lista.get(i) == i);
+        for (int i = n - 1; i >= 0; i--)
+            Assert.assertTrue(lista.get(i) == i);
+        /* Saltar entre los extremos sin marcas sería cuadrático. */
+        lista.setIndexada(true);
+        for (int i = 0; i < n; i += 1 + random.nextInt(10)) {
+            Assert.assertTrue(lista.get(n - 1 - i) == n - 1 - i);
+            Assert.assertTrue(lista.get(i) == i);
+        }
+        int m = random.nextInt(n);
+        Assert.assertTrue(lista.indiceDe(m) == m);
+        Assert.assertTrue(lista.get(m + 1 < n ? m + 1 : m - 1) != m);
+        for (int i = 0; i < 1000; i++)
+            lista.inserta(m + i, -i);
+        for (int i = 0; i < 1000; i++)
+            Assert.assertTrue(lista.get(m + i) == -i);
+        Assert.assertTrue(lista.get(m + 1000) == m);
+        validaLista(lista);
+    }
+
+    /**
+     * Prueba unitaria para {@link Lista#setIndexada} y {@link
+     * Lista#esIndexada}.
+     */
+    @Test public void testIndexada() {
+        Assert.assertFalse(lista.esIndexada());
+        lista.setIndexada(true);
+        Assert.assertTrue(lista.esIndexada());
+        int n = 2000 + random.nextInt(2000);
+        int[] a = new int[4 * n];
+        int m = 0;
+        for (int r = 0; r < 4 * n; r++) {
+            int op = random.nextInt(20), v = random.nextInt(n);
+            if (op < 8) {
+                lista.agrega(v);
+                a[m++] = v;
+            } else if (op < 10) {
+                int i = random.nextInt(m + 1);
+                lista.inserta(i, v);
+                System.arraycopy(a, i, a, i + 1, m++ - i);
+                a[i] = v;
+            } else if (op < 11) {
+                lista.agregaInicio(v);
+                System.arraycopy(a, 0, a, 1, m++);
+                a[0] = v;
+            } else if (op < 12 && m > 0) {
+                Assert.assertTrue(lista.eliminaPrimero() == a[0]);
+                System.arraycopy(a, 1, a, 0, --m);
+            } else if (op < 13 && m > 0) {
+                Assert.assertTrue(lista.eliminaUltimo() == a[--m]);
+            } else if (op < 14 && m > 0) {
+                v = a[random.nextInt(m)];
+                int i = lista.indiceDe(v);
+                Assert.assertTrue(a[i] == v);
+                lista.elimina(v);
+                System.arraycopy(a, i + 1, a, i, --m - i);
+            } else if (m > 0) {
+                int i = random.nextInt(m);
+                Assert.assertTrue(lista.get(i) == a[i]);
+            }
+        }
+        Assert.assertTrue(lista.getLongitud() == m);
+        for (int i = 0; i < m; i++)
+            Assert.assertTrue(lista.get(i) == a[i]);
+        validaLista(lista);
+        lista.ordenaEnSitio((x, y) -> x.compareTo(y));
+        Arrays.sort(a, 0, m);
+        for (int i = m - 1; i >= 0; i--)
+            Assert.assertTrue(lista.get(i) == a[i]);
+        lista.setIndexada(false);
+        Assert.assertFalse(lista.esIndexada());
+        for (int i = 0; i < m; i++)
+            Assert.assertTrue(lista.get(i) == a[i]);
+        lista.setIndexada(true);
+        lista.limpia();
+        Assert.assertTrue(lista.esIndexada());
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(i);
+        Assert.assertTrue(lista.get(total - 1) == 0);
+        validaLista(lista);
+    }
+
     /**
      * Prueba unitaria para {@link Lista#indiceDe}.
      */
@@ -795,6 +889,188 @@ public class TestLista {
         }
     }
 
+    /**
+     * Prueba unitaria para {@link Lista#ordenaEnSitio(Comparator)}.
+     */
+    @Test public void testOrdenaEnSitio() {
+        lista.ordenaEnSitio((a, b) -> a.compareTo(b));
+        Assert.assertTrue(lista.esVacia());
+        lista.agrega(1);
+        lista.ordenaEnSitio((a, b) -> a.compareTo(b));
+        validaLista(lista);
+        lista.limpia();
+        int[] cuentas = new int[total];
+        for (int i = 0; i < total; i++) {
+            int e = random.nextInt(total);
+            lista.agregaFinal(e);
+            cuentas[e]++;
+        }
+        Lista<Integer> copia = lista.copia();
+        lista.ordenaEnSitio((a, b) -> b.compareTo(a));
+        Assert.assertTrue(lista.getLongitud() == total);
+        int a = lista.getPrimero();
+        for (int e : lista) {
+            Assert.assertTrue(a >= e);
+            cuentas[e]--;
+            a = e;
+        }
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(cuentas[i] == 0);
+        Assert.assertTrue(lista.getUltimo() == a);
+        validaLista(lista);
+        lista.ordenaEnSitio((x, y) -> x.compareTo(y));
+        Assert.assertTrue(lista.equals(copia.mergeSort((x, y) -> x.compareTo(y))));
+        validaLista(lista);
+        lista.agregaInicio(total);
+        lista.agregaFinal(-1);
+        Assert.assertTrue(lista.getPrimero() == total);
+        Assert.assertTrue(lista.getUltimo() == -1);
+        try {
+            lista.ordenaEnSitio((Comparator<Integer>)null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        /* Prueba estabilidad. */
+        total = 100 + total * 10 + random.nextInt(3);
+        int m = 7 + random.nextInt(20);
+        Lista<Par> pares = new Lista<Par>();
+        for (int i = 0; i < total; i++) {
+            int v = ((i % m) == 0) ? m : random.nextInt(total);
+            pares.agrega(new Par(v, i));
+        }
+        pares.ordenaEnSitio((x, y) -> x.compareTo(y));
+        Assert.assertTrue(pares.getLongitud() == total);
+        Par u = null;
+        for (Par par : pares) {
+            if (u != null) {
+                Assert.assertTrue(u.getValor() <= par.getValor());
+                if (u.getValor() == par.getValor())
+                    Assert.assertTrue(u.getEtiqueta() < par.getEtiqueta());
+            }
+            u = par;
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Lista#mergeSortParalelo(Comparator)} y
+     * {@link Lista#mergeSortParalelo(Lista)}.
+     */
+    @Test public void testMergeSortParalelo() {
+        Assert.assertTrue(lista.mergeSortParalelo((a, b) -> a.compareTo(b))
+                          .esVacia());
+        int n = 20000 + random.nextInt(20000);
+        for (int i = 0; i < n; i++)
+            lista.agregaFinal(random.nextInt(n));
+        Lista<Integer> copia = lista.copia();
+        Lista<Integer> ordenada = Lista.mergeSortParalelo(lista);
+        Assert.assertTrue(lista.equals(copia));
+        Assert.assertTrue(ordenada.equals(Lista.mergeSort(lista)));
+        validaLista(ordenada);
+        Lista<Integer> inversa =
+            lista.mergeSortParalelo((a, b) -> b.compareTo(a));
+        Assert.assertTrue(inversa.equals(ordenada.reversa()));
+        try {
+            lista.mergeSortParalelo((Comparator<Integer>)null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        /* Prueba estabilidad. */
+        Lista<Par> pares = new Lista<Par>();
+        for (int i = 0; i < n; i++)
+            pares.agrega(new Par(random.nextInt(total), i));
+        Par u = null;
+        for (Par par : pares.mergeSortParalelo((x, y) -> x.compareTo(y))) {
+            if (u != null) {
+                Assert.assertTrue(u.getValor() <= par.getValor());
+                if (u.getValor() == par.getValor())
+                    Assert.assertTrue(u.getEtiqueta() < par.getEtiqueta());
+            }
+            u = par;
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Lista#ordenaEnSitio(Comparator)} con listas
+     * parcialmente ordenadas.
+     */
+    @Test public void testOrdenaEnSitioAdaptativo() {
+        int n = 1000 + random.nextInt(5000);
+        int[] comparaciones = { 0 };
+        Comparator<Integer> comparador = (a, b) -> {
+            comparaciones[0]++;
+            return a.compareTo(b);
+        };
+        /* Ordenada y al revés: una sola corrida. */
+        for (int i = 0; i < n; i++)
+            lista.agregaFinal(i);
+        lista.ordenaEnSitio(comparador);
+        Assert.assertTrue(comparaciones[0] == n - 1);
+        validaRango(lista, n);
+        lista.limpia();
+        for (int i = 0; i < n; i++)
+            lista.agregaInicio(i);
+        comparaciones[0] = 0;
+        lista.ordenaEnSitio(comparador);
+        Assert.assertTrue(comparaciones[0] == n - 1);
+        validaRango(lista, n);
+        /* Dos corridas que no se intercalan: la mezcla galopa. */
+        lista.limpia();
+        for (int i = 0; i < n; i++)
+            lista.agregaFinal((i + n/2) % n);
+        comparaciones[0] = 0;
+        lista.ordenaEnSitio(comparador);
+        Assert.assertTrue(comparaciones[0] < n + 64);
+        validaRango(lista, n);
+        /* Dientes de sierra, con repetidos. */
+        lista.limpia();
+        int diente = 2 + random.nextInt(100);
+        for (int i = 0; i < n; i++)
+            lista.agregaFinal(random.nextBoolean() ? i % diente :
+                              diente - 1 - i % diente);
+        lista.ordenaEnSitio(comparador);
+        Assert.assertTrue(lista.getLongitud() == n);
+        int a = lista.getPrimero();
+        for (int e : lista) {
+            Assert.assertTrue(a <= e);
+            a = e;
+        }
+        validaLista(lista);
+        /* Estabilidad con corridas descendientes. */
+        Lista<Par> pares = new Lista<Par>();
+        for (int i = 0; i < n; i++)
+            pares.agrega(new Par((n - i) / (1 + random.nextInt(4)), i));
+        pares.ordenaEnSitio((x, y) -> x.compareTo(y));
+        Assert.assertTrue(pares.getLongitud() == n);
+        Par u = null;
+        for (Par par : pares) {
+            if (u != null) {
+                Assert.assertTrue(u.getValor() <= par.getValor());
+                if (u.getValor() == par.getValor())
+                    Assert.assertTrue(u.getEtiqueta() < par.getEtiqueta());
+            }
+            u = par;
+        }
+    }
+
+    /* Valida que la lista tenga los enteros de 0 a n-1 en orden. */
+    private void validaRango(Lista<Integer> lista, int n) {
+        Assert.assertTrue(lista.getLongitud() == n);
+        int i = 0;
+        for (int e : lista)
+            Assert.assertTrue(e == i++);
+        validaLista(lista);
+    }
+
+    /**
+     * Prueba unitaria para {@link Lista#ordenaEnSitio(Lista)}.
+     */
+    @Test public void testOrdenaEnSitioLista() {
+        for (int i = 0; i < total; i++)
+            lista.agregaFinal(random.nextInt(total));
+        Lista<Integer> ordenada = Lista.mergeSort(lista);
+        Lista.ordenaEnSitio(lista);
+        Assert.assertTrue(lista.equals(ordenada));
+        validaLista(lista);
+    }
+
     /**
      * Prueba unitaria para {@link Lista#busquedaLineal}.
      */
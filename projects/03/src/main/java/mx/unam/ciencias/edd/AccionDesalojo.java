@@ -0,0 +1,16 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para realizar acciones sobre las entradas que un {@link Cache}
+ * desaloja.
+ */
+@FunctionalInterface
+public interface AccionDesalojo<K, V> {
+
+    /**
+     * Realiza una acción sobre una entrada desalojada.
+     * @param llave la llave de la entrada desalojada.
+     * @param valor el valor de la entrada desalojada.
+     */
+    public void actua(K llave, V valor);
+}
@@ -3,18 +3,35 @@ package mx.unam.ciencias.edd;
 import java.util.Iterator;
 
 /**
- * Clase para conjuntos.
+ * <p>Clase para conjuntos.</p>
+ *
+ * <p>Opcionalmente, el conjunto puede mantener un {@link FiltroBloomContador}
+ * con sus elementos, que {@link #contiene} y {@link #elimina} consultan antes
+ * de buscar en la tabla de dispersión: las búsquedas de elementos que no
+ * están en el conjunto casi nunca tocan la tabla. Conviene cuando la mayoría
+ * de las búsquedas fallan; a cambio, cada elemento nuevo se dispersa dos
+ * veces y el filtro usa memoria extra. El filtro se reconstruye al doble de su
+ * capacidad cuando el conjunto la rebasa.</p>
  */
 public class Conjunto<T> implements Coleccion<T> {
 
+    /* Capacidad mínima del filtro. */
+    private static final int MINIMA_CAPACIDAD_FILTRO = 64;
+
     /* El conjunto de elementos. */
-    private Diccionario<T, T> conjunto;
+    private DiccionarioAbierto<T, T> conjunto;
+    /* El filtro de los elementos, o null si no se usa. */
+    private FiltroBloomContador<T> filtro;
+    /* La probabilidad de falsos positivos del filtro. */
+    private double probabilidad;
+    /* Cuántos elementos admite el filtro antes de reconstruirse. */
+    private int capacidadFiltro;
 
     /**
      * Crea un nuevo conjunto.
      */
     public Conjunto() {
-        this.conjunto = new Diccionario<T, T>();
+        this.conjunto = new DiccionarioAbierto<T, T>();
     }
 
     /**
@@ -22,7 +39,57 @@ public class Conjunto<T> implements Coleccion<T> {
      * @param n el número tentativo de elementos.
      */
     public Conjunto(int n) {
-        this.conjunto = new Diccionario<T, T>(n);
+        this.conjunto = new DiccionarioAbierto<T, T>(n);
+    }
+
+    /**
+     * Crea un nuevo conjunto para un número determinado de elementos, con un
+     * filtro de Bloom con la probabilidad de falsos positivos recibida.
+     * @param n el número tentativo de elementos.
+     * @param probabilidad la probabilidad de falsos positivos del filtro.
+     * @throws IllegalArgumentException si la probabilidad no está en (0, 1).
+     */
+    public Conjunto(int n, double probabilidad) {
+        this(n);
+        this.creaFiltro(n, probabilidad);
+    }
+
+    /* Crea el filtro para la capacidad y probabilidad recibidas, y le agrega
+     * los elementos del conjunto. */
+    private void creaFiltro(int capacidad, double probabilidad) {
+        capacidad = Math.max(capacidad, this.getElementos());
+        capacidad = Math.max(capacidad, MINIMA_CAPACIDAD_FILTRO);
+        this.filtro = new FiltroBloomContador<T>(capacidad, probabilidad);
+        this.probabilidad = probabilidad;
+        this.capacidadFiltro = capacidad;
+        for (T v : this.conjunto)
+            this.filtro.agrega(v);
+    }
+
+    /**
+     * Activa el filtro de Bloom del conjunto con la probabilidad de falsos
+     * positivos recibida. Si el filtro ya estaba activo, lo reconstruye.
+     * @param probabilidad la probabilidad de falsos positivos del filtro.
+     * @throws IllegalArgumentException si la probabilidad no está en (0, 1).
+     */
+    public void activaFiltro(double probabilidad) {
+        this.creaFiltro(2 * this.getElementos(), probabilidad);
+    }
+
+    /**
+     * Desactiva el filtro de Bloom del conjunto y libera su memoria.
+     */
+    public void desactivaFiltro() {
+        this.filtro = null;
+    }
+
+    /**
+     * Nos dice si el conjunto tiene activo su filtro de Bloom.
+     * @return <code>true</code> si el filtro está activo, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean tieneFiltro() {
+        return this.filtro != null;
     }
 
     /**
@@ -31,7 +98,18 @@ public class Conjunto<T> implements Coleccion<T> {
      * @throws IllegalArgumentException si el elemento es <code>null</code>.
      */
     @Override public void agrega(T elemento) {
+        if (this.filtro == null) {
+            this.conjunto.agrega(elemento, elemento);
+            return;
+        }
+        int n = this.conjunto.getElementos();
         this.conjunto.agrega(elemento, elemento);
+        if (this.conjunto.getElementos() == n)
+            return;
+        if (this.filtro.getElementos() < this.capacidadFiltro)
+            this.filtro.agrega(elemento);
+        else
+            this.creaFiltro(2 * this.capacidadFiltro, this.probabilidad);
     }
 
     /**
@@ -41,6 +119,8 @@ public class Conjunto<T> implements Coleccion<T> {
      *         <code>false</code> en otro caso.
      */
     @Override public boolean contiene(T elemento) {
+        if (this.filtro != null && !this.filtro.contiene(elemento))
+            return false;
         return this.conjunto.contiene(elemento);
     }
 
@@ -49,9 +129,13 @@ public class Conjunto<T> implements Coleccion<T> {
      * @param elemento el elemento que queremos eliminar del conjunto.
      */
     @Override public void elimina(T elemento) {
-        if(this.conjunto.contiene(elemento)) {
-            this.conjunto.elimina(elemento);
+        if (this.filtro == null) {
+            this.conjunto.extrae(elemento);
+            return;
         }
+        if (this.filtro.contiene(elemento) &&
+            this.conjunto.extrae(elemento) != null)
+            this.filtro.elimina(elemento);
     }
 
     /**
@@ -76,32 +160,158 @@ public class Conjunto<T> implements Coleccion<T> {
      */
     @Override public void limpia() {
         this.conjunto.limpia();
+        if (this.filtro != null)
+            this.filtro.limpia();
+    }
+
+    /**
+     * Limpia el conjunto de elementos, dejándolo vacío y con espacio para un
+     * número determinado de elementos.
+     * @param capacidadObjetivo el número tentativo de elementos.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public void limpia(int capacidadObjetivo) {
+        this.conjunto.limpia(capacidadObjetivo);
+        if (this.filtro != null)
+            this.creaFiltro(capacidadObjetivo, this.probabilidad);
+    }
+
+    /**
+     * Reduce la memoria del conjunto al mínimo que admiten sus elementos
+     * actuales.
+     */
+    public void compacta() {
+        this.conjunto.compacta();
+        if (this.filtro != null)
+            this.creaFiltro(2 * this.getElementos(), this.probabilidad);
     }
 
     /**
-     * Regresa la intersección del conjunto y el conjunto recibido.
+     * Ajusta la memoria del conjunto para un número determinado de elementos,
+     * sin bajar del número de elementos actuales.
+     * @param capacidad el número tentativo de elementos.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public void ajustaCapacidad(int capacidad) {
+        this.conjunto.ajustaCapacidad(capacidad);
+    }
+
+    /**
+     * Regresa la intersección del conjunto y el conjunto recibido. Recorre el
+     * menor de los dos conjuntos y busca sus elementos en el mayor.
      * @param conjunto el conjunto que queremos intersectar con éste.
      * @return la intersección del conjunto y el conjunto recibido.
      */
     public Conjunto<T> interseccion(Conjunto<T> conjunto) {
-        Conjunto<T> s = new Conjunto<T>();
-        for(T v: this.conjunto)
-            if(conjunto.contiene(v)) { s.agrega(v); }
+        Conjunto<T> menor = this, mayor = conjunto;
+        if (conjunto.getElementos() < this.getElementos()) {
+            menor = conjunto;
+            mayor = this;
+        }
+        Conjunto<T> s = new Conjunto<T>(menor.getElementos());
+        for (T v : menor)
+            if (mayor.contiene(v))
+                s.agrega(v);
         return s;
     }
 
     /**
-     * Regresa la unión del conjunto y el conjunto recibido.
+     * Regresa la unión del conjunto y el conjunto recibido. El conjunto
+     * resultante se crea con espacio para los elementos de ambos.
      * @param conjunto el conjunto que queremos unir con éste.
      * @return la unión del conjunto y el conjunto recibido.
      */
     public Conjunto<T> union(Conjunto<T> conjunto) {
-        Conjunto<T> s = new Conjunto<T>();
-        for(T v: this.conjunto) { s.agrega(v); }
-        for(T v: conjunto) { s.agrega(v); }
+        Conjunto<T> s = new Conjunto<T>(this.getElementos() +
+                                        conjunto.getElementos());
+        for (T v : this)
+            s.agrega(v);
+        for (T v : conjunto)
+            s.agrega(v);
         return s;
     }
 
+    /**
+     * Agrega al conjunto todos los elementos del conjunto recibido; al
+     * terminar, el conjunto es la unión de ambos.
+     * @param conjunto el conjunto con los elementos a agregar.
+     */
+    public void agregaTodos(Conjunto<T> conjunto) {
+        if (conjunto == this)
+            return;
+        for (T v : conjunto)
+            this.agrega(v);
+    }
+
+    /**
+     * Elimina del conjunto los elementos que no están en el conjunto
+     * recibido; al terminar, el conjunto es la intersección de ambos. Recorre
+     * el menor de los dos conjuntos.
+     * @param conjunto el conjunto con los elementos a retener.
+     */
+    public void retieneTodos(Conjunto<T> conjunto) {
+        if (conjunto == this)
+            return;
+        Conjunto<T> menor = this, mayor = conjunto;
+        if (conjunto.getElementos() < this.getElementos()) {
+            menor = conjunto;
+            mayor = this;
+        }
+        DiccionarioAbierto<T, T> d = null;
+        for (T v : menor) {
+            if (!mayor.contiene(v))
+                continue;
+            if (d == null)
+                d = new DiccionarioAbierto<T, T>(menor.getElementos());
+            T e = this.conjunto.get(v);
+            d.agrega(e, e);
+        }
+        this.reemplaza(d);
+    }
+
+    /**
+     * Elimina del conjunto todos los elementos del conjunto recibido; al
+     * terminar, el conjunto es la diferencia de ambos. Si el conjunto
+     * recibido es el menor, elimina sus elementos uno por uno; si no, recorre
+     * éste y conserva los elementos que no están en el recibido.
+     * @param conjunto el conjunto con los elementos a eliminar.
+     */
+    public void eliminaTodos(Conjunto<T> conjunto) {
+        if (conjunto == this) {
+            this.limpia();
+            return;
+        }
+        if (conjunto.getElementos() <= this.getElementos()) {
+            for (T v : conjunto)
+                this.elimina(v);
+            return;
+        }
+        DiccionarioAbierto<T, T> d = null;
+        for (T v : this) {
+            if (conjunto.contiene(v))
+                continue;
+            if (d == null)
+                d = new DiccionarioAbierto<T, T>(this.getElementos());
+            d.agrega(v, v);
+        }
+        this.reemplaza(d);
+    }
+
+    /* Reemplaza los elementos del conjunto con los del diccionario, que
+     * pueden ser ninguno si el diccionario es null. No hace nada si el
+     * diccionario tiene los mismos elementos que el conjunto. */
+    private void reemplaza(DiccionarioAbierto<T, T> d) {
+        if (d == null) {
+            this.limpia();
+            return;
+        }
+        if (d.getElementos() == this.getElementos())
+            return;
+        this.conjunto = d;
+        if (this.filtro != null)
+            this.creaFiltro(this.capacidadFiltro, this.probabilidad);
+    }
+
     /**
      * Regresa una representación en cadena del conjunto.
      * @return una representación en cadena del conjunto.
@@ -128,9 +338,24 @@ public class Conjunto<T> implements Coleccion<T> {
         if (o == null || getClass() != o.getClass())
             return false;
         @SuppressWarnings("unchecked") Conjunto<T> c = (Conjunto<T>)o;
-        Diccionario<T, T> cd = new Diccionario<T, T>();
-        for(T v: c) { cd.agrega(v, v); }
-        return this.conjunto.equals(cd);
+        if (this.getElementos() != c.getElementos())
+            return false;
+        for (T v : c)
+            if (!this.conjunto.contiene(v))
+                return false;
+        return true;
+    }
+
+    /**
+     * Regresa una dispersión del conjunto, consistente con {@link #equals}:
+     * la suma de las dispersiones de sus elementos.
+     * @return una dispersión del conjunto.
+     */
+    @Override public int hashCode() {
+        int h = 0;
+        for (T v : this)
+            h += v.hashCode();
+        return h;
     }
 
     /**
@@ -0,0 +1,492 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para contadores de cadenas, pensada para contar palabras. Es un
+ * diccionario de cadenas a enteros con direccionamiento abierto y sondeo
+ * lineal que guarda las cuentas como <code>int</code> en un arreglo paralelo
+ * a las llaves, así que incrementar una cuenta nunca crea objetos.</p>
+ *
+ * <p>Además de cadenas, el contador puede contar fragmentos de un arreglo de
+ * caracteres; en ese caso sólo crea la cadena la primera vez que ve el
+ * fragmento. Para recorrer el contador sin crear un objeto por entrada se usa
+ * un {@link Cursor}.</p>
+ */
+public class ContadorCadenas implements Iterable<String> {
+
+    /**
+     * Clase para cursores del contador. Un cursor empieza antes de la primera
+     * entrada; cada llamada a {@link #avanza} lo mueve a la siguiente, y
+     * {@link #llave} y {@link #cuenta} regresan la entrada actual.
+     */
+    public class Cursor {
+
+        /* La posición actual. */
+        private int indice;
+
+        /* Construye un cursor antes de la primera entrada. */
+        private Cursor() {
+            this.indice = -1;
+        }
+
+        /**
+         * Mueve el cursor a la siguiente entrada.
+         * @return <code>true</code> si hay una siguiente entrada,
+         *         <code>false</code> en otro caso.
+         */
+        public boolean avanza() {
+            int i = this.indice + 1;
+            while (i < llaves.length && llaves[i] == null)
+                i++;
+            this.indice = i;
+            return i < llaves.length;
+        }
+
+        /**
+         * Regresa la cadena de la entrada actual.
+         * @return la cadena de la entrada actual.
+         * @throws NoSuchElementException si el cursor no está en una entrada.
+         */
+        public String llave() {
+            this.valida();
+            return llaves[this.indice];
+        }
+
+        /**
+         * Regresa la cuenta de la entrada actual.
+         * @return la cuenta de la entrada actual.
+         * @throws NoSuchElementException si el cursor no está en una entrada.
+         */
+        public int cuenta() {
+            this.valida();
+            return cuentas[this.indice];
+        }
+
+        /* Se asegura de que el cursor esté en una entrada. */
+        private void valida() {
+            if (this.indice < 0 || this.indice >= llaves.length)
+                throw new NoSuchElementException();
+        }
+    }
+
+    /* Clase interna privada para iteradores de cadenas. */
+    private class Iterador implements Iterator<String> {
+
+        /* El cursor que recorre el contador. */
+        private Cursor cursor;
+        /* Si el cursor ya está en la siguiente entrada. */
+        private boolean hayUna;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            this.cursor = new Cursor();
+            this.hayUna = this.cursor.avanza();
+        }
+
+        /* Nos dice si hay una siguiente cadena. */
+        @Override public boolean hasNext() {
+            return this.hayUna;
+        }
+
+        /* Regresa la siguiente cadena. */
+        @Override public String next() {
+            if (!this.hayUna) { throw new NoSuchElementException(); }
+            String llave = this.cursor.llave();
+            this.hayUna = this.cursor.avanza();
+            return llave;
+        }
+    }
+
+    /** Máxima carga permitida por el contador. */
+    public static final double MAXIMA_CARGA = 0.72;
+
+    /**
+     * Mínima carga permitida por el contador al eliminar; por debajo de ella
+     * los arreglos se reducen a la mitad, sin bajar de su longitud mínima.
+     */
+    public static final double MINIMA_CARGA = MAXIMA_CARGA / 4;
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+
+    /* Las cadenas; una posición es vacía si su cadena es null. */
+    private String[] llaves;
+    /* Las dispersiones de cada cadena. */
+    private int[] dispersiones;
+    /* Las cuentas de cada cadena. */
+    private int[] cuentas;
+    /* Número de cadenas distintas. */
+    private int elementos;
+    /* Suma de todas las cuentas. */
+    private long total;
+    /* Longitud por debajo de la cual los arreglos no se reducen solos. */
+    private int longitudMinima;
+
+    /**
+     * Construye un contador con una capacidad inicial predeterminada.
+     */
+    public ContadorCadenas() {
+        this(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Construye un contador con una capacidad inicial definida por el
+     * usuario.
+     * @param capacidad la capacidad inicial del contador.
+     */
+    public ContadorCadenas(int capacidad) {
+        this.longitudMinima = longitud(capacidad);
+        this.reserva(this.longitudMinima);
+        this.elementos = 0;
+    }
+
+    /* Regresa la longitud de los arreglos para una capacidad: la menor
+     * potencia de dos mayor o igual al doble de la capacidad. */
+    private static int longitud(int capacidad) {
+        capacidad = capacidad < MINIMA_CAPACIDAD ? MINIMA_CAPACIDAD : capacidad;
+        int c = 1;
+        while (c < capacidad * 2) { c *= 2; }
+        return c;
+    }
+
+    /* Crea arreglos vacíos de longitud n. */
+    private void reserva(int n) {
+        this.llaves = new String[n];
+        this.dispersiones = new int[n];
+        this.cuentas = new int[n];
+    }
+
+    /* Mezcla los bits altos de la dispersión con los bajos. */
+    private static int mezcla(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /* Regresa la posición donde está la cadena; si no está, regresa
+     * -(i + 1), donde i es la posición vacía donde terminó la búsqueda. */
+    private int ranura(String llave, int h) {
+        int mascara = this.llaves.length - 1;
+        int i = h & mascara;
+        while (this.llaves[i] != null) {
+            if (this.dispersiones[i] == h && this.llaves[i].equals(llave))
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -(i + 1);
+    }
+
+    /* Regresa la posición donde está el fragmento de caracteres; si no
+     * está, regresa -(i + 1), donde i es la posición vacía donde terminó la
+     * búsqueda. */
+    private int ranura(char[] texto, int inicio, int longitud, int h) {
+        int mascara = this.llaves.length - 1;
+        int i = h & mascara;
+        while (this.llaves[i] != null) {
+            if (this.dispersiones[i] == h &&
+                iguales(this.llaves[i], texto, inicio, longitud))
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -(i + 1);
+    }
+
+    /* Nos dice si la cadena es igual al fragmento de caracteres. */
+    private static boolean iguales(String s, char[] texto, int inicio,
+                                   int longitud) {
+        if (s.length() != longitud)
+            return false;
+        for (int i = 0; i < longitud; i++)
+            if (s.charAt(i) != texto[inicio + i])
+                return false;
+        return true;
+    }
+
+    /* Coloca una entrada que sabemos que no está en el contador. */
+    private void coloca(String llave, int cuenta, int h) {
+        int mascara = this.llaves.length - 1;
+        int i = h & mascara;
+        while (this.llaves[i] != null)
+            i = (i + 1) & mascara;
+        this.llaves[i] = llave;
+        this.cuentas[i] = cuenta;
+        this.dispersiones[i] = h;
+    }
+
+    /* Ocupa la posición vacía i con una entrada nueva, y crece el contador
+     * si se alcanza la carga máxima. */
+    private void ocupa(int i, String llave, int cuenta, int h) {
+        this.llaves[i] = llave;
+        this.cuentas[i] = cuenta;
+        this.dispersiones[i] = h;
+        this.elementos += 1;
+        if (this.carga() >= MAXIMA_CARGA)
+            this.redimensiona(this.llaves.length * 2);
+    }
+
+    /* Cambia la longitud de los arreglos, reutilizando las dispersiones. */
+    private void redimensiona(int n) {
+        if (n == this.llaves.length) { return; }
+        String[] ll = this.llaves;
+        int[] cc = this.cuentas;
+        int[] dd = this.dispersiones;
+        this.reserva(n);
+        for (int i = 0; i < ll.length; i++)
+            if (ll[i] != null)
+                this.coloca(ll[i], cc[i], dd[i]);
+    }
+
+    /**
+     * Suma uno a la cuenta de la cadena; si la cadena no está, la agrega con
+     * cuenta uno.
+     * @param llave la cadena a contar.
+     * @return la nueva cuenta de la cadena.
+     * @throws IllegalArgumentException si la cadena es nula.
+     */
+    public int incrementa(String llave) {
+        return this.incrementa(llave, 1);
+    }
+
+    /**
+     * Suma el incremento a la cuenta de la cadena; si la cadena no está, la
+     * agrega con el incremento como cuenta. La cadena se busca una sola vez.
+     * @param llave la cadena a contar.
+     * @param incremento lo que hay que sumarle a la cuenta.
+     * @return la nueva cuenta de la cadena.
+     * @throws IllegalArgumentException si la cadena es nula.
+     */
+    public int incrementa(String llave, int incremento) {
+        if (llave == null) { throw new IllegalArgumentException(); }
+        int h = mezcla(llave.hashCode());
+        int i = this.ranura(llave, h);
+        this.total += incremento;
+        if (i >= 0)
+            return this.cuentas[i] += incremento;
+        this.ocupa(-(i + 1), llave, incremento, h);
+        return incremento;
+    }
+
+    /**
+     * Suma uno a la cuenta del fragmento <code>texto[inicio..inicio +
+     * longitud)</code>. La cadena del fragmento sólo se crea si el fragmento
+     * no había sido contado antes.
+     * @param texto el arreglo con el fragmento a contar.
+     * @param inicio dónde empieza el fragmento.
+     * @param longitud la longitud del fragmento.
+     * @return la nueva cuenta del fragmento.
+     * @throws IllegalArgumentException si el arreglo es nulo.
+     * @throws IndexOutOfBoundsException si el fragmento no está en el arreglo.
+     */
+    public int incrementa(char[] texto, int inicio, int longitud) {
+        if (texto == null) { throw new IllegalArgumentException(); }
+        if (inicio < 0 || longitud < 0 || inicio + longitud > texto.length)
+            throw new IndexOutOfBoundsException();
+        /* La misma dispersión que String.hashCode. */
+        int d = 0;
+        for (int j = inicio; j < inicio + longitud; j++)
+            d = 31 * d + texto[j];
+        int h = mezcla(d);
+        int i = this.ranura(texto, inicio, longitud, h);
+        this.total += 1;
+        if (i >= 0)
+            return this.cuentas[i] += 1;
+        this.ocupa(-(i + 1), new String(texto, inicio, longitud), 1, h);
+        return 1;
+    }
+
+    /**
+     * Regresa la cuenta de la cadena.
+     * @param llave la cadena de la que queremos su cuenta.
+     * @return la cuenta de la cadena, o 0 si la cadena no está en el
+     *         contador.
+     */
+    public int cuenta(String llave) {
+        if (llave == null) { return 0; }
+        int i = this.ranura(llave, mezcla(llave.hashCode()));
+        return i < 0 ? 0 : this.cuentas[i];
+    }
+
+    /**
+     * Nos dice si una cadena se encuentra en el contador.
+     * @param llave la cadena que queremos ver si está en el contador.
+     * @return <tt>true</tt> si la cadena está en el contador,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean contiene(String llave) {
+        if (llave == null) { return false; }
+        return this.ranura(llave, mezcla(llave.hashCode())) >= 0;
+    }
+
+    /**
+     * Elimina la cadena del contador, restando su cuenta del total.
+     * @param llave la cadena a eliminar.
+     * @throws IllegalArgumentException si la cadena es nula.
+     * @throws NoSuchElementException si la cadena no se encuentra en
+     *         el contador.
+     */
+    public void elimina(String llave) {
+        if (llave == null) { throw new IllegalArgumentException(); }
+        int i = this.ranura(llave, mezcla(llave.hashCode()));
+        if (i < 0) { throw new NoSuchElementException(); }
+        this.total -= this.cuentas[i];
+        this.eliminaPosicion(i);
+    }
+
+    /* Elimina la entrada en la posición i, recorriendo hacia atrás las
+     * entradas siguientes del grupo que puedan ocupar el hueco. */
+    private void eliminaPosicion(int i) {
+        int mascara = this.llaves.length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (this.llaves[j] == null)
+                break;
+            int k = this.dispersiones[j] & mascara;
+            /* La entrada en j puede moverse a i si su posición ideal k no
+             * está (cíclicamente) en (i, j]. */
+            if ((j > i && (k <= i || k > j)) || (j < i && (k <= i && k > j))) {
+                this.llaves[i] = this.llaves[j];
+                this.cuentas[i] = this.cuentas[j];
+                this.dispersiones[i] = this.dispersiones[j];
+                i = j;
+            }
+        }
+        this.llaves[i] = null;
+        this.elementos -= 1;
+        if (this.llaves.length > this.longitudMinima &&
+            this.carga() < MINIMA_CARGA)
+            this.redimensiona(this.llaves.length / 2);
+    }
+
+    /**
+     * Ajusta los arreglos del contador a la menor longitud que admite sus
+     * cadenas actuales. La longitud resultante se vuelve la nueva longitud
+     * mínima del contador.
+     */
+    public void compacta() {
+        this.ajustaCapacidad(this.elementos);
+    }
+
+    /**
+     * Ajusta los arreglos del contador para que quepan la capacidad recibida
+     * sin crecer. Si la capacidad es menor al número de cadenas, se usa el
+     * número de cadenas. La longitud resultante se vuelve la nueva longitud
+     * mínima del contador.
+     * @param capacidad la capacidad deseada.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public void ajustaCapacidad(int capacidad) {
+        if (capacidad < 0) { throw new IllegalArgumentException(); }
+        this.longitudMinima = longitud(Math.max(capacidad, this.elementos));
+        this.redimensiona(this.longitudMinima);
+    }
+
+    /**
+     * Nos dice la carga del contador.
+     * @return la carga del contador.
+     */
+    public double carga() {
+        return ((double) this.elementos)/this.llaves.length;
+    }
+
+    /**
+     * Regresa el número de cadenas distintas en el contador.
+     * @return el número de cadenas distintas en el contador.
+     */
+    public int getElementos() {
+        return this.elementos;
+    }
+
+    /**
+     * Regresa la suma de las cuentas de todas las cadenas.
+     * @return la suma de las cuentas de todas las cadenas.
+     */
+    public long getTotal() {
+        return this.total;
+    }
+
+    /**
+     * Nos dice si el contador es vacío.
+     * @return <code>true</code> si el contador es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return this.elementos == 0;
+    }
+
+    /**
+     * Limpia el contador de cadenas, dejándolo vacío. Los arreglos regresan
+     * a la longitud mínima del contador.
+     */
+    public void limpia() {
+        this.reserva(this.longitudMinima);
+        this.elementos = 0;
+        this.total = 0;
+    }
+
+    /**
+     * Limpia el contador de cadenas, dejándolo vacío con arreglos para la
+     * capacidad recibida, que se vuelve su nueva capacidad mínima.
+     * @param capacidadObjetivo la capacidad del contador vacío.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public void limpia(int capacidadObjetivo) {
+        if (capacidadObjetivo < 0) { throw new IllegalArgumentException(); }
+        this.longitudMinima = longitud(capacidadObjetivo);
+        this.limpia();
+    }
+
+    /**
+     * Regresa una representación en cadena del contador.
+     * @return una representación en cadena del contador.
+     */
+    @Override public String toString() {
+        if (this.elementos == 0) { return "{}"; }
+        StringBuilder rep = new StringBuilder("{ ");
+        Cursor c = this.cursor();
+        while (c.avanza())
+            rep.append("'").append(c.llave()).append("': '")
+               .append(c.cuenta()).append("', ");
+        return rep.append("}").toString();
+    }
+
+    /**
+     * Nos dice si el contador es igual al objeto recibido.
+     * @param o el objeto que queremos saber si es igual al contador.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         ContadorCadenas, y tiene las mismas cadenas con las mismas
+     *         cuentas.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        ContadorCadenas c = (ContadorCadenas)o;
+        if (this.elementos != c.elementos) { return false; }
+        for (int i = 0; i < this.llaves.length; i++) {
+            if (this.llaves[i] == null)
+                continue;
+            int j = c.ranura(this.llaves[i], this.dispersiones[i]);
+            if (j < 0 || c.cuentas[j] != this.cuentas[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Regresa un cursor para recorrer las entradas del contador sin ningún
+     * orden específico. El cursor no crea objetos al avanzar.
+     * @return un cursor para recorrer las entradas del contador.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Regresa un iterador para iterar las cadenas del contador. El contador
+     * se itera sin ningún orden específico.
+     * @return un iterador para iterar las cadenas del contador.
+     */
+    @Override public Iterator<String> iterator() {
+        return new Iterador();
+    }
+}
@@ -0,0 +1,195 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Clase para estimar las frecuencias de los elementos de una secuencia
+ * usando una cantidad fija de memoria (un <em>Count-Min sketch</em>).</p>
+ *
+ * <p>El estimador tiene <em>d</em> renglones de <em>w</em> contadores. Cada
+ * elemento incrementa un contador por renglón, y su frecuencia se estima con
+ * el mínimo de esos contadores. El estimado nunca es menor a la frecuencia
+ * real, y con <em>w</em> = ⌈<em>e</em>/ε⌉ y <em>d</em> = ⌈ln(1/δ)⌉ lo
+ * rebasa por a lo más ε<em>N</em> con probabilidad al menos 1 − δ, donde
+ * <em>N</em> es el total de elementos agregados. Por ejemplo, con ε = 0.0005
+ * y δ = 0.001 usa 7 renglones de 5,437 contadores (unos 150 KB).</p>
+ *
+ * <p>Las columnas de cada renglón se calculan con la misma doble dispersión
+ * que usa {@link FiltroBloom}. Los contadores se saturan en {@link
+ * Integer#MAX_VALUE}.</p>
+ *
+ * @param <T> el tipo de los elementos a contar.
+ */
+public class CountMinSketch<T> {
+
+    /* Máximo número de contadores. */
+    private static final int MAXIMOS_CONTADORES = 1 << 28;
+
+    /* Los contadores, renglón por renglón. */
+    private int[] contadores;
+    /* El número de contadores por renglón. */
+    private int ancho;
+    /* El número de renglones. */
+    private int profundidad;
+    /* El total de elementos agregados. */
+    private long total;
+    /* El dispersor. */
+    private Dispersor<T> dispersor;
+
+    /**
+     * Construye un estimador con el error relativo y la probabilidad de falla
+     * recibidos, que dispersa los elementos con su método
+     * <code>hashCode</code>.
+     * @param error el error ε, relativo al total de elementos agregados.
+     * @param falla la probabilidad δ de que un estimado rebase el error.
+     * @throws IllegalArgumentException si el error o la probabilidad de falla
+     *         no están en (0, 1), o el estimador necesita demasiados
+     *         contadores.
+     */
+    public CountMinSketch(double error, double falla) {
+        this(error, falla, (T elemento) -> elemento.hashCode());
+    }
+
+    /**
+     * Construye un estimador con el error relativo, la probabilidad de falla
+     * y el dispersor recibidos.
+     * @param error el error ε, relativo al total de elementos agregados.
+     * @param falla la probabilidad δ de que un estimado rebase el error.
+     * @param dispersor el dispersor a utilizar.
+     * @throws IllegalArgumentException si el error o la probabilidad de falla
+     *         no están en (0, 1), el estimador necesita demasiados
+     *         contadores, o el dispersor es <code>null</code>.
+     */
+    public CountMinSketch(double error, double falla, Dispersor<T> dispersor) {
+        if (!(error > 0 && error < 1) || !(falla > 0 && falla < 1) ||
+            dispersor == null)
+            throw new IllegalArgumentException();
+        double w = Math.ceil(Math.E / error);
+        double d = Math.max(1, Math.ceil(Math.log(1 / falla)));
+        if (w * d > MAXIMOS_CONTADORES)
+            throw new IllegalArgumentException();
+        this.ancho = (int)w;
+        this.profundidad = (int)d;
+        this.contadores = new int[this.ancho * this.profundidad];
+        this.dispersor = dispersor;
+    }
+
+    /**
+     * Incrementa en uno la frecuencia del elemento, y regresa su nuevo
+     * estimado.
+     * @param elemento el elemento a contar.
+     * @return el nuevo estimado de la frecuencia del elemento.
+     * @throws IllegalArgumentException si el elemento es <code>null</code>.
+     */
+    public int incrementa(T elemento) {
+        return this.agrega(elemento, 1);
+    }
+
+    /**
+     * Suma la cuenta recibida a la frecuencia del elemento, y regresa su
+     * nuevo estimado.
+     * @param elemento el elemento a contar.
+     * @param cuenta cuántas veces se agrega el elemento.
+     * @return el nuevo estimado de la frecuencia del elemento.
+     * @throws IllegalArgumentException si el elemento es <code>null</code> o
+     *         la cuenta es negativa.
+     */
+    public int agrega(T elemento, int cuenta) {
+        if (elemento == null || cuenta < 0)
+            throw new IllegalArgumentException();
+        int h = this.dispersor.dispersa(elemento);
+        int g = FiltroBloom.primera(h), d = FiltroBloom.segunda(h);
+        int minimo = Integer.MAX_VALUE;
+        for (int i = 0, r = 0; i < this.profundidad; i++, r += this.ancho) {
+            int j = r + FiltroBloom.posicion(g, this.ancho);
+            int c = this.contadores[j] + cuenta;
+            if (c < 0)
+                c = Integer.MAX_VALUE;
+            this.contadores[j] = c;
+            minimo = Math.min(minimo, c);
+            g += d;
+        }
+        this.total += cuenta;
+        return minimo;
+    }
+
+    /**
+     * Regresa el estimado de la frecuencia del elemento. El estimado nunca es
+     * menor que la frecuencia real.
+     * @param elemento el elemento del que queremos su frecuencia.
+     * @return el estimado de la frecuencia del elemento, o 0 si el elemento
+     *         es <code>null</code>.
+     */
+    public int estima(T elemento) {
+        if (elemento == null) { return 0; }
+        int h = this.dispersor.dispersa(elemento);
+        int g = FiltroBloom.primera(h), d = FiltroBloom.segunda(h);
+        int minimo = Integer.MAX_VALUE;
+        for (int i = 0, r = 0; i < this.profundidad; i++, r += this.ancho) {
+            minimo = Math.min(minimo, this.contadores[r +
+                FiltroBloom.posicion(g, this.ancho)]);
+            g += d;
+        }
+        return minimo;
+    }
+
+    /**
+     * Regresa la cota del error de los estimados, ε<em>N</em>, que se cumple
+     * con probabilidad al menos 1 − δ.
+     * @return la cota del error de los estimados.
+     */
+    public long cotaError() {
+        return (long)Math.ceil(Math.E / this.ancho * this.total);
+    }
+
+    /**
+     * Regresa el total de elementos agregados.
+     * @return el total de elementos agregados.
+     */
+    public long getTotal() {
+        return this.total;
+    }
+
+    /**
+     * Regresa el número de contadores por renglón.
+     * @return el número de contadores por renglón.
+     */
+    public int getAncho() {
+        return this.ancho;
+    }
+
+    /**
+     * Regresa el número de renglones.
+     * @return el número de renglones.
+     */
+    public int getProfundidad() {
+        return this.profundidad;
+    }
+
+    /**
+     * Combina el estimador recibido con éste, de manera que éste estime las
+     * frecuencias de la concatenación de ambas secuencias. Los dos
+     * estimadores deben usar el mismo dispersor.
+     * @param estimador el estimador a combinar con éste.
+     * @throws IllegalArgumentException si el estimador es <code>null</code> o
+     *         tiene otras dimensiones.
+     */
+    public void combina(CountMinSketch<T> estimador) {
+        if (estimador == null || estimador.ancho != this.ancho ||
+            estimador.profundidad != this.profundidad)
+            throw new IllegalArgumentException();
+        for (int i = 0; i < this.contadores.length; i++) {
+            int c = this.contadores[i] + estimador.contadores[i];
+            this.contadores[i] = c < 0 ? Integer.MAX_VALUE : c;
+        }
+        this.total += estimador.total;
+    }
+
+    /**
+     * Limpia el estimador, dejándolo como si no se hubiera agregado ningún
+     * elemento.
+     */
+    public void limpia() {
+        for (int i = 0; i < this.contadores.length; i++)
+            this.contadores[i] = 0;
+        this.total = 0;
+    }
+}
@@ -0,0 +1,616 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * <p>Clase para diccionarios con direccionamiento abierto. Tiene la misma
+ * interfaz que {@link Diccionario}, pero en lugar de guardar cada entrada en
+ * una lista por índice, guarda las llaves, los valores y las dispersiones en
+ * tres arreglos paralelos, y resuelve las colisiones con sondeo lineal.</p>
+ *
+ * <p>El diccionario no crea ningún objeto por entrada; al eliminar, recorre
+ * hacia atrás las entradas del mismo grupo en lugar de dejar lápidas.</p>
+ */
+public class DiccionarioAbierto<K, V> implements Iterable<V> {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador {
+
+        /* La siguiente posición ocupada en los arreglos. */
+        private int indice;
+
+        /* Construye un nuevo iterador, auxiliándose de los arreglos del
+         * diccionario. */
+        public Iterador() {
+            this.indice = this.busca(0);
+        }
+
+        /* Regresa la primera posición ocupada a partir de i. */
+        private int busca(int i) {
+            while (i < llaves.length && llaves[i] == null)
+                i++;
+            return i;
+        }
+
+        /* Nos dice si hay una siguiente entrada. */
+        public boolean hasNext() {
+            return this.indice < llaves.length;
+        }
+
+        /* Regresa la posición de la siguiente entrada. */
+        public int siguiente() {
+            if (!this.hasNext()) { throw new NoSuchElementException(); }
+            int i = this.indice;
+            this.indice = this.busca(i + 1);
+            return i;
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador
+        implements Iterator<K> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public K next() {
+            return llave(this.siguiente());
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador
+        implements Iterator<V> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public V next() {
+            return valor(this.siguiente());
+        }
+    }
+
+    /** Máxima carga permitida por el diccionario. */
+    public static final double MAXIMA_CARGA = 0.72;
+
+    /**
+     * Mínima carga permitida por el diccionario al eliminar; por debajo de
+     * ella la tabla se reduce a la mitad, sin bajar de su longitud mínima.
+     */
+    public static final double MINIMA_CARGA = MAXIMA_CARGA / 4;
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+
+    /* Dispersor. */
+    private Dispersor<K> dispersor;
+    /* Las llaves; una posición es vacía si su llave es null. */
+    private Object[] llaves;
+    /* Los valores. */
+    private Object[] valores;
+    /* Las dispersiones completas de cada llave. */
+    private int[] dispersiones;
+    /* Número de valores. */
+    private int elementos;
+    /* Longitud por debajo de la cual los arreglos no se reducen solos. */
+    private int longitudMinima;
+
+    /**
+     * Construye un diccionario con una capacidad inicial y dispersor
+     * predeterminados.
+     */
+    public DiccionarioAbierto() {
+        this(MINIMA_CAPACIDAD, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial definida por el
+     * usuario, y un dispersor predeterminado.
+     * @param capacidad la capacidad a utilizar.
+     */
+    public DiccionarioAbierto(int capacidad) {
+        this(capacidad, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial predeterminada, y un
+     * dispersor definido por el usuario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioAbierto(Dispersor<K> dispersor) {
+        this(MINIMA_CAPACIDAD, dispersor);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y un método de
+     * dispersor definidos por el usuario.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioAbierto(int capacidad, Dispersor<K> dispersor) {
+        this.dispersor = dispersor;
+        this.longitudMinima = longitud(capacidad);
+        this.reserva(this.longitudMinima);
+        this.elementos = 0;
+    }
+
+    /* Regresa la longitud de los arreglos para una capacidad: la menor
+     * potencia de dos mayor o igual al doble de la capacidad. */
+    private static int longitud(int capacidad) {
+        capacidad = capacidad < MINIMA_CAPACIDAD ? MINIMA_CAPACIDAD : capacidad;
+        int c = 1;
+        while (c < capacidad * 2) { c *= 2; }
+        return c;
+    }
+
+    /* Crea arreglos vacíos de longitud n. */
+    private void reserva(int n) {
+        this.llaves = new Object[n];
+        this.valores = new Object[n];
+        this.dispersiones = new int[n];
+    }
+
+    /* Regresa la llave en la posición i. */
+    @SuppressWarnings("unchecked") private K llave(int i) {
+        return (K)this.llaves[i];
+    }
+
+    /* Regresa el valor en la posición i. */
+    @SuppressWarnings("unchecked") private V valor(int i) {
+        return (V)this.valores[i];
+    }
+
+    /* Dispersa la llave, mezclando los bits altos con los bajos para que el
+     * sondeo lineal no se amontone cuando el dispersor sólo varía en los
+     * bits altos. */
+    private int dispersa(K llave) {
+        return mezcla(this.dispersor.dispersa(llave));
+    }
+
+    /* Mezcla los bits altos de una dispersión del dispersor con los bajos. */
+    private static int mezcla(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /* Regresa la posición donde está la llave; si no está, regresa -(i + 1),
+     * donde i es la posición vacía donde terminó la búsqueda. */
+    private int ranura(K llave, int h) {
+        int mascara = this.llaves.length - 1;
+        int i = h & mascara;
+        while (this.llaves[i] != null) {
+            if (this.dispersiones[i] == h && this.llaves[i].equals(llave))
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -(i + 1);
+    }
+
+    /* Regresa la posición donde está la llave, o -1 si no está. */
+    private int posicion(K llave, int h) {
+        int i = this.ranura(llave, h);
+        return i < 0 ? -1 : i;
+    }
+
+    /* Coloca una entrada que sabemos que no está en el diccionario. */
+    private void coloca(Object llave, Object valor, int h) {
+        int mascara = this.llaves.length - 1;
+        int i = h & mascara;
+        while (this.llaves[i] != null)
+            i = (i + 1) & mascara;
+        this.llaves[i] = llave;
+        this.valores[i] = valor;
+        this.dispersiones[i] = h;
+    }
+
+    /* Ocupa la posición vacía i con una entrada nueva, y crece el diccionario
+     * si se alcanza la carga máxima. */
+    private void ocupa(int i, K llave, V valor, int h) {
+        this.llaves[i] = llave;
+        this.valores[i] = valor;
+        this.dispersiones[i] = h;
+        this.elementos += 1;
+        if (this.carga() >= MAXIMA_CARGA)
+            this.redimensiona(this.llaves.length * 2);
+    }
+
+    /* Cambia la longitud de los arreglos, reutilizando las dispersiones. */
+    private void redimensiona(int n) {
+        if (n == this.llaves.length) { return; }
+        Object[] ll = this.llaves;
+        Object[] vv = this.valores;
+        int[] dd = this.dispersiones;
+        this.reserva(n);
+        for (int i = 0; i < ll.length; i++)
+            if (ll[i] != null)
+                this.coloca(ll[i], vv[i], dd[i]);
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null) { throw new IllegalArgumentException(); }
+        this.agrega(llave, valor, this.dispersor.dispersa(llave));
+    }
+
+    /* Agrega el valor con la llave, que no son nulos, dada la dispersión de
+     * la llave que regresa el dispersor. Los métodos que reciben la
+     * dispersión son para DiccionarioConcurrente, que ya la calculó para
+     * elegir el segmento. */
+    void agrega(K llave, V valor, int dispersion) {
+        int h = mezcla(dispersion);
+        int i = this.ranura(llave, h);
+        if (i >= 0) { this.valores[i] = valor; return; }
+        this.ocupa(-(i + 1), llave, valor, h);
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public V get(K llave) {
+        if (llave == null) { throw new IllegalArgumentException(); }
+        int i = this.posicion(llave, this.dispersa(llave));
+        if (i == -1) { throw new NoSuchElementException(); }
+        return this.valor(i);
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <tt>true</tt> si la llave está en el diccionario,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        if (llave == null) { return false; }
+        return this.posicion(llave, this.dispersa(llave)) != -1;
+    }
+
+    /**
+     * Regresa el valor asociado a la llave, o el valor por omisión si la llave
+     * no está en el diccionario. La llave se busca una sola vez.
+     * @param llave la llave para buscar el valor.
+     * @param omision el valor a regresar si la llave no está.
+     * @return el valor correspondiente a la llave, u <code>omision</code>.
+     */
+    public V getOrDefault(K llave, V omision) {
+        if (llave == null) { return omision; }
+        return this.getOrDefault(llave, omision, this.dispersor.dispersa(llave));
+    }
+
+    /* Regresa el valor asociado a la llave, que no es nula, o el valor por
+     * omisión, dada la dispersión de la llave. */
+    V getOrDefault(K llave, V omision, int dispersion) {
+        int i = this.posicion(llave, mezcla(dispersion));
+        return i == -1 ? omision : this.valor(i);
+    }
+
+    /**
+     * Regresa el valor asociado a la llave; si la llave no está, lo calcula
+     * con la función recibida, lo agrega y lo regresa. La llave se dispersa y
+     * se busca una sola vez. La función no debe modificar el diccionario.
+     * @param llave la llave para buscar el valor.
+     * @param funcion la función para calcular el valor a partir de la llave.
+     * @return el valor asociado a la llave después de llamar el método.
+     * @throws IllegalArgumentException si la llave es nula, o si la función
+     *         regresa <code>null</code>.
+     */
+    public V computeIfAbsent(K llave, Function<? super K, ? extends V> funcion) {
+        if (llave == null) { throw new IllegalArgumentException(); }
+        return this.computeIfAbsent(llave, funcion,
+                                    this.dispersor.dispersa(llave));
+    }
+
+    /* Hace computeIfAbsent con la llave, que no es nula, dada la dispersión
+     * de la llave. */
+    V computeIfAbsent(K llave, Function<? super K, ? extends V> funcion,
+                      int dispersion) {
+        int h = mezcla(dispersion);
+        int i = this.ranura(llave, h);
+        if (i >= 0) { return this.valor(i); }
+        V valor = funcion.apply(llave);
+        if (valor == null) { throw new IllegalArgumentException(); }
+        this.ocupa(-(i + 1), llave, valor, h);
+        return valor;
+    }
+
+    /**
+     * Combina el valor recibido con el asociado a la llave. Si la llave no
+     * está, el valor recibido se agrega; si está, se reemplaza con el
+     * resultado de aplicar la función al valor anterior y al recibido. Si la
+     * función regresa <code>null</code>, la llave se elimina. La llave se
+     * dispersa y se busca una sola vez.
+     * @param llave la llave del valor a combinar.
+     * @param valor el valor a combinar.
+     * @param funcion la función para combinar el valor anterior y el recibido.
+     * @return el nuevo valor asociado a la llave, o <code>null</code> si la
+     *         llave fue eliminada.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public V merge(K llave, V valor,
+                   BiFunction<? super V, ? super V, ? extends V> funcion) {
+        if (llave == null || valor == null) { throw new IllegalArgumentException(); }
+        return this.merge(llave, valor, funcion, this.dispersor.dispersa(llave));
+    }
+
+    /* Hace merge con la llave y el valor, que no son nulos, dada la
+     * dispersión de la llave. */
+    V merge(K llave, V valor,
+            BiFunction<? super V, ? super V, ? extends V> funcion,
+            int dispersion) {
+        int h = mezcla(dispersion);
+        int i = this.ranura(llave, h);
+        if (i < 0) {
+            this.ocupa(-(i + 1), llave, valor, h);
+            return valor;
+        }
+        V nuevo = funcion.apply(this.valor(i), valor);
+        if (nuevo == null)
+            this.eliminaPosicion(i);
+        else
+            this.valores[i] = nuevo;
+        return nuevo;
+    }
+
+    /**
+     * Suma el incremento al contador asociado a la llave; si la llave no está,
+     * la agrega con el incremento como valor. Sólo tiene sentido en
+     * diccionarios cuyos valores son {@link Integer}.
+     * @param llave la llave del contador.
+     * @param incremento lo que hay que sumarle al contador.
+     * @return el nuevo valor del contador.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws ClassCastException si los valores no son {@link Integer}.
+     */
+    public int incrementa(K llave, int incremento) {
+        if (llave == null) { throw new IllegalArgumentException(); }
+        return this.incrementa(llave, incremento,
+                               this.dispersor.dispersa(llave));
+    }
+
+    /* Hace incrementa con la llave, que no es nula, dada la dispersión de la
+     * llave. */
+    @SuppressWarnings("unchecked")
+    int incrementa(K llave, int incremento, int dispersion) {
+        int h = mezcla(dispersion);
+        int i = this.ranura(llave, h);
+        if (i < 0) {
+            this.ocupa(-(i + 1), llave, (V)Integer.valueOf(incremento), h);
+            return incremento;
+        }
+        int n = (Integer)this.valores[i] + incremento;
+        this.valores[i] = Integer.valueOf(n);
+        return n;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(K llave) {
+        if (llave == null) { throw new IllegalArgumentException(); }
+        int i = this.posicion(llave, this.dispersa(llave));
+        if (i == -1) { throw new NoSuchElementException(); }
+        this.eliminaPosicion(i);
+    }
+
+    /**
+     * Elimina la entrada asociada a la llave, si existe, y regresa su valor.
+     * La llave se dispersa y se busca una sola vez.
+     * @param llave la llave de la entrada a eliminar.
+     * @return el valor que estaba asociado a la llave, o <code>null</code> si
+     *         la llave no estaba en el diccionario.
+     */
+    public V extrae(K llave) {
+        if (llave == null) { return null; }
+        return this.extrae(llave, this.dispersor.dispersa(llave));
+    }
+
+    /* Elimina la entrada con la llave, que no es nula, y regresa su valor,
+     * dada la dispersión de la llave. */
+    V extrae(K llave, int dispersion) {
+        int i = this.posicion(llave, mezcla(dispersion));
+        if (i == -1) { return null; }
+        V valor = this.valor(i);
+        this.eliminaPosicion(i);
+        return valor;
+    }
+
+    /* Elimina la entrada en la posición i, recorriendo hacia atrás las
+     * entradas siguientes del grupo que puedan ocupar el hueco. */
+    private void eliminaPosicion(int i) {
+        int mascara = this.llaves.length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (this.llaves[j] == null)
+                break;
+            int k = this.dispersiones[j] & mascara;
+            /* La entrada en j puede moverse a i si su posición ideal k no
+             * está (cíclicamente) en (i, j]. */
+            if ((j > i && (k <= i || k > j)) || (j < i && (k <= i && k > j))) {
+                this.llaves[i] = this.llaves[j];
+                this.valores[i] = this.valores[j];
+                this.dispersiones[i] = this.dispersiones[j];
+                i = j;
+            }
+        }
+        this.llaves[i] = null;
+        this.valores[i] = null;
+        this.elementos -= 1;
+        if (this.llaves.length > this.longitudMinima &&
+            this.carga() < MINIMA_CARGA)
+            this.redimensiona(this.llaves.length / 2);
+    }
+
+    /**
+     * Ajusta los arreglos del diccionario a la menor longitud que admite sus
+     * elementos actuales. La longitud resultante se vuelve la nueva longitud
+     * mínima del diccionario.
+     */
+    public void compacta() {
+        this.ajustaCapacidad(this.elementos);
+    }
+
+    /**
+     * Ajusta los arreglos del diccionario para que quepan la capacidad
+     * recibida sin crecer, reacomodando las entradas si es necesario. Si la
+     * capacidad es menor al número de elementos, se usa el número de
+     * elementos. La longitud resultante se vuelve la nueva longitud mínima
+     * del diccionario: las eliminaciones no reducen los arreglos por debajo
+     * de ella.
+     * @param capacidad la capacidad deseada.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public void ajustaCapacidad(int capacidad) {
+        if (capacidad < 0) { throw new IllegalArgumentException(); }
+        this.longitudMinima = longitud(Math.max(capacidad, this.elementos));
+        this.redimensiona(this.longitudMinima);
+    }
+
+    /**
+     * Nos dice cuántas colisiones hay en el diccionario; es decir, cuántas
+     * entradas no están en su posición ideal.
+     * @return cuántas colisiones hay en el diccionario.
+     */
+    public int colisiones() {
+        int mascara = this.llaves.length - 1;
+        int c = 0;
+        for (int i = 0; i < this.llaves.length; i++)
+            if (this.llaves[i] != null && (this.dispersiones[i] & mascara) != i)
+                c++;
+        return c;
+    }
+
+    /**
+     * Nos dice el máximo número de posiciones que hay que recorrer desde la
+     * posición ideal de una llave para encontrarla.
+     * @return el máximo número de colisiones para una misma llave.
+     */
+    public int colisionMaxima() {
+        int mascara = this.llaves.length - 1;
+        int max = 0;
+        for (int i = 0; i < this.llaves.length; i++) {
+            if (this.llaves[i] == null)
+                continue;
+            int d = (i - (this.dispersiones[i] & mascara)) & mascara;
+            max = d > max ? d : max;
+        }
+        return max;
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     * @return la carga del diccionario.
+     */
+    public double carga() {
+        return ((double) this.elementos)/this.llaves.length;
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        return this.elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return this.elementos == 0;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío. Los arreglos
+     * regresan a la longitud mínima del diccionario, sin importar cuánto haya
+     * crecido.
+     */
+    public void limpia() {
+        this.reserva(this.longitudMinima);
+        this.elementos = 0;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío con arreglos para
+     * la capacidad recibida, que se vuelve su nueva capacidad mínima.
+     * @param capacidadObjetivo la capacidad del diccionario vacío.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public void limpia(int capacidadObjetivo) {
+        if (capacidadObjetivo < 0) { throw new IllegalArgumentException(); }
+        this.longitudMinima = longitud(capacidadObjetivo);
+        this.limpia();
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     * @return una representación en cadena del diccionario.
+     */
+    @Override public String toString() {
+        if (this.elementos == 0) { return "{}"; }
+        String rep = "{ ";
+        for (int i = 0; i < this.llaves.length; i++) {
+            if (this.llaves[i] == null)
+                continue;
+            rep += "'" + this.llaves[i].toString() + "': ";
+            rep += "'" + this.valores[i].toString() + "', ";
+        }
+        rep += "}";
+        return rep;
+    }
+
+    /**
+     * Nos dice si el diccionario es igual al objeto recibido.
+     * @param o el objeto que queremos saber si es igual al diccionario.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         DiccionarioAbierto, y tiene las mismas llaves asociadas a los
+     *         mismos valores.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") DiccionarioAbierto<K, V> d =
+            (DiccionarioAbierto<K, V>)o;
+        if (this.elementos != d.elementos) { return false; }
+        for (int i = 0; i < this.llaves.length; i++) {
+            if (this.llaves[i] == null)
+                continue;
+            int j = d.posicion(this.llave(i), d.dispersa(this.llave(i)));
+            if (j == -1 || !d.valores[j].equals(this.valores[i]))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public Iterator<K> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+}
@@ -1,15 +1,24 @@
 package mx.unam.ciencias.edd;
 
+import java.security.SecureRandom;
+
 /**
  * Clase para fabricar dispersores.
  */
 public class FabricaDispersores {
 
+    /* Generador de llaves secretas para los dispersores con llave. */
+    private static final SecureRandom SEMILLAS = new SecureRandom();
+
     /* Constructor privado para evitar instanciación. */
     private FabricaDispersores() {}
 
     /**
-     * Regresa una instancia de {@link Dispersor} para cadenas.
+     * Regresa una instancia de {@link Dispersor} para cadenas. Todos los
+     * dispersores leen los caracteres directamente y los codifican al vuelo
+     * en UTF-8, así que no crean un arreglo de bytes por cadena y su
+     * resultado no depende de la codificación predeterminada de la
+     * plataforma.
      * @param algoritmo el algoritmo de dispersor que se desea.
      * @return una instancia de {@link Dispersor} para cadenas.
      * @throws IllegalArgumentException si recibe un identificador no
@@ -17,14 +26,52 @@ public class FabricaDispersores {
      */
     public static Dispersor<String>
     dispersorCadena(AlgoritmoDispersor algoritmo) {
+        return dispersorCadena(algoritmo, true);
+    }
+
+    /**
+     * Regresa una instancia de {@link Dispersor} para cadenas.
+     * @param algoritmo el algoritmo de dispersor que se desea.
+     * @param utf8 si es <code>true</code>, los dispersores XOR, Bob Jenkins y
+     *        Daniel J. Bernstein dan exactamente el mismo resultado que sobre
+     *        los bytes UTF-8 de la cadena; si es <code>false</code>, sólo lo
+     *        garantizan para cadenas ASCII, y cada carácter no ASCII cuenta
+     *        como dos bytes. Los demás dispersores siempre dan el mismo
+     *        resultado que sobre los bytes UTF-8 de la cadena.
+     * @return una instancia de {@link Dispersor} para cadenas.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido.
+     */
+    public static Dispersor<String>
+    dispersorCadena(AlgoritmoDispersor algoritmo, boolean utf8) {
         switch (algoritmo) {
         case XOR_STRING:
-            return c -> Dispersores.dispersaXOR(c.getBytes());
+            return c -> Dispersores.dispersaXOR(c, utf8);
         case BJ_STRING:
-            return c -> Dispersores.dispersaBJ(c.getBytes());
+            return c -> Dispersores.dispersaBJ(c, utf8);
         case DJB_STRING:
-            return c -> Dispersores.dispersaDJB(c.getBytes());
+            return c -> Dispersores.dispersaDJB(c, utf8);
+        case SIP_STRING:
+            return dispersorCadenaSip(SEMILLAS.nextLong(), SEMILLAS.nextLong());
+        case MURMUR3_STRING:
+            return c -> Dispersores.dispersaMurmur3(c);
+        case XX_STRING:
+            return c -> Dispersores.dispersaXX(c);
+        case WY_STRING:
+            return c -> Dispersores.dispersaWy(c);
         default: throw new IllegalArgumentException("Algoritmo inválido");
         }
     }
+
+    /**
+     * Regresa una instancia de {@link Dispersor} para cadenas que usa
+     * SipHash-1-3 con la llave secreta recibida. Las cadenas se dispersan
+     * codificadas al vuelo en UTF-8, sin crear un arreglo de bytes.
+     * @param k0 la primera mitad de la llave secreta.
+     * @param k1 la segunda mitad de la llave secreta.
+     * @return una instancia de {@link Dispersor} para cadenas.
+     */
+    public static Dispersor<String> dispersorCadenaSip(long k0, long k1) {
+        return c -> Dispersores.dispersaSip(c, k0, k1);
+    }
 }
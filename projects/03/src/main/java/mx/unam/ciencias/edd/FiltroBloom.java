@@ -0,0 +1,190 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Clase para filtros de Bloom. Un filtro de Bloom representa un conjunto
+ * con muy poca memoria, a cambio de que {@link #contiene} a veces regresa
+ * <code>true</code> para un elemento que nunca se agregó (un falso
+ * positivo). Nunca regresa <code>false</code> para un elemento agregado, así
+ * que sirve para descartar rápido las búsquedas que van a fallar.</p>
+ *
+ * <p>El filtro se dimensiona a partir del número esperado de elementos
+ * <em>n</em> y de la probabilidad deseada de falsos positivos <em>p</em>:
+ * usa <em>m</em> = −<em>n</em> ln <em>p</em> / (ln 2)<sup>2</sup> bits y
+ * <em>k</em> = (<em>m</em> / <em>n</em>) ln 2 funciones de dispersión. Las
+ * <em>k</em> posiciones de un elemento se calculan con doble dispersión,
+ * <em>g<sub>i</sub></em> = <em>h<sub>1</sub></em> +
+ * <em>i</em>·<em>h<sub>2</sub></em>, donde <em>h<sub>1</sub></em> y
+ * <em>h<sub>2</sub></em> salen de revolver de dos formas distintas la
+ * dispersión del elemento con {@link Dispersores#dispersaEntero}. Como todo
+ * sale de una dispersión de 32 bits, dos elementos con la misma dispersión
+ * son indistinguibles para el filtro.</p>
+ *
+ * @param <T> el tipo de los elementos del filtro.
+ */
+public class FiltroBloom<T> {
+
+    /* Máximo número de bits o contadores de un filtro. */
+    static final int MAXIMA_LONGITUD = Integer.MAX_VALUE - 63;
+
+    /* Los bits. */
+    private long[] bits;
+    /* El número de bits. */
+    private int longitud;
+    /* El número de funciones de dispersión. */
+    private int funciones;
+    /* El número de elementos agregados. */
+    private int elementos;
+    /* El dispersor. */
+    private Dispersor<T> dispersor;
+
+    /**
+     * Construye un filtro para el número esperado de elementos y la
+     * probabilidad de falsos positivos recibidos, que dispersa los elementos
+     * con su método <code>hashCode</code>.
+     * @param esperados el número esperado de elementos.
+     * @param probabilidad la probabilidad deseada de falsos positivos con
+     *        ese número de elementos.
+     * @throws IllegalArgumentException si el número esperado de elementos no
+     *         es positivo, o la probabilidad no está en (0, 1).
+     */
+    public FiltroBloom(int esperados, double probabilidad) {
+        this(esperados, probabilidad, (T elemento) -> elemento.hashCode());
+    }
+
+    /**
+     * Construye un filtro para el número esperado de elementos y la
+     * probabilidad de falsos positivos recibidos, con el dispersor recibido.
+     * @param esperados el número esperado de elementos.
+     * @param probabilidad la probabilidad deseada de falsos positivos con
+     *        ese número de elementos.
+     * @param dispersor el dispersor a utilizar.
+     * @throws IllegalArgumentException si el número esperado de elementos no
+     *         es positivo, la probabilidad no está en (0, 1), o el dispersor
+     *         es <code>null</code>.
+     */
+    public FiltroBloom(int esperados, double probabilidad,
+                       Dispersor<T> dispersor) {
+        if (dispersor == null) { throw new IllegalArgumentException(); }
+        this.longitud = longitud(esperados, probabilidad);
+        this.funciones = funciones(this.longitud, esperados);
+        this.bits = new long[(this.longitud + 63) >>> 6];
+        this.dispersor = dispersor;
+    }
+
+    /* Regresa el número de bits para el número esperado de elementos y la
+     * probabilidad de falsos positivos. */
+    static int longitud(int esperados, double probabilidad) {
+        if (esperados <= 0 || !(probabilidad > 0 && probabilidad < 1))
+            throw new IllegalArgumentException();
+        double m = -esperados * Math.log(probabilidad) /
+            (Math.log(2) * Math.log(2));
+        return (int)Math.max(64, Math.min(MAXIMA_LONGITUD, Math.ceil(m)));
+    }
+
+    /* Regresa el número de funciones de dispersión para el número de bits y
+     * el número esperado de elementos. */
+    static int funciones(int longitud, int esperados) {
+        return (int)Math.max(1, Math.round((double)longitud / esperados *
+                                           Math.log(2)));
+    }
+
+    /* Regresa la primera dispersión para la doble dispersión. */
+    static int primera(int h) {
+        return Dispersores.dispersaEntero(h);
+    }
+
+    /* Regresa la segunda dispersión para la doble dispersión. */
+    static int segunda(int h) {
+        return Dispersores.dispersaEntero(h ^ 0x9e3779b9);
+    }
+
+    /* Regresa la posición en [0, longitud) que le toca a la dispersión g,
+     * multiplicando en lugar de usar el módulo. */
+    static int posicion(int g, int longitud) {
+        return (int)(((g & 0xFFFFFFFFL) * longitud) >>> 32);
+    }
+
+    /* Regresa el estimado de la probabilidad de falsos positivos de un
+     * filtro. */
+    static double probabilidad(int longitud, int funciones, int elementos) {
+        return Math.pow(1 - Math.exp(-(double)funciones * elementos /
+                                     longitud), funciones);
+    }
+
+    /**
+     * Agrega un elemento al filtro.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es <code>null</code>.
+     */
+    public void agrega(T elemento) {
+        if (elemento == null) { throw new IllegalArgumentException(); }
+        int h = this.dispersor.dispersa(elemento);
+        int g = primera(h), d = segunda(h);
+        for (int i = 0; i < this.funciones; i++, g += d) {
+            int j = posicion(g, this.longitud);
+            this.bits[j >>> 6] |= 1L << j;
+        }
+        this.elementos++;
+    }
+
+    /**
+     * Nos dice si el elemento puede estar en el filtro.
+     * @param elemento el elemento a buscar.
+     * @return <code>false</code> si el elemento seguro no se agregó al
+     *         filtro, <code>true</code> si es probable que sí.
+     */
+    public boolean contiene(T elemento) {
+        if (elemento == null) { return false; }
+        int h = this.dispersor.dispersa(elemento);
+        int g = primera(h), d = segunda(h);
+        for (int i = 0; i < this.funciones; i++, g += d) {
+            int j = posicion(g, this.longitud);
+            if ((this.bits[j >>> 6] & (1L << j)) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Regresa el número de elementos agregados al filtro, contando cada vez
+     * que se agregó un mismo elemento.
+     * @return el número de elementos agregados al filtro.
+     */
+    public int getElementos() {
+        return this.elementos;
+    }
+
+    /**
+     * Regresa el número de bits del filtro.
+     * @return el número de bits del filtro.
+     */
+    public int getLongitud() {
+        return this.longitud;
+    }
+
+    /**
+     * Regresa el número de funciones de dispersión del filtro.
+     * @return el número de funciones de dispersión del filtro.
+     */
+    public int getFunciones() {
+        return this.funciones;
+    }
+
+    /**
+     * Regresa el estimado de la probabilidad de falsos positivos del filtro
+     * con los elementos agregados hasta ahora.
+     * @return el estimado de la probabilidad de falsos positivos.
+     */
+    public double probabilidadFalsos() {
+        return probabilidad(this.longitud, this.funciones, this.elementos);
+    }
+
+    /**
+     * Limpia el filtro, dejándolo vacío.
+     */
+    public void limpia() {
+        for (int i = 0; i < this.bits.length; i++)
+            this.bits[i] = 0;
+        this.elementos = 0;
+    }
+}
@@ -0,0 +1,171 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Clase para filtros de Bloom con contadores. Funciona como un {@link
+ * FiltroBloom}, con el mismo dimensionamiento y la misma doble dispersión,
+ * pero en lugar de un bit tiene en cada posición un contador de 4 bits, lo
+ * que permite eliminar elementos. Usa cuatro veces la memoria de un {@link
+ * FiltroBloom} con los mismos parámetros.</p>
+ *
+ * <p>Un contador que llega a 15 se queda en 15 para siempre, así que nunca
+ * hay falsos negativos. Sólo se deben eliminar elementos que sí se agregaron:
+ * eliminar un falso positivo puede hacer que el filtro olvide otros
+ * elementos.</p>
+ *
+ * @param <T> el tipo de los elementos del filtro.
+ */
+public class FiltroBloomContador<T> {
+
+    /* Valor máximo de un contador. */
+    private static final int MAXIMO = 15;
+
+    /* Los contadores, 16 por cada long. */
+    private long[] contadores;
+    /* El número de contadores. */
+    private int longitud;
+    /* El número de funciones de dispersión. */
+    private int funciones;
+    /* El número de elementos en el filtro. */
+    private int elementos;
+    /* El dispersor. */
+    private Dispersor<T> dispersor;
+
+    /**
+     * Construye un filtro para el número esperado de elementos y la
+     * probabilidad de falsos positivos recibidos, que dispersa los elementos
+     * con su método <code>hashCode</code>.
+     * @param esperados el número esperado de elementos.
+     * @param probabilidad la probabilidad deseada de falsos positivos con
+     *        ese número de elementos.
+     * @throws IllegalArgumentException si el número esperado de elementos no
+     *         es positivo, o la probabilidad no está en (0, 1).
+     */
+    public FiltroBloomContador(int esperados, double probabilidad) {
+        this(esperados, probabilidad, (T elemento) -> elemento.hashCode());
+    }
+
+    /**
+     * Construye un filtro para el número esperado de elementos y la
+     * probabilidad de falsos positivos recibidos, con el dispersor recibido.
+     * @param esperados el número esperado de elementos.
+     * @param probabilidad la probabilidad deseada de falsos positivos con
+     *        ese número de elementos.
+     * @param dispersor el dispersor a utilizar.
+     * @throws IllegalArgumentException si el número esperado de elementos no
+     *         es positivo, la probabilidad no está en (0, 1), o el dispersor
+     *         es <code>null</code>.
+     */
+    public FiltroBloomContador(int esperados, double probabilidad,
+                               Dispersor<T> dispersor) {
+        if (dispersor == null) { throw new IllegalArgumentException(); }
+        this.longitud = FiltroBloom.longitud(esperados, probabilidad);
+        this.funciones = FiltroBloom.funciones(this.longitud, esperados);
+        this.contadores = new long[(this.longitud + 15) >>> 4];
+        this.dispersor = dispersor;
+    }
+
+    /* Regresa el contador en la posición j. */
+    private int contador(int j) {
+        return (int)(this.contadores[j >>> 4] >>> ((j & 15) << 2)) & MAXIMO;
+    }
+
+    /* Suma d al contador en la posición j. */
+    private void suma(int j, int d) {
+        this.contadores[j >>> 4] += (long)d << ((j & 15) << 2);
+    }
+
+    /**
+     * Agrega un elemento al filtro.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es <code>null</code>.
+     */
+    public void agrega(T elemento) {
+        if (elemento == null) { throw new IllegalArgumentException(); }
+        int h = this.dispersor.dispersa(elemento);
+        int g = FiltroBloom.primera(h), d = FiltroBloom.segunda(h);
+        for (int i = 0; i < this.funciones; i++, g += d) {
+            int j = FiltroBloom.posicion(g, this.longitud);
+            if (this.contador(j) < MAXIMO)
+                this.suma(j, 1);
+        }
+        this.elementos++;
+    }
+
+    /**
+     * Nos dice si el elemento puede estar en el filtro.
+     * @param elemento el elemento a buscar.
+     * @return <code>false</code> si el elemento seguro no está en el filtro,
+     *         <code>true</code> si es probable que sí.
+     */
+    public boolean contiene(T elemento) {
+        if (elemento == null) { return false; }
+        int h = this.dispersor.dispersa(elemento);
+        int g = FiltroBloom.primera(h), d = FiltroBloom.segunda(h);
+        for (int i = 0; i < this.funciones; i++, g += d)
+            if (this.contador(FiltroBloom.posicion(g, this.longitud)) == 0)
+                return false;
+        return true;
+    }
+
+    /**
+     * Elimina un elemento del filtro. Si el elemento seguro no está en el
+     * filtro, no hace nada.
+     * @param elemento el elemento a eliminar; debe haberse agregado antes.
+     */
+    public void elimina(T elemento) {
+        if (!this.contiene(elemento))
+            return;
+        int h = this.dispersor.dispersa(elemento);
+        int g = FiltroBloom.primera(h), d = FiltroBloom.segunda(h);
+        for (int i = 0; i < this.funciones; i++, g += d) {
+            int j = FiltroBloom.posicion(g, this.longitud);
+            if (this.contador(j) < MAXIMO)
+                this.suma(j, -1);
+        }
+        this.elementos--;
+    }
+
+    /**
+     * Regresa el número de elementos en el filtro, contando cada vez que se
+     * agregó un mismo elemento.
+     * @return el número de elementos en el filtro.
+     */
+    public int getElementos() {
+        return this.elementos;
+    }
+
+    /**
+     * Regresa el número de contadores del filtro.
+     * @return el número de contadores del filtro.
+     */
+    public int getLongitud() {
+        return this.longitud;
+    }
+
+    /**
+     * Regresa el número de funciones de dispersión del filtro.
+     * @return el número de funciones de dispersión del filtro.
+     */
+    public int getFunciones() {
+        return this.funciones;
+    }
+
+    /**
+     * Regresa el estimado de la probabilidad de falsos positivos del filtro
+     * con los elementos que tiene.
+     * @return el estimado de la probabilidad de falsos positivos.
+     */
+    public double probabilidadFalsos() {
+        return FiltroBloom.probabilidad(this.longitud, this.funciones,
+                                        this.elementos);
+    }
+
+    /**
+     * Limpia el filtro, dejándolo vacío.
+     */
+    public void limpia() {
+        for (int i = 0; i < this.contadores.length; i++)
+            this.contadores[i] = 0;
+        this.elementos = 0;
+    }
+}
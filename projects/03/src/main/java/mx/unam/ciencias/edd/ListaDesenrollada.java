@@ -0,0 +1,495 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase genérica para listas desenrolladas: listas doblemente ligadas de
+ * bloques, donde cada bloque guarda hasta 64 elementos contiguos en un
+ * arreglo.</p>
+ *
+ * <p>Ofrecen las mismas operaciones que {@link Lista}, pero en lugar de un
+ * nodo de tres referencias por elemento usan una referencia por elemento más
+ * un bloque cada 64, así que ocupan alrededor de la cuarta parte de la
+ * memoria extra, y recorrerlas lee memoria contigua. Los accesos por índice
+ * saltan bloques completos, desde el extremo más cercano.</p>
+ *
+ * <p>Agregar al inicio o al final toma tiempo constante. Insertar en un
+ * bloque lleno lo parte en dos mitades, y eliminar junta un bloque con su
+ * vecino cuando queda a menos de la cuarta parte y caben en uno, así que los
+ * bloques nunca quedan vacíos.</p>
+ *
+ * <p>Las listas desenrolladas no aceptan a <code>null</code> como
+ * elemento.</p>
+ *
+ * @param <T> El tipo de los elementos de la lista.
+ */
+public class ListaDesenrollada<T> implements Coleccion<T> {
+
+    /* La capacidad de cada bloque. */
+    private static final int CAPACIDAD = 64;
+
+    /* Clase interna privada para bloques. */
+    private class Bloque {
+        /* Los elementos del bloque. */
+        private T[] elementos;
+        /* El número de elementos en el bloque. */
+        private int n;
+        /* El bloque anterior. */
+        private Bloque anterior;
+        /* El bloque siguiente. */
+        private Bloque siguiente;
+
+        /* Construye un bloque vacío. */
+        @SuppressWarnings("unchecked") public Bloque() {
+            this.elementos = (T[])new Object[CAPACIDAD];
+        }
+    }
+
+    /* Clase interna privada para iteradores. El iterador está antes del
+     * elemento k de su bloque; k puede ser el número de elementos del
+     * bloque. */
+    private class Iterador implements IteradorLista<T> {
+        /* El bloque del iterador. */
+        private Bloque bloque;
+        /* La posición en el bloque. */
+        private int k;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            start();
+        }
+
+        /* Nos dice si hay un elemento siguiente. */
+        @Override public boolean hasNext() {
+            return bloque != null &&
+                (k < bloque.n || bloque.siguiente != null);
+        }
+
+        /* Nos da el elemento siguiente. */
+        @Override public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            if (k == bloque.n) {
+                bloque = bloque.siguiente;
+                k = 0;
+            }
+            return bloque.elementos[k++];
+        }
+
+        /* Nos dice si hay un elemento anterior. */
+        @Override public boolean hasPrevious() {
+            return bloque != null && (k > 0 || bloque.anterior != null);
+        }
+
+        /* Nos da el elemento anterior. */
+        @Override public T previous() {
+            if (!hasPrevious())
+                throw new NoSuchElementException();
+            if (k == 0) {
+                bloque = bloque.anterior;
+                k = bloque.n;
+            }
+            return bloque.elementos[--k];
+        }
+
+        /* Mueve el iterador al inicio de la lista. */
+        @Override public void start() {
+            bloque = cabeza;
+            k = 0;
+        }
+
+        /* Mueve el iterador al final de la lista. */
+        @Override public void end() {
+            bloque = rabo;
+            k = rabo == null ? 0 : rabo.n;
+        }
+    }
+
+    /* Primer bloque de la lista. */
+    private Bloque cabeza;
+    /* Último bloque de la lista. */
+    private Bloque rabo;
+    /* Número de elementos en la lista. */
+    private int longitud;
+
+    /**
+     * Regresa la longitud de la lista. El método es idéntico a {@link
+     * #getElementos}.
+     * @return la longitud de la lista, el número de elementos que contiene.
+     */
+    public int getLongitud() {
+        return longitud;
+    }
+
+    /**
+     * Regresa el número elementos en la lista. El método es idéntico a {@link
+     * #getLongitud}.
+     * @return el número elementos en la lista.
+     */
+    @Override public int getElementos() {
+        return longitud;
+    }
+
+    /**
+     * Nos dice si la lista es vacía.
+     * @return <code>true</code> si la lista es vacía, <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return longitud == 0;
+    }
+
+    /**
+     * Agrega un elemento a la lista. Si la lista no tiene elementos, el
+     * elemento a agregar será el primero y último. El método es idéntico a
+     * {@link #agregaFinal}.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void agrega(T elemento) {
+        if (elemento == null) { throw new IllegalArgumentException(); }
+        if (rabo == null || rabo.n == CAPACIDAD)
+            nuevoBloque(rabo);
+        rabo.elementos[rabo.n++] = elemento;
+        longitud++;
+    }
+
+    /**
+     * Agrega un elemento al final de la lista. Si la lista no tiene elementos,
+     * el elemento a agregar será el primero y último.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void agregaFinal(T elemento) {
+        agrega(elemento);
+    }
+
+    /**
+     * Agrega un elemento al inicio de la lista. Si la lista no tiene elementos,
+     * el elemento a agregar será el primero y último.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void agregaInicio(T elemento) {
+        if (elemento == null) { throw new IllegalArgumentException(); }
+        if (cabeza == null || cabeza.n == CAPACIDAD)
+            nuevoBloque(null);
+        insertaEn(cabeza, 0, elemento);
+    }
+
+    /**
+     * Inserta un elemento en un índice explícito.
+     *
+     * Si el índice es menor o igual que cero, el elemento se agrega al inicio
+     * de la lista. Si el índice es mayor o igual que el número de elementos en
+     * la lista, el elemento se agrega al final de la misma. En otro caso,
+     * después de mandar llamar el método, el elemento tendrá el índice que se
+     * especifica en la lista.
+     * @param i el índice dónde insertar el elemento. Si es menor que 0 el
+     *          elemento se agrega al inicio de la lista, y si es mayor o igual
+     *          que el número de elementos en la lista se agrega al final.
+     * @param elemento el elemento a insertar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void inserta(int i, T elemento) {
+        if (elemento == null) { throw new IllegalArgumentException(); }
+        if (i <= 0) {
+            agregaInicio(elemento);
+            return;
+        }
+        if (i >= longitud) {
+            agregaFinal(elemento);
+            return;
+        }
+        Iterador it = posiciona(i);
+        Bloque b = it.bloque;
+        int k = it.k;
+        if (b.n == CAPACIDAD) {
+            /* Parte el bloque: la mitad de arriba pasa a uno nuevo. */
+            Bloque c = nuevoBloque(b);
+            int mitad = CAPACIDAD / 2;
+            System.arraycopy(b.elementos, mitad, c.elementos, 0, mitad);
+            for (int j = mitad; j < CAPACIDAD; j++)
+                b.elementos[j] = null;
+            b.n = c.n = mitad;
+            if (k > mitad) {
+                b = c;
+                k -= mitad;
+            }
+        }
+        insertaEn(b, k, elemento);
+    }
+
+    /* Crea un bloque vacío después del recibido, o al inicio si es null. */
+    private Bloque nuevoBloque(Bloque anterior) {
+        Bloque b = new Bloque();
+        b.anterior = anterior;
+        b.siguiente = anterior == null ? cabeza : anterior.siguiente;
+        if (b.siguiente == null)
+            rabo = b;
+        else
+            b.siguiente.anterior = b;
+        if (anterior == null)
+            cabeza = b;
+        else
+            anterior.siguiente = b;
+        return b;
+    }
+
+    /* Inserta el elemento en la posición k del bloque, que no está lleno. */
+    private void insertaEn(Bloque b, int k, T elemento) {
+        System.arraycopy(b.elementos, k, b.elementos, k + 1, b.n - k);
+        b.elementos[k] = elemento;
+        b.n++;
+        longitud++;
+    }
+
+    /* Regresa un iterador antes del i-ésimo elemento, que existe, caminando
+     * los bloques desde el extremo más cercano. */
+    private Iterador posiciona(int i) {
+        Iterador it = new Iterador();
+        Bloque b;
+        if (i < longitud / 2) {
+            b = cabeza;
+            while (i >= b.n) {
+                i -= b.n;
+                b = b.siguiente;
+            }
+            it.k = i;
+        } else {
+            /* Los elementos desde el i-ésimo hasta el final. */
+            int j = longitud - i;
+            b = rabo;
+            while (j > b.n) {
+                j -= b.n;
+                b = b.anterior;
+            }
+            it.k = b.n - j;
+        }
+        it.bloque = b;
+        return it;
+    }
+
+    /* Elimina el elemento en la posición k del bloque. Si el bloque queda
+     * vacío lo saca de la lista, y si queda a menos de la cuarta parte lo
+     * junta con un vecino donde quepa. */
+    private T eliminaEn(Bloque b, int k) {
+        T e = b.elementos[k];
+        System.arraycopy(b.elementos, k + 1, b.elementos, k, b.n - k - 1);
+        b.elementos[--b.n] = null;
+        longitud--;
+        if (b.n == 0) {
+            saca(b);
+        } else if (b.n < CAPACIDAD / 4) {
+            if (b.siguiente != null && b.n + b.siguiente.n <= CAPACIDAD)
+                junta(b, b.siguiente);
+            else if (b.anterior != null && b.anterior.n + b.n <= CAPACIDAD)
+                junta(b.anterior, b);
+        }
+        return e;
+    }
+
+    /* Pasa los elementos del bloque c al final de b, su anterior, y saca a c
+     * de la lista. */
+    private void junta(Bloque b, Bloque c) {
+        System.arraycopy(c.elementos, 0, b.elementos, b.n, c.n);
+        b.n += c.n;
+        saca(c);
+    }
+
+    /* Saca el bloque de la lista. */
+    private void saca(Bloque b) {
+        if (b.anterior == null)
+            cabeza = b.siguiente;
+        else
+            b.anterior.siguiente = b.siguiente;
+        if (b.siguiente == null)
+            rabo = b.anterior;
+        else
+            b.siguiente.anterior = b.anterior;
+    }
+
+    /**
+     * Elimina un elemento de la lista. Si el elemento no está contenido en la
+     * lista, el método no la modifica.
+     * @param elemento el elemento a eliminar.
+     */
+    @Override public void elimina(T elemento) {
+        for (Bloque b = cabeza; b != null; b = b.siguiente) {
+            for (int k = 0; k < b.n; k++) {
+                if (b.elementos[k].equals(elemento)) {
+                    eliminaEn(b, k);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Elimina el primer elemento de la lista y lo regresa.
+     * @return el primer elemento de la lista antes de eliminarlo.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T eliminaPrimero() {
+        if (cabeza == null) { throw new NoSuchElementException(); }
+        return eliminaEn(cabeza, 0);
+    }
+
+    /**
+     * Elimina el último elemento de la lista y lo regresa.
+     * @return el último elemento de la lista antes de eliminarlo.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T eliminaUltimo() {
+        if (rabo == null) { throw new NoSuchElementException(); }
+        return eliminaEn(rabo, rabo.n - 1);
+    }
+
+    /**
+     * Nos dice si un elemento está en la lista.
+     * @param elemento el elemento que queremos saber si está en la lista.
+     * @return <tt>true</tt> si <tt>elemento</tt> está en la lista,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+        return indiceDe(elemento) != -1;
+    }
+
+    /**
+     * Regresa la reversa de la lista.
+     * @return una nueva lista que es la reversa la que manda llamar el método.
+     */
+    public ListaDesenrollada<T> reversa() {
+        ListaDesenrollada<T> lista = new ListaDesenrollada<T>();
+        for (Bloque b = rabo; b != null; b = b.anterior)
+            for (int k = b.n - 1; k >= 0; k--)
+                lista.agrega(b.elementos[k]);
+        return lista;
+    }
+
+    /**
+     * Regresa una copia de la lista. La copia tiene los mismos elementos que la
+     * lista que manda llamar el método, en el mismo orden.
+     * @return una copia de la lista.
+     */
+    public ListaDesenrollada<T> copia() {
+        ListaDesenrollada<T> lista = new ListaDesenrollada<T>();
+        for (Bloque b = cabeza; b != null; b = b.siguiente)
+            for (int k = 0; k < b.n; k++)
+                lista.agrega(b.elementos[k]);
+        return lista;
+    }
+
+    /**
+     * Limpia la lista de elementos, dejándola vacía.
+     */
+    @Override public void limpia() {
+        cabeza = rabo = null;
+        longitud = 0;
+    }
+
+    /**
+     * Regresa el primer elemento de la lista.
+     * @return el primer elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T getPrimero() {
+        if (cabeza == null) { throw new NoSuchElementException(); }
+        return cabeza.elementos[0];
+    }
+
+    /**
+     * Regresa el último elemento de la lista.
+     * @return el último elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T getUltimo() {
+        if (rabo == null) { throw new NoSuchElementException(); }
+        return rabo.elementos[rabo.n - 1];
+    }
+
+    /**
+     * Regresa el <em>i</em>-ésimo elemento de la lista.
+     * @param i el índice del elemento que queremos.
+     * @return el <em>i</em>-ésimo elemento de la lista.
+     * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor o
+     *         igual que el número de elementos en la lista.
+     */
+    public T get(int i) {
+        if (i < 0 || i >= longitud) { throw new ExcepcionIndiceInvalido(); }
+        Iterador it = posiciona(i);
+        return it.bloque.elementos[it.k];
+    }
+
+    /**
+     * Regresa el índice del elemento recibido en la lista.
+     * @param elemento el elemento del que se busca el índice.
+     * @return el índice del elemento recibido en la lista, o -1 si el elemento
+     *         no está contenido en la lista.
+     */
+    public int indiceDe(T elemento) {
+        int i = 0;
+        for (Bloque b = cabeza; b != null; i += b.n, b = b.siguiente)
+            for (int k = 0; k < b.n; k++)
+                if (b.elementos[k].equals(elemento))
+                    return i + k;
+        return -1;
+    }
+
+    /**
+     * Regresa una representación en cadena de la lista.
+     * @return una representación en cadena de la lista.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (Bloque b = cabeza; b != null; b = b.siguiente) {
+            for (int k = 0; k < b.n; k++) {
+                sb.append(b.elementos[k]);
+                if (k + 1 < b.n || b.siguiente != null)
+                    sb.append(", ");
+            }
+        }
+        return sb.append("]").toString();
+    }
+
+    /**
+     * Nos dice si la lista es igual al objeto recibido.
+     * @param objeto el objeto con el que hay que comparar.
+     * @return <tt>true</tt> si la lista es igual al objeto recibido;
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean equals(Object objeto) {
+        if (objeto == null || getClass() != objeto.getClass())
+            return false;
+        @SuppressWarnings("unchecked") ListaDesenrollada<T> lista =
+            (ListaDesenrollada<T>)objeto;
+        if (lista.longitud != longitud)
+            return false;
+        Iterator<T> ia = lista.iterator();
+        for (T e : this)
+            if (!e.equals(ia.next()))
+                return false;
+        return true;
+    }
+
+    /**
+     * Regresa un iterador para recorrer la lista en una dirección.
+     * @return un iterador para recorrer la lista en una dirección.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    /**
+     * Regresa un iterador para recorrer la lista en ambas direcciones.
+     * @return un iterador para recorrer la lista en ambas direcciones.
+     */
+    public IteradorLista<T> iteradorLista() {
+        return new Iterador();
+    }
+}
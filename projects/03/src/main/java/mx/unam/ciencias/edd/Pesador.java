@@ -0,0 +1,16 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para calcular el peso de las entradas de un {@link Cache}.
+ */
+@FunctionalInterface
+public interface Pesador<K, V> {
+
+    /**
+     * Calcula el peso de la entrada con la llave y el valor recibidos.
+     * @param llave la llave de la entrada.
+     * @param valor el valor de la entrada.
+     * @return el peso de la entrada, que no debe ser negativo.
+     */
+    public long pesa(K llave, V valor);
+}
@@ -0,0 +1,213 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Comparator;
+
+/**
+ * <p>Clase para encontrar los elementos más frecuentes de una secuencia en
+ * una sola pasada y con memoria fija, con el algoritmo <em>Space-Saving</em>
+ * de Metwally, Agrawal y El Abbadi.</p>
+ *
+ * <p>La estructura lleva a lo más <em>k</em> contadores. Un elemento que ya
+ * tiene contador lo incrementa; si no tiene y ya no hay contadores libres,
+ * se queda con el contador mínimo, que se incrementa y guarda su valor
+ * anterior como el error del elemento. Así, si <em>N</em> es el total
+ * agregado:</p>
+ *
+ * <ul>
+ *   <li>la cuenta de un elemento nunca es menor que su frecuencia real, y la
+ *   rebasa por a lo más su error, que es a lo más <em>N</em>/<em>k</em>;</li>
+ *   <li>todo elemento con frecuencia mayor a <em>N</em>/<em>k</em> tiene
+ *   contador.</li>
+ * </ul>
+ *
+ * <p>Los contadores están en un {@link MonticuloMinimo}, así que agregar un
+ * elemento toma tiempo <em>O</em>(log <em>k</em>).</p>
+ *
+ * @param <T> el tipo de los elementos a contar.
+ */
+public class TopK<T> {
+
+    /* Clase interna privada para contadores. */
+    private static class Contador<T>
+        implements ComparableIndexable<Contador<T>> {
+
+        /* El elemento. */
+        private T elemento;
+        /* La cuenta. */
+        private long cuenta;
+        /* El error. */
+        private long error;
+        /* El índice en el montículo. */
+        private int indice;
+
+        /* Construye un contador. */
+        public Contador(T elemento, long cuenta) {
+            this.elemento = elemento;
+            this.cuenta = cuenta;
+            this.indice = -1;
+        }
+
+        /* Compara por cuenta. */
+        @Override public int compareTo(Contador<T> contador) {
+            return Long.compare(this.cuenta, contador.cuenta);
+        }
+
+        /* Regresa el índice. */
+        @Override public int getIndice() {
+            return this.indice;
+        }
+
+        /* Define el índice. */
+        @Override public void setIndice(int indice) {
+            this.indice = indice;
+        }
+    }
+
+    /* El número máximo de contadores. */
+    private int k;
+    /* El total agregado. */
+    private long total;
+    /* Los contadores, ordenados por cuenta. */
+    private MonticuloMinimo<Contador<T>> monticulo;
+    /* Los contadores, por elemento. */
+    private DiccionarioAbierto<T, Contador<T>> contadores;
+
+    /**
+     * Construye una estructura con el número de contadores recibido.
+     * @param k el número máximo de contadores.
+     * @throws IllegalArgumentException si k no es positivo.
+     */
+    public TopK(int k) {
+        if (k <= 0) { throw new IllegalArgumentException(); }
+        this.k = k;
+        this.monticulo = new MonticuloMinimo<Contador<T>>();
+        this.contadores = new DiccionarioAbierto<T, Contador<T>>(k);
+    }
+
+    /**
+     * Agrega una ocurrencia del elemento.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es <code>null</code>.
+     */
+    public void agrega(T elemento) {
+        this.agrega(elemento, 1);
+    }
+
+    /**
+     * Agrega varias ocurrencias del elemento.
+     * @param elemento el elemento a agregar.
+     * @param cuenta cuántas ocurrencias agregar.
+     * @throws IllegalArgumentException si el elemento es <code>null</code> o
+     *         la cuenta es negativa.
+     */
+    public void agrega(T elemento, long cuenta) {
+        if (elemento == null || cuenta < 0)
+            throw new IllegalArgumentException();
+        if (cuenta == 0)
+            return;
+        this.total += cuenta;
+        Contador<T> c = this.contadores.getOrDefault(elemento, null);
+        if (c != null) {
+            c.cuenta += cuenta;
+            this.monticulo.reordena(c);
+        } else if (this.monticulo.getElementos() < this.k) {
+            c = new Contador<T>(elemento, cuenta);
+            this.contadores.agrega(elemento, c);
+            this.monticulo.agrega(c);
+        } else {
+            c = this.monticulo.get(0);
+            this.contadores.extrae(c.elemento);
+            c.elemento = elemento;
+            c.error = c.cuenta;
+            c.cuenta += cuenta;
+            this.contadores.agrega(elemento, c);
+            this.monticulo.reordena(c);
+        }
+    }
+
+    /**
+     * Regresa la cuenta del elemento, que nunca es menor que su frecuencia
+     * real y la rebasa por a lo más {@link #getError}.
+     * @param elemento el elemento del que queremos su cuenta.
+     * @return la cuenta del elemento, o 0 si no tiene contador.
+     */
+    public long getCuenta(T elemento) {
+        Contador<T> c = this.contadores.getOrDefault(elemento, null);
+        return c == null ? 0 : c.cuenta;
+    }
+
+    /**
+     * Regresa el error de la cuenta del elemento.
+     * @param elemento el elemento del que queremos el error de su cuenta.
+     * @return el error de la cuenta del elemento, o 0 si no tiene contador.
+     */
+    public long getError(T elemento) {
+        Contador<T> c = this.contadores.getOrDefault(elemento, null);
+        return c == null ? 0 : c.error;
+    }
+
+    /**
+     * Nos dice si el elemento tiene contador.
+     * @param elemento el elemento que queremos saber si tiene contador.
+     * @return <code>true</code> si el elemento tiene contador,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(T elemento) {
+        return this.contadores.contiene(elemento);
+    }
+
+    /**
+     * Regresa una lista con los <em>n</em> elementos de mayor cuenta, de
+     * mayor a menor. Sólo se ordenan los contadores, no la secuencia.
+     * @param n el número de elementos que queremos.
+     * @return una lista con a lo más <em>n</em> elementos.
+     * @throws IllegalArgumentException si n es negativo.
+     */
+    public Lista<T> mayores(int n) {
+        if (n < 0) { throw new IllegalArgumentException(); }
+        @SuppressWarnings("unchecked") Contador<T>[] arreglo =
+            (Contador<T>[])new Contador[this.monticulo.getElementos()];
+        int i = 0;
+        for (Contador<T> c : this.monticulo)
+            arreglo[i++] = c;
+        Comparator<Contador<T>> mayorPrimero = (a, b) -> b.compareTo(a);
+        Arreglos.quickSort(arreglo, mayorPrimero);
+        Lista<T> lista = new Lista<T>();
+        for (i = 0; i < Math.min(n, arreglo.length); i++)
+            lista.agrega(arreglo[i].elemento);
+        return lista;
+    }
+
+    /**
+     * Regresa el total de ocurrencias agregadas.
+     * @return el total de ocurrencias agregadas.
+     */
+    public long getTotal() {
+        return this.total;
+    }
+
+    /**
+     * Regresa el número máximo de contadores.
+     * @return el número máximo de contadores.
+     */
+    public int getK() {
+        return this.k;
+    }
+
+    /**
+     * Regresa el número de contadores en uso.
+     * @return el número de contadores en uso.
+     */
+    public int getElementos() {
+        return this.monticulo.getElementos();
+    }
+
+    /**
+     * Limpia la estructura, dejándola sin contadores.
+     */
+    public void limpia() {
+        this.monticulo.limpia();
+        this.contadores.limpia();
+        this.total = 0;
+    }
+}
@@ -12,6 +12,7 @@ public class ArgumentParser {
 
     public Lista<String> files = new Lista<String>();
     public String outputDir;
+    public boolean approximate = false;
 
     // Handle incoming data.
     public ArgumentParser(String[] args) {
@@ -32,6 +33,8 @@ public class ArgumentParser {
                     }
                     this.outputDir = args[i];
                     flagFound = true;
+                } else if(args[i].equals("--aproximado")) { // Fixed memory counting
+                    this.approximate = true;
                 } else { // Invalid flag
                     this.showUsageMenu();
                 }
@@ -51,6 +54,10 @@ public class ArgumentParser {
         System.out.println("Usage: proyecto3");
         System.out.println("\tfile..\tFile(s) that will be used to count its words and generate the report.");
         System.out.println("\t-o output_dir\tDirectory to be used to output the report.");
+        System.out.println("\t[--aproximado]\tCount in fixed memory: unique words are estimated with a");
+        System.out.println("\t\tHyperLogLog (0.8% standard error) and only the top words are kept, with");
+        System.out.println("\t\tCount-Min counts that overestimate by at most 0.05% of the total words");
+        System.out.println("\t\twith 99.9% probability.");
         System.out.println("\t[-h]\tShow usage menu");
         System.exit(1);
     }
@@ -4,11 +4,19 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.PrintStream;
 import java.text.Normalizer;
-import java.util.Iterator;
 
+import mx.unam.ciencias.edd.AlgoritmoDispersor;
 import mx.unam.ciencias.edd.Arreglos;
+import mx.unam.ciencias.edd.ContadorCadenas;
+import mx.unam.ciencias.edd.CountMinSketch;
 import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.Dispersor;
+import mx.unam.ciencias.edd.FabricaDispersores;
+import mx.unam.ciencias.edd.HyperLogLog;
 import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloMinimo;
+import mx.unam.ciencias.edd.TopK;
+import mx.unam.ciencias.edd.ValorIndexable;
 import mx.unam.ciencias.edd.proyecto3.figures.AVLTree;
 import mx.unam.ciencias.edd.proyecto3.figures.BarChart;
 import mx.unam.ciencias.edd.proyecto3.figures.PieChart;
@@ -21,12 +29,32 @@ import mx.unam.ciencias.edd.proyecto3.templates.Template;
  * A document receive a list of string representing each
  * line inside a file and know how to output the words count
  * and the HTML content.
+ *
+ * Only the TOP_WORDS most frequent words are kept for the report.
+ * In exact mode every word is counted and the top words are picked
+ * with a bounded heap, so the vocabulary is never sorted.
+ *
+ * In approximate mode the document uses fixed memory no matter
+ * how big the file is: unique words are estimated with a
+ * HyperLogLog (standard error 0.81%, so within ±1.6% 95% of the
+ * time) and word counts with a Count-Min sketch, whose counts never
+ * fall below the real ones and exceed them by at most 0.05% of the
+ * total words with probability 99.9%. The top words come from a
+ * Space-Saving TopK with TOP_COUNTERS counters, which tracks every
+ * word more frequent than total words / TOP_COUNTERS.
  */
 public class Document {
 
+    // Approximate mode parameters
+    private static final int HLL_PRECISION = 14;
+    private static final double CMS_ERROR = 0.0005;
+    private static final double CMS_FAILURE = 0.001;
+    private static final int TOP_WORDS = 100;
+    private static final int TOP_COUNTERS = 10 * TOP_WORDS;
+
     private Lista<String> lines;
     public String filename;
-    public Diccionario<String, Integer> words;
+    public ContadorCadenas words;
     public int totalWords = 0;
     public int totalUniqueWords = 0;
     public Word[] wordsArray;
@@ -34,6 +62,12 @@ public class Document {
     public String dirpath;
     private Word[] distributionArray;  // Most common (top 10) words distributed
 
+    // Approximate mode state
+    private boolean approximate;
+    private HyperLogLog<String> uniqueSketch;
+    private CountMinSketch<String> countSketch;
+    private TopK<String> topWords;  // Heavy hitter candidates
+
     // Templates
     private String baseTemplate = "file_report.html";
     private String wordTagTemplate = "components/word_tag.html";
@@ -43,7 +77,20 @@ public class Document {
     public Document(Lista<String> lines, String filename) {
         this.lines = lines;
         this.filename = filename;
-        this.words = new Diccionario<String, Integer>();
+        this.words = new ContadorCadenas();
+    }
+
+    // A document whose lines are fed with countLine instead of kept in memory
+    public Document(String filename, boolean approximate) {
+        this(new Lista<String>(), filename);
+        this.approximate = approximate;
+        if(approximate) {
+            Dispersor<String> d =
+                FabricaDispersores.dispersorCadena(AlgoritmoDispersor.BJ_STRING);
+            this.uniqueSketch = new HyperLogLog<String>(HLL_PRECISION, d);
+            this.countSketch = new CountMinSketch<String>(CMS_ERROR, CMS_FAILURE, d);
+            this.topWords = new TopK<String>(TOP_COUNTERS);
+        }
     }
 
     public class Word implements Comparable<Word> {
@@ -80,34 +127,90 @@ public class Document {
     // Count words in file
     public void countWord() {
         for(String line: this.lines) {
-            String[] lineWords = this.getLineWords(line);
-            for(String word: lineWords) {
-                this.totalWords += 1;
-                if(this.words.contiene(word)) {
-                    int count = this.words.get(word);
-                    this.words.agrega(word, count + 1);
-                } else {
-                    this.totalUniqueWords += 1;
-                    this.words.agrega(word, 1);
-                }
-            }
+            this.countLine(line);
+        }
+        if(this.approximate) {
+            this.totalUniqueWords = (int) this.uniqueSketch.estima();
+            this.computeTopWordsArray();
+        } else {
+            this.computeWordsArray();
         }
-        this.computeWordsArray();
         this.computeDistributionArray();
     }
-    
-    // Build words array
-    private void computeWordsArray() {
-        this.wordsArray = new Word[this.words.getElementos()];
+
+    // Count the words in a single line
+    public void countLine(String line) {
+        String[] lineWords = this.getLineWords(line);
+        for(String word: lineWords) {
+            this.totalWords += 1;
+            if(this.approximate) {
+                this.countApproximate(word);
+            } else if(this.words.incrementa(word) == 1) {
+                this.totalUniqueWords += 1;
+            }
+        }
+    }
+
+    // Feed a word to the sketches and the heavy hitters tracker
+    private void countApproximate(String word) {
+        this.uniqueSketch.agrega(word);
+        this.countSketch.incrementa(word);
+        this.topWords.agrega(word);
+    }
+
+    // Words with at least minLength letters: the whole vocabulary in
+    // exact mode, only the top words in approximate mode
+    public Lista<String> longWords(int minLength) {
+        Lista<String> list = new Lista<String>();
+        if(this.approximate) {
+            for(Word w: this.wordsArray) {
+                if(w.word.length() >= minLength) { list.agrega(w.word); }
+            }
+            return list;
+        }
+        ContadorCadenas.Cursor c = this.words.cursor();
+        while(c.avanza()) {
+            if(c.llave().length() >= minLength) { list.agrega(c.llave()); }
+        }
+        return list;
+    }
+
+    // Build words array from the heavy hitters. Both counts are upper
+    // bounds of the real one, so the smallest is kept.
+    private void computeTopWordsArray() {
+        Lista<String> top = this.topWords.mayores(TOP_WORDS);
+        this.wordsArray = new Word[top.getElementos()];
         int i = 0;
-        Iterator<String> keys = this.words.iteradorLlaves();
-        while(keys.hasNext()) {
-            String key = keys.next(); int value = this.words.get(key);
-            this.wordsArray[i++] = new Word(key, value);
+        for(String word: top) {
+            long count = Math.min(this.topWords.getCuenta(word),
+                                  this.countSketch.estima(word));
+            this.wordsArray[i++] = new Word(word, count);
         }
         Arreglos.quickSort(this.wordsArray);
     }
 
+    // Build words array with the top words, using a min-heap bounded to
+    // TOP_WORDS elements instead of sorting every word
+    private void computeWordsArray() {
+        MonticuloMinimo<ValorIndexable<String>> heap =
+            new MonticuloMinimo<ValorIndexable<String>>();
+        ContadorCadenas.Cursor c = this.words.cursor();
+        while(c.avanza()) {
+            if(heap.getElementos() < TOP_WORDS) {
+                heap.agrega(new ValorIndexable<String>(c.llave(), c.cuenta()));
+            } else if(c.cuenta() > heap.get(0).getValor()) {
+                heap.elimina();
+                heap.agrega(new ValorIndexable<String>(c.llave(), c.cuenta()));
+            }
+        }
+        // The heap returns the smallest first, so fill from the end
+        this.wordsArray = new Word[heap.getElementos()];
+        for(int i = this.wordsArray.length - 1; i >= 0; i--) {
+            ValorIndexable<String> v = heap.elimina();
+            this.wordsArray[i] = new Word(v.getElemento(), (float) v.getValor());
+        }
+    }
+
     // Build distribution array
     public void computeDistributionArray() {
         Word[] dist = new Word[11];
@@ -116,11 +219,12 @@ public class Document {
             float p = w.count / this.totalWords;
             dist[i] = new Word(w.word, p);
         }
-        float total = 0;
-        for(int i = 10; i < this.wordsArray.length; i++) {
-            total += this.wordsArray[i].count;
+        // Works even when wordsArray only keeps the top words
+        float total = this.totalWords;
+        for(int i = 0; i < 10; i++) {
+            total -= this.wordsArray[i].count;
         }
-        dist[10] = new Word("others", total / this.totalWords);
+        dist[10] = new Word("others", Math.max(0, total) / this.totalWords);
         this.distributionArray = dist;
     }
 
@@ -141,7 +245,7 @@ public class Document {
         // File name
         context.agrega("file_name", this.filename);
         context.agrega("total_words", Integer.toString(this.totalWords));
-        context.agrega("total_unique_words", Integer.toString(this.totalUniqueWords));
+        context.agrega("total_unique_words", this.uniqueWordsText());
 
         // Words count
         String wordsContent = "";
@@ -216,6 +320,18 @@ public class Document {
         return template.render(context);
     }
 
+    // Unique words count, with its error bounds in approximate mode
+    private String uniqueWordsText() {
+        if(!this.approximate) {
+            return Integer.toString(this.totalUniqueWords);
+        }
+        return String.format("~%d (+/-%.1f%% with 95%% confidence; word counts may "
+                             + "exceed the real ones by up to %d)",
+                             this.totalUniqueWords,
+                             200 * this.uniqueSketch.errorEstandar(),
+                             this.countSketch.cotaError());
+    }
+
     private void writeFigure(String content, String outputFile) {
         if(outputFile != null) {
             try {
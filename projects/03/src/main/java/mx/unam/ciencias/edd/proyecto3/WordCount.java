@@ -11,6 +11,7 @@ import java.util.Iterator;
 
 import mx.unam.ciencias.edd.Conjunto;
 import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioAbierto;
 import mx.unam.ciencias.edd.Lista;
 import mx.unam.ciencias.edd.proyecto3.Document.Word;
 import mx.unam.ciencias.edd.proyecto3.figures.Graph;
@@ -33,7 +34,9 @@ public class WordCount {
     public void run(String[] args) {
         this.argsParser = new ArgumentParser(args);
 
-        Document[] documents = this.createDocs(argsParser.files);
+        Document[] documents = argsParser.approximate
+            ? this.streamDocs(argsParser.files)
+            : this.createDocs(argsParser.files);
 
         // Count words
         for(Document doc: documents) {
@@ -77,6 +80,30 @@ public class WordCount {
         return docs;
     }
 
+    // Return document instances that counted their files line by line,
+    // without keeping the content in memory
+    private Document[] streamDocs(Lista<String> files) {
+        Document[] docs = new Document[files.getElementos()];
+        int i = 0;
+        for(String file: files) {
+            Document doc = new Document(new File(file).getName(), true);
+            try {
+                BufferedReader in =
+                    new BufferedReader(
+                        new InputStreamReader(
+                            new FileInputStream(file)));
+                String line = null;
+                while((line = in.readLine()) != null) { doc.countLine(line); }
+                in.close();
+            } catch (IOException ioe) {
+                System.err.println("There was a problem reading file " + file);
+                System.exit(1);
+            }
+            docs[i++] = doc;
+        }
+        return docs;
+    }
+
     // Make directory
     private String makeDirectory(String dirname) {
         File dir = new File(dirname);
@@ -162,7 +189,7 @@ public class WordCount {
      */
     public Word[] generateWordPairs(Document[] docs) {
         // Just an auxiliary dictionary to store nodes(docs) as words, since GraphSVG needs words.
-        Diccionario<Document, Word> nodes = new Diccionario<Document, Word>();
+        DiccionarioAbierto<Document, Word> nodes = new DiccionarioAbierto<Document, Word>();
         char wordChar = 'A';
         for(Document doc: docs) {
             Word w = doc.new Word(doc.filename, doc.totalWords);  // Initialization data is just dummy
@@ -171,7 +198,7 @@ public class WordCount {
         }
 
         // {'word': <A, B, C>, 'word2': <E, A>, ...}
-        Diccionario<String, Conjunto<Word>> connections = new Diccionario<String, Conjunto<Word>>();
+        DiccionarioAbierto<String, Conjunto<Word>> connections = new DiccionarioAbierto<String, Conjunto<Word>>();
 
         // < <A,B>, <B,D>, <C,A>, ... >
         Conjunto<Conjunto<Word>> pairs = new Conjunto<Conjunto<Word>>();
@@ -180,31 +207,27 @@ public class WordCount {
         // Match documents based on the words they share
         for(Document doc: docs) {
             Word node = nodes.get(doc);
-            for(Word w: doc.wordsArray) { // So fat we have
-                if(w.word.length() >= 7) {
-                    Conjunto<Word> wordSet;
-                    if(connections.contiene(w.word)) {
-                        wordSet = connections.get(w.word);
-                        // Make pairs and ad them to global pairs
-                        for(Word n: wordSet) {
-                            Conjunto<Word> pair = new Conjunto<Word>();
-                            pair.agrega(node);
-                            pair.agrega(n);
-                            pairs.agrega(pair);
-                        }
-                    }
-                    else { // Add and empty set to the word connections
-                        wordSet = new Conjunto<Word>();
-                        connections.agrega(w.word, wordSet);
-                    }
-                    wordSet.agrega(node);
-                }
+            // Previous documents sharing at least one word with this one
+            Conjunto<Word> neighbours = new Conjunto<Word>(docs.length);
+            for(String word: doc.longWords(7)) { // So fat we have
+                // New words start with an empty set of connections
+                Conjunto<Word> wordSet =
+                    connections.computeIfAbsent(word, k -> new Conjunto<Word>());
+                neighbours.agregaTodos(wordSet);
+                wordSet.agrega(node);
+            }
+            // Make one pair per neighbour and add them to global pairs
+            for(Word n: neighbours) {
+                Conjunto<Word> pair = new Conjunto<Word>();
+                pair.agrega(node);
+                pair.agrega(n);
+                pairs.agrega(pair);
             }
         }
 
         // Convert pairs set to array
         Lista<Word> pairsList = new Lista<Word>();
-        Diccionario<String, Word> connected = new Diccionario<String, Word>();
+        DiccionarioAbierto<String, Word> connected = new DiccionarioAbierto<String, Word>();
         for(Conjunto<Word> edge: pairs) {
             for(Word file: edge) {
                 pairsList.agrega(file);
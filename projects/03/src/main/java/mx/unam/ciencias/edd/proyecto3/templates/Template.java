@@ -5,9 +5,11 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.Iterator;
+import java.util.regex.Pattern;
 
+import mx.unam.ciencias.edd.CacheLFU;
+import mx.unam.ciencias.edd.CacheLRU;
 import mx.unam.ciencias.edd.Diccionario;
-import mx.unam.ciencias.edd.Lista;
 
 /**
  * Template
@@ -17,6 +19,16 @@ import mx.unam.ciencias.edd.Lista;
  */
 public class Template {
 
+    // Raw template files, bounded by their total length in characters. The
+    // reports create a Template per word, so without it every word rereads
+    // its file from disk.
+    private static final CacheLRU<String, String> files =
+        new CacheLRU<String, String>(1 << 20, (k, v) -> v.length());
+
+    // Compiled placeholder patterns; a handful of keys are used over and over.
+    private static final CacheLFU<String, Pattern> placeholders =
+        new CacheLFU<String, Pattern>(256);
+
     private String filename;
     public String content;
 
@@ -24,32 +36,31 @@ public class Template {
 
     public Template(String filename) {
         this.filename = this.baseLocation + filename;
-        this.content = this.loadTemplate(this.filename);
+        this.content = files.computeIfAbsent(this.filename, this::loadTemplate);
     }
 
     private String loadTemplate(String filename) {
-        Lista<String> lines = new Lista<String>();
+        StringBuilder returnable = new StringBuilder();
         String line;
         try {
             InputStreamReader in = new InputStreamReader(new FileInputStream(filename));
             BufferedReader reader = new BufferedReader(in);
-            while((line = reader.readLine()) != null) { lines.agrega(line); }
+            while((line = reader.readLine()) != null) { returnable.append(line).append('\n'); }
         } catch(IOException e) {
             System.out.println("There was an error parsing the template " + filename);
             System.exit(1);
         }
-        String returnable = "";
-        for(String s: lines) { returnable += s + "\n"; }
-        return returnable;
+        return returnable.toString();
     }
 
     public String render(Diccionario<String, String> context) {
         Iterator<String> keys = context.iteradorLlaves();
         while(keys.hasNext()) {
             String key = keys.next();
-            String replacementKey = "\\{\\{ " + key + " \\}\\}";
+            Pattern replacementKey = placeholders.computeIfAbsent(key,
+                k -> Pattern.compile("\\{\\{ " + k + " \\}\\}"));
             String value = context.get(key);
-            this.content = this.content.replaceAll(replacementKey, value);
+            this.content = replacementKey.matcher(this.content).replaceAll(value);
         }
         return this.content;
     }
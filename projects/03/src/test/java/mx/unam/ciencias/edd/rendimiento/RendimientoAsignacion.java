@@ -0,0 +1,91 @@
+package mx.unam.ciencias.edd.rendimiento;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import mx.unam.ciencias.edd.Dispersores;
+
+/**
+ * <p>Mide, para {@link Dispersores#dispersaBJ}, {@link
+ * Dispersores#dispersaXOR} y {@link Dispersores#dispersaDJB}, los bytes
+ * reservados por llamada y el rendimiento sobre llaves de 8 B, 64 B, 1 KB y
+ * 64 KB. Las funciones de dispersión no deben crear objetos, así que el
+ * programa termina con error si alguna llamada reserva memoria.</p>
+ *
+ * <p>Se ejecuta, después de <code>mvn test-compile</code> y desde
+ * <code>projects/03</code>, con:</p>
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     mx.unam.ciencias.edd.rendimiento.RendimientoAsignacion
+ * </pre>
+ */
+public class RendimientoAsignacion {
+
+    /* Cuántos bytes se dispersan por medición. */
+    private static final long BYTES = 1L << 27;
+    /* Número de rondas por medición. */
+    private static final int RONDAS = 5;
+    /* Longitudes de las llaves. */
+    private static final int[] LONGITUDES = { 8, 64, 1 << 10, 1 << 16 };
+
+    /* El bean para medir los bytes reservados por el hilo. */
+    private static final com.sun.management.ThreadMXBean HILOS =
+        (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+    /* Para que el JIT no descarte el trabajo medido. */
+    private static int sumidero;
+
+    /* Dispersa la llave el número de veces recibido, y regresa los bytes
+     * reservados por el hilo mientras tanto. */
+    private static long dispersa(byte[] llave, long veces,
+                                 ToIntFunction<byte[]> dispersor) {
+        long id = Thread.currentThread().getId();
+        long b = HILOS.getThreadAllocatedBytes(id);
+        for (long k = 0; k < veces; k++)
+            sumidero += dispersor.applyAsInt(llave);
+        return HILOS.getThreadAllocatedBytes(id) - b;
+    }
+
+    /* Mide el dispersor sobre la llave, imprime los bytes por llamada y el
+     * rendimiento, y regresa si la última ronda no reservó nada. */
+    private static boolean mide(String nombre, byte[] llave,
+                                ToIntFunction<byte[]> dispersor) {
+        long veces = Math.max(1, BYTES / llave.length);
+        long mejor = Long.MAX_VALUE;
+        long bytes = 0;
+        for (int r = 0; r < RONDAS; r++) {
+            long t = System.nanoTime();
+            bytes = dispersa(llave, veces, dispersor);
+            mejor = Math.min(mejor, System.nanoTime() - t);
+        }
+        double porLlamada = (double)bytes / veces;
+        System.out.printf("  %-4s %8d B %10.1f ns %8.0f MB/s %8.3f B/llamada%n",
+                          nombre, llave.length, (double)mejor / veces,
+                          (double)llave.length * veces / mejor * 1e3,
+                          porLlamada);
+        return bytes == 0;
+    }
+
+    /**
+     * Punto de entrada.
+     * @param args no se usan.
+     */
+    public static void main(String[] args) {
+        Random random = new Random(0);
+        boolean limpio = true;
+        for (int longitud : LONGITUDES) {
+            byte[] llave = new byte[longitud];
+            random.nextBytes(llave);
+            limpio &= mide("BJ", llave, Dispersores::dispersaBJ);
+            limpio &= mide("XOR", llave, Dispersores::dispersaXOR);
+            limpio &= mide("DJB", llave, Dispersores::dispersaDJB);
+        }
+        if (sumidero == 42)
+            System.out.println();
+        if (!limpio) {
+            System.out.println("alguna función de dispersión reservó memoria");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package mx.unam.ciencias.edd.rendimiento;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.Dispersores;
+
+/**
+ * <p>Compara la calidad y el rendimiento de las funciones de dispersión de
+ * {@link Dispersores}. Para cada una reporta:</p>
+ *
+ * <ul>
+ *   <li>la avalancha: al cambiar un bit de la llave, qué fracción de los bits
+ *   de la dispersión cambia en promedio (lo ideal es 0.5), y el peor sesgo de
+ *   un par bit de entrada/bit de salida (lo ideal es cercano a 0);</li>
+ *   <li>las colisiones en las cubetas de un {@link Diccionario}, medidas con
+ *   {@link Diccionario#colisiones}, divididas entre las que se esperan de una
+ *   función uniforme (lo ideal es 1.0), con las palabras de un corpus y con
+ *   llaves secuenciales;</li>
+ *   <li>el tiempo por llave y el rendimiento con las palabras del corpus y
+ *   con llaves aleatorias de 8 B, 64 B y 1 KB.</li>
+ * </ul>
+ *
+ * <p>Se ejecuta, después de <code>mvn test-compile</code> y desde
+ * <code>projects/03</code>, con:</p>
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     mx.unam.ciencias.edd.rendimiento.RendimientoCalidad [corpus]
+ * </pre>
+ */
+public class RendimientoCalidad {
+
+    /* Corpus predeterminado. */
+    private static final String CORPUS = "test_files/don_quijote.txt";
+    /* Número de llaves para medir la avalancha. */
+    private static final int AVALANCHA = 1 << 12;
+    /* Longitud de las llaves para medir la avalancha. */
+    private static final int LONGITUD_AVALANCHA = 16;
+    /* Número de llaves secuenciales. */
+    private static final int SECUENCIALES = 1 << 16;
+    /* Cuántos bytes se dispersan por medición de rendimiento. */
+    private static final long BYTES = 1L << 26;
+    /* Número de rondas por medición de rendimiento. */
+    private static final int RONDAS = 5;
+
+    /* Los nombres de las funciones de dispersión. */
+    private static final String[] NOMBRES = {
+        "XOR", "BJ", "DJB", "Sip", "Murmur3", "xxHash64", "wyhash"
+    };
+
+    /* Las funciones de dispersión. */
+    @SuppressWarnings("unchecked")
+    private static final ToIntFunction<byte[]>[] DISPERSORES =
+        new ToIntFunction[] {
+        (ToIntFunction<byte[]>)Dispersores::dispersaXOR,
+        (ToIntFunction<byte[]>)Dispersores::dispersaBJ,
+        (ToIntFunction<byte[]>)Dispersores::dispersaDJB,
+        (ToIntFunction<byte[]>)l ->
+            Dispersores.dispersaSip(l, 0x1234L, 0x5678L),
+        (ToIntFunction<byte[]>)Dispersores::dispersaMurmur3,
+        (ToIntFunction<byte[]>)Dispersores::dispersaXX,
+        (ToIntFunction<byte[]>)Dispersores::dispersaWy
+    };
+
+    /* Para que el JIT no descarte el trabajo medido. */
+    private static int sumidero;
+
+    /* Regresa la fracción promedio de bits de salida que cambian al cambiar
+     * un bit de entrada, y el peor sesgo |p - 0.5| de un par bit de
+     * entrada/bit de salida. */
+    private static double[] avalancha(ToIntFunction<byte[]> dispersor) {
+        Random random = new Random(1);
+        int bits = LONGITUD_AVALANCHA * 8;
+        int[][] cambios = new int[bits][32];
+        byte[] llave = new byte[LONGITUD_AVALANCHA];
+        long total = 0;
+        for (int k = 0; k < AVALANCHA; k++) {
+            random.nextBytes(llave);
+            int h = dispersor.applyAsInt(llave);
+            for (int b = 0; b < bits; b++) {
+                llave[b >> 3] ^= 1 << (b & 7);
+                int d = h ^ dispersor.applyAsInt(llave);
+                llave[b >> 3] ^= 1 << (b & 7);
+                total += Integer.bitCount(d);
+                for (int s = 0; s < 32; s++)
+                    cambios[b][s] += (d >>> s) & 1;
+            }
+        }
+        double sesgo = 0;
+        for (int b = 0; b < bits; b++)
+            for (int s = 0; s < 32; s++)
+                sesgo = Math.max(sesgo, Math.abs((double)cambios[b][s] /
+                                                 AVALANCHA - 0.5));
+        return new double[] {
+            (double)total / ((long)AVALANCHA * bits * 32), sesgo
+        };
+    }
+
+    /* Agrega las llaves a un diccionario y regresa sus colisiones divididas
+     * entre las que se esperan de una función uniforme. */
+    private static double colisiones(String[] llaves,
+                                     ToIntFunction<byte[]> dispersor) {
+        Diccionario<String, Integer> d =
+            new Diccionario<String, Integer>(llaves.length, c ->
+                dispersor.applyAsInt(c.getBytes(StandardCharsets.UTF_8)));
+        for (String llave : llaves)
+            d.agrega(llave, 0);
+        double n = d.getElementos(), m = n / d.carga();
+        double esperadas = n - m * (1 - Math.pow(1 - 1 / m, n));
+        return d.colisiones() / esperadas;
+    }
+
+    /* Dispersa todas las llaves varias veces y regresa el mejor tiempo por
+     * llave en nanosegundos. */
+    private static double mide(byte[][] llaves,
+                               ToIntFunction<byte[]> dispersor) {
+        long total = 0;
+        for (byte[] llave : llaves)
+            total += llave.length;
+        int repeticiones = (int)Math.max(1, BYTES / Math.max(1, total));
+        long mejor = Long.MAX_VALUE;
+        for (int r = 0; r < RONDAS; r++) {
+            long t = System.nanoTime();
+            for (int k = 0; k < repeticiones; k++)
+                for (byte[] llave : llaves)
+                    sumidero += dispersor.applyAsInt(llave);
+            mejor = Math.min(mejor, System.nanoTime() - t);
+        }
+        return (double)mejor / ((long)llaves.length * repeticiones);
+    }
+
+    /* Regresa n llaves aleatorias de la longitud recibida. */
+    private static byte[][] aleatorias(int n, int longitud) {
+        Random random = new Random(longitud);
+        byte[][] llaves = new byte[n][longitud];
+        for (byte[] llave : llaves)
+            random.nextBytes(llave);
+        return llaves;
+    }
+
+    /**
+     * Punto de entrada.
+     * @param args opcionalmente, la ruta del corpus.
+     * @throws IOException si no se puede leer el corpus.
+     */
+    public static void main(String[] args) throws IOException {
+        String ruta = args.length > 0 ? args[0] : CORPUS;
+        String texto = new String(Files.readAllBytes(Paths.get(ruta)),
+                                  StandardCharsets.UTF_8);
+        String[] p = texto.toLowerCase().split("[^\\p{IsAlphabetic}]+");
+        Diccionario<String, Integer> unicas = new Diccionario<String, Integer>();
+        for (String s : p)
+            unicas.agrega(s, 0);
+        String[] distintas = new String[unicas.getElementos()];
+        int i = 0;
+        Iterator<String> it = unicas.iteradorLlaves();
+        while (it.hasNext())
+            distintas[i++] = it.next();
+        String[] secuenciales = new String[SECUENCIALES];
+        for (i = 0; i < SECUENCIALES; i++)
+            secuenciales[i] = "llave" + i;
+        byte[][] palabras = new byte[p.length][];
+        for (i = 0; i < p.length; i++)
+            palabras[i] = p[i].getBytes(StandardCharsets.UTF_8);
+        byte[][][] aleatorias = {
+            aleatorias(1 << 12, 8), aleatorias(1 << 12, 64),
+            aleatorias(1 << 10, 1024)
+        };
+
+        System.out.printf("%-9s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                          "", "avalancha", "sesgo", "palabras", "secuenc.",
+                          "ns/pal.", "MB/s 8B", "MB/s 64B", "MB/s 1KB");
+        for (int d = 0; d < DISPERSORES.length; d++) {
+            ToIntFunction<byte[]> f = DISPERSORES[d];
+            double[] a = avalancha(f);
+            System.out.printf("%-9s %9.4f %7.4f %9.3f %9.3f %9.1f",
+                              NOMBRES[d], a[0], a[1],
+                              colisiones(distintas, f),
+                              colisiones(secuenciales, f),
+                              mide(palabras, f));
+            for (byte[][] llaves : aleatorias)
+                System.out.printf(" %9.0f", llaves[0].length / mide(llaves, f)
+                                  * 1e3);
+            System.out.println();
+        }
+        if (sumidero == 42)
+            System.out.println();
+    }
+}
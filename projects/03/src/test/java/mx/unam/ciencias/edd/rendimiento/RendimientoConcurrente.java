@@ -0,0 +1,120 @@
+package mx.unam.ciencias.edd.rendimiento;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.function.IntConsumer;
+import mx.unam.ciencias.edd.DiccionarioAbierto;
+import mx.unam.ciencias.edd.DiccionarioConcurrente;
+
+/**
+ * <p>Mide el rendimiento de contar las palabras de un corpus con varios
+ * hilos, de dos formas: todos los hilos incrementan un mismo {@link
+ * DiccionarioConcurrente}, o cada hilo cuenta en su propio {@link
+ * DiccionarioAbierto} y al final se combinan. Prueba desde un hilo hasta el
+ * doble del número de procesadores, y reporta millones de palabras por
+ * segundo.</p>
+ *
+ * <p>Se ejecuta, después de <code>mvn test-compile</code> y desde
+ * <code>projects/03</code>, con:</p>
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     mx.unam.ciencias.edd.rendimiento.RendimientoConcurrente [corpus] [copias]
+ * </pre>
+ */
+public class RendimientoConcurrente {
+
+    /* Corpus predeterminado. */
+    private static final String CORPUS = "test_files/don_quijote.txt";
+    /* Cuántas veces se cuenta el corpus por medición. */
+    private static final int COPIAS = 8;
+    /* Número de rondas por medición. */
+    private static final int RONDAS = 5;
+
+    /* Ejecuta la tarea en n hilos a la vez, pasándole a cada uno su número,
+     * y regresa cuánto tardaron en nanosegundos. */
+    private static long enHilos(int n, IntConsumer tarea)
+        throws InterruptedException {
+        Thread[] hilos = new Thread[n];
+        for (int i = 0; i < n; i++) {
+            final int id = i;
+            hilos[i] = new Thread(() -> tarea.accept(id));
+        }
+        long t = System.nanoTime();
+        for (Thread h : hilos)
+            h.start();
+        for (Thread h : hilos)
+            h.join();
+        return System.nanoTime() - t;
+    }
+
+    /* Cuenta las palabras en un diccionario compartido. */
+    private static long compartido(String[] p, int copias, int hilos)
+        throws InterruptedException {
+        DiccionarioConcurrente<String, Integer> d =
+            new DiccionarioConcurrente<String, Integer>(64, 4 * hilos,
+                                                        k -> k.hashCode());
+        return enHilos(hilos, id -> {
+            for (int c = 0; c < copias; c++)
+                for (int i = id; i < p.length; i += hilos)
+                    d.incrementa(p[i], 1);
+        });
+    }
+
+    /* Cuenta las palabras en un diccionario por hilo, y los combina. */
+    @SuppressWarnings("unchecked")
+    private static long porHilo(String[] p, int copias, int hilos)
+        throws InterruptedException {
+        DiccionarioAbierto<String, Integer>[] ds = new DiccionarioAbierto[hilos];
+        long t = enHilos(hilos, id -> {
+            DiccionarioAbierto<String, Integer> d =
+                new DiccionarioAbierto<String, Integer>();
+            for (int c = 0; c < copias; c++)
+                for (int i = id; i < p.length; i += hilos)
+                    d.incrementa(p[i], 1);
+            ds[id] = d;
+        });
+        long t0 = System.nanoTime();
+        DiccionarioAbierto<String, Integer> total = ds[0];
+        for (int h = 1; h < hilos; h++) {
+            Iterator<String> it = ds[h].iteradorLlaves();
+            while (it.hasNext()) {
+                String k = it.next();
+                total.incrementa(k, ds[h].get(k));
+            }
+        }
+        return t + System.nanoTime() - t0;
+    }
+
+    /**
+     * Punto de entrada.
+     * @param args opcionalmente, la ruta del corpus y cuántas veces contarlo.
+     * @throws IOException si no se puede leer el corpus.
+     * @throws InterruptedException si se interrumpe algún hilo.
+     */
+    public static void main(String[] args)
+        throws IOException, InterruptedException {
+        String ruta = args.length > 0 ? args[0] : CORPUS;
+        int copias = args.length > 1 ? Integer.parseInt(args[1]) : COPIAS;
+        String texto = new String(Files.readAllBytes(Paths.get(ruta)),
+                                  StandardCharsets.UTF_8);
+        String[] p = texto.toLowerCase().split("[^\\p{IsAlphabetic}]+");
+        double palabras = (double)p.length * copias;
+        int procesadores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%s: %d palabras x %d, %d procesadores%n",
+                          ruta, p.length, copias, procesadores);
+        System.out.printf("%6s %14s %14s%n", "hilos", "compartido", "por hilo");
+        for (int hilos = 1; hilos <= 2 * procesadores; hilos *= 2) {
+            long mc = Long.MAX_VALUE, mp = Long.MAX_VALUE;
+            for (int r = 0; r < RONDAS; r++) {
+                mc = Math.min(mc, compartido(p, copias, hilos));
+                mp = Math.min(mp, porHilo(p, copias, hilos));
+            }
+            System.out.printf("%6d %9.2f Mp/s %9.2f Mp/s%n", hilos,
+                              palabras / mc * 1e3, palabras / mp * 1e3);
+        }
+    }
+}
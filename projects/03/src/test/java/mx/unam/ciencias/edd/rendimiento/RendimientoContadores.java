@@ -0,0 +1,160 @@
+package mx.unam.ciencias.edd.rendimiento;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.function.LongSupplier;
+import mx.unam.ciencias.edd.ContadorCadenas;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioAbierto;
+import mx.unam.ciencias.edd.DiccionarioEnteroEntero;
+import mx.unam.ciencias.edd.DiccionarioLargoDoble;
+
+/**
+ * <p>Compara los diccionarios especializados en tipos primitivos contra los
+ * diccionarios genéricos, contando las palabras de un corpus: cadenas a
+ * enteros ({@link ContadorCadenas}), dispersiones de palabras a enteros
+ * ({@link DiccionarioEnteroEntero}) y pares de palabras consecutivas a dobles
+ * ({@link DiccionarioLargoDoble}). Para cada uno reporta el mejor tiempo de
+ * varias rondas y los bytes que reservó la ronda.</p>
+ *
+ * <p>Se ejecuta, después de <code>mvn test-compile</code> y desde
+ * <code>projects/03</code>, con:</p>
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     mx.unam.ciencias.edd.rendimiento.RendimientoContadores [corpus]
+ * </pre>
+ */
+public class RendimientoContadores {
+
+    /* Corpus predeterminado. */
+    private static final String CORPUS = "test_files/don_quijote.txt";
+    /* Número de rondas por medición. */
+    private static final int RONDAS = 7;
+
+    /* El bean para medir los bytes reservados por el hilo. */
+    private static final com.sun.management.ThreadMXBean HILOS =
+        (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+    /* Para que el JIT no descarte el trabajo medido. */
+    private static long sumidero;
+
+    /* Mide la función varias veces e imprime el mejor tiempo y los bytes
+     * reservados por la última ronda. */
+    private static void mide(String nombre, LongSupplier funcion) {
+        long mejor = Long.MAX_VALUE;
+        long bytes = 0;
+        long id = Thread.currentThread().getId();
+        for (int r = 0; r < RONDAS; r++) {
+            long b = HILOS.getThreadAllocatedBytes(id);
+            long t = System.nanoTime();
+            sumidero += funcion.getAsLong();
+            t = System.nanoTime() - t;
+            bytes = HILOS.getThreadAllocatedBytes(id) - b;
+            mejor = Math.min(mejor, t);
+        }
+        System.out.printf("  %-32s %8.2f ms %12d bytes%n", nombre,
+                          mejor / 1e6, bytes);
+    }
+
+    /* Regresa el texto en minúsculas con todo lo que no es letra convertido
+     * en espacio. */
+    private static char[] normaliza(String texto) {
+        char[] t = texto.toCharArray();
+        for (int i = 0; i < t.length; i++)
+            t[i] = Character.isLetter(t[i]) ? Character.toLowerCase(t[i]) : ' ';
+        return t;
+    }
+
+    /* Regresa las palabras del texto normalizado. */
+    private static String[] palabras(char[] t) {
+        return new String(t).trim().split(" +");
+    }
+
+    /**
+     * Punto de entrada.
+     * @param args opcionalmente, la ruta del corpus.
+     * @throws IOException si no se puede leer el corpus.
+     */
+    public static void main(String[] args) throws IOException {
+        String ruta = args.length > 0 ? args[0] : CORPUS;
+        String texto = new String(Files.readAllBytes(Paths.get(ruta)),
+                                  StandardCharsets.UTF_8);
+        char[] t = normaliza(texto);
+        String[] p = palabras(t);
+        int[] h = new int[p.length];
+        for (int i = 0; i < p.length; i++)
+            h[i] = p[i].hashCode();
+        System.out.printf("%s: %d palabras%n", ruta, p.length);
+
+        System.out.println("cadena -> entero");
+        mide("Diccionario<String, Integer>", () -> {
+            Diccionario<String, Integer> d = new Diccionario<String, Integer>();
+            for (String s : p)
+                d.incrementa(s, 1);
+            return d.getElementos();
+        });
+        mide("DiccionarioAbierto<String, Int.>", () -> {
+            DiccionarioAbierto<String, Integer> d =
+                new DiccionarioAbierto<String, Integer>();
+            for (String s : p)
+                d.incrementa(s, 1);
+            return d.getElementos();
+        });
+        mide("ContadorCadenas", () -> {
+            ContadorCadenas c = new ContadorCadenas();
+            for (String s : p)
+                c.incrementa(s);
+            return c.getElementos();
+        });
+        mide("ContadorCadenas (char[])", () -> {
+            ContadorCadenas c = new ContadorCadenas();
+            int i = 0;
+            while (i < t.length) {
+                while (i < t.length && t[i] == ' ')
+                    i++;
+                int inicio = i;
+                while (i < t.length && t[i] != ' ')
+                    i++;
+                if (i > inicio)
+                    c.incrementa(t, inicio, i - inicio);
+            }
+            return c.getElementos();
+        });
+
+        System.out.println("entero -> entero (dispersión de cada palabra)");
+        mide("Diccionario<Integer, Integer>", () -> {
+            Diccionario<Integer, Integer> d = new Diccionario<Integer, Integer>();
+            for (int k : h)
+                d.incrementa(k, 1);
+            return d.getElementos();
+        });
+        mide("DiccionarioEnteroEntero", () -> {
+            DiccionarioEnteroEntero d = new DiccionarioEnteroEntero();
+            for (int k : h)
+                d.incrementa(k, 1);
+            return d.getElementos();
+        });
+
+        System.out.println("largo -> doble (pares de palabras consecutivas)");
+        mide("Diccionario<Long, Double>", () -> {
+            Diccionario<Long, Double> d = new Diccionario<Long, Double>();
+            for (int i = 1; i < h.length; i++)
+                d.merge(((long)h[i - 1] << 32) | (h[i] & 0xFFFFFFFFL),
+                        1.0 / p[i].length(), Double::sum);
+            return d.getElementos();
+        });
+        mide("DiccionarioLargoDoble", () -> {
+            DiccionarioLargoDoble d = new DiccionarioLargoDoble();
+            for (int i = 1; i < h.length; i++)
+                d.suma(((long)h[i - 1] << 32) | (h[i] & 0xFFFFFFFFL),
+                       1.0 / p[i].length());
+            return d.getElementos();
+        });
+        if (sumidero == 42)
+            System.out.println();
+    }
+}
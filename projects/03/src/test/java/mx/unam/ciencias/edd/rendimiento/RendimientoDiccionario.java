@@ -0,0 +1,69 @@
+package mx.unam.ciencias.edd.rendimiento;
+
+import java.util.Arrays;
+import mx.unam.ciencias.edd.Diccionario;
+
+/**
+ * <p>Mide la latencia de cada inserción en un {@link Diccionario}, creciendo
+ * de forma completa y de forma incremental, y reporta sus percentiles.</p>
+ *
+ * <p>Se ejecuta, después de <code>mvn test-compile</code>, con:</p>
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     mx.unam.ciencias.edd.rendimiento.RendimientoDiccionario [n]
+ * </pre>
+ */
+public class RendimientoDiccionario {
+
+    /* Número de inserciones predeterminado. */
+    private static final int N = 2_000_000;
+
+    /* Inserta n llaves y regresa la latencia de cada inserción. */
+    private static long[] mide(int n, boolean incremental) {
+        Diccionario<Integer, Integer> d =
+            new Diccionario<Integer, Integer>(64, k -> k.hashCode(),
+                                              incremental);
+        long[] latencias = new long[n];
+        for (int i = 0; i < n; i++) {
+            Integer k = i * 31;
+            long t = System.nanoTime();
+            d.agrega(k, k);
+            latencias[i] = System.nanoTime() - t;
+        }
+        return latencias;
+    }
+
+    /* Regresa el percentil p de las latencias ordenadas. */
+    private static long percentil(long[] ordenadas, double p) {
+        int i = (int)Math.ceil(p / 100.0 * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(i, ordenadas.length - 1))];
+    }
+
+    /* Imprime los percentiles de las latencias. */
+    private static void reporta(String nombre, long[] latencias) {
+        long[] l = latencias.clone();
+        Arrays.sort(l);
+        int lentas = 0;
+        for (long t : l)
+            lentas += t > 1_000_000 ? 1 : 0;
+        System.out.printf("%-12s p50=%6dns p99=%6dns p99.9=%8dns " +
+                          "p99.99=%10dns max=%10dns >1ms=%d%n", nombre,
+                          percentil(l, 50), percentil(l, 99),
+                          percentil(l, 99.9), percentil(l, 99.99),
+                          l[l.length - 1], lentas);
+    }
+
+    /**
+     * Punto de entrada.
+     * @param args opcionalmente, el número de inserciones.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : N;
+        // Calentamiento para que el JIT compile ambos caminos.
+        mide(n / 4, false);
+        mide(n / 4, true);
+        reporta("completo", mide(n, false));
+        reporta("incremental", mide(n, true));
+    }
+}
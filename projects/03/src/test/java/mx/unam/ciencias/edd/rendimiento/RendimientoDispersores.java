@@ -0,0 +1,162 @@
+package mx.unam.ciencias.edd.rendimiento;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.Dispersores;
+
+/**
+ * <p>Compara el rendimiento de {@link Dispersores#dispersaSip} contra {@link
+ * Dispersores#dispersaBJ} sobre llaves de distintos tamaños y sobre las
+ * palabras de un corpus, y muestra qué le pasa a un {@link Diccionario} de
+ * cadenas cuando se le insertan llaves elegidas para chocar en {@link
+ * String#hashCode}, con el dispersor predeterminado y con {@link
+ * Diccionario#paraCadenas}. También compara dispersar las palabras como
+ * cadenas, leyendo sus caracteres directamente, contra codificarlas antes con
+ * {@link String#getBytes}.</p>
+ *
+ * <p>Se ejecuta, después de <code>mvn test-compile</code> y desde
+ * <code>projects/03</code>, con:</p>
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     mx.unam.ciencias.edd.rendimiento.RendimientoDispersores [corpus]
+ * </pre>
+ */
+public class RendimientoDispersores {
+
+    /* Corpus predeterminado. */
+    private static final String CORPUS = "test_files/don_quijote.txt";
+    /* Cuántos bytes se dispersan por medición. */
+    private static final long BYTES = 1L << 27;
+    /* Número de rondas por medición. */
+    private static final int RONDAS = 5;
+
+    /* Para que el JIT no descarte el trabajo medido. */
+    private static int sumidero;
+
+    /* Dispersa todas las llaves varias veces y regresa el mejor tiempo por
+     * llave en nanosegundos. */
+    private static double mide(byte[][] llaves, int repeticiones,
+                               ToIntFunction<byte[]> dispersor) {
+        long mejor = Long.MAX_VALUE;
+        for (int r = 0; r < RONDAS; r++) {
+            long t = System.nanoTime();
+            for (int k = 0; k < repeticiones; k++)
+                for (byte[] llave : llaves)
+                    sumidero += dispersor.applyAsInt(llave);
+            mejor = Math.min(mejor, System.nanoTime() - t);
+        }
+        return (double)mejor / ((long)llaves.length * repeticiones);
+    }
+
+    /* Dispersa todas las cadenas varias veces y regresa el mejor tiempo por
+     * cadena en nanosegundos. */
+    private static double mideCadenas(String[] cadenas, int repeticiones,
+                                      ToIntFunction<String> dispersor) {
+        long mejor = Long.MAX_VALUE;
+        for (int r = 0; r < RONDAS; r++) {
+            long t = System.nanoTime();
+            for (int k = 0; k < repeticiones; k++)
+                for (String cadena : cadenas)
+                    sumidero += dispersor.applyAsInt(cadena);
+            mejor = Math.min(mejor, System.nanoTime() - t);
+        }
+        return (double)mejor / ((long)cadenas.length * repeticiones);
+    }
+
+    /* Compara dispersar las cadenas codificándolas antes con getBytes contra
+     * dispersar sus caracteres directamente, e imprime el resultado. */
+    private static void comparaCadenas(String[] cadenas) {
+        System.out.println("cadenas: getBytes(UTF-8) vs. caracteres " +
+                           "(UTF-8 exacto / sin UTF-8)");
+        int repeticiones = 10;
+        double[] t = {
+            mideCadenas(cadenas, repeticiones, c -> Dispersores.dispersaBJ(
+                            c.getBytes(StandardCharsets.UTF_8))),
+            mideCadenas(cadenas, repeticiones,
+                        c -> Dispersores.dispersaBJ(c, true)),
+            mideCadenas(cadenas, repeticiones,
+                        c -> Dispersores.dispersaBJ(c, false)),
+            mideCadenas(cadenas, repeticiones, c -> Dispersores.dispersaDJB(
+                            c.getBytes(StandardCharsets.UTF_8))),
+            mideCadenas(cadenas, repeticiones,
+                        c -> Dispersores.dispersaDJB(c, true)),
+            mideCadenas(cadenas, repeticiones,
+                        c -> Dispersores.dispersaDJB(c, false))
+        };
+        System.out.printf("  BJ  %8.1f ns %8.1f ns %8.1f ns%n", t[0], t[1], t[2]);
+        System.out.printf("  DJB %8.1f ns %8.1f ns %8.1f ns%n", t[3], t[4], t[5]);
+    }
+
+    /* Compara ambos dispersores sobre las llaves e imprime el resultado. */
+    private static void compara(String nombre, byte[][] llaves) {
+        long total = 0;
+        for (byte[] llave : llaves)
+            total += llave.length;
+        int repeticiones = (int)Math.max(1, BYTES / Math.max(1, total));
+        double promedio = (double)total / llaves.length;
+        double bj = mide(llaves, repeticiones, Dispersores::dispersaBJ);
+        double sip = mide(llaves, repeticiones,
+                          l -> Dispersores.dispersaSip(l, 0x1234L, 0x5678L));
+        System.out.printf("  %-10s BJ %8.1f ns %8.0f MB/s   " +
+                          "SIP %8.1f ns %8.0f MB/s%n", nombre,
+                          bj, promedio / bj * 1e3, sip, promedio / sip * 1e3);
+    }
+
+    /* Regresa n llaves aleatorias de la longitud recibida. */
+    private static byte[][] aleatorias(int n, int longitud) {
+        Random random = new Random(longitud);
+        byte[][] llaves = new byte[n][longitud];
+        for (byte[] llave : llaves)
+            random.nextBytes(llave);
+        return llaves;
+    }
+
+    /* Inserta cadenas con el mismo String.hashCode e imprime el tiempo y la
+     * colisión máxima. */
+    private static void inunda(String nombre, Diccionario<String, Integer> d,
+                               int bits) {
+        long t = System.nanoTime();
+        for (int i = 0; i < 1 << bits; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int b = 0; b < bits; b++)
+                sb.append((i >> b & 1) == 0 ? "Aa" : "BB");
+            d.agrega(sb.toString(), i);
+        }
+        t = System.nanoTime() - t;
+        System.out.printf("  %-12s %8.2f ms  colisión máxima %d%n", nombre,
+                          t / 1e6, d.colisionMaxima());
+    }
+
+    /**
+     * Punto de entrada.
+     * @param args opcionalmente, la ruta del corpus.
+     * @throws IOException si no se puede leer el corpus.
+     */
+    public static void main(String[] args) throws IOException {
+        String ruta = args.length > 0 ? args[0] : CORPUS;
+        String texto = new String(Files.readAllBytes(Paths.get(ruta)),
+                                  StandardCharsets.UTF_8);
+        String[] p = texto.toLowerCase().split("[^\\p{IsAlphabetic}]+");
+        byte[][] palabras = new byte[p.length][];
+        for (int i = 0; i < p.length; i++)
+            palabras[i] = p[i].getBytes(StandardCharsets.UTF_8);
+
+        System.out.println("tiempo por llave y rendimiento");
+        compara("palabras", palabras);
+        for (int longitud : new int[] { 8, 16, 64, 1024 })
+            compara(longitud + " B", aleatorias(1 << 12, longitud));
+        comparaCadenas(p);
+
+        System.out.println("inundación con 2^16 cadenas de mismo hashCode");
+        inunda("hashCode", new Diccionario<String, Integer>(), 16);
+        inunda("paraCadenas", Diccionario.paraCadenas(), 16);
+        if (sumidero == 42)
+            System.out.println();
+    }
+}
@@ -0,0 +1,130 @@
+package mx.unam.ciencias.edd.rendimiento;
+
+import java.util.Iterator;
+import mx.unam.ciencias.edd.IteradorLista;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.ListaDesenrollada;
+
+/**
+ * <p>Compara {@link ListaDesenrollada} con {@link Lista}: la memoria que
+ * ocupa cada estructura, sin contar los elementos, y el tiempo de recorrerlas
+ * hacia adelante y hacia atrás, y de acceder por índice.</p>
+ *
+ * <p>Los mismos enteros, creados de antemano, se agregan a las dos listas,
+ * así que la memoria medida es nada más la de los nodos o bloques. La medida
+ * es la diferencia del montículo usado antes y después de llenar la lista,
+ * después de llamar al recolector de basura; es aproximada.</p>
+ *
+ * <p>Se ejecuta, después de <code>mvn test-compile</code>, con:</p>
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     mx.unam.ciencias.edd.rendimiento.RendimientoListaDesenrollada [n]
+ * </pre>
+ */
+public class RendimientoListaDesenrollada {
+
+    /* Número de elementos predeterminado. */
+    private static final int N = 2_000_000;
+    /* Repeticiones de cada medición; se reporta la mejor. */
+    private static final int REPETICIONES = 5;
+    /* Accesos por índice en cada medición. */
+    private static final int ACCESOS = 2_000;
+
+    /* Para que el JIT no descarte los recorridos. */
+    private static long sumidero;
+
+    /* Regresa los bytes usados del montículo, después de recolectar. */
+    private static long usada() {
+        Runtime r = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return r.totalMemory() - r.freeMemory();
+    }
+
+    /* Recorre hacia adelante y regresa los nanosegundos que tardó. */
+    private static long adelante(Iterable<Integer> lista) {
+        long t = System.nanoTime();
+        long s = 0;
+        for (Integer e : lista)
+            s += e;
+        sumidero += s;
+        return System.nanoTime() - t;
+    }
+
+    /* Recorre hacia atrás y regresa los nanosegundos que tardó. */
+    private static long atras(IteradorLista<Integer> i) {
+        long t = System.nanoTime();
+        long s = 0;
+        i.end();
+        while (i.hasPrevious())
+            s += i.previous();
+        sumidero += s;
+        return System.nanoTime() - t;
+    }
+
+    /* Accede por índices repartidos en la lista y regresa los nanosegundos
+     * que tardó. */
+    private static long indices(Lista<Integer> l, ListaDesenrollada<Integer> d,
+                                int n) {
+        long t = System.nanoTime();
+        long s = 0;
+        for (int i = 0; i < ACCESOS; i++) {
+            int j = (int)((i * 7919L) % n);
+            s += l != null ? l.get(j) : d.get(j);
+        }
+        sumidero += s;
+        return System.nanoTime() - t;
+    }
+
+    /* Reporta la mejor de las mediciones de una estructura. */
+    private static void mide(String nombre, Iterable<Integer> lista,
+                             IteradorLista<Integer> i, Lista<Integer> l,
+                             ListaDesenrollada<Integer> d, int n,
+                             long memoria) {
+        // Calentamiento para que el JIT compile los recorridos.
+        for (int r = 0; r < 3; r++) {
+            adelante(lista);
+            atras(i);
+            indices(l, d, n);
+        }
+        long a = Long.MAX_VALUE, b = Long.MAX_VALUE, c = Long.MAX_VALUE;
+        for (int r = 0; r < REPETICIONES; r++) {
+            a = Math.min(a, adelante(lista));
+            b = Math.min(b, atras(i));
+            c = Math.min(c, indices(l, d, n));
+        }
+        System.out.printf("%-18s %10.1f %10.1f %10.1f %12.2f%n", nombre,
+                          a / 1e6, b / 1e6, c / 1e3 / ACCESOS,
+                          (double)memoria / n);
+    }
+
+    /**
+     * Punto de entrada.
+     * @param args opcionalmente, el número de elementos.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : N;
+        Integer[] enteros = new Integer[n];
+        for (int i = 0; i < n; i++)
+            enteros[i] = i;
+        long antes = usada();
+        Lista<Integer> l = new Lista<Integer>();
+        for (Integer e : enteros)
+            l.agregaFinal(e);
+        long ml = usada() - antes;
+        antes = usada();
+        ListaDesenrollada<Integer> d = new ListaDesenrollada<Integer>();
+        for (Integer e : enteros)
+            d.agregaFinal(e);
+        long md = usada() - antes;
+        System.out.printf("n=%d; mejor de %d, los recorridos en ms, el " +
+                          "acceso por indice en us%n", n, REPETICIONES);
+        System.out.printf("%-18s %10s %10s %10s %12s%n", "", "adelante",
+                          "atras", "get(i)", "bytes/elem");
+        mide("Lista", l, l.iteradorLista(), l, null, n, ml);
+        mide("ListaDesenrollada", d, d.iteradorLista(), null, d, n, md);
+        if (sumidero == 42)
+            System.out.println();
+    }
+}
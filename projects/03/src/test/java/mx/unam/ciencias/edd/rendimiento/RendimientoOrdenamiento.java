@@ -0,0 +1,128 @@
+package mx.unam.ciencias.edd.rendimiento;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import mx.unam.ciencias.edd.Arreglos;
+import mx.unam.ciencias.edd.Lista;
+
+/**
+ * <p>Compara los ordenamientos de {@link Arreglos} y {@link Lista} sobre
+ * entradas aleatorias, ordenadas, al revés y en dientes de sierra, y reporta
+ * el tiempo y las comparaciones por elemento de cada uno.</p>
+ *
+ * <p><code>Arreglos.quickSort</code> usa el primer elemento como pivote, así
+ * que en las entradas con orden es cuadrático y su recursión desborda la
+ * pila; nada más se mide con la entrada aleatoria.</p>
+ *
+ * <p>Se ejecuta, después de <code>mvn test-compile</code>, con:</p>
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     mx.unam.ciencias.edd.rendimiento.RendimientoOrdenamiento [n]
+ * </pre>
+ */
+public class RendimientoOrdenamiento {
+
+    /* Número de elementos predeterminado. */
+    private static final int N = 1_000_000;
+    /* Repeticiones de cada medición; se reporta la mejor. */
+    private static final int REPETICIONES = 5;
+    /* Las entradas. */
+    private static final String[] ENTRADAS = {
+        "aleatoria", "ordenada", "al reves", "sierra"
+    };
+    /* Los ordenamientos. */
+    private static final String[] ORDENAMIENTOS = {
+        "Arreglos.quickSort", "Arreglos.timSort", "Arrays.sort",
+        "Lista.ordenaEnSitio"
+    };
+
+    /* Comparaciones hechas por el comparador. */
+    private static long comparaciones;
+
+    /* Compara enteros y cuenta las comparaciones. */
+    private static final Comparator<Integer> COMPARADOR = (a, b) -> {
+        comparaciones++;
+        return a.compareTo(b);
+    };
+
+    /* Genera la entrada con el nombre recibido. Los dientes de sierra son
+     * 64 corridas ascendentes de la misma longitud. */
+    private static Integer[] entrada(String nombre, int n, Random random) {
+        Integer[] a = new Integer[n];
+        int diente = Math.max(1, n / 64);
+        for (int i = 0; i < n; i++) {
+            switch (nombre) {
+            case "aleatoria": a[i] = random.nextInt(); break;
+            case "ordenada":  a[i] = i;                break;
+            case "al reves":  a[i] = n - i;            break;
+            default:          a[i] = i % diente;       break;
+            }
+        }
+        return a;
+    }
+
+    /* Ordena una copia de la entrada y regresa los nanosegundos que tardó;
+     * las comparaciones quedan en el contador. */
+    private static long ordena(String ordenamiento, Integer[] entrada) {
+        Integer[] a = entrada.clone();
+        Lista<Integer> l = new Lista<Integer>();
+        if (ordenamiento.startsWith("Lista"))
+            for (Integer e : a)
+                l.agregaFinal(e);
+        comparaciones = 0;
+        long t = System.nanoTime();
+        switch (ordenamiento) {
+        case "Arreglos.quickSort": Arreglos.quickSort(a, COMPARADOR); break;
+        case "Arreglos.timSort":   Arreglos.timSort(a, COMPARADOR);   break;
+        case "Arrays.sort":        Arrays.sort(a, COMPARADOR);        break;
+        default:                   l.ordenaEnSitio(COMPARADOR);       break;
+        }
+        return System.nanoTime() - t;
+    }
+
+    /* Nos dice si el ordenamiento se mide con la entrada. */
+    private static boolean aplica(String ordenamiento, String entrada) {
+        return !ordenamiento.equals("Arreglos.quickSort") ||
+            entrada.equals("aleatoria");
+    }
+
+    /**
+     * Punto de entrada.
+     * @param args opcionalmente, el número de elementos.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : N;
+        Random random = new Random(1);
+        Integer[][] entradas = new Integer[ENTRADAS.length][];
+        for (int i = 0; i < ENTRADAS.length; i++)
+            entradas[i] = entrada(ENTRADAS[i], n, random);
+        // Calentamiento para que el JIT compile todos los caminos.
+        for (String o : ORDENAMIENTOS)
+            for (int i = 0; i < ENTRADAS.length; i++)
+                if (aplica(o, ENTRADAS[i]))
+                    ordena(o, Arrays.copyOf(entradas[i], n / 10));
+        System.out.printf("n=%d; mejor de %d, en ms y comparaciones por " +
+                          "elemento%n", n, REPETICIONES);
+        System.out.printf("%-20s", "");
+        for (String e : ENTRADAS)
+            System.out.printf(" %18s", e);
+        System.out.println();
+        for (String o : ORDENAMIENTOS) {
+            System.out.printf("%-20s", o);
+            for (int i = 0; i < ENTRADAS.length; i++) {
+                if (!aplica(o, ENTRADAS[i])) {
+                    System.out.printf(" %18s", "-");
+                    continue;
+                }
+                long mejor = Long.MAX_VALUE;
+                for (int r = 0; r < REPETICIONES; r++)
+                    mejor = Math.min(mejor, ordena(o, entradas[i]));
+                System.out.printf(" %9.1f %8.2f", mejor / 1e6,
+                                  (double)comparaciones / n);
+            }
+            System.out.println();
+        }
+    }
+}
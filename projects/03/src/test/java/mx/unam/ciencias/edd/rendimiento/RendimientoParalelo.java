@@ -0,0 +1,128 @@
+package mx.unam.ciencias.edd.rendimiento;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import mx.unam.ciencias.edd.Arreglos;
+import mx.unam.ciencias.edd.Lista;
+
+/**
+ * <p>Mide la aceleración de {@link Arreglos#ordenaParalelo} y {@link
+ * Lista#mergeSortParalelo} conforme crece el número de hilos, contra los
+ * ordenamientos secuenciales {@link Arreglos#timSort} y {@link
+ * Lista#mergeSort}, con cadenas aleatorias.</p>
+ *
+ * <p>Cada nivel de paralelismo usa su propio {@link ForkJoinPool}, de 1, 2,
+ * 4, ... hilos hasta el número de núcleos, o hasta el máximo recibido. Con
+ * más hilos que núcleos la aceleración se estanca, y lo que se mide es el
+ * costo de las tareas.</p>
+ *
+ * <p>Se ejecuta, después de <code>mvn test-compile</code>, con:</p>
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     mx.unam.ciencias.edd.rendimiento.RendimientoParalelo [n] [hilos]
+ * </pre>
+ */
+public class RendimientoParalelo {
+
+    /* Número de elementos predeterminado. */
+    private static final int N = 2_000_000;
+    /* Repeticiones de cada medición; se reporta la mejor. */
+    private static final int REPETICIONES = 5;
+    /* El comparador, como el de cadenas que ordena LexicographicSort. */
+    private static final Comparator<String> COMPARADOR =
+        (a, b) -> a.compareTo(b);
+
+    /* Genera n cadenas aleatorias de 16 letras. */
+    private static String[] entrada(int n, Random random) {
+        String[] a = new String[n];
+        char[] c = new char[16];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < c.length; j++)
+                c[j] = (char)('a' + random.nextInt(26));
+            a[i] = new String(c);
+        }
+        return a;
+    }
+
+    /* Ordena una copia del arreglo secuencialmente y regresa los
+     * nanosegundos que tardó. */
+    private static long secuencial(String[] entrada) {
+        String[] a = entrada.clone();
+        long t = System.nanoTime();
+        Arreglos.timSort(a, COMPARADOR);
+        return System.nanoTime() - t;
+    }
+
+    /* Ordena una copia del arreglo en la alberca y regresa los nanosegundos
+     * que tardó. */
+    private static long paralelo(String[] entrada, ForkJoinPool alberca) {
+        String[] a = entrada.clone();
+        long t = System.nanoTime();
+        alberca.submit(() -> Arreglos.ordenaParalelo(a, COMPARADOR)).join();
+        return System.nanoTime() - t;
+    }
+
+    /* Ordena la lista en la alberca, o secuencialmente si es null, y regresa
+     * los nanosegundos que tardó. */
+    private static long lista(Lista<String> lista, ForkJoinPool alberca) {
+        long t = System.nanoTime();
+        if (alberca == null)
+            lista.mergeSort(COMPARADOR);
+        else
+            alberca.submit(() -> lista.mergeSortParalelo(COMPARADOR)).join();
+        return System.nanoTime() - t;
+    }
+
+    /**
+     * Punto de entrada.
+     * @param args opcionalmente, el número de elementos y el máximo de
+     *             hilos.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : N;
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        int maximo = args.length > 1 ? Integer.parseInt(args[1]) : nucleos;
+        String[] entrada = entrada(n, new Random(1));
+        Lista<String> l = new Lista<String>();
+        for (String s : entrada)
+            l.agregaFinal(s);
+        // Calentamiento para que el JIT compile ambos caminos.
+        ForkJoinPool calentamiento = new ForkJoinPool(maximo);
+        for (int r = 0; r < 3; r++) {
+            secuencial(entrada);
+            paralelo(entrada, calentamiento);
+        }
+        calentamiento.shutdown();
+        long base = Long.MAX_VALUE;
+        for (int r = 0; r < REPETICIONES; r++)
+            base = Math.min(base, secuencial(entrada));
+        System.out.printf("n=%d, %d nucleos; mejor de %d%n", n, nucleos,
+                          REPETICIONES);
+        System.out.printf("%-28s %9.1f ms%n", "Arreglos.timSort",
+                          base / 1e6);
+        for (int p = 1; p <= maximo; p = p < maximo && 2 * p > maximo ?
+                 maximo : 2 * p) {
+            ForkJoinPool alberca = new ForkJoinPool(p);
+            long mejor = Long.MAX_VALUE;
+            for (int r = 0; r < REPETICIONES; r++)
+                mejor = Math.min(mejor, paralelo(entrada, alberca));
+            alberca.shutdown();
+            System.out.printf("%-28s %9.1f ms  x%.2f%n",
+                              "Arreglos.ordenaParalelo p=" + p, mejor / 1e6,
+                              (double)base / mejor);
+        }
+        long sl = Long.MAX_VALUE, pl = Long.MAX_VALUE;
+        ForkJoinPool alberca = new ForkJoinPool(maximo);
+        for (int r = 0; r < REPETICIONES; r++) {
+            sl = Math.min(sl, lista(l, null));
+            pl = Math.min(pl, lista(l, alberca));
+        }
+        alberca.shutdown();
+        System.out.printf("%-28s %9.1f ms%n", "Lista.mergeSort", sl / 1e6);
+        System.out.printf("%-28s %9.1f ms  x%.2f%n",
+                          "Lista.mergeSortParalelo p=" + maximo, pl / 1e6,
+                          (double)sl / pl);
+    }
+}
@@ -1,6 +1,9 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.Comparator;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import mx.unam.ciencias.edd.Arreglos;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -93,6 +96,151 @@ public class TestArreglos {
         Assert.assertTrue(estaOrdenado(arreglo));
     }
 
+    /**
+     * Prueba unitaria para {@link Arreglos#timSort(Comparable[])}.
+     */
+    @Test public void testTimSort() {
+        arreglo[0] = 1;
+        arreglo[1] = 0;
+        for (int i = 2; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Assert.assertFalse(estaOrdenado(arreglo));
+        Arreglos.timSort(arreglo);
+        Assert.assertTrue(estaOrdenado(arreglo));
+        arreglo = new Integer[total * 100];
+        for (int i = 0; i < arreglo.length; i++)
+            arreglo[i] = random.nextInt(total);
+        Arreglos.timSort(arreglo);
+        Assert.assertTrue(estaOrdenado(arreglo));
+        Arreglos.timSort(new Integer[0]);
+        try {
+            Arreglos.timSort((Integer[])null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#timSort(Object[],Comparator)}.
+     */
+    @Test public void testTimSortComparator() {
+        int n = 1000 + random.nextInt(10000);
+        int[] llaves = new int[n];
+        Integer[] indices = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            llaves[i] = random.nextInt(total);
+            indices[i] = i;
+        }
+        Arreglos.timSort(indices, (i, j) -> llaves[i] - llaves[j]);
+        for (int i = 1; i < n; i++) {
+            int a = indices[i-1], b = indices[i];
+            Assert.assertTrue(llaves[a] <= llaves[b]);
+            if (llaves[a] == llaves[b])
+                Assert.assertTrue(a < b);
+        }
+        try {
+            Arreglos.timSort(indices, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#timSort(Object[],Comparator)} con
+     * arreglos parcialmente ordenados.
+     */
+    @Test public void testTimSortAdaptativo() {
+        int n = 1000 + random.nextInt(10000);
+        int[] comparaciones = { 0 };
+        Comparator<Integer> comparador = (a, b) -> {
+            comparaciones[0]++;
+            return a.compareTo(b);
+        };
+        /* Ordenado y al revés: una sola corrida. */
+        arreglo = new Integer[n];
+        for (int i = 0; i < n; i++)
+            arreglo[i] = i;
+        Arreglos.timSort(arreglo, comparador);
+        Assert.assertTrue(comparaciones[0] == n - 1);
+        validaRango(arreglo);
+        for (int i = 0; i < n; i++)
+            arreglo[i] = n - 1 - i;
+        comparaciones[0] = 0;
+        Arreglos.timSort(arreglo, comparador);
+        Assert.assertTrue(comparaciones[0] == n - 1);
+        validaRango(arreglo);
+        /* Dos corridas que no se intercalan: la mezcla galopa. */
+        for (int i = 0; i < n; i++)
+            arreglo[i] = (i + n/2) % n;
+        comparaciones[0] = 0;
+        Arreglos.timSort(arreglo, comparador);
+        Assert.assertTrue(comparaciones[0] < n + 64);
+        validaRango(arreglo);
+        /* Dientes de sierra, con repetidos. */
+        int diente = 2 + random.nextInt(100);
+        for (int i = 0; i < n; i++)
+            arreglo[i] = random.nextBoolean() ? i % diente :
+                diente - 1 - i % diente;
+        Arreglos.timSort(arreglo, comparador);
+        Assert.assertTrue(estaOrdenado(arreglo));
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#ordenaParalelo(Comparable[])}.
+     */
+    @Test public void testOrdenaParalelo() {
+        for (int i = 0; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Arreglos.ordenaParalelo(arreglo);
+        Assert.assertTrue(estaOrdenado(arreglo));
+        arreglo = new Integer[50000 + random.nextInt(50000)];
+        for (int i = 0; i < arreglo.length; i++)
+            arreglo[i] = random.nextInt();
+        Integer[] copia = arreglo.clone();
+        Arreglos.ordenaParalelo(arreglo);
+        Arreglos.timSort(copia);
+        for (int i = 0; i < arreglo.length; i++)
+            Assert.assertTrue(arreglo[i].equals(copia[i]));
+        try {
+            Arreglos.ordenaParalelo((Integer[])null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * Arreglos#ordenaParalelo(Object[],Comparator)}.
+     */
+    @Test public void testOrdenaParaleloComparator() {
+        int n = 50000 + random.nextInt(100000);
+        int[] llaves = new int[n];
+        Integer[] indices = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            /* Corridas largas, para que las mezclas queden desbalanceadas. */
+            llaves[i] = i < n / 3 ? random.nextInt(total) : i % total;
+            indices[i] = i;
+        }
+        ForkJoinPool alberca = new ForkJoinPool(4);
+        alberca.invoke(ForkJoinTask.adapt(
+            () -> Arreglos.ordenaParalelo(indices,
+                                          (i, j) -> llaves[i] - llaves[j])));
+        alberca.shutdown();
+        for (int i = 1; i < n; i++) {
+            int a = indices[i-1], b = indices[i];
+            Assert.assertTrue(llaves[a] <= llaves[b]);
+            if (llaves[a] == llaves[b])
+                Assert.assertTrue(a < b);
+        }
+        try {
+            Arreglos.ordenaParalelo(indices, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /* Valida que el arreglo tenga los enteros de 0 a n-1 en orden. */
+    private static void validaRango(Integer[] a) {
+        for (int i = 0; i < a.length; i++)
+            Assert.assertTrue(a[i] == i);
+    }
+
     /**
      * Prueba unitaria para {@link
      * Arreglos#busquedaBinaria(Comparable[],Comparable)}.
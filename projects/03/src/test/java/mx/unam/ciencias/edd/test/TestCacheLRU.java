@@ -0,0 +1,195 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.CacheLRU;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link CacheLRU}.
+ */
+public class TestCacheLRU {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* La capacidad del caché. */
+    private int total;
+    /* El caché. */
+    private CacheLRU<Integer, String> cache;
+
+    /**
+     * Crea un generador de números aleatorios, una capacidad y un caché para
+     * cada prueba.
+     */
+    public TestCacheLRU() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        cache = new CacheLRU<Integer, String>(total);
+    }
+
+    /**
+     * Prueba unitaria para {@link CacheLRU#CacheLRU}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(cache.esVacia());
+        Assert.assertTrue(cache.getElementos() == 0);
+        Assert.assertTrue(cache.getCapacidad() == total);
+        try {
+            new CacheLRU<Integer, String>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new CacheLRU<Integer, String>(total, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link CacheLRU#agrega} y {@link CacheLRU#busca}.
+     */
+    @Test public void testAgregaBusca() {
+        try {
+            cache.agrega(null, "a");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            cache.agrega(1, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++)
+            cache.agrega(i, String.valueOf(i));
+        Assert.assertTrue(cache.getElementos() == total);
+        Assert.assertTrue(cache.getDesalojos() == 0);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(cache.busca(i).equals(String.valueOf(i)));
+        Assert.assertTrue(cache.busca(total) == null);
+        Assert.assertTrue(cache.busca(null) == null);
+        Assert.assertTrue(cache.getAciertos() == total);
+        Assert.assertTrue(cache.getFallos() == 2);
+        cache.agrega(0, "cero");
+        Assert.assertTrue(cache.busca(0).equals("cero"));
+        Assert.assertTrue(cache.getElementos() == total);
+    }
+
+    /**
+     * Prueba unitaria para el desalojo de {@link CacheLRU}.
+     */
+    @Test public void testDesalojo() {
+        Lista<Integer> desalojadas = new Lista<Integer>();
+        cache.setAccionDesalojo((k, v) -> desalojadas.agrega(k));
+        for (int i = 0; i < total; i++)
+            cache.agrega(i, String.valueOf(i));
+        /* Usa una llave al azar; ya no es la usada hace más tiempo. */
+        int usada = random.nextInt(total);
+        cache.busca(usada);
+        for (int i = total; i < 2 * total; i++)
+            cache.agrega(i, String.valueOf(i));
+        Assert.assertTrue(cache.getElementos() == total);
+        Assert.assertTrue(cache.getDesalojos() == total);
+        Assert.assertTrue(desalojadas.getElementos() == total);
+        int esperada = 0;
+        for (Integer k : desalojadas) {
+            if (esperada == usada)
+                esperada++;
+            if (esperada == total)
+                esperada = usada;
+            Assert.assertTrue(k == esperada);
+            esperada++;
+        }
+        Assert.assertFalse(cache.contiene(usada));
+        for (int i = total + 1; i < 2 * total; i++)
+            Assert.assertTrue(cache.contiene(i));
+    }
+
+    /**
+     * Prueba unitaria para {@link CacheLRU#computeIfAbsent}.
+     */
+    @Test public void testComputeIfAbsent() {
+        int[] llamadas = { 0 };
+        for (int r = 0; r < 3; r++) {
+            for (int i = 0; i < total; i++) {
+                String s = cache.computeIfAbsent(i, k -> {
+                        llamadas[0]++;
+                        return "v" + k;
+                    });
+                Assert.assertTrue(s.equals("v" + i));
+            }
+        }
+        Assert.assertTrue(llamadas[0] == total);
+        Assert.assertTrue(cache.getFallos() == total);
+        Assert.assertTrue(cache.getAciertos() == 2 * total);
+        cache.reiniciaContadores();
+        Assert.assertTrue(cache.getAciertos() == 0);
+        Assert.assertTrue(cache.getFallos() == 0);
+        try {
+            cache.computeIfAbsent(-1, k -> null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            cache.computeIfAbsent(null, k -> "x");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link CacheLRU} con pesos.
+     */
+    @Test public void testPeso() {
+        CacheLRU<Integer, String> c =
+            new CacheLRU<Integer, String>(100, (k, v) -> v.length());
+        c.agrega(1, "aaaaaaaaaa");
+        c.agrega(2, "bbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb");
+        Assert.assertTrue(c.getPeso() == 64);
+        c.agrega(3, "cccccccccccccccccccccccccccccc");
+        Assert.assertTrue(c.getPeso() == 94);
+        c.busca(1);
+        c.agrega(4, "dddddddddd");
+        Assert.assertFalse(c.contiene(2));
+        Assert.assertTrue(c.contiene(1) && c.contiene(3) && c.contiene(4));
+        Assert.assertTrue(c.getPeso() == 50);
+        c.agrega(3, "c");
+        Assert.assertTrue(c.getPeso() == 21);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 101; i++)
+            sb.append('e');
+        c.agrega(1, sb.toString());
+        Assert.assertFalse(c.contiene(1));
+        Assert.assertTrue(c.getPeso() == 11);
+        Assert.assertTrue(c.getDesalojos() == 2);
+        try {
+            new CacheLRU<Integer, String>(10, (k, v) -> -1).agrega(1, "a");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link CacheLRU#extrae} y {@link CacheLRU#limpia}.
+     */
+    @Test public void testExtraeLimpia() {
+        for (int i = 0; i < total; i++)
+            cache.agrega(i, String.valueOf(i));
+        int k = random.nextInt(total);
+        Assert.assertTrue(cache.extrae(k).equals(String.valueOf(k)));
+        Assert.assertTrue(cache.extrae(k) == null);
+        Assert.assertTrue(cache.extrae(null) == null);
+        Assert.assertFalse(cache.contiene(k));
+        Assert.assertTrue(cache.getElementos() == total - 1);
+        cache.agrega(total, "x");
+        Assert.assertTrue(cache.getDesalojos() == 0);
+        cache.limpia();
+        Assert.assertTrue(cache.esVacia());
+        Assert.assertTrue(cache.getPeso() == 0);
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(cache.contiene(i));
+        for (int i = 0; i < 2 * total; i++)
+            cache.agrega(i, String.valueOf(i));
+        Assert.assertTrue(cache.getElementos() == total);
+        Assert.assertTrue(cache.getDesalojos() == total);
+    }
+}
@@ -0,0 +1,310 @@
+package mx.unam.ciencias.edd.test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ConjuntoComprimido;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ConjuntoComprimido}.
+ */
+public class TestConjuntoComprimido {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Los 16 bits altos de los bloques del dominio. */
+    private static final int[] LLAVES = { 0, 1, 2, 7, 0xFFFF };
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* El conjunto. */
+    private ConjuntoComprimido conjunto;
+
+    /**
+     * Crea un generador de números aleatorios y un conjunto para cada prueba.
+     */
+    public TestConjuntoComprimido() {
+        random = new Random();
+        conjunto = new ConjuntoComprimido();
+    }
+
+    /* Regresa el entero del bloque i con los 16 bits bajos recibidos. */
+    private static int entero(int i, int v) {
+        return (LLAVES[i] << 16) | v;
+    }
+
+    /* Llena el conjunto con enteros aleatorios del dominio: pocos en el
+     * primer bloque, muchos en el segundo, rachas en el tercero, ninguno en
+     * el cuarto y negativos en el último. Regresa qué enteros quedaron en el
+     * conjunto. */
+    private boolean[][] llena(ConjuntoComprimido c) {
+        boolean[][] b = new boolean[LLAVES.length][1 << 16];
+        double[] densidades = { 0.01, 0.5, 0, 0, 0.05 };
+        for (int i = 0; i < LLAVES.length; i++) {
+            for (int v = 0; v < 1 << 16; v++) {
+                if (random.nextDouble() < densidades[i]) {
+                    b[i][v] = true;
+                    c.agrega(entero(i, v));
+                }
+            }
+        }
+        int v = random.nextInt(100);
+        while (v < 1 << 16) {
+            int fin = Math.min(1 << 16, v + 1 + random.nextInt(2000));
+            for (int u = v; u < fin; u++) {
+                b[2][u] = true;
+                c.agrega(entero(2, u));
+            }
+            v = fin + 1 + random.nextInt(2000);
+        }
+        return b;
+    }
+
+    /* Verifica que el conjunto tenga exactamente los enteros marcados. */
+    private void verifica(ConjuntoComprimido c, boolean[][] b) {
+        int n = 0;
+        for (int i = 0; i < LLAVES.length; i++) {
+            for (int v = 0; v < 1 << 16; v++) {
+                Assert.assertTrue(c.contiene(entero(i, v)) == b[i][v]);
+                if (b[i][v])
+                    n++;
+            }
+        }
+        Assert.assertTrue(c.getElementos() == n);
+        Assert.assertTrue(c.esVacia() == (n == 0));
+        long anterior = -1;
+        int k = 0;
+        for (Integer e : c) {
+            long u = e & 0xFFFFFFFFL;
+            Assert.assertTrue(u > anterior);
+            int i = 0;
+            while (i < LLAVES.length && LLAVES[i] != (int)(u >>> 16))
+                i++;
+            Assert.assertTrue(i < LLAVES.length && b[i][(int)(u & 0xFFFF)]);
+            anterior = u;
+            k++;
+        }
+        Assert.assertTrue(k == n);
+    }
+
+    /* Verifica el conjunto contra su versión serializada. */
+    private void verificaSerializado(ConjuntoComprimido c, boolean[][] b) {
+        int t = c.tamanoSerializado();
+        ByteBuffer buffer = ByteBuffer.allocate(t + 10);
+        buffer.position(3);
+        c.serializa(buffer);
+        Assert.assertTrue(buffer.position() == t + 3);
+        Assert.assertTrue(buffer.order() == ByteOrder.BIG_ENDIAN);
+        buffer.position(3);
+        for (int i = 0; i < LLAVES.length; i++)
+            for (int v = 0; v < 1 << 16; v += 1 + random.nextInt(8))
+                Assert.assertTrue(ConjuntoComprimido.contieneSerializado(
+                                      buffer, entero(i, v)) == b[i][v]);
+        Assert.assertTrue(buffer.position() == 3);
+        ConjuntoComprimido d = ConjuntoComprimido.deserializa(buffer);
+        Assert.assertTrue(buffer.position() == t + 3);
+        verifica(d, b);
+        Assert.assertTrue(d.equals(c));
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoComprimido#ConjuntoComprimido}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(conjunto.esVacia());
+        Assert.assertTrue(conjunto.getElementos() == 0);
+        Assert.assertFalse(conjunto.iterator().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoComprimido#agrega}.
+     */
+    @Test public void testAgrega() {
+        try {
+            conjunto.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        boolean[][] b = llena(conjunto);
+        verifica(conjunto, b);
+        for (int i = 0; i < LLAVES.length; i++)
+            for (int v = 0; v < 1 << 16; v++)
+                if (b[i][v])
+                    conjunto.agrega(entero(i, v));
+        verifica(conjunto, b);
+        conjunto.agrega(-1);
+        conjunto.agrega(Integer.MIN_VALUE);
+        Assert.assertTrue(conjunto.contiene(Integer.MIN_VALUE));
+        Iterator<Integer> it = conjunto.iterator();
+        int ultimo = 0;
+        while (it.hasNext())
+            ultimo = it.next();
+        Assert.assertTrue(ultimo == -1);
+        try {
+            it.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoComprimido#elimina} y {@link
+     * ConjuntoComprimido#contiene}.
+     */
+    @Test public void testElimina() {
+        boolean[][] b = llena(conjunto);
+        for (int i = 0; i < LLAVES.length; i++) {
+            double p = random.nextDouble();
+            for (int v = 0; v < 1 << 16; v++) {
+                if (b[i][v] && random.nextDouble() < p) {
+                    conjunto.elimina(entero(i, v));
+                    b[i][v] = false;
+                }
+            }
+        }
+        verifica(conjunto, b);
+        conjunto.elimina(null);
+        conjunto.elimina(entero(3, 5));
+        Assert.assertFalse(conjunto.contiene(null));
+        verifica(conjunto, b);
+        for (int i = 0; i < LLAVES.length; i++)
+            for (int v = 0; v < 1 << 16; v++)
+                conjunto.elimina(entero(i, v));
+        Assert.assertTrue(conjunto.esVacia());
+        Assert.assertFalse(conjunto.iterator().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoComprimido#optimiza} y {@link
+     * ConjuntoComprimido#limpia}.
+     */
+    @Test public void testOptimizaLimpia() {
+        boolean[][] b = llena(conjunto);
+        int t = conjunto.tamanoSerializado();
+        conjunto.optimiza();
+        verifica(conjunto, b);
+        Assert.assertTrue(conjunto.tamanoSerializado() < t);
+        int v = random.nextInt(1 << 16);
+        conjunto.agrega(entero(2, v));
+        b[2][v] = true;
+        v = random.nextInt(1 << 16);
+        conjunto.elimina(entero(2, v));
+        b[2][v] = false;
+        verifica(conjunto, b);
+        conjunto.limpia();
+        verifica(conjunto, new boolean[LLAVES.length][1 << 16]);
+        conjunto.agrega(17);
+        Assert.assertTrue(conjunto.contiene(17));
+        Assert.assertTrue(conjunto.getElementos() == 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoComprimido#union}, {@link
+     * ConjuntoComprimido#interseccion}, {@link
+     * ConjuntoComprimido#agregaTodos} y {@link
+     * ConjuntoComprimido#retieneTodos}.
+     */
+    @Test public void testOperaciones() {
+        boolean[][] a = llena(conjunto);
+        ConjuntoComprimido c2 = new ConjuntoComprimido();
+        boolean[][] b = llena(c2);
+        if (random.nextBoolean())
+            c2.optimiza();
+        boolean[][] u = new boolean[LLAVES.length][1 << 16];
+        boolean[][] i = new boolean[LLAVES.length][1 << 16];
+        for (int k = 0; k < LLAVES.length; k++) {
+            for (int v = 0; v < 1 << 16; v++) {
+                u[k][v] = a[k][v] || b[k][v];
+                i[k][v] = a[k][v] && b[k][v];
+            }
+        }
+        verifica(conjunto.union(c2), u);
+        verifica(c2.union(conjunto), u);
+        verifica(conjunto.interseccion(c2), i);
+        verifica(c2.interseccion(conjunto), i);
+        verifica(conjunto, a);
+        verifica(c2, b);
+        ConjuntoComprimido c3 = conjunto.union(new ConjuntoComprimido());
+        c3.agregaTodos(c2);
+        verifica(c3, u);
+        c3 = conjunto.union(new ConjuntoComprimido());
+        c3.retieneTodos(c2);
+        verifica(c3, i);
+        c3.retieneTodos(new ConjuntoComprimido());
+        Assert.assertTrue(c3.esVacia());
+        verifica(c2, b);
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoComprimido#serializa}, {@link
+     * ConjuntoComprimido#deserializa} y {@link
+     * ConjuntoComprimido#contieneSerializado}.
+     */
+    @Test public void testSerializa() {
+        verificaSerializado(conjunto, new boolean[LLAVES.length][1 << 16]);
+        boolean[][] b = llena(conjunto);
+        verificaSerializado(conjunto, b);
+        conjunto.optimiza();
+        verificaSerializado(conjunto, b);
+        try {
+            conjunto.serializa(ByteBuffer.allocate(10));
+            Assert.fail();
+        } catch (java.nio.BufferOverflowException boe) {}
+        try {
+            ConjuntoComprimido.deserializa(ByteBuffer.allocate(16));
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        ByteBuffer truncado = ByteBuffer.allocate(40);
+        new ConjuntoComprimido().serializa(truncado);
+        truncado.order(ByteOrder.LITTLE_ENDIAN).putInt(4, 3);
+        truncado.position(0);
+        try {
+            ConjuntoComprimido.deserializa(truncado);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            ConjuntoComprimido.contieneSerializado(ByteBuffer.allocate(4), 1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoComprimido#equals} y {@link
+     * ConjuntoComprimido#hashCode}.
+     */
+    @Test public void testEquals() {
+        ConjuntoComprimido c2 = new ConjuntoComprimido();
+        Assert.assertTrue(conjunto.equals(c2));
+        Assert.assertTrue(conjunto.hashCode() == c2.hashCode());
+        boolean[][] b = llena(conjunto);
+        Assert.assertFalse(conjunto.equals(c2));
+        for (int i = LLAVES.length - 1; i >= 0; i--)
+            for (int v = (1 << 16) - 1; v >= 0; v--)
+                if (b[i][v])
+                    c2.agrega(entero(i, v));
+        c2.optimiza();
+        Assert.assertTrue(conjunto.equals(c2));
+        Assert.assertTrue(c2.equals(conjunto));
+        Assert.assertTrue(conjunto.hashCode() == c2.hashCode());
+        c2.agrega(entero(3, 1));
+        Assert.assertFalse(conjunto.equals(c2));
+        Assert.assertFalse(conjunto.equals(null));
+        Assert.assertFalse(conjunto.equals("conjunto"));
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoComprimido#toString}.
+     */
+    @Test public void testToString() {
+        Assert.assertTrue(conjunto.toString().equals("{  }"));
+        conjunto.agrega(-1);
+        conjunto.agrega(70000);
+        conjunto.agrega(3);
+        Assert.assertTrue(conjunto.toString().equals("{ 3, 70000, -1 }"));
+    }
+}
@@ -106,6 +106,174 @@ public class TestDiccionario {
         } catch (IllegalArgumentException iae) {}
     }
 
+    /**
+     * Prueba unitaria para {@link Diccionario#agrega} con un diccionario que
+     * crece de forma incremental.
+     */
+    @Test public void testAgregaIncremental() {
+        diccionario = new Diccionario<String, String>(total, s -> s.hashCode(),
+                                                      true);
+        int ini = random.nextInt(10000);
+        int n = total * 16;
+        for (int i = 0; i < n; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertFalse(diccionario.contiene(s));
+            diccionario.agrega(s, s);
+            Assert.assertTrue(diccionario.getElementos() == i+1);
+            Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
+            Assert.assertTrue(diccionario.get(s).equals(s));
+            if (i % 37 == 0) {
+                int c = 0;
+                for (String v : diccionario)
+                    c++;
+                Assert.assertTrue(c == i+1);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertTrue(diccionario.get(s).equals(s));
+        }
+        for (int i = 0; i < n; i += 2) {
+            String s = String.format("%x", ini + i * 1000);
+            diccionario.elimina(s);
+            Assert.assertFalse(diccionario.contiene(s));
+        }
+        for (int i = 1; i < n; i += 2) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertTrue(diccionario.get(s).equals(s));
+        }
+        Assert.assertTrue(diccionario.getElementos() == n / 2);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#agrega} que verifica que al
+     * crecer el diccionario no se vuelve a llamar al dispersor.
+     */
+    @Test public void testAgregaNoRedispersa() {
+        int[] llamadas = { 0 };
+        diccionario = new Diccionario<String, String>(total, s -> {
+                llamadas[0]++;
+                return s.hashCode();
+            });
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total * 4; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            diccionario.agrega(s, s);
+            Assert.assertTrue(llamadas[0] == i+1);
+        }
+    }
+
+    /* Llave comparable que cuenta cuántas veces se compara por igualdad. */
+    private static class Llave implements Comparable<Llave> {
+        /* Cuántas veces se ha llamado equals. */
+        public static int comparaciones;
+        /* El valor de la llave. */
+        public int valor;
+        public Llave(int valor) { this.valor = valor; }
+        @Override public boolean equals(Object o) {
+            comparaciones++;
+            return o instanceof Llave && ((Llave)o).valor == this.valor;
+        }
+        @Override public int hashCode() { return valor; }
+        @Override public int compareTo(Llave l) {
+            return Integer.compare(this.valor, l.valor);
+        }
+    }
+
+    /* Llave que no es comparable. */
+    private static class LlaveSimple {
+        /* El valor de la llave. */
+        public int valor;
+        public LlaveSimple(int valor) { this.valor = valor; }
+        @Override public boolean equals(Object o) {
+            return o instanceof LlaveSimple && ((LlaveSimple)o).valor == this.valor;
+        }
+        @Override public int hashCode() { return valor; }
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#get} cuando todas las llaves
+     * comparables chocan y la cubeta se convierte en árbol.
+     */
+    @Test public void testCubetaArbol() {
+        Diccionario<Llave, Integer> d =
+            new Diccionario<Llave, Integer>(total, l -> 0);
+        int n = 64 * total;
+        for (int i = 0; i < n; i++)
+            d.agrega(new Llave(i), i);
+        Assert.assertTrue(d.colisionMaxima() == n - 1);
+        for (int i = 0; i < n; i++) {
+            Llave.comparaciones = 0;
+            Assert.assertTrue(d.get(new Llave(i)) == i);
+            Assert.assertTrue(Llave.comparaciones <= 64);
+        }
+        Assert.assertFalse(d.contiene(new Llave(n)));
+        for (int i = 0; i < n - 3; i++) {
+            d.elimina(new Llave(i));
+            Assert.assertFalse(d.contiene(new Llave(i)));
+        }
+        Assert.assertTrue(d.getElementos() == 3);
+        for (int i = n - 3; i < n; i++)
+            Assert.assertTrue(d.get(new Llave(i)) == i);
+        int c = 0;
+        for (Integer v : d)
+            c += v >= n - 3 ? 1 : 0;
+        Assert.assertTrue(c == 3);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#agrega} y {@link
+     * Diccionario#elimina} cuando chocan llaves no comparables y de clases
+     * distintas en una cubeta árbol.
+     */
+    @Test public void testCubetaArbolNoComparable() {
+        Diccionario<Object, Integer> d =
+            new Diccionario<Object, Integer>(total, l -> 0);
+        int n = 4 * total;
+        for (int i = 0; i < n; i++) {
+            d.agrega(new LlaveSimple(i), i);
+            d.agrega(i, -i);
+        }
+        Assert.assertTrue(d.getElementos() == 2 * n);
+        for (int i = 0; i < n; i++) {
+            Assert.assertTrue(d.get(new LlaveSimple(i)) == i);
+            Assert.assertTrue(d.get(i) == -i);
+        }
+        for (int i = 0; i < n; i += 2) {
+            d.elimina(new LlaveSimple(i));
+            d.elimina(i + 1);
+        }
+        for (int i = 0; i < n; i++) {
+            Assert.assertTrue(d.contiene(new LlaveSimple(i)) == (i % 2 == 1));
+            Assert.assertTrue(d.contiene(i) == (i % 2 == 0));
+        }
+        for (int i = 0; i < n; i++) {
+            d.extrae(new LlaveSimple(i));
+            d.extrae(i);
+        }
+        Assert.assertTrue(d.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#paraCadenas}: cadenas con el
+     * mismo {@link String#hashCode} no chocan.
+     */
+    @Test public void testParaCadenas() {
+        Diccionario<String, Integer> d = Diccionario.paraCadenas(total);
+        /* "Aa" y "BB" tienen el mismo hashCode, así que todas las cadenas
+         * formadas con ellos también. */
+        int n = 1 << 10;
+        for (int i = 0; i < n; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int b = 0; b < 10; b++)
+                sb.append((i >> b & 1) == 0 ? "Aa" : "BB");
+            d.agrega(sb.toString(), i);
+        }
+        Assert.assertTrue(d.getElementos() == n);
+        Assert.assertTrue(d.colisionMaxima() < 16);
+        Assert.assertTrue(d.get("AaAaAaAaAaAaAaAaAaAa") == 0);
+    }
+
     /**
      * Prueba unitaria para {@link Diccionario#get}.
      */
@@ -167,6 +335,104 @@ public class TestDiccionario {
         }
     }
 
+    /**
+     * Prueba unitaria para {@link Diccionario#getOrDefault}.
+     */
+    @Test public void testGetOrDefault() {
+        Assert.assertTrue(diccionario.getOrDefault(null, "x").equals("x"));
+        Assert.assertTrue(diccionario.getOrDefault("a", null) == null);
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertTrue(diccionario.getOrDefault(s, "x").equals("x"));
+            diccionario.agrega(s, s);
+            Assert.assertTrue(diccionario.getOrDefault(s, "x").equals(s));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#computeIfAbsent}.
+     */
+    @Test public void testComputeIfAbsent() {
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertTrue(diccionario.computeIfAbsent(s, k -> k + k)
+                              .equals(s + s));
+            Assert.assertTrue(diccionario.computeIfAbsent(s, k -> "x")
+                              .equals(s + s));
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+        }
+        try {
+            diccionario.computeIfAbsent(null, k -> k);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.computeIfAbsent("X", k -> null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#merge}.
+     */
+    @Test public void testMerge() {
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertTrue(diccionario.merge(s, s, (a, b) -> a + b)
+                              .equals(s));
+            Assert.assertTrue(diccionario.merge(s, "x", (a, b) -> a + b)
+                              .equals(s + "x"));
+            Assert.assertTrue(diccionario.get(s).equals(s + "x"));
+        }
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertTrue(diccionario.merge(s, s, (a, b) -> null) == null);
+            Assert.assertFalse(diccionario.contiene(s));
+            Assert.assertTrue(diccionario.getElementos() == total - (i + 1));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#incrementa}.
+     */
+    @Test public void testIncrementa() {
+        Diccionario<String, Integer> contador =
+            new Diccionario<String, Integer>();
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            for (int j = 1; j <= i + 1; j++)
+                Assert.assertTrue(contador.incrementa(s, 1) == j);
+        }
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertTrue(contador.get(s) == i + 1);
+            Assert.assertTrue(contador.incrementa(s, -(i + 1)) == 0);
+        }
+        Assert.assertTrue(contador.getElementos() == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#extrae}.
+     */
+    @Test public void testExtrae() {
+        Assert.assertTrue(diccionario.extrae(null) == null);
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            diccionario.agrega(s, s + s);
+        }
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertTrue(diccionario.extrae(s).equals(s + s));
+            Assert.assertTrue(diccionario.extrae(s) == null);
+            Assert.assertFalse(diccionario.contiene(s));
+        }
+        Assert.assertTrue(diccionario.esVacia());
+    }
+
     /**
      * Prueba unitaria para {@link Diccionario#colisiones}.
      */
@@ -277,6 +543,73 @@ public class TestDiccionario {
         Assert.assertTrue(diccionario.carga() == 0.0);
     }
 
+    /**
+     * Prueba unitaria para {@link Diccionario#elimina} cuando la carga baja de
+     * {@link Diccionario#MINIMA_CARGA}.
+     */
+    @Test public void testEliminaEncoge() {
+        Diccionario<Integer, Integer> dicc = new Diccionario<Integer, Integer>();
+        int n = 64 * total;
+        for (int i = 0; i < n; i++)
+            dicc.agrega(i, i);
+        for (int i = 0; i < n; i++) {
+            dicc.elimina(i);
+            Assert.assertTrue(dicc.carga() >= Diccionario.MINIMA_CARGA ||
+                              dicc.getElementos() < 128 * Diccionario.MINIMA_CARGA);
+        }
+        Assert.assertTrue(dicc.esVacia());
+        dicc.agrega(0, 0);
+        Assert.assertTrue(dicc.carga() == 1.0 / 128);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#compacta} y {@link
+     * Diccionario#ajustaCapacidad}.
+     */
+    @Test public void testCompacta() {
+        Diccionario<Integer, Integer> dicc =
+            new Diccionario<Integer, Integer>(1000 * total);
+        for (int i = 0; i < 64 * total; i++)
+            dicc.agrega(i, i);
+        for (int i = total; i < 64 * total; i++)
+            dicc.elimina(i);
+        Assert.assertTrue(dicc.getElementos() == total);
+        dicc.compacta();
+        int longitud = total <= 64 ? 128 : 256;
+        Assert.assertTrue(dicc.carga() == (double)total / longitud);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(dicc.get(i) == i);
+        dicc.ajustaCapacidad(1000);
+        Assert.assertTrue(dicc.carga() == total / 2048.0);
+        for (int i = 0; i < total; i++)
+            dicc.elimina(i);
+        Assert.assertTrue(dicc.carga() == 0.0);
+        try {
+            dicc.ajustaCapacidad(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#limpia(int)}.
+     */
+    @Test public void testLimpiaCapacidad() {
+        for (int i = 0; i < 64 * total; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        diccionario.limpia(1000);
+        Assert.assertTrue(diccionario.esVacia());
+        diccionario.agrega("a", "a");
+        Assert.assertTrue(diccionario.carga() == 1.0 / 2048);
+        Assert.assertTrue(diccionario.get("a").equals("a"));
+        diccionario.limpia(0);
+        diccionario.agrega("a", "a");
+        Assert.assertTrue(diccionario.carga() == 1.0 / 128);
+        try {
+            diccionario.limpia(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
     /**
      * Prueba unitaria para {@link Diccionario#toString}.
      */
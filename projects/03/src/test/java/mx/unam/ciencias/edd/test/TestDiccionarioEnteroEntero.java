@@ -0,0 +1,267 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import mx.unam.ciencias.edd.DiccionarioEnteroEntero;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioEnteroEntero}.
+ */
+public class TestDiccionarioEnteroEntero {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioEnteroEntero diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioEnteroEntero() {
+        int N = 64;
+        random = new Random();
+        total = N + random.nextInt(N);
+        diccionario = new DiccionarioEnteroEntero(total);
+    }
+
+    /* Regresa un arreglo con total llaves distintas, incluyendo el 0 y
+     * negativos. */
+    private int[] llaves() {
+        int[] a = new int[total];
+        int ini = random.nextInt(10000);
+        a[0] = 0;
+        for (int i = 1; i < total; i++)
+            a[i] = (i % 2 == 0 ? -1 : 1) * (ini + i * 1000);
+        return a;
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * DiccionarioEnteroEntero#DiccionarioEnteroEntero}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        Assert.assertFalse(diccionario.cursor().avanza());
+        Assert.assertFalse(diccionario.iteradorLlaves().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroEntero#agrega} y {@link
+     * DiccionarioEnteroEntero#get}.
+     */
+    @Test public void testAgrega() {
+        int[] a = llaves();
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(a[i], i);
+            Assert.assertTrue(diccionario.get(a[i]) == i);
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+        }
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(a[i], -i);
+            Assert.assertTrue(diccionario.get(a[i]) == -i);
+        }
+        Assert.assertTrue(diccionario.getElementos() == total);
+        for (int i = 0; i < 64 * total; i++)
+            diccionario.agrega(Integer.MAX_VALUE - i, i);
+        Assert.assertTrue(diccionario.carga() < DiccionarioEnteroEntero.MAXIMA_CARGA);
+        for (int i = 0; i < 64 * total; i++)
+            Assert.assertTrue(diccionario.get(Integer.MAX_VALUE - i) == i);
+        try {
+            diccionario.get(Integer.MIN_VALUE);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroEntero#getOrDefault} y
+     * {@link DiccionarioEnteroEntero#contiene}.
+     */
+    @Test public void testGetOrDefault() {
+        int[] a = llaves();
+        for (int i = 0; i < total; i++) {
+            Assert.assertFalse(diccionario.contiene(a[i]));
+            Assert.assertTrue(diccionario.getOrDefault(a[i], -1) == -1);
+            diccionario.agrega(a[i], i);
+            Assert.assertTrue(diccionario.contiene(a[i]));
+            Assert.assertTrue(diccionario.getOrDefault(a[i], -1) == i);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroEntero#incrementa}.
+     */
+    @Test public void testIncrementa() {
+        int[] a = llaves();
+        for (int r = 1; r <= 3; r++) {
+            for (int i = 0; i < total; i++)
+                Assert.assertTrue(diccionario.incrementa(a[i], i) == r * i);
+            Assert.assertTrue(diccionario.getElementos() == total);
+        }
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.get(a[i]) == 3 * i);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroEntero#elimina}.
+     */
+    @Test public void testElimina() {
+        int[] a = llaves();
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(a[i], i);
+        for (int i = 0; i < total; i++) {
+            diccionario.elimina(a[i]);
+            Assert.assertFalse(diccionario.contiene(a[i]));
+            Assert.assertTrue(diccionario.getElementos() == total - (i + 1));
+            for (int j = i + 1; j < total; j++)
+                Assert.assertTrue(diccionario.get(a[j]) == j);
+            try {
+                diccionario.elimina(a[i]);
+                Assert.fail();
+            } catch (NoSuchElementException nsee) {}
+        }
+        Assert.assertTrue(diccionario.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroEntero#elimina} cuando las
+     * llaves forman un solo grupo.
+     */
+    @Test public void testEliminaGrupo() {
+        int n = 64 * total;
+        for (int i = 1; i <= n; i++)
+            diccionario.agrega(i, i);
+        for (int i = 1; i <= n; i += 2)
+            diccionario.elimina(i);
+        Assert.assertTrue(diccionario.getElementos() == n / 2);
+        Assert.assertTrue(diccionario.carga() >= DiccionarioEnteroEntero.MINIMA_CARGA);
+        for (int i = 1; i <= n; i++)
+            Assert.assertTrue(diccionario.contiene(i) == (i % 2 == 0));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroEntero#compacta} y {@link
+     * DiccionarioEnteroEntero#limpia(int)}.
+     */
+    @Test public void testCompacta() {
+        DiccionarioEnteroEntero d = new DiccionarioEnteroEntero(1000 * total);
+        for (int i = 0; i < 64 * total; i++)
+            d.agrega(i, i);
+        for (int i = total; i < 64 * total; i++)
+            d.elimina(i);
+        d.compacta();
+        int longitud = total <= 64 ? 128 : 256;
+        Assert.assertTrue(d.carga() == (double)total / longitud);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(d.get(i) == i);
+        d.limpia(1000);
+        Assert.assertTrue(d.esVacia());
+        d.agrega(1, 1);
+        Assert.assertTrue(d.carga() == 1.0 / 2048);
+        try {
+            d.limpia(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroEntero#limpia}.
+     */
+    @Test public void testLimpia() {
+        int[] a = llaves();
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(a[i], i);
+        Assert.assertFalse(diccionario.esVacia());
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(diccionario.contiene(a[i]));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroEntero#toString}.
+     */
+    @Test public void testToString() {
+        Assert.assertTrue(diccionario.toString().equals("{}"));
+        diccionario.agrega(0, 3);
+        Assert.assertTrue(diccionario.toString().equals("{ '0': '3', }"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroEntero#equals}.
+     */
+    @Test public void testEquals() {
+        DiccionarioEnteroEntero d2 = new DiccionarioEnteroEntero();
+        Assert.assertFalse(diccionario.equals(null));
+        Assert.assertTrue(diccionario.equals(d2));
+        int[] a = llaves();
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(a[i], i);
+            Assert.assertFalse(diccionario.equals(d2));
+            d2.agrega(a[i], i);
+            Assert.assertTrue(diccionario.equals(d2));
+        }
+        d2.agrega(a[0], -1);
+        Assert.assertFalse(diccionario.equals(d2));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroEntero#cursor}.
+     */
+    @Test public void testCursor() {
+        int[] a = llaves();
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(a[i], i);
+        DiccionarioEnteroEntero.Cursor c = diccionario.cursor();
+        try {
+            c.llave();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int n = 0;
+        long suma = 0;
+        while (c.avanza()) {
+            Assert.assertTrue(diccionario.get(c.llave()) == c.valor());
+            suma += c.valor();
+            n++;
+        }
+        Assert.assertTrue(n == total);
+        Assert.assertTrue(suma == (long)total * (total - 1) / 2);
+        Assert.assertFalse(c.avanza());
+        try {
+            c.valor();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroEntero#iteradorLlaves}.
+     */
+    @Test public void testIteradorLlaves() {
+        int[] a = llaves();
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(a[i], i);
+        PrimitiveIterator.OfInt it = diccionario.iteradorLlaves();
+        int n = 0;
+        while (it.hasNext()) {
+            Assert.assertTrue(diccionario.contiene(it.nextInt()));
+            n++;
+        }
+        Assert.assertTrue(n == total);
+        try {
+            it.nextInt();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+}
@@ -0,0 +1,219 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import mx.unam.ciencias.edd.DiccionarioLargoDoble;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioLargoDoble}.
+ */
+public class TestDiccionarioLargoDoble {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioLargoDoble diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioLargoDoble() {
+        int N = 64;
+        random = new Random();
+        total = N + random.nextInt(N);
+        diccionario = new DiccionarioLargoDoble(total);
+    }
+
+    /* Regresa un arreglo con total llaves distintas, incluyendo el 0 y llaves
+     * que sólo difieren en los bits altos. */
+    private long[] llaves() {
+        long[] a = new long[total];
+        long ini = random.nextInt(10000);
+        a[0] = 0;
+        for (int i = 1; i < total; i++)
+            a[i] = i % 2 == 0 ? ini + i : (ini + i) << 32;
+        return a;
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargoDoble#DiccionarioLargoDoble}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        Assert.assertFalse(diccionario.cursor().avanza());
+        Assert.assertFalse(diccionario.iteradorLlaves().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargoDoble#agrega} y {@link
+     * DiccionarioLargoDoble#get}.
+     */
+    @Test public void testAgrega() {
+        long[] a = llaves();
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(a[i], i / 2.0);
+            Assert.assertTrue(diccionario.get(a[i]) == i / 2.0);
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+        }
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(a[i], -i / 2.0);
+            Assert.assertTrue(diccionario.get(a[i]) == -i / 2.0);
+        }
+        Assert.assertTrue(diccionario.getElementos() == total);
+        for (int i = 0; i < 64 * total; i++)
+            diccionario.agrega(Long.MIN_VALUE + i, i);
+        Assert.assertTrue(diccionario.carga() < DiccionarioLargoDoble.MAXIMA_CARGA);
+        for (int i = 0; i < 64 * total; i++)
+            Assert.assertTrue(diccionario.get(Long.MIN_VALUE + i) == i);
+        try {
+            diccionario.get(Long.MAX_VALUE);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargoDoble#getOrDefault} y
+     * {@link DiccionarioLargoDoble#contiene}.
+     */
+    @Test public void testGetOrDefault() {
+        long[] a = llaves();
+        for (int i = 0; i < total; i++) {
+            Assert.assertFalse(diccionario.contiene(a[i]));
+            Assert.assertTrue(Double.isNaN(diccionario.getOrDefault(a[i], Double.NaN)));
+            diccionario.agrega(a[i], i);
+            Assert.assertTrue(diccionario.contiene(a[i]));
+            Assert.assertTrue(diccionario.getOrDefault(a[i], Double.NaN) == i);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargoDoble#suma}.
+     */
+    @Test public void testSuma() {
+        long[] a = llaves();
+        for (int r = 1; r <= 4; r++) {
+            for (int i = 0; i < total; i++)
+                Assert.assertTrue(diccionario.suma(a[i], 0.25) == r * 0.25);
+            Assert.assertTrue(diccionario.getElementos() == total);
+        }
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.get(a[i]) == 1.0);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargoDoble#elimina}.
+     */
+    @Test public void testElimina() {
+        long[] a = llaves();
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(a[i], i);
+        for (int i = 0; i < total; i++) {
+            diccionario.elimina(a[i]);
+            Assert.assertFalse(diccionario.contiene(a[i]));
+            Assert.assertTrue(diccionario.getElementos() == total - (i + 1));
+            for (int j = i + 1; j < total; j++)
+                Assert.assertTrue(diccionario.get(a[j]) == j);
+            try {
+                diccionario.elimina(a[i]);
+                Assert.fail();
+            } catch (NoSuchElementException nsee) {}
+        }
+        Assert.assertTrue(diccionario.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargoDoble#compacta} y {@link
+     * DiccionarioLargoDoble#limpia(int)}.
+     */
+    @Test public void testCompacta() {
+        DiccionarioLargoDoble d = new DiccionarioLargoDoble(1000 * total);
+        for (int i = 0; i < 64 * total; i++)
+            d.agrega(i, i);
+        for (int i = total; i < 64 * total; i++)
+            d.elimina(i);
+        d.compacta();
+        int longitud = total <= 64 ? 128 : 256;
+        Assert.assertTrue(d.carga() == (double)total / longitud);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(d.get(i) == i);
+        d.limpia(1000);
+        Assert.assertTrue(d.esVacia());
+        d.agrega(1, 1);
+        Assert.assertTrue(d.carga() == 1.0 / 2048);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargoDoble#limpia}.
+     */
+    @Test public void testLimpia() {
+        long[] a = llaves();
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(a[i], i);
+        Assert.assertFalse(diccionario.esVacia());
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(diccionario.contiene(a[i]));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargoDoble#equals}.
+     */
+    @Test public void testEquals() {
+        DiccionarioLargoDoble d2 = new DiccionarioLargoDoble();
+        Assert.assertFalse(diccionario.equals(null));
+        Assert.assertTrue(diccionario.equals(d2));
+        long[] a = llaves();
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(a[i], i);
+            Assert.assertFalse(diccionario.equals(d2));
+            d2.agrega(a[i], i);
+            Assert.assertTrue(diccionario.equals(d2));
+        }
+        diccionario.agrega(a[0], Double.NaN);
+        d2.agrega(a[0], Double.NaN);
+        Assert.assertTrue(diccionario.equals(d2));
+        d2.agrega(a[0], -1);
+        Assert.assertFalse(diccionario.equals(d2));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargoDoble#cursor} y {@link
+     * DiccionarioLargoDoble#iteradorLlaves}.
+     */
+    @Test public void testCursor() {
+        long[] a = llaves();
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(a[i], i);
+        DiccionarioLargoDoble.Cursor c = diccionario.cursor();
+        int n = 0;
+        double suma = 0;
+        while (c.avanza()) {
+            Assert.assertTrue(diccionario.get(c.llave()) == c.valor());
+            suma += c.valor();
+            n++;
+        }
+        Assert.assertTrue(n == total);
+        Assert.assertTrue(suma == (double)total * (total - 1) / 2);
+        PrimitiveIterator.OfLong it = diccionario.iteradorLlaves();
+        n = 0;
+        while (it.hasNext()) {
+            Assert.assertTrue(diccionario.contiene(it.nextLong()));
+            n++;
+        }
+        Assert.assertTrue(n == total);
+    }
+}
@@ -0,0 +1,178 @@
+package mx.unam.ciencias.edd.test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import mx.unam.ciencias.edd.AlgoritmoDispersor;
+import mx.unam.ciencias.edd.DispersorIncremental;
+import mx.unam.ciencias.edd.Dispersores;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DispersorIncremental}.
+ */
+public class TestDispersorIncremental {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Los algoritmos sin llave secreta. */
+    private static final AlgoritmoDispersor[] ALGORITMOS = {
+        AlgoritmoDispersor.XOR_STRING, AlgoritmoDispersor.BJ_STRING,
+        AlgoritmoDispersor.DJB_STRING, AlgoritmoDispersor.MURMUR3_STRING,
+        AlgoritmoDispersor.XX_STRING, AlgoritmoDispersor.WY_STRING
+    };
+
+    /* Las funciones de dispersión correspondientes a los algoritmos. */
+    @SuppressWarnings("unchecked")
+    private static final ToIntFunction<byte[]>[] FUNCIONES =
+        new ToIntFunction[] {
+        (ToIntFunction<byte[]>)Dispersores::dispersaXOR,
+        (ToIntFunction<byte[]>)Dispersores::dispersaBJ,
+        (ToIntFunction<byte[]>)Dispersores::dispersaDJB,
+        (ToIntFunction<byte[]>)Dispersores::dispersaMurmur3,
+        (ToIntFunction<byte[]>)Dispersores::dispersaXX,
+        (ToIntFunction<byte[]>)Dispersores::dispersaWy
+    };
+
+    /* Generador de números aleatorios. */
+    private Random random;
+
+    /**
+     * Crea el generador de números aleatorios para cada prueba.
+     */
+    public TestDispersorIncremental() {
+        random = new Random();
+    }
+
+    /* Agrega la llave al dispersor en pedazos de longitud aleatoria y
+     * regresa la dispersión. */
+    private int porPedazos(DispersorIncremental dispersor, byte[] llave) {
+        int i = 0;
+        while (i < llave.length) {
+            int n = random.nextInt(Math.min(llave.length - i, 70) + 1);
+            dispersor.actualiza(llave, i, n);
+            i += n;
+        }
+        Assert.assertTrue(dispersor.getLongitud() == llave.length);
+        return dispersor.finaliza();
+    }
+
+    /* Regresa una llave aleatoria de la longitud recibida. */
+    private byte[] llave(int n) {
+        byte[] llave = new byte[n];
+        random.nextBytes(llave);
+        return llave;
+    }
+
+    /**
+     * Prueba unitaria para {@link DispersorIncremental#actualiza(byte[], int,
+     * int)} y {@link DispersorIncremental#finaliza}.
+     */
+    @Test public void testActualizaFinaliza() {
+        for (int a = 0; a < ALGORITMOS.length; a++) {
+            DispersorIncremental d = Dispersores.nuevoDispersor(ALGORITMOS[a]);
+            for (int n = 0; n < 200; n++) {
+                byte[] llave = llave(n);
+                int h = FUNCIONES[a].applyAsInt(llave);
+                Assert.assertTrue(porPedazos(d, llave) == h);
+                d.actualiza(llave);
+                Assert.assertTrue(d.finaliza() == h);
+            }
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#nuevoDispersorSip}.
+     */
+    @Test public void testSip() {
+        long k0 = random.nextLong(), k1 = random.nextLong();
+        DispersorIncremental d = Dispersores.nuevoDispersorSip(k0, k1);
+        for (int n = 0; n < 200; n++) {
+            byte[] llave = llave(n);
+            Assert.assertTrue(porPedazos(d, llave) ==
+                              Dispersores.dispersaSip(llave, k0, k1));
+        }
+        try {
+            Dispersores.nuevoDispersor(AlgoritmoDispersor.SIP_STRING);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * DispersorIncremental#actualiza(ByteBuffer)}.
+     */
+    @Test public void testActualizaBuffer() {
+        byte[] llave = llave(10000 + random.nextInt(1000));
+        ByteBuffer directo = ByteBuffer.allocateDirect(llave.length + 16);
+        directo.put(llave);
+        for (int a = 0; a < ALGORITMOS.length; a++) {
+            int h = FUNCIONES[a].applyAsInt(llave);
+            DispersorIncremental d = Dispersores.nuevoDispersor(ALGORITMOS[a]);
+            ByteBuffer b = ByteBuffer.wrap(llave);
+            d.actualiza(b);
+            Assert.assertFalse(b.hasRemaining());
+            Assert.assertTrue(d.finaliza() == h);
+            d.actualiza(ByteBuffer.wrap(llave).asReadOnlyBuffer());
+            Assert.assertTrue(d.finaliza() == h);
+            directo.flip();
+            d.actualiza(directo);
+            Assert.assertFalse(directo.hasRemaining());
+            Assert.assertTrue(d.finaliza() == h);
+            byte[] relleno = new byte[llave.length + 8];
+            System.arraycopy(llave, 0, relleno, 3, llave.length);
+            ByteBuffer rebanada = ByteBuffer.wrap(relleno, 3, llave.length)
+                .slice();
+            d.actualiza(rebanada);
+            Assert.assertTrue(d.finaliza() == h);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link DispersorIncremental#reinicia}.
+     */
+    @Test public void testReinicia() {
+        for (int a = 0; a < ALGORITMOS.length; a++) {
+            DispersorIncremental d = Dispersores.nuevoDispersor(ALGORITMOS[a]);
+            byte[] llave = llave(100);
+            d.actualiza(llave(77));
+            d.reinicia();
+            Assert.assertTrue(d.getLongitud() == 0);
+            d.actualiza(llave);
+            Assert.assertTrue(d.finaliza() == FUNCIONES[a].applyAsInt(llave));
+            Assert.assertTrue(d.finaliza() ==
+                              FUNCIONES[a].applyAsInt(new byte[0]));
+        }
+    }
+
+    /**
+     * Prueba unitaria para los argumentos inválidos de {@link
+     * DispersorIncremental#actualiza}.
+     */
+    @Test public void testArgumentosInvalidos() {
+        DispersorIncremental d =
+            Dispersores.nuevoDispersor(AlgoritmoDispersor.BJ_STRING);
+        try {
+            d.actualiza((byte[])null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            d.actualiza((ByteBuffer)null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        byte[] llave = new byte[10];
+        int[][] invalidos = { { -1, 2 }, { 0, -1 }, { 5, 6 },
+                              { 1, Integer.MAX_VALUE } };
+        for (int[] invalido : invalidos) {
+            try {
+                d.actualiza(llave, invalido[0], invalido[1]);
+                Assert.fail();
+            } catch (IndexOutOfBoundsException ioobe) {}
+        }
+        Assert.assertTrue(d.getLongitud() == 0);
+    }
+}
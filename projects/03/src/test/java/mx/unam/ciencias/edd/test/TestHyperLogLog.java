@@ -0,0 +1,134 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.AlgoritmoDispersor;
+import mx.unam.ciencias.edd.FabricaDispersores;
+import mx.unam.ciencias.edd.HyperLogLog;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link HyperLogLog}.
+ */
+public class TestHyperLogLog {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* El estimador. */
+    private HyperLogLog<Integer> estimador;
+
+    /**
+     * Crea un generador de números aleatorios y un estimador para cada
+     * prueba.
+     */
+    public TestHyperLogLog() {
+        random = new Random();
+        estimador = new HyperLogLog<Integer>(14);
+    }
+
+    /* Nos dice si el estimado está a menos de cinco errores estándar del
+     * valor real. */
+    private static boolean cerca(long estimado, long real, double error) {
+        return Math.abs(estimado - real) <= 5 * error * real + 1;
+    }
+
+    /**
+     * Prueba unitaria para {@link HyperLogLog#HyperLogLog}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(estimador.estima() == 0);
+        Assert.assertTrue(estimador.getPrecision() == 14);
+        Assert.assertTrue(Math.abs(estimador.errorEstandar() - 0.008125) <
+                          1e-9);
+        int[] invalidas = { HyperLogLog.MINIMA_PRECISION - 1,
+                            HyperLogLog.MAXIMA_PRECISION + 1 };
+        for (int p : invalidas) {
+            try {
+                new HyperLogLog<Integer>(p);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        }
+        try {
+            new HyperLogLog<Integer>(14, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link HyperLogLog#agrega} y {@link
+     * HyperLogLog#estima}.
+     */
+    @Test public void testEstima() {
+        try {
+            estimador.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        int ini = random.nextInt();
+        int[] cortes = { 10, 100, 1000, 10000, 100000, 1000000 };
+        int n = 0;
+        for (int corte : cortes) {
+            for (; n < corte; n++)
+                estimador.agrega(ini + n);
+            Assert.assertTrue(cerca(estimador.estima(), n,
+                                    estimador.errorEstandar()));
+        }
+        /* Los repetidos no cambian el estimado. */
+        long e = estimador.estima();
+        for (int i = 0; i < 1000; i++)
+            estimador.agrega(ini + random.nextInt(n));
+        Assert.assertTrue(estimador.estima() == e);
+    }
+
+    /**
+     * Prueba unitaria para {@link HyperLogLog} con un dispersor de {@link
+     * FabricaDispersores} y poca precisión.
+     */
+    @Test public void testDispersor() {
+        HyperLogLog<String> h = new HyperLogLog<String>(10,
+            FabricaDispersores.dispersorCadena(AlgoritmoDispersor.BJ_STRING));
+        int n = 50000 + random.nextInt(50000);
+        for (int i = 0; i < n; i++) {
+            h.agrega("palabra" + i);
+            h.agrega("palabra" + i);
+        }
+        Assert.assertTrue(cerca(h.estima(), n, h.errorEstandar()));
+    }
+
+    /**
+     * Prueba unitaria para {@link HyperLogLog#combina}.
+     */
+    @Test public void testCombina() {
+        HyperLogLog<Integer> otro = new HyperLogLog<Integer>(14);
+        int n = 10000 + random.nextInt(10000);
+        for (int i = 0; i < n; i++) {
+            estimador.agrega(i);
+            otro.agrega(i + n / 2);
+        }
+        estimador.combina(otro);
+        Assert.assertTrue(cerca(estimador.estima(), n + n / 2,
+                                estimador.errorEstandar()));
+        try {
+            estimador.combina(new HyperLogLog<Integer>(12));
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            estimador.combina(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link HyperLogLog#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < 1000; i++)
+            estimador.agrega(random.nextInt());
+        estimador.limpia();
+        Assert.assertTrue(estimador.estima() == 0);
+    }
+}
@@ -9,5 +9,16 @@ public enum AlgoritmoDispersor {
     /** Algoritmo de Bob Jenkins para cadenas. */
     BJ_STRING,
     /** Algoritmo de Daniel J. Bernstein para cadenas. */
-    DJB_STRING;
+    DJB_STRING,
+    /**
+     * Algoritmo SipHash-1-3 para cadenas, con una llave secreta aleatoria
+     * distinta para cada dispersor.
+     */
+    SIP_STRING,
+    /** Algoritmo MurmurHash3 de 32 bits para cadenas. */
+    MURMUR3_STRING,
+    /** Algoritmo xxHash64 para cadenas. */
+    XX_STRING,
+    /** Algoritmo wyhash para cadenas. */
+    WY_STRING;
 }
@@ -0,0 +1,374 @@
+package mx.unam.ciencias.edd;
+
+import java.util.function.Function;
+
+/**
+ * <p>Clase abstracta para cachés acotados: diccionarios que, cuando el peso
+ * total de sus entradas rebasa su capacidad, desalojan entradas hasta que
+ * vuelva a caber. Las subclases deciden qué entrada se desaloja.</p>
+ *
+ * <p>Por omisión cada entrada pesa uno, así que la capacidad es el número
+ * máximo de entradas; con un {@link Pesador} la capacidad acota la suma de
+ * los pesos, por ejemplo de las longitudes de cadenas. Una entrada que pesa
+ * más que la capacidad se desaloja en cuanto se agrega.</p>
+ *
+ * <p>El caché lleva la cuenta de sus aciertos, fallos y desalojos, y puede
+ * avisar de cada desalojo con una {@link AccionDesalojo}. Las entradas están
+ * en un {@link DiccionarioAbierto}, así que buscar, agregar y desalojar toman
+ * tiempo constante si las subclases ordenan sus entradas en tiempo
+ * constante.</p>
+ *
+ * @param <K> el tipo de las llaves.
+ * @param <V> el tipo de los valores.
+ */
+public abstract class Cache<K, V> {
+
+    /**
+     * Clase interna protegida para entradas. Las subclases usan {@link
+     * #anterior} y {@link #siguiente} para encadenar sus entradas.
+     */
+    protected class Entrada {
+
+        /** La llave. */
+        public K llave;
+        /** El valor. */
+        public V valor;
+        /** El peso. */
+        public long peso;
+        /** La entrada anterior. */
+        public Entrada anterior;
+        /** La entrada siguiente. */
+        public Entrada siguiente;
+
+        /**
+         * Construye una entrada con una llave y un valor.
+         * @param llave la llave de la entrada.
+         * @param valor el valor de la entrada.
+         */
+        public Entrada(K llave, V valor) {
+            this.llave = llave;
+            this.valor = valor;
+        }
+    }
+
+    /* Las entradas, por llave. */
+    private DiccionarioAbierto<K, Entrada> entradas;
+    /* La capacidad. */
+    private long capacidad;
+    /* El peso total de las entradas. */
+    private long peso;
+    /* El pesador. */
+    private Pesador<K, V> pesador;
+    /* La acción para los desalojos, o null. */
+    private AccionDesalojo<K, V> accion;
+    /* Los aciertos, fallos y desalojos. */
+    private long aciertos, fallos, desalojos;
+
+    /**
+     * Construye un caché para el número de entradas recibido.
+     * @param capacidad el número máximo de entradas.
+     * @throws IllegalArgumentException si la capacidad no es positiva.
+     */
+    public Cache(long capacidad) {
+        this(capacidad, (K llave, V valor) -> 1);
+    }
+
+    /**
+     * Construye un caché para el peso total recibido.
+     * @param capacidad el peso máximo de las entradas.
+     * @param pesador el pesador de las entradas.
+     * @throws IllegalArgumentException si la capacidad no es positiva o el
+     *         pesador es <code>null</code>.
+     */
+    public Cache(long capacidad, Pesador<K, V> pesador) {
+        if (capacidad <= 0 || pesador == null)
+            throw new IllegalArgumentException();
+        this.capacidad = capacidad;
+        this.pesador = pesador;
+        this.entradas = new DiccionarioAbierto<K, Entrada>();
+    }
+
+    /**
+     * Construye una nueva entrada. Las subclases pueden sobrecargar el método
+     * para usar sus propias entradas.
+     * @param llave la llave de la entrada.
+     * @param valor el valor de la entrada.
+     * @return una nueva entrada.
+     */
+    protected Entrada nuevaEntrada(K llave, V valor) {
+        return new Entrada(llave, valor);
+    }
+
+    /**
+     * Regresa la entrada con la llave recibida, sin marcarla como usada.
+     * @param llave la llave de la entrada.
+     * @return la entrada con la llave recibida, o <code>null</code> si la
+     *         llave no está en el caché.
+     */
+    protected Entrada entrada(K llave) {
+        return llave == null ? null : this.entradas.getOrDefault(llave, null);
+    }
+
+    /**
+     * Coloca una entrada nueva en el orden de desalojo.
+     * @param entrada la entrada nueva.
+     */
+    protected abstract void inserta(Entrada entrada);
+
+    /**
+     * Actualiza el orden de desalojo porque se usó una entrada.
+     * @param entrada la entrada usada.
+     */
+    protected abstract void accede(Entrada entrada);
+
+    /**
+     * Saca una entrada del orden de desalojo.
+     * @param entrada la entrada a sacar.
+     */
+    protected abstract void quita(Entrada entrada);
+
+    /**
+     * Saca del orden de desalojo una entrada que se va a actualizar, para no
+     * desalojarla al hacer espacio para su nuevo peso. Después se vuelve a
+     * colocar con {@link #devuelve}. Por omisión la saca con {@link #quita}.
+     * @param entrada la entrada a actualizar.
+     */
+    protected void aparta(Entrada entrada) {
+        this.quita(entrada);
+    }
+
+    /**
+     * Vuelve a colocar en el orden de desalojo una entrada sacada con {@link
+     * #aparta}, ya actualizada, marcándola como usada. Por omisión la coloca
+     * con {@link #inserta}, como si fuera nueva.
+     * @param entrada la entrada actualizada.
+     */
+    protected void devuelve(Entrada entrada) {
+        this.inserta(entrada);
+    }
+
+    /**
+     * Regresa la siguiente entrada a desalojar. Sólo se llama si el caché no
+     * es vacío.
+     * @return la siguiente entrada a desalojar.
+     */
+    protected abstract Entrada victima();
+
+    /**
+     * Vacía el orden de desalojo.
+     */
+    protected abstract void vacia();
+
+    /**
+     * Define la acción que se realiza sobre cada entrada desalojada.
+     * @param accion la acción, o <code>null</code> para no realizar ninguna.
+     */
+    public void setAccionDesalojo(AccionDesalojo<K, V> accion) {
+        this.accion = accion;
+    }
+
+    /**
+     * Regresa el valor asociado a la llave, y lo marca como usado.
+     * @param llave la llave del valor.
+     * @return el valor asociado a la llave, o <code>null</code> si la llave
+     *         no está en el caché.
+     */
+    public V busca(K llave) {
+        Entrada e = this.entrada(llave);
+        if (e == null) {
+            this.fallos++;
+            return null;
+        }
+        this.aciertos++;
+        this.accede(e);
+        return e.valor;
+    }
+
+    /**
+     * Regresa el valor asociado a la llave y lo marca como usado. Si la llave
+     * no está, calcula el valor con la función recibida, lo agrega y lo
+     * regresa.
+     * @param llave la llave del valor.
+     * @param funcion la función para calcular el valor a partir de la llave.
+     * @return el valor asociado a la llave.
+     * @throws IllegalArgumentException si la llave es <code>null</code>, o si
+     *         la función regresa <code>null</code> o un valor con peso
+     *         negativo.
+     */
+    public V computeIfAbsent(K llave, Function<? super K, ? extends V> funcion) {
+        if (llave == null) { throw new IllegalArgumentException(); }
+        V valor = this.busca(llave);
+        if (valor != null)
+            return valor;
+        valor = funcion.apply(llave);
+        this.agrega(llave, valor);
+        return valor;
+    }
+
+    /**
+     * Agrega un valor al caché con la llave recibida, reemplazando el valor
+     * anterior si la llave ya estaba, y desaloja entradas si el peso total
+     * rebasa la capacidad.
+     * @param llave la llave del valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son
+     *         <code>null</code>, o el peso del valor es negativo.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException();
+        long p = this.pesador.pesa(llave, valor);
+        if (p < 0) { throw new IllegalArgumentException(); }
+        Entrada e = this.entrada(llave);
+        if (p > this.capacidad) {
+            if (e != null)
+                this.saca(e);
+            this.desaloja(llave, valor);
+            return;
+        }
+        if (e != null) {
+            /* Igual que al agregar, se hace espacio antes de cambiar el
+             * peso, con la entrada fuera del orden para no desalojarla con
+             * su propia escritura. */
+            this.aparta(e);
+            this.peso -= e.peso;
+            this.desalojaHasta(this.capacidad - p);
+            e.valor = valor;
+            e.peso = p;
+            this.peso += p;
+            this.devuelve(e);
+            return;
+        }
+        /* Se hace espacio antes de agregar, para no desalojar la entrada
+         * nueva. */
+        this.desalojaHasta(this.capacidad - p);
+        e = this.nuevaEntrada(llave, valor);
+        e.peso = p;
+        this.entradas.agrega(llave, e);
+        this.peso += p;
+        this.inserta(e);
+    }
+
+    /* Desaloja entradas hasta que el peso no rebase el límite. */
+    private void desalojaHasta(long limite) {
+        while (this.peso > limite) {
+            Entrada v = this.victima();
+            this.saca(v);
+            this.desaloja(v.llave, v.valor);
+        }
+    }
+
+    /* Saca la entrada del caché. */
+    private void saca(Entrada e) {
+        this.entradas.extrae(e.llave);
+        this.quita(e);
+        this.peso -= e.peso;
+    }
+
+    /* Cuenta un desalojo y realiza la acción. */
+    private void desaloja(K llave, V valor) {
+        this.desalojos++;
+        if (this.accion != null)
+            this.accion.actua(llave, valor);
+    }
+
+    /**
+     * Elimina la entrada con la llave recibida, si está, sin contarla como
+     * desalojo.
+     * @param llave la llave de la entrada a eliminar.
+     * @return el valor que estaba asociado a la llave, o <code>null</code> si
+     *         la llave no estaba en el caché.
+     */
+    public V extrae(K llave) {
+        Entrada e = this.entrada(llave);
+        if (e == null)
+            return null;
+        this.saca(e);
+        return e.valor;
+    }
+
+    /**
+     * Nos dice si la llave está en el caché, sin marcarla como usada ni
+     * contar un acierto o un fallo.
+     * @param llave la llave que queremos saber si está en el caché.
+     * @return <code>true</code> si la llave está en el caché,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        return llave != null && this.entradas.contiene(llave);
+    }
+
+    /**
+     * Regresa el número de entradas en el caché.
+     * @return el número de entradas en el caché.
+     */
+    public int getElementos() {
+        return this.entradas.getElementos();
+    }
+
+    /**
+     * Nos dice si el caché es vacío.
+     * @return <code>true</code> si el caché es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esVacia() {
+        return this.entradas.esVacia();
+    }
+
+    /**
+     * Regresa el peso total de las entradas en el caché.
+     * @return el peso total de las entradas en el caché.
+     */
+    public long getPeso() {
+        return this.peso;
+    }
+
+    /**
+     * Regresa la capacidad del caché.
+     * @return la capacidad del caché.
+     */
+    public long getCapacidad() {
+        return this.capacidad;
+    }
+
+    /**
+     * Regresa el número de búsquedas que encontraron su llave.
+     * @return el número de aciertos.
+     */
+    public long getAciertos() {
+        return this.aciertos;
+    }
+
+    /**
+     * Regresa el número de búsquedas que no encontraron su llave.
+     * @return el número de fallos.
+     */
+    public long getFallos() {
+        return this.fallos;
+    }
+
+    /**
+     * Regresa el número de entradas desalojadas.
+     * @return el número de desalojos.
+     */
+    public long getDesalojos() {
+        return this.desalojos;
+    }
+
+    /**
+     * Regresa la cuenta de aciertos, fallos y desalojos a cero.
+     */
+    public void reiniciaContadores() {
+        this.aciertos = this.fallos = this.desalojos = 0;
+    }
+
+    /**
+     * Limpia el caché, dejándolo vacío. Las entradas no se cuentan como
+     * desalojos.
+     */
+    public void limpia() {
+        this.entradas.limpia();
+        this.peso = 0;
+        this.vacia();
+    }
+}
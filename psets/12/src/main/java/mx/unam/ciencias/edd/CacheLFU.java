@@ -0,0 +1,236 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Clase para cachés que desalojan la entrada usada menos veces
+ * (<em>least frequently used</em>); entre entradas usadas las mismas veces,
+ * desaloja la usada hace más tiempo.</p>
+ *
+ * <p>Las entradas se agrupan en cubetas por número de usos, con el algoritmo
+ * de Shah, Mitra y Matani: las cubetas forman una lista ordenada por número
+ * de usos, y cada cubeta es una lista de sus entradas de la usada más
+ * recientemente a la usada hace más tiempo. Un uso mueve la entrada a la
+ * cubeta siguiente, así que todas las operaciones toman tiempo constante.</p>
+ *
+ * <p>A diferencia de {@link CacheLRU}, una ráfaga de llaves que se usan una
+ * sola vez no desaloja a las entradas que se usan seguido.</p>
+ *
+ * @param <K> el tipo de las llaves.
+ * @param <V> el tipo de los valores.
+ */
+public class CacheLFU<K, V> extends Cache<K, V> {
+
+    /* Clase interna privada para cubetas de entradas con los mismos usos. */
+    private class Cubeta {
+
+        /* El número de usos. */
+        private long usos;
+        /* La entrada usada más recientemente. */
+        private Entrada cabeza;
+        /* La entrada usada hace más tiempo. */
+        private Entrada rabo;
+        /* La cubeta anterior. */
+        private Cubeta anterior;
+        /* La cubeta siguiente. */
+        private Cubeta siguiente;
+
+        /* Construye una cubeta vacía. */
+        public Cubeta(long usos) {
+            this.usos = usos;
+        }
+    }
+
+    /**
+     * Clase interna protegida para entradas de cachés LFU.
+     */
+    protected class EntradaLFU extends Entrada {
+
+        /** La cubeta de la entrada. */
+        private Cubeta cubeta;
+
+        /**
+         * Construye una entrada con una llave y un valor.
+         * @param llave la llave de la entrada.
+         * @param valor el valor de la entrada.
+         */
+        public EntradaLFU(K llave, V valor) {
+            super(llave, valor);
+        }
+    }
+
+    /* La cubeta con menos usos. */
+    private Cubeta primera;
+    /* La cubeta detrás de la que va la entrada apartada, o null si va al
+     * inicio, y los usos que tendrá. */
+    private Cubeta ancla;
+    private long usosApartada;
+
+    /**
+     * Construye un caché para el número de entradas recibido.
+     * @param capacidad el número máximo de entradas.
+     * @throws IllegalArgumentException si la capacidad no es positiva.
+     */
+    public CacheLFU(long capacidad) {
+        super(capacidad);
+    }
+
+    /**
+     * Construye un caché para el peso total recibido.
+     * @param capacidad el peso máximo de las entradas.
+     * @param pesador el pesador de las entradas.
+     * @throws IllegalArgumentException si la capacidad no es positiva o el
+     *         pesador es <code>null</code>.
+     */
+    public CacheLFU(long capacidad, Pesador<K, V> pesador) {
+        super(capacidad, pesador);
+    }
+
+    /* Convierte la entrada a EntradaLFU. */
+    private EntradaLFU entradaLFU(Entrada entrada) {
+        return (EntradaLFU)entrada;
+    }
+
+    /**
+     * Construye una nueva entrada LFU.
+     * @param llave la llave de la entrada.
+     * @param valor el valor de la entrada.
+     * @return una nueva entrada LFU.
+     */
+    @Override protected Entrada nuevaEntrada(K llave, V valor) {
+        return new EntradaLFU(llave, valor);
+    }
+
+    /* Crea una cubeta después de la recibida, o al inicio si es null. */
+    private Cubeta nuevaCubeta(Cubeta anterior, long usos) {
+        Cubeta c = new Cubeta(usos);
+        c.anterior = anterior;
+        c.siguiente = anterior == null ? this.primera : anterior.siguiente;
+        if (c.siguiente != null)
+            c.siguiente.anterior = c;
+        if (anterior == null)
+            this.primera = c;
+        else
+            anterior.siguiente = c;
+        return c;
+    }
+
+    /* Coloca la entrada al inicio de la cubeta. */
+    private void coloca(EntradaLFU e, Cubeta c) {
+        e.cubeta = c;
+        e.anterior = null;
+        e.siguiente = c.cabeza;
+        if (c.cabeza == null)
+            c.rabo = e;
+        else
+            c.cabeza.anterior = e;
+        c.cabeza = e;
+    }
+
+    /**
+     * Coloca la entrada en la cubeta de un uso.
+     * @param entrada la entrada nueva.
+     */
+    @Override protected void inserta(Entrada entrada) {
+        Cubeta c = this.primera;
+        if (c == null || c.usos != 1)
+            c = this.nuevaCubeta(null, 1);
+        this.coloca(this.entradaLFU(entrada), c);
+    }
+
+    /**
+     * Mueve la entrada a la cubeta con un uso más.
+     * @param entrada la entrada usada.
+     */
+    @Override protected void accede(Entrada entrada) {
+        EntradaLFU e = this.entradaLFU(entrada);
+        Cubeta c = e.cubeta, s = c.siguiente;
+        if (s == null || s.usos != c.usos + 1)
+            s = this.nuevaCubeta(c, c.usos + 1);
+        this.quita(e);
+        this.coloca(e, s);
+    }
+
+    /**
+     * Saca la entrada de su cubeta, y elimina la cubeta si queda vacía.
+     * @param entrada la entrada a sacar.
+     */
+    @Override protected void quita(Entrada entrada) {
+        EntradaLFU e = this.entradaLFU(entrada);
+        Cubeta c = e.cubeta;
+        if (e.anterior == null)
+            c.cabeza = e.siguiente;
+        else
+            e.anterior.siguiente = e.siguiente;
+        if (e.siguiente == null)
+            c.rabo = e.anterior;
+        else
+            e.siguiente.anterior = e.anterior;
+        e.anterior = e.siguiente = null;
+        e.cubeta = null;
+        if (c.cabeza != null)
+            return;
+        if (c.anterior == null)
+            this.primera = c.siguiente;
+        else
+            c.anterior.siguiente = c.siguiente;
+        if (c.siguiente != null)
+            c.siguiente.anterior = c.anterior;
+    }
+
+    /**
+     * Saca la entrada de su cubeta para actualizarla, y recuerda detrás de
+     * qué cubeta va con un uso más.
+     * @param entrada la entrada a actualizar.
+     */
+    @Override protected void aparta(Entrada entrada) {
+        EntradaLFU e = this.entradaLFU(entrada);
+        Cubeta c = e.cubeta;
+        this.usosApartada = c.usos + 1;
+        this.quita(e);
+        this.ancla = c.cabeza != null ? c : c.anterior;
+    }
+
+    /**
+     * Coloca la entrada apartada en la cubeta con un uso más de los que
+     * tenía.
+     * @param entrada la entrada actualizada.
+     */
+    @Override protected void devuelve(Entrada entrada) {
+        /* Los desalojos vacían las cubetas desde la primera, así que si el
+         * ancla se vació, también todas las anteriores. */
+        Cubeta a = this.ancla;
+        if (a != null && a.cabeza == null)
+            a = null;
+        Cubeta s = a == null ? this.primera : a.siguiente;
+        if (s == null || s.usos != this.usosApartada)
+            s = this.nuevaCubeta(a, this.usosApartada);
+        this.coloca(this.entradaLFU(entrada), s);
+        this.ancla = null;
+    }
+
+    /**
+     * Regresa la entrada usada hace más tiempo de la cubeta con menos usos.
+     * @return la entrada usada menos veces.
+     */
+    @Override protected Entrada victima() {
+        return this.primera.rabo;
+    }
+
+    /**
+     * Vacía las cubetas.
+     */
+    @Override protected void vacia() {
+        this.primera = null;
+    }
+
+    /**
+     * Regresa cuántas veces se ha usado la entrada con la llave recibida,
+     * contando cuando se agregó.
+     * @param llave la llave de la entrada.
+     * @return el número de usos de la entrada, o 0 si la llave no está en el
+     *         caché.
+     */
+    public long getUsos(K llave) {
+        Entrada e = this.entrada(llave);
+        return e == null ? 0 : this.entradaLFU(e).cubeta.usos;
+    }
+}
@@ -0,0 +1,97 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Clase para cachés que desalojan la entrada usada hace más tiempo
+ * (<em>least recently used</em>).</p>
+ *
+ * <p>Las entradas forman una lista doblemente ligada, de la usada más
+ * recientemente a la usada hace más tiempo; cada uso mueve la entrada al
+ * inicio, y se desaloja la del final. Todas las operaciones toman tiempo
+ * constante.</p>
+ *
+ * @param <K> el tipo de las llaves.
+ * @param <V> el tipo de los valores.
+ */
+public class CacheLRU<K, V> extends Cache<K, V> {
+
+    /* La entrada usada más recientemente. */
+    private Entrada cabeza;
+    /* La entrada usada hace más tiempo. */
+    private Entrada rabo;
+
+    /**
+     * Construye un caché para el número de entradas recibido.
+     * @param capacidad el número máximo de entradas.
+     * @throws IllegalArgumentException si la capacidad no es positiva.
+     */
+    public CacheLRU(long capacidad) {
+        super(capacidad);
+    }
+
+    /**
+     * Construye un caché para el peso total recibido.
+     * @param capacidad el peso máximo de las entradas.
+     * @param pesador el pesador de las entradas.
+     * @throws IllegalArgumentException si la capacidad no es positiva o el
+     *         pesador es <code>null</code>.
+     */
+    public CacheLRU(long capacidad, Pesador<K, V> pesador) {
+        super(capacidad, pesador);
+    }
+
+    /**
+     * Coloca la entrada al inicio de la lista.
+     * @param entrada la entrada nueva.
+     */
+    @Override protected void inserta(Entrada entrada) {
+        entrada.anterior = null;
+        entrada.siguiente = this.cabeza;
+        if (this.cabeza == null)
+            this.rabo = entrada;
+        else
+            this.cabeza.anterior = entrada;
+        this.cabeza = entrada;
+    }
+
+    /**
+     * Mueve la entrada al inicio de la lista.
+     * @param entrada la entrada usada.
+     */
+    @Override protected void accede(Entrada entrada) {
+        if (entrada == this.cabeza)
+            return;
+        this.quita(entrada);
+        this.inserta(entrada);
+    }
+
+    /**
+     * Saca la entrada de la lista.
+     * @param entrada la entrada a sacar.
+     */
+    @Override protected void quita(Entrada entrada) {
+        if (entrada.anterior == null)
+            this.cabeza = entrada.siguiente;
+        else
+            entrada.anterior.siguiente = entrada.siguiente;
+        if (entrada.siguiente == null)
+            this.rabo = entrada.anterior;
+        else
+            entrada.siguiente.anterior = entrada.anterior;
+        entrada.anterior = entrada.siguiente = null;
+    }
+
+    /**
+     * Regresa la entrada al final de la lista.
+     * @return la entrada usada hace más tiempo.
+     */
+    @Override protected Entrada victima() {
+        return this.rabo;
+    }
+
+    /**
+     * Vacía la lista.
+     */
+    @Override protected void vacia() {
+        this.cabeza = this.rabo = null;
+    }
+}
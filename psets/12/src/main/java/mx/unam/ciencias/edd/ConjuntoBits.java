@@ -0,0 +1,311 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para conjuntos de enteros no negativos representados con un
+ * arreglo de bits: el entero <em>i</em> está en el conjunto si el bit
+ * <em>i</em> está prendido. Usa un bit por cada entero entre 0 y el mayor
+ * elemento, así que conviene para dominios densos, como identificadores de
+ * vértices o números de línea; un {@link Conjunto} de enteros usa decenas de
+ * bytes por elemento.</p>
+ *
+ * <p>La unión, la intersección y la diferencia operan 64 elementos a la vez,
+ * y el iterador salta directamente de un bit prendido al siguiente.</p>
+ */
+public class ConjuntoBits implements Coleccion<Integer> {
+
+    /* Número mínimo de palabras. */
+    private static final int MINIMAS_PALABRAS = 1;
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador implements Iterator<Integer> {
+
+        /* El siguiente elemento, o -1 si no hay. */
+        private int siguiente;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            this.siguiente = ConjuntoBits.this.siguiente(0);
+        }
+
+        /* Nos dice si hay un siguiente elemento. */
+        @Override public boolean hasNext() {
+            return this.siguiente != -1;
+        }
+
+        /* Regresa el siguiente elemento. */
+        @Override public Integer next() {
+            if (this.siguiente == -1) { throw new NoSuchElementException(); }
+            int e = this.siguiente;
+            this.siguiente = e == Integer.MAX_VALUE ? -1 :
+                ConjuntoBits.this.siguiente(e + 1);
+            return e;
+        }
+    }
+
+    /* Los bits. */
+    private long[] palabras;
+    /* El número de elementos. */
+    private int elementos;
+
+    /**
+     * Crea un nuevo conjunto vacío.
+     */
+    public ConjuntoBits() {
+        this.palabras = new long[MINIMAS_PALABRAS];
+    }
+
+    /**
+     * Crea un nuevo conjunto vacío con espacio para los enteros menores a
+     * <em>n</em>.
+     * @param n el número tentativo de enteros posibles.
+     * @throws IllegalArgumentException si n es negativo.
+     */
+    public ConjuntoBits(int n) {
+        if (n < 0) { throw new IllegalArgumentException(); }
+        this.palabras = new long[Math.max(MINIMAS_PALABRAS, palabras(n))];
+    }
+
+    /* Crea un conjunto con los bits recibidos. */
+    private ConjuntoBits(long[] palabras) {
+        this.palabras = palabras;
+        this.elementos = cuenta(palabras);
+    }
+
+    /* Regresa cuántas palabras se necesitan para n bits. */
+    private static int palabras(int n) {
+        return (int)(((long)n + 63) >>> 6);
+    }
+
+    /* Regresa el número de bits prendidos. */
+    private static int cuenta(long[] palabras) {
+        int c = 0;
+        for (long p : palabras)
+            c += Long.bitCount(p);
+        return c;
+    }
+
+    /* Se asegura de que la palabra i exista. */
+    private void asegura(int i) {
+        if (i < this.palabras.length)
+            return;
+        int n = (int)Math.min(Math.max(2L * this.palabras.length, i + 1L),
+                              palabras(Integer.MAX_VALUE));
+        long[] nuevas = new long[n];
+        System.arraycopy(this.palabras, 0, nuevas, 0, this.palabras.length);
+        this.palabras = nuevas;
+    }
+
+    /**
+     * Agrega un entero al conjunto.
+     * @param elemento el entero a agregar.
+     * @throws IllegalArgumentException si el entero es <code>null</code> o
+     *         negativo.
+     */
+    @Override public void agrega(Integer elemento) {
+        if (elemento == null || elemento < 0)
+            throw new IllegalArgumentException();
+        int e = elemento;
+        this.asegura(e >>> 6);
+        long p = this.palabras[e >>> 6];
+        long q = p | (1L << e);
+        if (p != q) {
+            this.palabras[e >>> 6] = q;
+            this.elementos++;
+        }
+    }
+
+    /**
+     * Elimina un entero del conjunto, si está.
+     * @param elemento el entero a eliminar.
+     */
+    @Override public void elimina(Integer elemento) {
+        if (!this.contiene(elemento))
+            return;
+        int e = elemento;
+        this.palabras[e >>> 6] &= ~(1L << e);
+        this.elementos--;
+    }
+
+    /**
+     * Nos dice si el entero está en el conjunto.
+     * @param elemento el entero que queremos saber si está en el conjunto.
+     * @return <code>true</code> si el entero está en el conjunto,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean contiene(Integer elemento) {
+        if (elemento == null || elemento < 0)
+            return false;
+        int e = elemento;
+        return (e >>> 6) < this.palabras.length &&
+            (this.palabras[e >>> 6] & (1L << e)) != 0;
+    }
+
+    /**
+     * Regresa el menor elemento del conjunto mayor o igual al entero
+     * recibido.
+     * @param desde el entero desde el que se busca.
+     * @return el menor elemento mayor o igual a <code>desde</code>, o -1 si
+     *         no hay.
+     * @throws IllegalArgumentException si el entero es negativo.
+     */
+    public int siguiente(int desde) {
+        if (desde < 0) { throw new IllegalArgumentException(); }
+        int i = desde >>> 6;
+        if (i >= this.palabras.length)
+            return -1;
+        long p = this.palabras[i] & (-1L << desde);
+        while (p == 0) {
+            if (++i == this.palabras.length)
+                return -1;
+            p = this.palabras[i];
+        }
+        return (i << 6) + Long.numberOfTrailingZeros(p);
+    }
+
+    /**
+     * Nos dice si el conjunto es vacío.
+     * @return <code>true</code> si el conjunto es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return this.elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el conjunto.
+     * @return el número de elementos en el conjunto.
+     */
+    @Override public int getElementos() {
+        return this.elementos;
+    }
+
+    /**
+     * Limpia el conjunto de elementos, dejándolo vacío.
+     */
+    @Override public void limpia() {
+        for (int i = 0; i < this.palabras.length; i++)
+            this.palabras[i] = 0;
+        this.elementos = 0;
+    }
+
+    /**
+     * Reduce la memoria del conjunto al mínimo que admiten sus elementos
+     * actuales.
+     */
+    public void compacta() {
+        int n = this.palabras.length;
+        while (n > MINIMAS_PALABRAS && this.palabras[n - 1] == 0)
+            n--;
+        if (n == this.palabras.length)
+            return;
+        long[] nuevas = new long[n];
+        System.arraycopy(this.palabras, 0, nuevas, 0, n);
+        this.palabras = nuevas;
+    }
+
+    /**
+     * Regresa la unión del conjunto y el conjunto recibido.
+     * @param conjunto el conjunto que queremos unir con éste.
+     * @return la unión del conjunto y el conjunto recibido.
+     */
+    public ConjuntoBits union(ConjuntoBits conjunto) {
+        long[] a = this.palabras, b = conjunto.palabras;
+        if (a.length < b.length) {
+            long[] t = a;
+            a = b;
+            b = t;
+        }
+        long[] r = a.clone();
+        for (int i = 0; i < b.length; i++)
+            r[i] |= b[i];
+        return new ConjuntoBits(r);
+    }
+
+    /**
+     * Regresa la intersección del conjunto y el conjunto recibido.
+     * @param conjunto el conjunto que queremos intersectar con éste.
+     * @return la intersección del conjunto y el conjunto recibido.
+     */
+    public ConjuntoBits interseccion(ConjuntoBits conjunto) {
+        int n = Math.min(this.palabras.length, conjunto.palabras.length);
+        long[] r = new long[Math.max(MINIMAS_PALABRAS, n)];
+        for (int i = 0; i < n; i++)
+            r[i] = this.palabras[i] & conjunto.palabras[i];
+        return new ConjuntoBits(r);
+    }
+
+    /**
+     * Regresa la diferencia del conjunto y el conjunto recibido: los
+     * elementos de éste que no están en el recibido.
+     * @param conjunto el conjunto que queremos restarle a éste.
+     * @return la diferencia del conjunto y el conjunto recibido.
+     */
+    public ConjuntoBits diferencia(ConjuntoBits conjunto) {
+        long[] r = this.palabras.clone();
+        int n = Math.min(r.length, conjunto.palabras.length);
+        for (int i = 0; i < n; i++)
+            r[i] &= ~conjunto.palabras[i];
+        return new ConjuntoBits(r);
+    }
+
+    /**
+     * Regresa una representación en cadena del conjunto.
+     * @return una representación en cadena del conjunto.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder("{ ");
+        int i = 1;
+        for (Integer e : this) {
+            sb.append(e);
+            sb.append(i < this.elementos ? ", " : "");
+            i++;
+        }
+        return sb.append(" }").toString();
+    }
+
+    /**
+     * Nos dice si el conjunto es igual al objeto recibido.
+     * @param o el objeto que queremos saber si es igual al conjunto.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         ConjuntoBits, y tiene los mismos elementos.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        ConjuntoBits c = (ConjuntoBits)o;
+        if (this.elementos != c.elementos)
+            return false;
+        int n = Math.min(this.palabras.length, c.palabras.length);
+        for (int i = 0; i < n; i++)
+            if (this.palabras[i] != c.palabras[i])
+                return false;
+        /* Con el mismo número de elementos, el resto tiene que ser cero. */
+        return true;
+    }
+
+    /**
+     * Regresa una dispersión del conjunto, consistente con {@link #equals}.
+     * @return una dispersión del conjunto.
+     */
+    @Override public int hashCode() {
+        /* Las palabras en cero al final no cuentan. */
+        int n = this.palabras.length;
+        while (n > 0 && this.palabras[n - 1] == 0)
+            n--;
+        long h = 0;
+        for (int i = 0; i < n; i++)
+            h = 31 * h + this.palabras[i];
+        return (int)(h ^ (h >>> 32));
+    }
+
+    /**
+     * Regresa un iterador para iterar el conjunto en orden creciente.
+     * @return un iterador para iterar el conjunto.
+     */
+    @Override public Iterator<Integer> iterator() {
+        return new Iterador();
+    }
+}
@@ -0,0 +1,1054 @@
+package mx.unam.ciencias.edd;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para conjuntos comprimidos de enteros, al estilo de los
+ * <em>Roaring bitmaps</em>. Cada entero se parte en sus 16 bits altos, que
+ * eligen un contenedor, y sus 16 bits bajos, que se guardan en el contenedor.
+ * Cada contenedor usa la representación que le conviene a los valores que
+ * tiene:</p>
+ *
+ * <ul>
+ *   <li>un arreglo ordenado de valores, si tiene a lo más 4,096 (2 bytes por
+ *   valor);</li>
+ *   <li>un arreglo de 65,536 bits (8 KB) si tiene más;</li>
+ *   <li>una lista de rachas de valores consecutivos (4 bytes por racha), si
+ *   {@link #optimiza} encuentra que es lo más pequeño.</li>
+ * </ul>
+ *
+ * <p>Así el conjunto usa poca memoria tanto con enteros dispersos como con
+ * enteros densos o en rangos. La unión y la intersección operan contenedor
+ * por contenedor, 64 valores a la vez cuando los contenedores son de bits.
+ * Los enteros se ordenan como enteros de 32 bits sin signo, así que los
+ * negativos van después de los positivos.</p>
+ *
+ * <p>El conjunto se puede serializar con {@link #serializa} en un formato
+ * binario compacto, y {@link #contieneSerializado} consulta ese formato
+ * directamente, sin reconstruir el conjunto; por ejemplo, sobre un {@link
+ * java.nio.MappedByteBuffer}. El formato, en <em>little-endian</em>, es:</p>
+ *
+ * <ul>
+ *   <li>el número mágico {@link #MAGIA} y el número de contenedores, como
+ *   enteros de 32 bits;</li>
+ *   <li>un encabezado de 12 bytes por contenedor, en orden de llave: la llave
+ *   (16 bits), el tipo (16 bits), el número de valores o de rachas menos uno
+ *   (16 bits), 16 bits en cero, y la posición de los datos del contenedor
+ *   respecto al inicio del formato (32 bits);</li>
+ *   <li>los datos de los contenedores: los valores como enteros de 16 bits,
+ *   las 1,024 palabras de 64 bits, o las rachas como pares de enteros de 16
+ *   bits con el inicio y la longitud menos uno.</li>
+ * </ul>
+ */
+public class ConjuntoComprimido implements Coleccion<Integer> {
+
+    /** Número mágico del formato serializado. */
+    public static final int MAGIA = 0x45444452;
+
+    /* Máximo número de valores de un contenedor arreglo. */
+    private static final int MAXIMO_ARREGLO = 4096;
+    /* Número de palabras de un contenedor de bits. */
+    private static final int PALABRAS = 1024;
+    /* Tipos de contenedor en el formato serializado. */
+    private static final int TIPO_ARREGLO = 0;
+    private static final int TIPO_BITS = 1;
+    private static final int TIPO_RACHAS = 2;
+    /* Tamaño del encabezado del formato y de cada contenedor. */
+    private static final int ENCABEZADO = 8;
+    private static final int ENCABEZADO_CONTENEDOR = 12;
+
+    /* Clase abstracta privada para contenedores. Los valores son los 16 bits
+     * bajos de los enteros, en [0, 65536). Los métodos que modifican el
+     * contenedor regresan el contenedor resultante, que puede ser otro. */
+    private static abstract class Contenedor {
+
+        /* Regresa el número de valores. */
+        abstract int cardinalidad();
+
+        /* Nos dice si el valor está en el contenedor. */
+        abstract boolean contiene(int v);
+
+        /* Agrega el valor. */
+        abstract Contenedor agrega(int v);
+
+        /* Elimina el valor. */
+        abstract Contenedor elimina(int v);
+
+        /* Regresa el menor valor mayor o igual a desde, o -1. */
+        abstract int siguiente(int desde);
+
+        /* Regresa los valores como un arreglo nuevo de bits. */
+        abstract long[] bits();
+
+        /* Regresa una copia del contenedor. */
+        abstract Contenedor copia();
+
+        /* Regresa el tipo en el formato serializado. */
+        abstract int tipo();
+
+        /* Regresa el número de valores o rachas que se serializan. */
+        abstract int cantidad();
+
+        /* Regresa cuántos bytes ocupan los datos serializados. */
+        abstract int bytes();
+
+        /* Escribe los datos en el buffer. */
+        abstract void escribe(ByteBuffer buffer);
+
+        /* Regresa la unión con el contenedor recibido, en un contenedor
+         * nuevo. */
+        Contenedor union(Contenedor c) {
+            long[] a = this.bits(), b = c instanceof ContenedorBits ?
+                ((ContenedorBits)c).palabras : c.bits();
+            for (int i = 0; i < PALABRAS; i++)
+                a[i] |= b[i];
+            return deBits(a);
+        }
+
+        /* Regresa la intersección con el contenedor recibido, en un
+         * contenedor nuevo, o null si es vacía. */
+        Contenedor interseccion(Contenedor c) {
+            if (c instanceof ContenedorArreglo)
+                return c.interseccion(this);
+            long[] a = this.bits(), b = c instanceof ContenedorBits ?
+                ((ContenedorBits)c).palabras : c.bits();
+            for (int i = 0; i < PALABRAS; i++)
+                a[i] &= b[i];
+            return deBits(a);
+        }
+
+        /* Regresa la representación más pequeña del contenedor. */
+        Contenedor optimiza() {
+            long[] b = this.bits();
+            int rachas = rachas(b), n = this.cardinalidad();
+            if (4 * rachas < Math.min(2 * n, 8 * PALABRAS))
+                return ContenedorRachas.deBits(b, rachas);
+            return n <= MAXIMO_ARREGLO ? ContenedorArreglo.deBits(b, n) :
+                new ContenedorBits(b, n);
+        }
+    }
+
+    /* Clase estática privada para contenedores arreglo. */
+    private static class ContenedorArreglo extends Contenedor {
+
+        /* Los valores, ordenados. */
+        private char[] valores;
+        /* El número de valores. */
+        private int n;
+
+        /* Construye un contenedor con los primeros n valores. */
+        public ContenedorArreglo(char[] valores, int n) {
+            this.valores = valores;
+            this.n = n;
+        }
+
+        /* Construye un contenedor con los bits prendidos. */
+        static ContenedorArreglo deBits(long[] bits, int n) {
+            char[] valores = new char[n];
+            int k = 0;
+            for (int i = 0; i < PALABRAS; i++) {
+                long w = bits[i];
+                while (w != 0) {
+                    valores[k++] = (char)((i << 6) +
+                                          Long.numberOfTrailingZeros(w));
+                    w &= w - 1;
+                }
+            }
+            return new ContenedorArreglo(valores, n);
+        }
+
+        /* Regresa la posición del valor, o -(inserción + 1). */
+        private int busca(int v) {
+            return Arrays.binarySearch(this.valores, 0, this.n, (char)v);
+        }
+
+        @Override int cardinalidad() {
+            return this.n;
+        }
+
+        @Override boolean contiene(int v) {
+            return this.busca(v) >= 0;
+        }
+
+        @Override Contenedor agrega(int v) {
+            int i = this.busca(v);
+            if (i >= 0)
+                return this;
+            if (this.n == MAXIMO_ARREGLO)
+                return new ContenedorBits(this.bits(), this.n).agrega(v);
+            i = -(i + 1);
+            if (this.n == this.valores.length)
+                this.valores = Arrays.copyOf(this.valores,
+                                             Math.min(MAXIMO_ARREGLO,
+                                                      2 * this.n + 4));
+            System.arraycopy(this.valores, i, this.valores, i + 1,
+                             this.n - i);
+            this.valores[i] = (char)v;
+            this.n++;
+            return this;
+        }
+
+        @Override Contenedor elimina(int v) {
+            int i = this.busca(v);
+            if (i < 0)
+                return this;
+            System.arraycopy(this.valores, i + 1, this.valores, i,
+                             this.n - i - 1);
+            this.n--;
+            return this;
+        }
+
+        @Override int siguiente(int desde) {
+            int i = this.busca(desde);
+            if (i < 0)
+                i = -(i + 1);
+            return i < this.n ? this.valores[i] : -1;
+        }
+
+        @Override long[] bits() {
+            long[] b = new long[PALABRAS];
+            for (int i = 0; i < this.n; i++)
+                b[this.valores[i] >>> 6] |= 1L << this.valores[i];
+            return b;
+        }
+
+        @Override Contenedor copia() {
+            return new ContenedorArreglo(Arrays.copyOf(this.valores, this.n),
+                                         this.n);
+        }
+
+        @Override Contenedor union(Contenedor c) {
+            if (!(c instanceof ContenedorArreglo))
+                return c.union(this);
+            ContenedorArreglo a = (ContenedorArreglo)c;
+            char[] r = new char[this.n + a.n];
+            int i = 0, j = 0, k = 0;
+            while (i < this.n && j < a.n) {
+                char x = this.valores[i], y = a.valores[j];
+                r[k++] = x <= y ? x : y;
+                if (x <= y)
+                    i++;
+                if (y <= x)
+                    j++;
+            }
+            while (i < this.n)
+                r[k++] = this.valores[i++];
+            while (j < a.n)
+                r[k++] = a.valores[j++];
+            if (k <= MAXIMO_ARREGLO)
+                return new ContenedorArreglo(r, k);
+            return new ContenedorArreglo(r, k).aBits();
+        }
+
+        @Override Contenedor interseccion(Contenedor c) {
+            char[] r = new char[this.n];
+            int k = 0;
+            for (int i = 0; i < this.n; i++)
+                if (c.contiene(this.valores[i]))
+                    r[k++] = this.valores[i];
+            return k == 0 ? null : new ContenedorArreglo(r, k);
+        }
+
+        /* Regresa los valores en un contenedor de bits. */
+        private Contenedor aBits() {
+            return new ContenedorBits(this.bits(), this.n);
+        }
+
+        @Override int tipo() {
+            return TIPO_ARREGLO;
+        }
+
+        @Override int cantidad() {
+            return this.n;
+        }
+
+        @Override int bytes() {
+            return 2 * this.n;
+        }
+
+        @Override void escribe(ByteBuffer buffer) {
+            for (int i = 0; i < this.n; i++)
+                buffer.putChar(this.valores[i]);
+        }
+    }
+
+    /* Clase estática privada para contenedores de bits. */
+    private static class ContenedorBits extends Contenedor {
+
+        /* Los bits. */
+        private long[] palabras;
+        /* El número de bits prendidos. */
+        private int n;
+
+        /* Construye un contenedor con los bits recibidos. */
+        public ContenedorBits(long[] palabras, int n) {
+            this.palabras = palabras;
+            this.n = n;
+        }
+
+        @Override int cardinalidad() {
+            return this.n;
+        }
+
+        @Override boolean contiene(int v) {
+            return (this.palabras[v >>> 6] & (1L << v)) != 0;
+        }
+
+        @Override Contenedor agrega(int v) {
+            long p = this.palabras[v >>> 6], q = p | (1L << v);
+            if (p != q) {
+                this.palabras[v >>> 6] = q;
+                this.n++;
+            }
+            return this;
+        }
+
+        @Override Contenedor elimina(int v) {
+            long p = this.palabras[v >>> 6], q = p & ~(1L << v);
+            if (p == q)
+                return this;
+            this.palabras[v >>> 6] = q;
+            this.n--;
+            return this.n > MAXIMO_ARREGLO ? this :
+                ContenedorArreglo.deBits(this.palabras, this.n);
+        }
+
+        @Override int siguiente(int desde) {
+            int i = desde >>> 6;
+            long p = this.palabras[i] & (-1L << desde);
+            while (p == 0) {
+                if (++i == PALABRAS)
+                    return -1;
+                p = this.palabras[i];
+            }
+            return (i << 6) + Long.numberOfTrailingZeros(p);
+        }
+
+        @Override long[] bits() {
+            return this.palabras.clone();
+        }
+
+        @Override Contenedor copia() {
+            return new ContenedorBits(this.palabras.clone(), this.n);
+        }
+
+        @Override int tipo() {
+            return TIPO_BITS;
+        }
+
+        @Override int cantidad() {
+            return this.n;
+        }
+
+        @Override int bytes() {
+            return 8 * PALABRAS;
+        }
+
+        @Override void escribe(ByteBuffer buffer) {
+            for (long p : this.palabras)
+                buffer.putLong(p);
+        }
+    }
+
+    /* Clase estática privada para contenedores de rachas. No se modifican:
+     * para agregar o eliminar valores se convierten en arreglo o bits. */
+    private static class ContenedorRachas extends Contenedor {
+
+        /* Inicio y longitud menos uno de cada racha, ordenadas. */
+        private char[] rachas;
+        /* El número de rachas. */
+        private int r;
+        /* El número de valores. */
+        private int n;
+
+        /* Construye un contenedor con las rachas recibidas. */
+        public ContenedorRachas(char[] rachas, int r) {
+            this.rachas = rachas;
+            this.r = r;
+            for (int i = 0; i < r; i++)
+                this.n += rachas[2 * i + 1] + 1;
+        }
+
+        /* Construye un contenedor con las rachas de los bits prendidos. */
+        static ContenedorRachas deBits(long[] bits, int r) {
+            char[] rachas = new char[2 * r];
+            int k = 0, v = 0;
+            while (k < r) {
+                int inicio = siguienteBit(bits, v, true);
+                int fin = siguienteBit(bits, inicio, false);
+                rachas[2 * k] = (char)inicio;
+                rachas[2 * k + 1] = (char)(fin - inicio - 1);
+                k++;
+                v = fin;
+            }
+            return new ContenedorRachas(rachas, r);
+        }
+
+        /* Regresa la racha que contiene al valor o la última que empieza
+         * antes de él, o -1. */
+        private int racha(int v) {
+            int a = 0, b = this.r - 1, m = -1;
+            while (a <= b) {
+                int c = (a + b) >>> 1;
+                if (this.rachas[2 * c] <= v) {
+                    m = c;
+                    a = c + 1;
+                } else {
+                    b = c - 1;
+                }
+            }
+            return m;
+        }
+
+        /* Regresa los valores en un arreglo o bits, que sí se modifican. */
+        private Contenedor expande() {
+            long[] b = this.bits();
+            return this.n <= MAXIMO_ARREGLO ?
+                ContenedorArreglo.deBits(b, this.n) :
+                new ContenedorBits(b, this.n);
+        }
+
+        @Override int cardinalidad() {
+            return this.n;
+        }
+
+        @Override boolean contiene(int v) {
+            int i = this.racha(v);
+            return i >= 0 && v - this.rachas[2 * i] <= this.rachas[2 * i + 1];
+        }
+
+        @Override Contenedor agrega(int v) {
+            return this.contiene(v) ? this : this.expande().agrega(v);
+        }
+
+        @Override Contenedor elimina(int v) {
+            return this.contiene(v) ? this.expande().elimina(v) : this;
+        }
+
+        @Override int siguiente(int desde) {
+            int i = this.racha(desde);
+            if (i >= 0 && desde - this.rachas[2 * i] <= this.rachas[2 * i + 1])
+                return desde;
+            return i + 1 < this.r ? this.rachas[2 * (i + 1)] : -1;
+        }
+
+        @Override long[] bits() {
+            long[] b = new long[PALABRAS];
+            for (int i = 0; i < this.r; i++) {
+                int inicio = this.rachas[2 * i];
+                int fin = inicio + this.rachas[2 * i + 1] + 1;
+                prende(b, inicio, fin);
+            }
+            return b;
+        }
+
+        @Override Contenedor copia() {
+            return new ContenedorRachas(Arrays.copyOf(this.rachas, 2 * this.r),
+                                        this.r);
+        }
+
+        @Override int tipo() {
+            return TIPO_RACHAS;
+        }
+
+        @Override int cantidad() {
+            return this.r;
+        }
+
+        @Override int bytes() {
+            return 4 * this.r;
+        }
+
+        @Override void escribe(ByteBuffer buffer) {
+            for (int i = 0; i < 2 * this.r; i++)
+                buffer.putChar(this.rachas[i]);
+        }
+    }
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador implements Iterator<Integer> {
+
+        /* El índice del contenedor actual. */
+        private int contenedor;
+        /* El siguiente valor en el contenedor actual, o -1. */
+        private int valor;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            this.valor = -1;
+            if (ConjuntoComprimido.this.n > 0)
+                this.valor = ConjuntoComprimido.this.contenedores[0]
+                    .siguiente(0);
+        }
+
+        /* Nos dice si hay un siguiente elemento. */
+        @Override public boolean hasNext() {
+            return this.valor != -1;
+        }
+
+        /* Regresa el siguiente elemento. */
+        @Override public Integer next() {
+            if (this.valor == -1) { throw new NoSuchElementException(); }
+            ConjuntoComprimido c = ConjuntoComprimido.this;
+            int e = (c.llaves[this.contenedor] << 16) | this.valor;
+            this.valor = this.valor == 0xFFFF ? -1 :
+                c.contenedores[this.contenedor].siguiente(this.valor + 1);
+            if (this.valor == -1 && ++this.contenedor < c.n)
+                this.valor = c.contenedores[this.contenedor].siguiente(0);
+            return e;
+        }
+    }
+
+    /* Las llaves de los contenedores, ordenadas. */
+    private char[] llaves;
+    /* Los contenedores. */
+    private Contenedor[] contenedores;
+    /* El número de contenedores. */
+    private int n;
+    /* El número de elementos. */
+    private int elementos;
+
+    /**
+     * Crea un nuevo conjunto comprimido vacío.
+     */
+    public ConjuntoComprimido() {
+        this(4);
+    }
+
+    /* Crea un conjunto vacío con espacio para los contenedores recibidos. */
+    private ConjuntoComprimido(int contenedores) {
+        this.llaves = new char[Math.max(1, contenedores)];
+        this.contenedores = new Contenedor[this.llaves.length];
+    }
+
+    /* Regresa el número de rachas de bits prendidos. */
+    private static int rachas(long[] bits) {
+        int r = 0;
+        long acarreo = 0;
+        for (long w : bits) {
+            r += Long.bitCount(w & ~((w << 1) | acarreo));
+            acarreo = w >>> 63;
+        }
+        return r;
+    }
+
+    /* Regresa el primer bit desde v con el estado recibido, o 65536. */
+    private static int siguienteBit(long[] bits, int v, boolean prendido) {
+        int i = v >>> 6;
+        if (i >= PALABRAS)
+            return PALABRAS << 6;
+        long p = (prendido ? bits[i] : ~bits[i]) & (-1L << v);
+        while (p == 0) {
+            if (++i == PALABRAS)
+                return PALABRAS << 6;
+            p = prendido ? bits[i] : ~bits[i];
+        }
+        return (i << 6) + Long.numberOfTrailingZeros(p);
+    }
+
+    /* Prende los bits en [inicio, fin). */
+    private static void prende(long[] bits, int inicio, int fin) {
+        for (int v = inicio; v < fin;) {
+            int i = v >>> 6, hasta = Math.min(fin, (i + 1) << 6);
+            long mascara = -1L << v;
+            if (hasta < (i + 1) << 6)
+                mascara &= ~(-1L << hasta);
+            bits[i] |= mascara;
+            v = hasta;
+        }
+    }
+
+    /* Regresa el contenedor de los bits, o null si no hay ninguno. */
+    private static Contenedor deBits(long[] bits) {
+        int c = 0;
+        for (long w : bits)
+            c += Long.bitCount(w);
+        if (c == 0)
+            return null;
+        return c <= MAXIMO_ARREGLO ? ContenedorArreglo.deBits(bits, c) :
+            new ContenedorBits(bits, c);
+    }
+
+    /* Regresa la posición de la llave, o -(inserción + 1). */
+    private int busca(int llave) {
+        return Arrays.binarySearch(this.llaves, 0, this.n, (char)llave);
+    }
+
+    /* Agrega un contenedor al final. */
+    private void agregaContenedor(int llave, Contenedor c) {
+        if (this.n == this.llaves.length) {
+            this.llaves = Arrays.copyOf(this.llaves, 2 * this.n);
+            this.contenedores = Arrays.copyOf(this.contenedores, 2 * this.n);
+        }
+        this.llaves[this.n] = (char)llave;
+        this.contenedores[this.n++] = c;
+        this.elementos += c.cardinalidad();
+    }
+
+    /**
+     * Agrega un entero al conjunto.
+     * @param elemento el entero a agregar.
+     * @throws IllegalArgumentException si el entero es <code>null</code>.
+     */
+    @Override public void agrega(Integer elemento) {
+        if (elemento == null) { throw new IllegalArgumentException(); }
+        int e = elemento;
+        int i = this.busca(e >>> 16);
+        if (i < 0) {
+            i = -(i + 1);
+            if (this.n == this.llaves.length) {
+                this.llaves = Arrays.copyOf(this.llaves, 2 * this.n);
+                this.contenedores = Arrays.copyOf(this.contenedores,
+                                                  2 * this.n);
+            }
+            System.arraycopy(this.llaves, i, this.llaves, i + 1, this.n - i);
+            System.arraycopy(this.contenedores, i, this.contenedores, i + 1,
+                             this.n - i);
+            this.llaves[i] = (char)(e >>> 16);
+            this.contenedores[i] = new ContenedorArreglo(new char[4], 0);
+            this.n++;
+        }
+        Contenedor c = this.contenedores[i];
+        int antes = c.cardinalidad();
+        c = c.agrega(e & 0xFFFF);
+        this.contenedores[i] = c;
+        this.elementos += c.cardinalidad() - antes;
+    }
+
+    /**
+     * Elimina un entero del conjunto, si está.
+     * @param elemento el entero a eliminar.
+     */
+    @Override public void elimina(Integer elemento) {
+        if (elemento == null)
+            return;
+        int e = elemento;
+        int i = this.busca(e >>> 16);
+        if (i < 0)
+            return;
+        Contenedor c = this.contenedores[i];
+        int antes = c.cardinalidad();
+        c = c.elimina(e & 0xFFFF);
+        this.elementos -= antes - c.cardinalidad();
+        if (c.cardinalidad() > 0) {
+            this.contenedores[i] = c;
+            return;
+        }
+        System.arraycopy(this.llaves, i + 1, this.llaves, i, this.n - i - 1);
+        System.arraycopy(this.contenedores, i + 1, this.contenedores, i,
+                         this.n - i - 1);
+        this.contenedores[--this.n] = null;
+    }
+
+    /**
+     * Nos dice si el entero está en el conjunto.
+     * @param elemento el entero que queremos saber si está en el conjunto.
+     * @return <code>true</code> si el entero está en el conjunto,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean contiene(Integer elemento) {
+        if (elemento == null)
+            return false;
+        int e = elemento;
+        int i = this.busca(e >>> 16);
+        return i >= 0 && this.contenedores[i].contiene(e & 0xFFFF);
+    }
+
+    /**
+     * Nos dice si el conjunto es vacío.
+     * @return <code>true</code> si el conjunto es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return this.elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el conjunto.
+     * @return el número de elementos en el conjunto.
+     */
+    @Override public int getElementos() {
+        return this.elementos;
+    }
+
+    /**
+     * Limpia el conjunto de elementos, dejándolo vacío.
+     */
+    @Override public void limpia() {
+        for (int i = 0; i < this.n; i++)
+            this.contenedores[i] = null;
+        this.n = 0;
+        this.elementos = 0;
+    }
+
+    /**
+     * Cambia cada contenedor a la representación que ocupa menos memoria,
+     * incluyendo las rachas de valores consecutivos. Conviene llamarlo antes
+     * de {@link #serializa}, o cuando el conjunto ya no va a cambiar mucho.
+     */
+    public void optimiza() {
+        for (int i = 0; i < this.n; i++)
+            this.contenedores[i] = this.contenedores[i].optimiza();
+    }
+
+    /**
+     * Regresa la unión del conjunto y el conjunto recibido.
+     * @param conjunto el conjunto que queremos unir con éste.
+     * @return la unión del conjunto y el conjunto recibido.
+     */
+    public ConjuntoComprimido union(ConjuntoComprimido conjunto) {
+        ConjuntoComprimido r = new ConjuntoComprimido(this.n + conjunto.n);
+        int i = 0, j = 0;
+        while (i < this.n || j < conjunto.n) {
+            int a = i < this.n ? this.llaves[i] : Integer.MAX_VALUE;
+            int b = j < conjunto.n ? conjunto.llaves[j] : Integer.MAX_VALUE;
+            if (a < b)
+                r.agregaContenedor(a, this.contenedores[i++].copia());
+            else if (b < a)
+                r.agregaContenedor(b, conjunto.contenedores[j++].copia());
+            else
+                r.agregaContenedor(a, this.contenedores[i++]
+                                   .union(conjunto.contenedores[j++]));
+        }
+        return r;
+    }
+
+    /**
+     * Regresa la intersección del conjunto y el conjunto recibido.
+     * @param conjunto el conjunto que queremos intersectar con éste.
+     * @return la intersección del conjunto y el conjunto recibido.
+     */
+    public ConjuntoComprimido interseccion(ConjuntoComprimido conjunto) {
+        ConjuntoComprimido r =
+            new ConjuntoComprimido(Math.min(this.n, conjunto.n));
+        int i = 0, j = 0;
+        while (i < this.n && j < conjunto.n) {
+            int a = this.llaves[i], b = conjunto.llaves[j];
+            if (a < b) {
+                i++;
+            } else if (b < a) {
+                j++;
+            } else {
+                Contenedor c = this.contenedores[i++]
+                    .interseccion(conjunto.contenedores[j++]);
+                if (c != null)
+                    r.agregaContenedor(a, c);
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Agrega al conjunto todos los elementos del conjunto recibido; al
+     * terminar, el conjunto es la unión de ambos.
+     * @param conjunto el conjunto con los elementos a agregar.
+     */
+    public void agregaTodos(ConjuntoComprimido conjunto) {
+        ConjuntoComprimido u = this.union(conjunto);
+        this.llaves = u.llaves;
+        this.contenedores = u.contenedores;
+        this.n = u.n;
+        this.elementos = u.elementos;
+    }
+
+    /**
+     * Elimina del conjunto los elementos que no están en el conjunto
+     * recibido; al terminar, el conjunto es la intersección de ambos. No usa
+     * memoria extra para los contenedores que no comparten llave.
+     * @param conjunto el conjunto con los elementos a retener.
+     */
+    public void retieneTodos(ConjuntoComprimido conjunto) {
+        int i = 0, j = 0, k = 0;
+        this.elementos = 0;
+        while (i < this.n && j < conjunto.n) {
+            int a = this.llaves[i], b = conjunto.llaves[j];
+            if (a < b) {
+                i++;
+            } else if (b < a) {
+                j++;
+            } else {
+                Contenedor c = this.contenedores[i++]
+                    .interseccion(conjunto.contenedores[j++]);
+                if (c != null) {
+                    this.llaves[k] = (char)a;
+                    this.contenedores[k++] = c;
+                    this.elementos += c.cardinalidad();
+                }
+            }
+        }
+        for (i = k; i < this.n; i++)
+            this.contenedores[i] = null;
+        this.n = k;
+    }
+
+    /**
+     * Regresa cuántos bytes ocupa el conjunto serializado.
+     * @return cuántos bytes ocupa el conjunto serializado.
+     */
+    public int tamanoSerializado() {
+        int t = ENCABEZADO + ENCABEZADO_CONTENEDOR * this.n;
+        for (int i = 0; i < this.n; i++)
+            t += this.contenedores[i].bytes();
+        return t;
+    }
+
+    /**
+     * Escribe el conjunto en el buffer, a partir de su posición, en el
+     * formato descrito en la documentación de la clase. Al terminar la
+     * posición del buffer queda después del conjunto, y el orden de bytes del
+     * buffer no cambia.
+     * @param buffer el buffer donde se escribe el conjunto.
+     * @throws IllegalArgumentException si el buffer es <code>null</code>.
+     * @throws java.nio.BufferOverflowException si el conjunto no cabe en el
+     *         buffer.
+     * @throws java.nio.ReadOnlyBufferException si el buffer es de sólo
+     *         lectura.
+     */
+    public void serializa(ByteBuffer buffer) {
+        if (buffer == null) { throw new IllegalArgumentException(); }
+        ByteOrder orden = buffer.order();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            buffer.putInt(MAGIA);
+            buffer.putInt(this.n);
+            int datos = ENCABEZADO + ENCABEZADO_CONTENEDOR * this.n;
+            for (int i = 0; i < this.n; i++) {
+                Contenedor c = this.contenedores[i];
+                buffer.putChar(this.llaves[i]);
+                buffer.putChar((char)c.tipo());
+                buffer.putChar((char)(c.cantidad() - 1));
+                buffer.putChar((char)0);
+                buffer.putInt(datos);
+                datos += c.bytes();
+            }
+            for (int i = 0; i < this.n; i++)
+                this.contenedores[i].escribe(buffer);
+        } finally {
+            buffer.order(orden);
+        }
+    }
+
+    /**
+     * Lee un conjunto del buffer, a partir de su posición, en el formato
+     * descrito en la documentación de la clase. Al terminar la posición del
+     * buffer queda después del conjunto.
+     * @param buffer el buffer de donde se lee el conjunto.
+     * @return el conjunto leído.
+     * @throws IllegalArgumentException si el buffer es <code>null</code> o no
+     *         contiene un conjunto válido.
+     */
+    public static ConjuntoComprimido deserializa(ByteBuffer buffer) {
+        if (buffer == null) { throw new IllegalArgumentException(); }
+        ByteBuffer b = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (b.getInt() != MAGIA)
+                throw new IllegalArgumentException();
+            int n = b.getInt();
+            if (n < 0 || n > 1 << 16)
+                throw new IllegalArgumentException();
+            ConjuntoComprimido r = new ConjuntoComprimido(n);
+            int fin = ENCABEZADO + ENCABEZADO_CONTENEDOR * n, anterior = -1;
+            for (int i = 0; i < n; i++) {
+                int h = ENCABEZADO + ENCABEZADO_CONTENEDOR * i;
+                int llave = b.getChar(h), tipo = b.getChar(h + 2);
+                int cantidad = b.getChar(h + 4) + 1, datos = b.getInt(h + 8);
+                if (llave <= anterior || datos < 0)
+                    throw new IllegalArgumentException();
+                anterior = llave;
+                b.position(datos);
+                Contenedor c = lee(b, tipo, cantidad);
+                fin = Math.max(fin, b.position());
+                r.agregaContenedor(llave, c);
+            }
+            buffer.position(buffer.position() + fin);
+            return r;
+        } catch (BufferUnderflowException |
+                 IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /* Lee un contenedor del buffer. */
+    private static Contenedor lee(ByteBuffer b, int tipo, int cantidad) {
+        switch (tipo) {
+        case TIPO_ARREGLO:
+            if (cantidad > MAXIMO_ARREGLO)
+                throw new IllegalArgumentException();
+            char[] valores = new char[cantidad];
+            for (int i = 0; i < cantidad; i++) {
+                valores[i] = b.getChar();
+                if (i > 0 && valores[i] <= valores[i - 1])
+                    throw new IllegalArgumentException();
+            }
+            return new ContenedorArreglo(valores, cantidad);
+        case TIPO_BITS:
+            long[] palabras = new long[PALABRAS];
+            int c = 0;
+            for (int i = 0; i < PALABRAS; i++) {
+                palabras[i] = b.getLong();
+                c += Long.bitCount(palabras[i]);
+            }
+            if (c != cantidad)
+                throw new IllegalArgumentException();
+            return new ContenedorBits(palabras, c);
+        case TIPO_RACHAS:
+            char[] rachas = new char[2 * cantidad];
+            int siguiente = 0;
+            for (int i = 0; i < cantidad; i++) {
+                rachas[2 * i] = b.getChar();
+                rachas[2 * i + 1] = b.getChar();
+                if (rachas[2 * i] < siguiente ||
+                    rachas[2 * i] + rachas[2 * i + 1] > 0xFFFF)
+                    throw new IllegalArgumentException();
+                siguiente = rachas[2 * i] + rachas[2 * i + 1] + 2;
+            }
+            return new ContenedorRachas(rachas, cantidad);
+        default:
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Nos dice si el entero está en el conjunto serializado en el buffer a
+     * partir de su posición, sin leer todo el conjunto ni modificar el
+     * buffer. Sólo lee los encabezados necesarios para encontrar el
+     * contenedor, y dentro de él busca el valor.
+     * @param buffer el buffer con el conjunto serializado.
+     * @param elemento el entero a buscar.
+     * @return <code>true</code> si el entero está en el conjunto,
+     *         <code>false</code> en otro caso.
+     * @throws IllegalArgumentException si el buffer es <code>null</code> o no
+     *         empieza con un conjunto serializado.
+     */
+    public static boolean contieneSerializado(ByteBuffer buffer,
+                                              int elemento) {
+        if (buffer == null) { throw new IllegalArgumentException(); }
+        ByteBuffer b = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (b.getInt(0) != MAGIA)
+                throw new IllegalArgumentException();
+            int llave = elemento >>> 16, v = elemento & 0xFFFF;
+            int a = 0, z = b.getInt(4) - 1;
+            while (a <= z) {
+                int m = (a + z) >>> 1;
+                int h = ENCABEZADO + ENCABEZADO_CONTENEDOR * m;
+                int k = b.getChar(h);
+                if (k < llave) {
+                    a = m + 1;
+                } else if (k > llave) {
+                    z = m - 1;
+                } else {
+                    return contieneEn(b, b.getChar(h + 2),
+                                      b.getChar(h + 4) + 1, b.getInt(h + 8),
+                                      v);
+                }
+            }
+            return false;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /* Busca el valor en un contenedor serializado. */
+    private static boolean contieneEn(ByteBuffer b, int tipo, int cantidad,
+                                      int datos, int v) {
+        switch (tipo) {
+        case TIPO_ARREGLO:
+            int a = 0, z = cantidad - 1;
+            while (a <= z) {
+                int m = (a + z) >>> 1;
+                int x = b.getChar(datos + 2 * m);
+                if (x == v)
+                    return true;
+                if (x < v)
+                    a = m + 1;
+                else
+                    z = m - 1;
+            }
+            return false;
+        case TIPO_BITS:
+            return (b.getLong(datos + 8 * (v >>> 6)) & (1L << v)) != 0;
+        case TIPO_RACHAS:
+            int i = 0, j = cantidad - 1, r = -1;
+            while (i <= j) {
+                int m = (i + j) >>> 1;
+                if (b.getChar(datos + 4 * m) <= v) {
+                    r = m;
+                    i = m + 1;
+                } else {
+                    j = m - 1;
+                }
+            }
+            return r >= 0 &&
+                v - b.getChar(datos + 4 * r) <= b.getChar(datos + 4 * r + 2);
+        default:
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Regresa una representación en cadena del conjunto.
+     * @return una representación en cadena del conjunto.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder("{ ");
+        int i = 1;
+        for (Integer e : this) {
+            sb.append(e);
+            sb.append(i < this.elementos ? ", " : "");
+            i++;
+        }
+        return sb.append(" }").toString();
+    }
+
+    /**
+     * Nos dice si el conjunto es igual al objeto recibido.
+     * @param o el objeto que queremos saber si es igual al conjunto.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         ConjuntoComprimido, y tiene los mismos elementos.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        ConjuntoComprimido c = (ConjuntoComprimido)o;
+        if (this.elementos != c.elementos || this.n != c.n)
+            return false;
+        for (int i = 0; i < this.n; i++) {
+            if (this.llaves[i] != c.llaves[i])
+                return false;
+            Contenedor a = this.contenedores[i], b = c.contenedores[i];
+            if (a.cardinalidad() != b.cardinalidad())
+                return false;
+            for (int v = a.siguiente(0); v != -1;
+                 v = v == 0xFFFF ? -1 : a.siguiente(v + 1))
+                if (!b.contiene(v))
+                    return false;
+        }
+        return true;
+    }
+
+    /**
+     * Regresa una dispersión del conjunto, consistente con {@link #equals}.
+     * @return una dispersión del conjunto.
+     */
+    @Override public int hashCode() {
+        int h = 0;
+        for (Integer e : this)
+            h = 31 * h + e;
+        return h;
+    }
+
+    /**
+     * Regresa un iterador para iterar el conjunto, en orden de enteros sin
+     * signo.
+     * @return un iterador para iterar el conjunto.
+     */
+    @Override public Iterator<Integer> iterator() {
+        return new Iterador();
+    }
+}
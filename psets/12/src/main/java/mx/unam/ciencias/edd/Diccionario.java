@@ -3,35 +3,60 @@ package mx.unam.ciencias.edd;
 import java.lang.reflect.Array;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-
-import javax.management.RuntimeErrorException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
- * Clase para diccionarios (<em>hash tables</em>). Un diccionario generaliza el
- * concepto de arreglo, mapeando un conjunto de <em>llaves</em> a una colección
- * de <em>valores</em>.
+ * <p>Clase para diccionarios (<em>hash tables</em>). Un diccionario generaliza
+ * el concepto de arreglo, mapeando un conjunto de <em>llaves</em> a una
+ * colección de <em>valores</em>.</p>
+ *
+ * <p>Cada cubeta del diccionario es una {@link Lista}; si una cubeta pasa de
+ * {@link #UMBRAL_ARBOL} entradas, se convierte en un {@link ArbolRojinegro}
+ * ordenado por dispersión y luego por llave, y regresa a ser lista cuando
+ * baja de {@link #UMBRAL_LISTA}. Así, aunque el dispersor sea malo, buscar
+ * una llave toma tiempo logarítmico; si las llaves que chocan no son {@link
+ * Comparable}, sólo las que tienen exactamente la misma dispersión se buscan
+ * linealmente.</p>
  */
 public class Diccionario<K, V> implements Iterable<V> {
 
-    /* Clase interna privada para entradas. */
-    private class Entrada {
+    /* Clase interna privada para entradas. Las entradas se ordenan por
+     * dispersión, luego por llave (ver comparaLlaves), y por último por orden
+     * de creación. */
+    private class Entrada implements Comparable<Entrada> {
 
         /* La llave. */
         public K llave;
         /* El valor. */
         public V valor;
+        /* La dispersión completa de la llave. */
+        public int dispersion;
+        /* El orden de creación, para desempatar llaves no comparables. */
+        public int orden;
 
         /* Construye una nueva entrada. */
-        public Entrada(K llave, V valor) {
+        public Entrada(K llave, V valor, int dispersion) {
             this.llave = llave;
             this.valor = valor;
+            this.dispersion = dispersion;
+            this.orden = secuencia++;
+        }
+
+        /* Compara la entrada con otra. */
+        @Override public int compareTo(Entrada e) {
+            if(this.dispersion != e.dispersion)
+                return Integer.compare(this.dispersion, e.dispersion);
+            int c = comparaLlaves(this.llave, e.llave);
+            return c != 0 ? c : Integer.compare(this.orden, e.orden);
         }
     }
 
     /* Clase interna privada para iteradores. */
     private class Iterador {
 
-        /* En qué lista estamos. */
+        /* En qué lista estamos; si hay una tabla anterior, sus listas van
+         * antes que las de la tabla nueva. */
         private int indice;
         /* Iterador auxiliar. */
         private Iterator<Entrada> iterador;
@@ -39,36 +64,33 @@ public class Diccionario<K, V> implements Iterable<V> {
         /* Construye un nuevo iterador, auxiliándose de las listas del
          * diccionario. */
         public Iterador() {
-            for(int i = 0; i < entradas.length; i++) {
-                if(entradas[i] != null && entradas[i].getLongitud() > 0) {
-                    this.iterador = entradas[i].iterator();
-                    this.indice = i;
-                    break;
+            this.indice = -1;
+            this.avanza();
+        }
+
+        /* Mueve el iterador auxiliar a la siguiente lista no vacía. */
+        private void avanza() {
+            this.iterador = null;
+            int n = listas();
+            while(++this.indice < n) {
+                Coleccion<Entrada> l = lista(this.indice);
+                if(l != null && !l.esVacia()) {
+                    this.iterador = l.iterator();
+                    return;
                 }
             }
         }
 
         /* Nos dice si hay una siguiente entrada. */
         public boolean hasNext() {
-            if(this.iterador == null) { return false; }
-            return this.iterador.hasNext();
-            // return this.iterador != null;
+            return this.iterador != null;
         }
 
         /* Regresa la siguiente entrada. */
         public Entrada siguiente() {
             if(this.iterador == null) { throw new NoSuchElementException(); }
             Entrada e = this.iterador.next();
-            if(!this.iterador.hasNext()) {
-                this.iterador = null;
-                for(int i = this.indice + 1; i < entradas.length; i++) {
-                    if(entradas[i] != null) {
-                        this.iterador = entradas[i].iterator();
-                        this.indice = i;
-                        break;
-                    }
-                }
-            }
+            if(!this.iterador.hasNext()) { this.avanza(); }
             return e;
         }
     }
@@ -96,22 +118,53 @@ public class Diccionario<K, V> implements Iterable<V> {
     /** Máxima carga permitida por el diccionario. */
     public static final double MAXIMA_CARGA = 0.72;
 
+    /**
+     * Mínima carga permitida por el diccionario al eliminar; por debajo de
+     * ella la tabla se reduce a la mitad, sin bajar de su longitud mínima.
+     */
+    public static final double MINIMA_CARGA = MAXIMA_CARGA / 4;
+
+    /**
+     * Número de entradas a partir del cual una cubeta se convierte en árbol.
+     */
+    public static final int UMBRAL_ARBOL = 8;
+
+    /**
+     * Número de entradas por debajo del cual una cubeta árbol regresa a ser
+     * lista.
+     */
+    public static final int UMBRAL_LISTA = 6;
+
     /* Capacidad mínima; decidida arbitrariamente a 2^6. */
     private static final int MINIMA_CAPACIDAD = 64;
 
+    /* Cuántas listas de la tabla anterior migra cada operación de escritura
+     * cuando el diccionario crece de forma incremental. */
+    private static final int MIGRACION_POR_OPERACION = 4;
+
     /* Dispersor. */
     private Dispersor<K> dispersor;
-    /* Nuestro diccionario. */
-    private Lista<Entrada>[] entradas;
+    /* Nuestro diccionario; cada cubeta es una Lista o un ArbolRojinegro. */
+    private Coleccion<Entrada>[] entradas;
     /* Número de valores. */
     private int elementos;
+    /* Longitud por debajo de la cual la tabla no se reduce sola. */
+    private int longitudMinima;
+    /* Si el diccionario crece de forma incremental. */
+    private boolean incremental;
+    /* La tabla anterior mientras se migra; null si no hay migración. */
+    private Coleccion<Entrada>[] anteriores;
+    /* Cuántas listas de la tabla anterior ya fueron migradas. */
+    private int migradas;
+    /* El orden de creación de la siguiente entrada. */
+    private int secuencia;
 
     /* Truco para crear un arreglo genérico. Es necesario hacerlo así por cómo
        Java implementa sus genéricos; de otra forma obtenemos advertencias del
        compilador. */
     @SuppressWarnings("unchecked")
-    private Lista<Entrada>[] nuevoArreglo(int n) {
-        return (Lista<Entrada>[])Array.newInstance(Lista.class, n);
+    private Coleccion<Entrada>[] nuevoArreglo(int n) {
+        return (Coleccion<Entrada>[])Array.newInstance(Coleccion.class, n);
     }
 
     /**
@@ -147,18 +200,99 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @param dispersor el dispersor a utilizar.
      */
     public Diccionario(int capacidad, Dispersor<K> dispersor) {
+        this(capacidad, dispersor, false);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y un método de
+     * dispersor definidos por el usuario, que puede crecer de forma
+     * incremental. Un diccionario incremental no redistribuye todas sus
+     * entradas al crecer: conserva la tabla anterior junto a la nueva, y cada
+     * operación que modifica el diccionario migra unas cuantas listas, de
+     * forma que ninguna inserción individual tarda tiempo lineal. Las
+     * consultas nunca mueven entradas, por lo que es seguro consultar el
+     * diccionario mientras se itera.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     * @param incremental si el diccionario debe crecer de forma incremental.
+     */
+    public Diccionario(int capacidad, Dispersor<K> dispersor,
+                       boolean incremental) {
         this.dispersor = dispersor;
+        this.incremental = incremental;
+        this.longitudMinima = longitud(capacidad);
+        this.entradas = this.nuevoArreglo(this.longitudMinima);
+        this.elementos = 0;
+    }
+
+    /**
+     * Construye un diccionario para llaves cadenas que resiste ataques de
+     * inundación: usa {@link AlgoritmoDispersor#SIP_STRING}, con una llave
+     * secreta aleatoria propia, en lugar de {@link String#hashCode}. Es la
+     * opción recomendada cuando las llaves vienen de entrada no confiable.
+     * @param <V> el tipo de los valores.
+     * @return un diccionario vacío para llaves cadenas.
+     */
+    public static <V> Diccionario<String, V> paraCadenas() {
+        return paraCadenas(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Construye un diccionario para llaves cadenas con la capacidad inicial
+     * recibida que resiste ataques de inundación, como {@link
+     * #paraCadenas()}.
+     * @param <V> el tipo de los valores.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @return un diccionario vacío para llaves cadenas.
+     */
+    public static <V> Diccionario<String, V> paraCadenas(int capacidad) {
+        return new Diccionario<String, V>(capacidad,
+            FabricaDispersores.dispersorCadena(AlgoritmoDispersor.SIP_STRING));
+    }
+
+    /* Regresa la longitud de la tabla para una capacidad: la menor potencia
+     * de dos mayor o igual al doble de la capacidad. */
+    private static int longitud(int capacidad) {
         capacidad = capacidad < MINIMA_CAPACIDAD ? MINIMA_CAPACIDAD : capacidad;
         int c = 1;
         while (c < capacidad * 2) { c *= 2; }
-        this.entradas = this.nuevoArreglo(c);
-        this.elementos = 0;
+        return c;
     }
 
-    // Return masked key
-    private int hashHey(K llave) {
-        int mask = this.entradas.length - 1;
-        return this.dispersor.dispersa(llave) & mask;
+    /* Regresa el número de listas, contando las de la tabla anterior. */
+    private int listas() {
+        int n = this.entradas.length;
+        return this.anteriores == null ? n : n + this.anteriores.length;
+    }
+
+    /* Regresa la i-ésima lista, contando primero las de la tabla anterior. */
+    private Coleccion<Entrada> lista(int i) {
+        if(this.anteriores == null) { return this.entradas[i]; }
+        if(i < this.anteriores.length) { return this.anteriores[i]; }
+        return this.entradas[i - this.anteriores.length];
+    }
+
+    /* Nos dice si las llaves con dispersión h siguen en la tabla anterior. */
+    private boolean enAnteriores(int h) {
+        return this.anteriores != null &&
+            (h & (this.anteriores.length - 1)) >= this.migradas;
+    }
+
+    /* Regresa la tabla donde debe estar la llave con dispersión h. */
+    private Coleccion<Entrada>[] tabla(int h) {
+        return this.enAnteriores(h) ? this.anteriores : this.entradas;
+    }
+
+    /* Compara dos llaves: si son de clases distintas, por el nombre de su
+     * clase; si son de la misma clase y ésta es comparable, con compareTo; si
+     * no, regresa 0. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int comparaLlaves(Object a, Object b) {
+        if(a.getClass() != b.getClass())
+            return a.getClass().getName().compareTo(b.getClass().getName());
+        if(!(a instanceof Comparable))
+            return 0;
+        return ((Comparable)a).compareTo(b);
     }
 
     /**
@@ -172,30 +306,147 @@ public class Diccionario<K, V> implements Iterable<V> {
     public void agrega(K llave, V valor) {
         if(llave == null || valor == null) { throw new IllegalArgumentException(); }
 
-        int i = this.hashHey(llave);
-        Entrada e = new Entrada(llave, valor);
-        if(this.entradas[i] == null) {
-            this.entradas[i] = new Lista<Entrada>();
-        } else {
-            for(Entrada a: entradas[i])
-            if(a.llave.equals(llave)) { a.valor = valor; return; }
+        this.migra();
+        int h = this.dispersor.dispersa(llave);
+        Entrada e = this.busca(h, llave);
+        if(e != null) { e.valor = valor; return; }
+        this.inserta(h, llave, valor);
+    }
+
+    /* Regresa la entrada de la llave con dispersión h, o null si no está. */
+    private Entrada busca(int h, K llave) {
+        Coleccion<Entrada>[] tabla = this.tabla(h);
+        Coleccion<Entrada> l = tabla[h & (tabla.length - 1)];
+        if(l == null) { return null; }
+        if(l instanceof ArbolRojinegro)
+            return this.busca(((ArbolRojinegro<Entrada>)l).raiz(), h, llave);
+        for(Entrada e: l)
+            if(e.dispersion == h && e.llave.equals(llave)) { return e; }
+        return null;
+    }
+
+    /* Busca la entrada de la llave con dispersión h en el subárbol del
+     * vértice. Si la llave no permite decidir hacia qué lado bajar, busca en
+     * ambos subárboles. */
+    private Entrada busca(VerticeArbolBinario<Entrada> v, int h, K llave) {
+        while(v != null) {
+            Entrada e = v.get();
+            int c = Integer.compare(h, e.dispersion);
+            if(c == 0) {
+                if(e.llave.equals(llave)) { return e; }
+                c = comparaLlaves(llave, e.llave);
+            }
+            if(c == 0) {
+                Entrada r = this.busca(izquierdo(v), h, llave);
+                if(r != null) { return r; }
+                v = derecho(v);
+            } else {
+                v = c < 0 ? izquierdo(v) : derecho(v);
+            }
+        }
+        return null;
+    }
+
+    /* Regresa el hijo izquierdo del vértice, o null si no tiene. */
+    private static <T> VerticeArbolBinario<T> izquierdo(VerticeArbolBinario<T> v) {
+        return v.hayIzquierdo() ? v.izquierdo() : null;
+    }
+
+    /* Regresa el hijo derecho del vértice, o null si no tiene. */
+    private static <T> VerticeArbolBinario<T> derecho(VerticeArbolBinario<T> v) {
+        return v.hayDerecho() ? v.derecho() : null;
+    }
+
+    /* Agrega la entrada a la cubeta i de la tabla, convirtiéndola en árbol
+     * si pasa del umbral. */
+    private static <E extends Comparable<E>>
+        void agregaEnCubeta(Coleccion<E>[] tabla, int i, E e) {
+        if(tabla[i] == null) { tabla[i] = new Lista<E>(); }
+        tabla[i].agrega(e);
+        if(tabla[i] instanceof Lista && tabla[i].getElementos() > UMBRAL_ARBOL)
+            tabla[i] = new ArbolRojinegro<E>(tabla[i]);
+    }
+
+    /* Elimina la entrada de su cubeta, regresando la cubeta a lista si era
+     * árbol y bajó del umbral. */
+    private void eliminaEntrada(Entrada e) {
+        Coleccion<Entrada>[] tabla = this.tabla(e.dispersion);
+        int i = e.dispersion & (tabla.length - 1);
+        tabla[i].elimina(e);
+        if(tabla[i] instanceof ArbolRojinegro &&
+           tabla[i].getElementos() < UMBRAL_LISTA) {
+            Lista<Entrada> l = new Lista<Entrada>();
+            for(Entrada a: tabla[i])
+                l.agrega(a);
+            tabla[i] = l;
         }
-        
-        entradas[i].agrega(e);
+        this.elementos -= 1;
+        this.encoge();
+    }
+
+    /* Agrega una entrada nueva que sabemos que no está en el diccionario, y
+     * crece el diccionario si se alcanza la carga máxima. */
+    private void inserta(int h, K llave, V valor) {
+        Coleccion<Entrada>[] tabla = this.tabla(h);
+        agregaEnCubeta(tabla, h & (tabla.length - 1), new Entrada(llave, valor, h));
         this.elementos += 1;
         // Resize dictionary if max load is reached
-        if(this.carga() >= MAXIMA_CARGA) {
-            Lista<Entrada>[] old = this.entradas;
-            this.entradas = this.nuevoArreglo((this.entradas.length) * 2);
-            for(Lista<Entrada> l_: old) {
-                if(l_ != null) {
-                    for(Entrada a: l_) {
-                        int k = this.hashHey(a.llave);
-                        if(this.entradas[k] == null) { this.entradas[k] = new Lista<Entrada>(); }
-                        this.entradas[k].agrega(a);
-                    }
-                }
-            }
+        if(this.carga() >= MAXIMA_CARGA) { this.crece(); }
+    }
+
+    /* Duplica el tamaño de la tabla. Si el diccionario es incremental, sólo
+     * aparta la tabla nueva y deja la anterior para migrarla poco a poco. */
+    private void crece() {
+        if(this.incremental) {
+            while(this.anteriores != null) { this.migra(); }
+            this.anteriores = this.entradas;
+            this.entradas = this.nuevoArreglo(this.entradas.length * 2);
+            this.migradas = 0;
+            return;
+        }
+        this.redimensiona(this.entradas.length * 2);
+    }
+
+    /* Reduce la tabla a la mitad si la carga bajó de la mínima, sin bajar de
+     * la longitud mínima. */
+    private void encoge() {
+        if(this.entradas.length > this.longitudMinima &&
+           this.carga() < MINIMA_CARGA)
+            this.redimensiona(this.entradas.length / 2);
+    }
+
+    /* Cambia la longitud de la tabla y redistribuye todas las entradas,
+     * terminando antes cualquier migración pendiente. */
+    private void redimensiona(int n) {
+        while(this.anteriores != null) { this.migra(); }
+        if(n == this.entradas.length) { return; }
+        Coleccion<Entrada>[] old = this.entradas;
+        this.entradas = this.nuevoArreglo(n);
+        for(Coleccion<Entrada> l_: old)
+            this.redistribuye(l_);
+    }
+
+    /* Mueve las entradas de la lista a la tabla actual, usando la dispersión
+     * guardada en cada entrada en lugar de volver a llamar al dispersor. */
+    private void redistribuye(Coleccion<Entrada> l) {
+        if(l == null) { return; }
+        int mask = this.entradas.length - 1;
+        for(Entrada a: l)
+            agregaEnCubeta(this.entradas, a.dispersion & mask, a);
+    }
+
+    /* Migra a la tabla nueva un número acotado de listas de la anterior. */
+    private void migra() {
+        if(this.anteriores == null) { return; }
+        for(int n = 0; n < MIGRACION_POR_OPERACION; n++) {
+            if(this.migradas == this.anteriores.length) { break; }
+            Coleccion<Entrada> l = this.anteriores[this.migradas];
+            this.anteriores[this.migradas++] = null;
+            this.redistribuye(l);
+        }
+        if(this.migradas == this.anteriores.length) {
+            this.anteriores = null;
+            this.migradas = 0;
         }
     }
 
@@ -208,16 +459,9 @@ public class Diccionario<K, V> implements Iterable<V> {
      */
     public V get(K llave) {
         if(llave == null) { throw new IllegalArgumentException(); }
-
-        int i = this.hashHey(llave);
-
-        if(this.entradas[i] == null) { throw new NoSuchElementException(); }
-
-        for(Entrada e: this.entradas[i]) {
-            if(e.llave.equals(llave)) { return e.valor; }
-        }
-
-        throw new NoSuchElementException();
+        Entrada e = this.busca(this.dispersor.dispersa(llave), llave);
+        if(e == null) { throw new NoSuchElementException(); }
+        return e.valor;
     }
 
     /**
@@ -228,11 +472,99 @@ public class Diccionario<K, V> implements Iterable<V> {
      */
     public boolean contiene(K llave) {
         if(llave == null) { return false; }
-        int i = this.hashHey(llave);
-        if(this.entradas[i] == null) { return false; }
-        for(Entrada e: this.entradas[i])
-            if(e.llave.equals(llave)) { return true; }
-        return false;
+        return this.busca(this.dispersor.dispersa(llave), llave) != null;
+    }
+
+    /**
+     * Regresa el valor asociado a la llave, o el valor por omisión si la llave
+     * no está en el diccionario. La llave se busca una sola vez.
+     * @param llave la llave para buscar el valor.
+     * @param omision el valor a regresar si la llave no está.
+     * @return el valor correspondiente a la llave, u <code>omision</code>.
+     */
+    public V getOrDefault(K llave, V omision) {
+        if(llave == null) { return omision; }
+        Entrada e = this.busca(this.dispersor.dispersa(llave), llave);
+        return e == null ? omision : e.valor;
+    }
+
+    /**
+     * Regresa el valor asociado a la llave; si la llave no está, lo calcula
+     * con la función recibida, lo agrega y lo regresa. La llave se dispersa y
+     * se busca una sola vez. La función no debe modificar el diccionario.
+     * @param llave la llave para buscar el valor.
+     * @param funcion la función para calcular el valor a partir de la llave.
+     * @return el valor asociado a la llave después de llamar el método.
+     * @throws IllegalArgumentException si la llave es nula, o si la función
+     *         regresa <code>null</code>.
+     */
+    public V computeIfAbsent(K llave, Function<? super K, ? extends V> funcion) {
+        if(llave == null) { throw new IllegalArgumentException(); }
+        this.migra();
+        int h = this.dispersor.dispersa(llave);
+        Entrada e = this.busca(h, llave);
+        if(e != null) { return e.valor; }
+        V valor = funcion.apply(llave);
+        if(valor == null) { throw new IllegalArgumentException(); }
+        this.inserta(h, llave, valor);
+        return valor;
+    }
+
+    /**
+     * Combina el valor recibido con el asociado a la llave. Si la llave no
+     * está, el valor recibido se agrega; si está, se reemplaza con el
+     * resultado de aplicar la función al valor anterior y al recibido. Si la
+     * función regresa <code>null</code>, la llave se elimina. La llave se
+     * dispersa y se busca una sola vez.
+     * @param llave la llave del valor a combinar.
+     * @param valor el valor a combinar.
+     * @param funcion la función para combinar el valor anterior y el recibido.
+     * @return el nuevo valor asociado a la llave, o <code>null</code> si la
+     *         llave fue eliminada.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public V merge(K llave, V valor,
+                   BiFunction<? super V, ? super V, ? extends V> funcion) {
+        if(llave == null || valor == null) { throw new IllegalArgumentException(); }
+        this.migra();
+        int h = this.dispersor.dispersa(llave);
+        Entrada e = this.busca(h, llave);
+        if(e == null) {
+            this.inserta(h, llave, valor);
+            return valor;
+        }
+        V nuevo = funcion.apply(e.valor, valor);
+        if(nuevo == null) {
+            this.eliminaEntrada(e);
+        } else {
+            e.valor = nuevo;
+        }
+        return nuevo;
+    }
+
+    /**
+     * Suma el incremento al contador asociado a la llave; si la llave no está,
+     * la agrega con el incremento como valor. Sólo tiene sentido en
+     * diccionarios cuyos valores son {@link Integer}.
+     * @param llave la llave del contador.
+     * @param incremento lo que hay que sumarle al contador.
+     * @return el nuevo valor del contador.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws ClassCastException si los valores no son {@link Integer}.
+     */
+    @SuppressWarnings("unchecked")
+    public int incrementa(K llave, int incremento) {
+        if(llave == null) { throw new IllegalArgumentException(); }
+        this.migra();
+        int h = this.dispersor.dispersa(llave);
+        Entrada e = this.busca(h, llave);
+        if(e == null) {
+            this.inserta(h, llave, (V)Integer.valueOf(incremento));
+            return incremento;
+        }
+        int n = (Integer)e.valor + incremento;
+        e.valor = (V)Integer.valueOf(n);
+        return n;
     }
 
     /**
@@ -244,14 +576,49 @@ public class Diccionario<K, V> implements Iterable<V> {
      */
     public void elimina(K llave) {
         if(llave == null) { throw new IllegalArgumentException(); }
-        int i = this.hashHey(llave);
-        if(this.entradas[i] == null) { throw new NoSuchElementException(); }
-        for(Entrada e: this.entradas[i]) {
-            if(e.llave.equals(llave)) {
-                this.entradas[i].elimina(e);
-                this.elementos -= 1;
-            }
-        }
+        if(this.extrae(llave) == null) { throw new NoSuchElementException(); }
+    }
+
+    /**
+     * Elimina la entrada asociada a la llave, si existe, y regresa su valor.
+     * La llave se dispersa y se busca una sola vez.
+     * @param llave la llave de la entrada a eliminar.
+     * @return el valor que estaba asociado a la llave, o <code>null</code> si
+     *         la llave no estaba en el diccionario.
+     */
+    public V extrae(K llave) {
+        if(llave == null) { return null; }
+        this.migra();
+        int h = this.dispersor.dispersa(llave);
+        Entrada e = this.busca(h, llave);
+        if(e == null) { return null; }
+        this.eliminaEntrada(e);
+        return e.valor;
+    }
+
+    /**
+     * Ajusta la tabla del diccionario a la menor longitud que admite sus
+     * elementos actuales. La longitud resultante se vuelve la nueva longitud
+     * mínima del diccionario.
+     */
+    public void compacta() {
+        this.ajustaCapacidad(this.elementos);
+    }
+
+    /**
+     * Ajusta la tabla del diccionario para que quepan la capacidad recibida
+     * sin crecer, redistribuyendo las entradas si es necesario. Si la
+     * capacidad es menor al número de elementos, se usa el número de
+     * elementos. La longitud resultante se vuelve la nueva longitud mínima
+     * del diccionario: las eliminaciones no reducen la tabla por debajo de
+     * ella.
+     * @param capacidad la capacidad deseada.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public void ajustaCapacidad(int capacidad) {
+        if(capacidad < 0) { throw new IllegalArgumentException(); }
+        this.longitudMinima = longitud(Math.max(capacidad, this.elementos));
+        this.redimensiona(this.longitudMinima);
     }
 
     /**
@@ -260,8 +627,10 @@ public class Diccionario<K, V> implements Iterable<V> {
      */
     public int colisiones() {
         int c = 0;
-        for(Lista<Entrada> l: this.entradas)
-            c += l != null ? l.getLongitud() - 1 : 0;
+        for(int i = 0; i < this.listas(); i++) {
+            Coleccion<Entrada> l = this.lista(i);
+            c += l != null && !l.esVacia() ? l.getElementos() - 1 : 0;
+        }
         return c;
     }
 
@@ -273,9 +642,10 @@ public class Diccionario<K, V> implements Iterable<V> {
     public int colisionMaxima() {
         if(this.elementos == 0) { return 0; }
         int max = Integer.MIN_VALUE;
-        for(Lista<Entrada> l: this.entradas) {
+        for(int i = 0; i < this.listas(); i++) {
+            Coleccion<Entrada> l = this.lista(i);
             if(l != null)
-                max = l.getLongitud() - 1 > max ? l.getLongitud() - 1 : max;
+                max = l.getElementos() - 1 > max ? l.getElementos() - 1 : max;
         }
         return max;
     }
@@ -306,13 +676,28 @@ public class Diccionario<K, V> implements Iterable<V> {
     }
 
     /**
-     * Limpia el diccionario de elementos, dejándolo vacío.
+     * Limpia el diccionario de elementos, dejándolo vacío. La tabla regresa a
+     * la longitud mínima del diccionario, sin importar cuánto haya crecido.
      */
     public void limpia() {
-        this.entradas = this.nuevoArreglo(this.entradas.length);
+        this.entradas = this.nuevoArreglo(this.longitudMinima);
+        this.anteriores = null;
+        this.migradas = 0;
         this.elementos = 0;
     }
 
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío con una tabla para
+     * la capacidad recibida, que se vuelve su nueva capacidad mínima.
+     * @param capacidadObjetivo la capacidad del diccionario vacío.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public void limpia(int capacidadObjetivo) {
+        if(capacidadObjetivo < 0) { throw new IllegalArgumentException(); }
+        this.longitudMinima = longitud(capacidadObjetivo);
+        this.limpia();
+    }
+
     /**
      * Regresa una representación en cadena del diccionario.
      * @return una representación en cadena del diccionario.
@@ -346,8 +731,8 @@ public class Diccionario<K, V> implements Iterable<V> {
         Iterator<K> it = this.iteradorLlaves();
         while (it.hasNext()) {
             K k = it.next();
-            if(!d.contiene(k)) { return false; }
-            if(!d.get(k).equals(this.get(k))) { return false; }
+            V v = d.getOrDefault(k, null);
+            if(v == null || !v.equals(this.get(k))) { return false; }
         }
         return true;
     }
@@ -0,0 +1,462 @@
+package mx.unam.ciencias.edd;
+
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * <p>Clase para diccionarios que pueden usarse desde varios hilos a la vez.
+ * El diccionario se divide en segmentos; cada segmento es un {@link
+ * DiccionarioAbierto} protegido por su propio candado, así que los hilos que
+ * usan llaves de segmentos distintos no se estorban.</p>
+ *
+ * <p>Todas las operaciones sobre una llave son atómicas, incluyendo {@link
+ * #computeIfAbsent}, {@link #merge} e {@link #incrementa}. Los iteradores son
+ * débilmente consistentes: recorren cada segmento tal como estaba al llegar a
+ * él, nunca lanzan excepciones por modificaciones concurrentes, y pueden o no
+ * reflejar los cambios hechos después de crearlos. {@link #getElementos} es
+ * exacto sólo si no hay modificaciones en curso.</p>
+ */
+public class DiccionarioConcurrente<K, V> implements Iterable<V> {
+
+    /* Clase interna privada para segmentos. */
+    private class Segmento {
+
+        /* El candado del segmento. */
+        public ReentrantLock candado;
+        /* El diccionario del segmento. */
+        public DiccionarioAbierto<K, V> diccionario;
+
+        /* Construye un segmento con la capacidad recibida. */
+        public Segmento(int capacidad) {
+            this.candado = new ReentrantLock();
+            this.diccionario = new DiccionarioAbierto<K, V>(capacidad, dispersor);
+        }
+    }
+
+    /* Clase interna privada para iteradores. Copia un segmento a la vez,
+     * con el candado del segmento tomado, y luego lo recorre sin candado. */
+    private abstract class Iterador<E> implements Iterator<E> {
+
+        /* El siguiente segmento a copiar. */
+        private int segmento;
+        /* La copia del segmento actual. */
+        private Object[] copia;
+        /* La siguiente posición de la copia. */
+        private int indice;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            this.copia = new Object[0];
+            this.avanza();
+        }
+
+        /* Regresa el iterador de lo que hay que copiar del diccionario. */
+        protected abstract Iterator<?> fuente(DiccionarioAbierto<K, V> d);
+
+        /* Copia segmentos hasta encontrar uno no vacío o acabarlos. */
+        private void avanza() {
+            while (this.indice == this.copia.length &&
+                   this.segmento < segmentos.length) {
+                Segmento s = segmentos[this.segmento++];
+                s.candado.lock();
+                try {
+                    this.copia = new Object[s.diccionario.getElementos()];
+                    Iterator<?> it = this.fuente(s.diccionario);
+                    for (int i = 0; i < this.copia.length; i++)
+                        this.copia[i] = it.next();
+                } finally {
+                    s.candado.unlock();
+                }
+                this.indice = 0;
+            }
+        }
+
+        /* Nos dice si hay un siguiente elemento. */
+        @Override public boolean hasNext() {
+            return this.indice < this.copia.length;
+        }
+
+        /* Regresa el siguiente elemento. */
+        @SuppressWarnings("unchecked") @Override public E next() {
+            if (!this.hasNext()) { throw new NoSuchElementException(); }
+            E e = (E)this.copia[this.indice];
+            this.copia[this.indice++] = null;
+            this.avanza();
+            return e;
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador<K> {
+
+        /* Copia las llaves. */
+        @Override protected Iterator<?> fuente(DiccionarioAbierto<K, V> d) {
+            return d.iteradorLlaves();
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador<V> {
+
+        /* Copia los valores. */
+        @Override protected Iterator<?> fuente(DiccionarioAbierto<K, V> d) {
+            return d.iterator();
+        }
+    }
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+
+    /* Dispersor. */
+    private Dispersor<K> dispersor;
+    /* Los segmentos. */
+    private Segmento[] segmentos;
+    /* Cuántos bits altos de la dispersión eligen el segmento. */
+    private int bits;
+    /* Número de valores. */
+    private LongAdder elementos;
+
+    /* Truco para crear un arreglo genérico. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked")
+    private Segmento[] nuevoArreglo(int n) {
+        return (Segmento[])Array.newInstance(Segmento.class, n);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial, un nivel de
+     * concurrencia y un dispersor predeterminados. El nivel de concurrencia
+     * es cuatro veces el número de procesadores.
+     */
+    public DiccionarioConcurrente() {
+        this(MINIMA_CAPACIDAD, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial definida por el
+     * usuario, y un nivel de concurrencia y un dispersor predeterminados.
+     * @param capacidad la capacidad inicial del diccionario.
+     */
+    public DiccionarioConcurrente(int capacidad) {
+        this(capacidad, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y un nivel de
+     * concurrencia predeterminados, y un dispersor definido por el usuario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioConcurrente(Dispersor<K> dispersor) {
+        this(MINIMA_CAPACIDAD, dispersor);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y un dispersor
+     * definidos por el usuario, y un nivel de concurrencia predeterminado.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioConcurrente(int capacidad, Dispersor<K> dispersor) {
+        this(capacidad, 4 * Runtime.getRuntime().availableProcessors(),
+             dispersor);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial, un nivel de
+     * concurrencia y un dispersor definidos por el usuario. El nivel de
+     * concurrencia es el número de hilos que se espera modifiquen el
+     * diccionario a la vez; el diccionario usa la menor potencia de dos de
+     * segmentos mayor o igual a él.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param concurrencia el nivel de concurrencia.
+     * @param dispersor el dispersor a utilizar.
+     * @throws IllegalArgumentException si el nivel de concurrencia no es
+     *         positivo.
+     */
+    public DiccionarioConcurrente(int capacidad, int concurrencia,
+                                  Dispersor<K> dispersor) {
+        if (concurrencia <= 0) { throw new IllegalArgumentException(); }
+        this.dispersor = dispersor;
+        int n = 1;
+        while (n < concurrencia && n < (1 << 16)) {
+            n *= 2;
+            this.bits++;
+        }
+        this.segmentos = this.nuevoArreglo(n);
+        int c = Math.max(capacidad, MINIMA_CAPACIDAD) / n;
+        for (int i = 0; i < n; i++)
+            this.segmentos[i] = new Segmento(c);
+        this.elementos = new LongAdder();
+    }
+
+    /* Regresa el segmento de una dispersión. Usa los bits altos de la
+     * dispersión mezclada, para que no coincidan con los que usa el segmento
+     * para elegir la posición. La llave se dispersa una sola vez: la misma
+     * dispersión se le pasa al diccionario del segmento. */
+    private Segmento segmento(int dispersion) {
+        if (this.bits == 0) { return this.segmentos[0]; }
+        int h = dispersion * 0x9E3779B9;
+        return this.segmentos[h >>> (32 - this.bits)];
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null) { throw new IllegalArgumentException(); }
+        int h = this.dispersor.dispersa(llave);
+        Segmento s = this.segmento(h);
+        s.candado.lock();
+        try {
+            int n = s.diccionario.getElementos();
+            s.diccionario.agrega(llave, valor, h);
+            this.elementos.add(s.diccionario.getElementos() - n);
+        } finally {
+            s.candado.unlock();
+        }
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public V get(K llave) {
+        if (llave == null) { throw new IllegalArgumentException(); }
+        V valor = this.getOrDefault(llave, null);
+        if (valor == null) { throw new NoSuchElementException(); }
+        return valor;
+    }
+
+    /**
+     * Regresa el valor asociado a la llave, o el valor por omisión si la llave
+     * no está en el diccionario.
+     * @param llave la llave para buscar el valor.
+     * @param omision el valor a regresar si la llave no está.
+     * @return el valor correspondiente a la llave, u <code>omision</code>.
+     */
+    public V getOrDefault(K llave, V omision) {
+        if (llave == null) { return omision; }
+        int h = this.dispersor.dispersa(llave);
+        Segmento s = this.segmento(h);
+        s.candado.lock();
+        try {
+            return s.diccionario.getOrDefault(llave, omision, h);
+        } finally {
+            s.candado.unlock();
+        }
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <tt>true</tt> si la llave está en el diccionario,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        return this.getOrDefault(llave, null) != null;
+    }
+
+    /**
+     * Regresa el valor asociado a la llave; si la llave no está, lo calcula
+     * con la función recibida, lo agrega y lo regresa, todo de forma atómica.
+     * La función se llama con el candado del segmento tomado, así que debe
+     * ser breve y no debe usar el diccionario.
+     * @param llave la llave para buscar el valor.
+     * @param funcion la función para calcular el valor a partir de la llave.
+     * @return el valor asociado a la llave después de llamar el método.
+     * @throws IllegalArgumentException si la llave es nula, o si la función
+     *         regresa <code>null</code>.
+     */
+    public V computeIfAbsent(K llave, Function<? super K, ? extends V> funcion) {
+        if (llave == null) { throw new IllegalArgumentException(); }
+        int h = this.dispersor.dispersa(llave);
+        Segmento s = this.segmento(h);
+        s.candado.lock();
+        try {
+            int n = s.diccionario.getElementos();
+            V valor = s.diccionario.computeIfAbsent(llave, funcion, h);
+            this.elementos.add(s.diccionario.getElementos() - n);
+            return valor;
+        } finally {
+            s.candado.unlock();
+        }
+    }
+
+    /**
+     * Combina de forma atómica el valor recibido con el asociado a la llave.
+     * Si la llave no está, el valor recibido se agrega; si está, se reemplaza
+     * con el resultado de aplicar la función al valor anterior y al recibido.
+     * Si la función regresa <code>null</code>, la llave se elimina. La
+     * función se llama con el candado del segmento tomado, así que debe ser
+     * breve y no debe usar el diccionario.
+     * @param llave la llave del valor a combinar.
+     * @param valor el valor a combinar.
+     * @param funcion la función para combinar el valor anterior y el recibido.
+     * @return el nuevo valor asociado a la llave, o <code>null</code> si la
+     *         llave fue eliminada.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public V merge(K llave, V valor,
+                   BiFunction<? super V, ? super V, ? extends V> funcion) {
+        if (llave == null || valor == null) { throw new IllegalArgumentException(); }
+        int h = this.dispersor.dispersa(llave);
+        Segmento s = this.segmento(h);
+        s.candado.lock();
+        try {
+            int n = s.diccionario.getElementos();
+            V nuevo = s.diccionario.merge(llave, valor, funcion, h);
+            this.elementos.add(s.diccionario.getElementos() - n);
+            return nuevo;
+        } finally {
+            s.candado.unlock();
+        }
+    }
+
+    /**
+     * Suma de forma atómica el incremento al contador asociado a la llave; si
+     * la llave no está, la agrega con el incremento como valor. Sólo tiene
+     * sentido en diccionarios cuyos valores son {@link Integer}.
+     * @param llave la llave del contador.
+     * @param incremento lo que hay que sumarle al contador.
+     * @return el nuevo valor del contador.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws ClassCastException si los valores no son {@link Integer}.
+     */
+    public int incrementa(K llave, int incremento) {
+        if (llave == null) { throw new IllegalArgumentException(); }
+        int h = this.dispersor.dispersa(llave);
+        Segmento s = this.segmento(h);
+        s.candado.lock();
+        try {
+            int n = s.diccionario.getElementos();
+            int r = s.diccionario.incrementa(llave, incremento, h);
+            if (s.diccionario.getElementos() != n)
+                this.elementos.increment();
+            return r;
+        } finally {
+            s.candado.unlock();
+        }
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(K llave) {
+        if (llave == null) { throw new IllegalArgumentException(); }
+        if (this.extrae(llave) == null) { throw new NoSuchElementException(); }
+    }
+
+    /**
+     * Elimina de forma atómica la entrada asociada a la llave, si existe, y
+     * regresa su valor.
+     * @param llave la llave de la entrada a eliminar.
+     * @return el valor que estaba asociado a la llave, o <code>null</code> si
+     *         la llave no estaba en el diccionario.
+     */
+    public V extrae(K llave) {
+        if (llave == null) { return null; }
+        int h = this.dispersor.dispersa(llave);
+        Segmento s = this.segmento(h);
+        s.candado.lock();
+        try {
+            V valor = s.diccionario.extrae(llave, h);
+            if (valor != null)
+                this.elementos.decrement();
+            return valor;
+        } finally {
+            s.candado.unlock();
+        }
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario. Si otros hilos están
+     * modificando el diccionario, el número es aproximado.
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        return this.elementos.intValue();
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return this.getElementos() == 0;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío. Cada segmento se
+     * limpia de forma atómica, pero no todos a la vez.
+     */
+    public void limpia() {
+        for (Segmento s : this.segmentos) {
+            s.candado.lock();
+            try {
+                this.elementos.add(-s.diccionario.getElementos());
+                s.diccionario.limpia();
+            } finally {
+                s.candado.unlock();
+            }
+        }
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     * @return una representación en cadena del diccionario.
+     */
+    @Override public String toString() {
+        StringBuilder rep = new StringBuilder("{ ");
+        for (Segmento s : this.segmentos) {
+            s.candado.lock();
+            try {
+                Iterator<K> it = s.diccionario.iteradorLlaves();
+                while (it.hasNext()) {
+                    K k = it.next();
+                    rep.append("'").append(k).append("': '")
+                       .append(s.diccionario.get(k)).append("', ");
+                }
+            } finally {
+                s.candado.unlock();
+            }
+        }
+        return rep.length() == 2 ? "{}" : rep.append("}").toString();
+    }
+
+    /**
+     * Regresa un iterador débilmente consistente para iterar las llaves del
+     * diccionario. El diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public Iterator<K> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador débilmente consistente para iterar los valores del
+     * diccionario. El diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+}
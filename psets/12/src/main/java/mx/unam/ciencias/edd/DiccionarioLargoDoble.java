@@ -0,0 +1,466 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * <p>Clase para diccionarios de enteros largos a dobles. Guarda las llaves
+ * como <code>long</code> y los valores como <code>double</code> en dos
+ * arreglos paralelos, con
+ * direccionamiento abierto y sondeo lineal, así que nunca envuelve números en
+ * objetos.</p>
+ *
+ * <p>Una posición de los arreglos es vacía si su llave es 0; la llave 0, si
+ * está en el diccionario, se guarda aparte. Para recorrer el diccionario sin
+ * crear un objeto por entrada se usa un {@link Cursor}.</p>
+ */
+public class DiccionarioLargoDoble {
+
+    /**
+     * Clase para cursores del diccionario. Un cursor empieza antes de la
+     * primera entrada; cada llamada a {@link #avanza} lo mueve a la
+     * siguiente, y {@link #llave} y {@link #valor} regresan la entrada
+     * actual.
+     */
+    public class Cursor {
+
+        /* La posición actual; llaves.length representa la llave 0. */
+        private int indice;
+
+        /* Construye un cursor antes de la primera entrada. */
+        private Cursor() {
+            this.indice = -1;
+        }
+
+        /**
+         * Mueve el cursor a la siguiente entrada.
+         * @return <code>true</code> si hay una siguiente entrada,
+         *         <code>false</code> en otro caso.
+         */
+        public boolean avanza() {
+            int i = this.indice + 1;
+            while (i < llaves.length && llaves[i] == 0)
+                i++;
+            if (i == llaves.length && !hayCero)
+                i++;
+            this.indice = i;
+            return i <= llaves.length;
+        }
+
+        /**
+         * Regresa la llave de la entrada actual.
+         * @return la llave de la entrada actual.
+         * @throws NoSuchElementException si el cursor no está en una entrada.
+         */
+        public long llave() {
+            this.valida();
+            return this.indice == llaves.length ? 0 : llaves[this.indice];
+        }
+
+        /**
+         * Regresa el valor de la entrada actual.
+         * @return el valor de la entrada actual.
+         * @throws NoSuchElementException si el cursor no está en una entrada.
+         */
+        public double valor() {
+            this.valida();
+            return this.indice == llaves.length ? valorCero : valores[this.indice];
+        }
+
+        /* Se asegura de que el cursor esté en una entrada. */
+        private void valida() {
+            if (this.indice < 0 || this.indice > llaves.length)
+                throw new NoSuchElementException();
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves implements PrimitiveIterator.OfLong {
+
+        /* El cursor que recorre el diccionario. */
+        private Cursor cursor;
+        /* Si el cursor ya está en la siguiente entrada. */
+        private boolean hayUna;
+
+        /* Construye un nuevo iterador. */
+        public IteradorLlaves() {
+            this.cursor = new Cursor();
+            this.hayUna = this.cursor.avanza();
+        }
+
+        /* Nos dice si hay una siguiente llave. */
+        @Override public boolean hasNext() {
+            return this.hayUna;
+        }
+
+        /* Regresa la siguiente llave. */
+        @Override public long nextLong() {
+            if (!this.hayUna) { throw new NoSuchElementException(); }
+            long llave = this.cursor.llave();
+            this.hayUna = this.cursor.avanza();
+            return llave;
+        }
+    }
+
+    /** Máxima carga permitida por el diccionario. */
+    public static final double MAXIMA_CARGA = 0.72;
+
+    /**
+     * Mínima carga permitida por el diccionario al eliminar; por debajo de
+     * ella los arreglos se reducen a la mitad, sin bajar de su longitud
+     * mínima.
+     */
+    public static final double MINIMA_CARGA = MAXIMA_CARGA / 4;
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+
+    /* Las llaves; una posición es vacía si su llave es 0. */
+    private long[] llaves;
+    /* Los valores. */
+    private double[] valores;
+    /* Si la llave 0 está en el diccionario. */
+    private boolean hayCero;
+    /* El valor de la llave 0. */
+    private double valorCero;
+    /* Número de valores, incluyendo el de la llave 0. */
+    private int elementos;
+    /* Longitud por debajo de la cual los arreglos no se reducen solos. */
+    private int longitudMinima;
+
+    /**
+     * Construye un diccionario con una capacidad inicial predeterminada.
+     */
+    public DiccionarioLargoDoble() {
+        this(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial definida por el
+     * usuario.
+     * @param capacidad la capacidad inicial del diccionario.
+     */
+    public DiccionarioLargoDoble(int capacidad) {
+        this.longitudMinima = longitud(capacidad);
+        this.reserva(this.longitudMinima);
+        this.elementos = 0;
+    }
+
+    /* Regresa la longitud de los arreglos para una capacidad: la menor
+     * potencia de dos mayor o igual al doble de la capacidad. */
+    private static int longitud(int capacidad) {
+        capacidad = capacidad < MINIMA_CAPACIDAD ? MINIMA_CAPACIDAD : capacidad;
+        int c = 1;
+        while (c < capacidad * 2) { c *= 2; }
+        return c;
+    }
+
+    /* Crea arreglos vacíos de longitud n. */
+    private void reserva(int n) {
+        this.llaves = new long[n];
+        this.valores = new double[n];
+    }
+
+    /* Dispersa la llave multiplicándola por la razón áurea, para que llaves
+     * consecutivas queden repartidas en la tabla, y doblando la mitad alta
+     * sobre la baja. */
+    private static int dispersa(long llave) {
+        long l = llave * 0x9E3779B97F4A7C15L;
+        int h = (int)(l ^ (l >>> 32));
+        return h ^ (h >>> 16);
+    }
+
+    /* Regresa la posición donde está la llave distinta de 0; si no está,
+     * regresa -(i + 1), donde i es la posición vacía donde terminó la
+     * búsqueda. */
+    private int ranura(long llave) {
+        int mascara = this.llaves.length - 1;
+        int i = dispersa(llave) & mascara;
+        while (this.llaves[i] != 0) {
+            if (this.llaves[i] == llave)
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -(i + 1);
+    }
+
+    /* Coloca una entrada que sabemos que no está en el diccionario. */
+    private void coloca(long llave, double valor) {
+        int mascara = this.llaves.length - 1;
+        int i = dispersa(llave) & mascara;
+        while (this.llaves[i] != 0)
+            i = (i + 1) & mascara;
+        this.llaves[i] = llave;
+        this.valores[i] = valor;
+    }
+
+    /* Ocupa la posición vacía i con una entrada nueva, y crece el diccionario
+     * si se alcanza la carga máxima. */
+    private void ocupa(int i, long llave, double valor) {
+        this.llaves[i] = llave;
+        this.valores[i] = valor;
+        this.elementos += 1;
+        if (this.carga() >= MAXIMA_CARGA)
+            this.redimensiona(this.llaves.length * 2);
+    }
+
+    /* Cambia la longitud de los arreglos. */
+    private void redimensiona(int n) {
+        if (n == this.llaves.length) { return; }
+        long[] ll = this.llaves;
+        double[] vv = this.valores;
+        this.reserva(n);
+        for (int i = 0; i < ll.length; i++)
+            if (ll[i] != 0)
+                this.coloca(ll[i], vv[i]);
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     */
+    public void agrega(long llave, double valor) {
+        if (llave == 0) {
+            if (!this.hayCero) { this.elementos += 1; }
+            this.hayCero = true;
+            this.valorCero = valor;
+            return;
+        }
+        int i = this.ranura(llave);
+        if (i >= 0)
+            this.valores[i] = valor;
+        else
+            this.ocupa(-(i + 1), llave, valor);
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public double get(long llave) {
+        if (llave == 0) {
+            if (!this.hayCero) { throw new NoSuchElementException(); }
+            return this.valorCero;
+        }
+        int i = this.ranura(llave);
+        if (i < 0) { throw new NoSuchElementException(); }
+        return this.valores[i];
+    }
+
+    /**
+     * Regresa el valor asociado a la llave, o el valor por omisión si la llave
+     * no está en el diccionario.
+     * @param llave la llave para buscar el valor.
+     * @param omision el valor a regresar si la llave no está.
+     * @return el valor correspondiente a la llave, u <code>omision</code>.
+     */
+    public double getOrDefault(long llave, double omision) {
+        if (llave == 0)
+            return this.hayCero ? this.valorCero : omision;
+        int i = this.ranura(llave);
+        return i < 0 ? omision : this.valores[i];
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <tt>true</tt> si la llave está en el diccionario,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean contiene(long llave) {
+        if (llave == 0) { return this.hayCero; }
+        return this.ranura(llave) >= 0;
+    }
+
+    /**
+     * Suma el sumando al valor asociado a la llave; si la llave no está, la
+     * agrega con el sumando como valor. La llave se busca una sola vez.
+     * @param llave la llave del acumulador.
+     * @param incremento lo que hay que sumarle al acumulador.
+     * @return el nuevo valor asociado a la llave.
+     */
+    public double suma(long llave, double incremento) {
+        if (llave == 0) {
+            if (!this.hayCero) { this.elementos += 1; }
+            this.valorCero = this.hayCero ? this.valorCero + incremento : incremento;
+            this.hayCero = true;
+            return this.valorCero;
+        }
+        int i = this.ranura(llave);
+        if (i >= 0)
+            return this.valores[i] += incremento;
+        this.ocupa(-(i + 1), llave, incremento);
+        return incremento;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(long llave) {
+        if (llave == 0) {
+            if (!this.hayCero) { throw new NoSuchElementException(); }
+            this.hayCero = false;
+            this.elementos -= 1;
+            return;
+        }
+        int i = this.ranura(llave);
+        if (i < 0) { throw new NoSuchElementException(); }
+        this.eliminaPosicion(i);
+    }
+
+    /* Elimina la entrada en la posición i, recorriendo hacia atrás las
+     * entradas siguientes del grupo que puedan ocupar el hueco. */
+    private void eliminaPosicion(int i) {
+        int mascara = this.llaves.length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (this.llaves[j] == 0)
+                break;
+            int k = dispersa(this.llaves[j]) & mascara;
+            /* La entrada en j puede moverse a i si su posición ideal k no
+             * está (cíclicamente) en (i, j]. */
+            if ((j > i && (k <= i || k > j)) || (j < i && (k <= i && k > j))) {
+                this.llaves[i] = this.llaves[j];
+                this.valores[i] = this.valores[j];
+                i = j;
+            }
+        }
+        this.llaves[i] = 0;
+        this.elementos -= 1;
+        if (this.llaves.length > this.longitudMinima &&
+            this.carga() < MINIMA_CARGA)
+            this.redimensiona(this.llaves.length / 2);
+    }
+
+    /**
+     * Ajusta los arreglos del diccionario a la menor longitud que admite sus
+     * elementos actuales. La longitud resultante se vuelve la nueva longitud
+     * mínima del diccionario.
+     */
+    public void compacta() {
+        this.ajustaCapacidad(this.elementos);
+    }
+
+    /**
+     * Ajusta los arreglos del diccionario para que quepan la capacidad
+     * recibida sin crecer. Si la capacidad es menor al número de elementos,
+     * se usa el número de elementos. La longitud resultante se vuelve la
+     * nueva longitud mínima del diccionario.
+     * @param capacidad la capacidad deseada.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public void ajustaCapacidad(int capacidad) {
+        if (capacidad < 0) { throw new IllegalArgumentException(); }
+        this.longitudMinima = longitud(Math.max(capacidad, this.elementos));
+        this.redimensiona(this.longitudMinima);
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     * @return la carga del diccionario.
+     */
+    public double carga() {
+        return ((double) this.elementos)/this.llaves.length;
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        return this.elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return this.elementos == 0;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío. Los arreglos
+     * regresan a la longitud mínima del diccionario.
+     */
+    public void limpia() {
+        this.reserva(this.longitudMinima);
+        this.hayCero = false;
+        this.elementos = 0;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío con arreglos para
+     * la capacidad recibida, que se vuelve su nueva capacidad mínima.
+     * @param capacidadObjetivo la capacidad del diccionario vacío.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public void limpia(int capacidadObjetivo) {
+        if (capacidadObjetivo < 0) { throw new IllegalArgumentException(); }
+        this.longitudMinima = longitud(capacidadObjetivo);
+        this.limpia();
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     * @return una representación en cadena del diccionario.
+     */
+    @Override public String toString() {
+        if (this.elementos == 0) { return "{}"; }
+        StringBuilder rep = new StringBuilder("{ ");
+        Cursor c = this.cursor();
+        while (c.avanza())
+            rep.append("'").append(c.llave()).append("': '")
+               .append(c.valor()).append("', ");
+        return rep.append("}").toString();
+    }
+
+    /**
+     * Nos dice si el diccionario es igual al objeto recibido.
+     * @param o el objeto que queremos saber si es igual al diccionario.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         DiccionarioLargoDoble, y tiene las mismas llaves asociadas a
+     *         los mismos valores.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        DiccionarioLargoDoble d = (DiccionarioLargoDoble)o;
+        if (this.elementos != d.elementos) { return false; }
+        Cursor c = this.cursor();
+        while (c.avanza()) {
+            if (!d.contiene(c.llave()) ||
+                Double.compare(d.get(c.llave()), c.valor()) != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Regresa un cursor para recorrer las entradas del diccionario sin
+     * ningún orden específico. El cursor no crea objetos al avanzar.
+     * @return un cursor para recorrer las entradas del diccionario.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public PrimitiveIterator.OfLong iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+}
@@ -0,0 +1,155 @@
+package mx.unam.ciencias.edd;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * <p>Clase abstracta para dispersores incrementales. Un dispersor incremental
+ * recibe la llave por pedazos con los métodos <code>actualiza</code>, y
+ * {@link #finaliza} regresa la misma dispersión que la función
+ * correspondiente de {@link Dispersores} sobre la concatenación de todos los
+ * pedazos. Así se pueden dispersar llaves que no caben en un arreglo, por
+ * ejemplo leyéndolas de un {@link java.nio.channels.FileChannel} o de un
+ * buffer mapeado a memoria.</p>
+ *
+ * <p>Los dispersores incrementales se obtienen con {@link
+ * Dispersores#nuevoDispersor} y {@link Dispersores#nuevoDispersorSip}.
+ * Procesan la llave en bloques de tamaño fijo y sólo guardan los bytes de un
+ * bloque incompleto. Después de {@link #finaliza} el dispersor regresa a su
+ * estado inicial y se puede usar para otra llave.</p>
+ */
+public abstract class DispersorIncremental {
+
+    /* Tamaño del arreglo auxiliar para leer buffers sin arreglo. */
+    private static final int TAMANO_AUXILIAR = 1 << 12;
+
+    /* Los bytes del bloque incompleto. */
+    private byte[] bloque;
+    /* Cuántos bytes tiene el bloque incompleto. */
+    private int pendientes;
+    /* Cuántos bytes ha recibido el dispersor. */
+    private long longitud;
+    /* Si un bloque completo espera a que llegue otro byte para procesarse. */
+    private boolean retiene;
+    /* Arreglo auxiliar para leer buffers sin arreglo. */
+    private byte[] auxiliar;
+
+    /* Construye un dispersor incremental que procesa bloques del tamaño
+     * recibido. Si retiene es verdadero, un bloque completo no se procesa
+     * hasta saber que no es el último. */
+    DispersorIncremental(int tamano, boolean retiene) {
+        this.bloque = new byte[tamano];
+        this.retiene = retiene;
+    }
+
+    /* Procesa el bloque completo que empieza en la posición i. */
+    abstract void procesa(byte[] bytes, int i);
+
+    /* Regresa la dispersión, dados los bytes que no se procesaron y el
+     * número total de bytes de la llave. */
+    abstract int termina(byte[] bytes, int pendientes, long longitud);
+
+    /* Regresa el estado del algoritmo a su estado inicial. */
+    abstract void inicia();
+
+    /**
+     * Agrega todos los bytes del arreglo a la llave.
+     * @param bytes los bytes a agregar.
+     * @throws IllegalArgumentException si el arreglo es nulo.
+     */
+    public void actualiza(byte[] bytes) {
+        if (bytes == null) { throw new IllegalArgumentException(); }
+        this.actualiza(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Agrega los bytes <code>bytes[inicio..inicio + n)</code> a la llave.
+     * @param bytes el arreglo con los bytes a agregar.
+     * @param inicio dónde empiezan los bytes.
+     * @param n cuántos bytes agregar.
+     * @throws IllegalArgumentException si el arreglo es nulo.
+     * @throws IndexOutOfBoundsException si los bytes no están en el arreglo.
+     */
+    public void actualiza(byte[] bytes, int inicio, int n) {
+        if (bytes == null) { throw new IllegalArgumentException(); }
+        if (inicio < 0 || n < 0 || n > bytes.length - inicio)
+            throw new IndexOutOfBoundsException();
+        this.longitud += n;
+        int tamano = this.bloque.length;
+        int fin = inicio + n;
+        int i = inicio;
+        while (i < fin) {
+            if (this.pendientes == tamano) {
+                this.procesa(this.bloque, 0);
+                this.pendientes = 0;
+            }
+            if (this.pendientes == 0) {
+                /* Los bloques completos se procesan sin copiarlos. */
+                int limite = fin - tamano - (this.retiene ? 1 : 0);
+                for (; i <= limite; i += tamano)
+                    this.procesa(bytes, i);
+            }
+            int k = Math.min(tamano - this.pendientes, fin - i);
+            System.arraycopy(bytes, i, this.bloque, this.pendientes, k);
+            this.pendientes += k;
+            i += k;
+            if (this.pendientes == tamano && !this.retiene) {
+                this.procesa(this.bloque, 0);
+                this.pendientes = 0;
+            }
+        }
+    }
+
+    /**
+     * Agrega a la llave los bytes restantes del buffer, y deja su posición en
+     * su límite.
+     * @param buffer el buffer con los bytes a agregar.
+     * @throws IllegalArgumentException si el buffer es nulo.
+     */
+    public void actualiza(ByteBuffer buffer) {
+        if (buffer == null) { throw new IllegalArgumentException(); }
+        if (buffer.hasArray()) {
+            this.actualiza(buffer.array(),
+                           buffer.arrayOffset() + buffer.position(),
+                           buffer.remaining());
+            ((Buffer)buffer).position(buffer.limit());
+            return;
+        }
+        if (this.auxiliar == null)
+            this.auxiliar = new byte[TAMANO_AUXILIAR];
+        while (buffer.hasRemaining()) {
+            int k = Math.min(this.auxiliar.length, buffer.remaining());
+            buffer.get(this.auxiliar, 0, k);
+            this.actualiza(this.auxiliar, 0, k);
+        }
+    }
+
+    /**
+     * Regresa el número de bytes agregados a la llave.
+     * @return el número de bytes agregados a la llave.
+     */
+    public long getLongitud() {
+        return this.longitud;
+    }
+
+    /**
+     * Regresa la dispersión de la llave formada por todos los bytes
+     * agregados, y regresa el dispersor a su estado inicial.
+     * @return la dispersión de la llave.
+     */
+    public int finaliza() {
+        int h = this.termina(this.bloque, this.pendientes, this.longitud);
+        this.reinicia();
+        return h;
+    }
+
+    /**
+     * Descarta los bytes agregados y regresa el dispersor a su estado
+     * inicial.
+     */
+    public void reinicia() {
+        this.pendientes = 0;
+        this.longitud = 0;
+        this.inicia();
+    }
+}
@@ -5,59 +5,362 @@ package mx.unam.ciencias.edd;
  */
 public class Dispersores {
 
+    /* Dispersor incremental XOR. */
+    private static class IncrementalXOR extends DispersorIncremental {
+
+        /* La dispersión de las palabras completas. */
+        private int r;
+
+        /* Construye el dispersor. */
+        public IncrementalXOR() {
+            super(4, false);
+        }
+
+        @Override void procesa(byte[] bytes, int i) {
+            this.r ^= (
+                (bytes[i] & 0xFF) << 24 |
+                (bytes[i+1] & 0xFF) << 16 |
+                (bytes[i+2] & 0xFF) << 8 |
+                (bytes[i+3] & 0xFF)
+            );
+        }
+
+        @Override int termina(byte[] bytes, int pendientes, long longitud) {
+            int t = 0;
+            for (int j = 0; j < pendientes; j++)
+                t |= (bytes[j] & 0xFF) << (24 - 8 * j);
+            return this.r ^ t;
+        }
+
+        @Override void inicia() {
+            this.r = 0;
+        }
+    }
+
+    /* Dispersor incremental de Bob Jenkins. */
+    private static class IncrementalBJ extends DispersorIncremental {
+
+        /* El estado. */
+        private int a, b, c;
+
+        /* Construye el dispersor. */
+        public IncrementalBJ() {
+            super(12, false);
+            this.inicia();
+        }
+
+        @Override void procesa(byte[] bytes, int i) {
+            int a = this.a + lee32(bytes, i);
+            int b = this.b + lee32(bytes, i + 4);
+            int c = this.c + lee32(bytes, i + 8);
+
+            // "Mezcla"
+            a -= b; a -= c; a ^= (c >>> 13);
+            b -= c; b -= a; b ^= (a << 8);
+            c -= a; c -= b; c ^= (b >>> 13);
+            a -= b; a -= c; a ^= (c >>> 12);
+            b -= c; b -= a; b ^= (a << 16);
+            c -= a; c -= b; c ^= (b >>> 5);
+            a -= b; a -= c; a ^= (c >>> 3);
+            b -= c; b -= a; b ^= (a << 10);
+            c -= a; c -= b; c ^= (b >>> 15);
+
+            this.a = a; this.b = b; this.c = c;
+        }
+
+        @Override int termina(byte[] bytes, int pendientes, long longitud) {
+            return terminaBJ(this.a, this.b, this.c, bytes, 0, pendientes,
+                             (int)longitud);
+        }
+
+        @Override void inicia() {
+            this.a = this.b = 0x9e3779b9;
+            this.c = 0xffffffff;
+        }
+    }
+
+    /* Dispersor incremental de Daniel J. Bernstein. */
+    private static class IncrementalDJB extends DispersorIncremental {
+
+        /* La dispersión. */
+        private int h;
+
+        /* Construye el dispersor. */
+        public IncrementalDJB() {
+            super(8, false);
+            this.inicia();
+        }
+
+        @Override void procesa(byte[] bytes, int i) {
+            int h = this.h;
+            for (int j = i; j < i + 8; j++) {
+                h *= 33;
+                h += bytes[j] & 0xFF;
+            }
+            this.h = h;
+        }
+
+        @Override int termina(byte[] bytes, int pendientes, long longitud) {
+            int h = this.h;
+            for (int j = 0; j < pendientes; j++) {
+                h *= 33;
+                h += bytes[j] & 0xFF;
+            }
+            return h;
+        }
+
+        @Override void inicia() {
+            this.h = 5381;
+        }
+    }
+
+    /* Dispersor incremental SipHash-1-3. */
+    private static class IncrementalSip extends DispersorIncremental {
+
+        /* La llave secreta. */
+        private long k0, k1;
+        /* El estado. */
+        private long v0, v1, v2, v3;
+
+        /* Construye el dispersor con la llave secreta. */
+        public IncrementalSip(long k0, long k1) {
+            super(8, false);
+            this.k0 = k0;
+            this.k1 = k1;
+            this.inicia();
+        }
+
+        /* Una ronda de SipHash sobre el estado. */
+        private void ronda() {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0;
+            v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2;
+            v2 = Long.rotateLeft(v2, 32);
+        }
+
+        @Override void procesa(byte[] bytes, int i) {
+            long m = lee64(bytes, i);
+            this.v3 ^= m;
+            this.ronda();
+            this.v0 ^= m;
+        }
+
+        @Override int termina(byte[] bytes, int pendientes, long longitud) {
+            /* El último bloque lleva la longitud en el byte alto. */
+            long m = longitud << 56;
+            for (int j = pendientes - 1; j >= 0; j--)
+                m |= (bytes[j] & 0xFFL) << (8 * j);
+            this.v3 ^= m;
+            this.ronda();
+            this.v0 ^= m;
+            this.v2 ^= 0xFF;
+            for (int r = 0; r < 3; r++)
+                this.ronda();
+            long h = this.v0 ^ this.v1 ^ this.v2 ^ this.v3;
+            return (int)(h ^ (h >>> 32));
+        }
+
+        @Override void inicia() {
+            this.v0 = this.k0 ^ 0x736f6d6570736575L;
+            this.v1 = this.k1 ^ 0x646f72616e646f6dL;
+            this.v2 = this.k0 ^ 0x6c7967656e657261L;
+            this.v3 = this.k1 ^ 0x7465646279746573L;
+        }
+    }
+
+    /* Dispersor incremental MurmurHash3 con semilla 0. */
+    private static class IncrementalMurmur3 extends DispersorIncremental {
+
+        /* La dispersión. */
+        private int h;
+
+        /* Construye el dispersor. */
+        public IncrementalMurmur3() {
+            super(4, false);
+        }
+
+        @Override void procesa(byte[] bytes, int i) {
+            this.h ^= revuelveMurmur3(lee32(bytes, i));
+            this.h = Integer.rotateLeft(this.h, 13);
+            this.h = this.h * 5 + 0xe6546b64;
+        }
+
+        @Override int termina(byte[] bytes, int pendientes, long longitud) {
+            return terminaMurmur3(this.h, bytes, 0, pendientes, (int)longitud);
+        }
+
+        @Override void inicia() {
+            this.h = 0;
+        }
+    }
+
+    /* Dispersor incremental xxHash64 con semilla 0. */
+    private static class IncrementalXX extends DispersorIncremental {
+
+        /* Los acumuladores. */
+        private long v1, v2, v3, v4;
+
+        /* Construye el dispersor. */
+        public IncrementalXX() {
+            super(32, false);
+            this.inicia();
+        }
+
+        @Override void procesa(byte[] bytes, int i) {
+            this.v1 = rondaXX(this.v1, lee64(bytes, i));
+            this.v2 = rondaXX(this.v2, lee64(bytes, i + 8));
+            this.v3 = rondaXX(this.v3, lee64(bytes, i + 16));
+            this.v4 = rondaXX(this.v4, lee64(bytes, i + 24));
+        }
+
+        @Override int termina(byte[] bytes, int pendientes, long longitud) {
+            long h = longitud >= 32 ? juntaXX(v1, v2, v3, v4) : XX_P5;
+            h = terminaXX(h + longitud, bytes, 0, pendientes);
+            return (int)(h ^ (h >>> 32));
+        }
+
+        @Override void inicia() {
+            this.v1 = XX_P1 + XX_P2;
+            this.v2 = XX_P2;
+            this.v3 = 0;
+            this.v4 = -XX_P1;
+        }
+    }
+
+    /* Dispersor incremental wyhash con semilla 0. Un bloque de 48 bytes
+     * sólo se procesa si no es el último, y se guardan sus últimos 16 bytes
+     * porque el final de wyhash puede volver a leerlos. */
+    private static class IncrementalWy extends DispersorIncremental {
+
+        /* La semilla acumulada y las dos semillas auxiliares. */
+        private long semilla, s1, s2;
+        /* Si ya se procesó algún bloque. */
+        private boolean bloques;
+        /* Los últimos 16 bytes procesados, seguidos de los pendientes. */
+        private byte[] ventana;
+
+        /* Construye el dispersor. */
+        public IncrementalWy() {
+            super(48, true);
+            this.ventana = new byte[16 + 48];
+            this.inicia();
+        }
+
+        @Override void procesa(byte[] bytes, int i) {
+            if (!this.bloques) {
+                this.s1 = this.s2 = this.semilla;
+                this.bloques = true;
+            }
+            this.semilla = mezclaWy(lee64(bytes, i) ^ WY_S1,
+                                    lee64(bytes, i + 8) ^ this.semilla);
+            this.s1 = mezclaWy(lee64(bytes, i + 16) ^ WY_S2,
+                               lee64(bytes, i + 24) ^ this.s1);
+            this.s2 = mezclaWy(lee64(bytes, i + 32) ^ WY_S3,
+                               lee64(bytes, i + 40) ^ this.s2);
+            System.arraycopy(bytes, i + 32, this.ventana, 0, 16);
+        }
+
+        @Override int termina(byte[] bytes, int pendientes, long longitud) {
+            long h;
+            if (longitud <= 16) {
+                h = pequenaWy(bytes, pendientes, this.semilla);
+            } else {
+                long semilla = this.semilla;
+                if (this.bloques)
+                    semilla ^= this.s1 ^ this.s2;
+                System.arraycopy(bytes, 0, this.ventana, 16, pendientes);
+                int i = 16, resto = pendientes;
+                while (resto > 16) {
+                    semilla = mezclaWy(lee64(this.ventana, i) ^ WY_S1,
+                                       lee64(this.ventana, i + 8) ^ semilla);
+                    i += 16;
+                    resto -= 16;
+                }
+                h = terminaWy(lee64(this.ventana, i + resto - 16),
+                              lee64(this.ventana, i + resto - 8), semilla,
+                              longitud);
+            }
+            return (int)(h ^ (h >>> 32));
+        }
+
+        @Override void inicia() {
+            this.semilla = mezclaWy(WY_S0, WY_S1);
+            this.bloques = false;
+        }
+    }
+
     /* Constructor privado para evitar instanciación. */
     private Dispersores() {}
 
+    /**
+     * Regresa un nuevo dispersor incremental para el algoritmo recibido. La
+     * dispersión que calcula es la misma que la de {@link
+     * #dispersaXOR(byte[])}, {@link #dispersaBJ(byte[])}, {@link
+     * #dispersaDJB(byte[])}, {@link #dispersaMurmur3(byte[])}, {@link
+     * #dispersaXX(byte[])} o {@link #dispersaWy(byte[])} sobre la llave
+     * completa.
+     * @param algoritmo el algoritmo de dispersión.
+     * @return un nuevo dispersor incremental.
+     * @throws IllegalArgumentException si el algoritmo es {@link
+     *         AlgoritmoDispersor#SIP_STRING}, que necesita una llave secreta
+     *         (ver {@link #nuevoDispersorSip}), o no es reconocido.
+     */
+    public static DispersorIncremental
+    nuevoDispersor(AlgoritmoDispersor algoritmo) {
+        switch (algoritmo) {
+        case XOR_STRING: return new IncrementalXOR();
+        case BJ_STRING: return new IncrementalBJ();
+        case DJB_STRING: return new IncrementalDJB();
+        case MURMUR3_STRING: return new IncrementalMurmur3();
+        case XX_STRING: return new IncrementalXX();
+        case WY_STRING: return new IncrementalWy();
+        case SIP_STRING:
+            throw new IllegalArgumentException("SipHash necesita una llave");
+        default: throw new IllegalArgumentException("Algoritmo inválido");
+        }
+    }
+
+    /**
+     * Regresa un nuevo dispersor incremental SipHash-1-3 con la llave
+     * secreta recibida. La dispersión que calcula es la misma que la de
+     * {@link #dispersaSip} sobre la llave completa.
+     * @param k0 la primera mitad de la llave secreta.
+     * @param k1 la segunda mitad de la llave secreta.
+     * @return un nuevo dispersor incremental.
+     */
+    public static DispersorIncremental nuevoDispersorSip(long k0, long k1) {
+        return new IncrementalSip(k0, k1);
+    }
+
     /**
      * Función de dispersión XOR.
      * @param llave la llave a dispersar.
      * @return la dispersión de XOR de la llave.
      */
     public static int dispersaXOR(byte[] llave) {
-        byte[] k;
-        if(llave.length % 4 != 0) {
-            int l = 4 - (llave.length % 4);
-            k = new byte[llave.length + l];
-            for(int i = 0; i < k.length; i++) {
-                k[i] = i >= llave.length ? (byte) 0 : llave[i];
-            }
-
-        } else { k = llave;}
-
         int r = 0;
-
-        for(int i = 0; i < k.length / 4; i ++) {
-            int m = i * 4;
-            int n = (
-                (k[m] & 0xFF) << 24 |
-                (k[m+1] & 0xFF) << 16 |
-                (k[m+2] & 0xFF) << 8 |
-                (k[m+3] & 0xFF)
+        int n = llave.length;
+        int fin = n - (n % 4);
+        for(int m = 0; m < fin; m += 4) {
+            r ^= (
+                (llave[m] & 0xFF) << 24 |
+                (llave[m+1] & 0xFF) << 16 |
+                (llave[m+2] & 0xFF) << 8 |
+                (llave[m+3] & 0xFF)
             );
-            r ^= n;
         }
-        return r;
-
-    }
-
-    // "Mezcla"
-    private static int[] merge(int a, int b, int c) {
-        int[] r = new int[3];
-        a -= b; a -= c; a ^= (c >>> 13);
-        b -= c; b -= a; b ^= (a << 8);
-        c -= a; c -= b; c ^= (b >>> 13);
-        a -= b; a -= c; a ^= (c >>> 12);
-        b -= c; b -= a; b ^= (a << 16);
-        c -= a; c -= b; c ^= (b >>> 5);
-        a -= b; a -= c; a ^= (c >>> 3);
-        b -= c; b -= a; b ^= (a << 10);
-        c -= a; c -= b; c ^= (b >>> 15);
-        r[0] = a; r[1] = b; r[2] = c;
-        return r;
+        // Los bytes que sobran cuentan como si la llave se rellenara con ceros.
+        int t = 0;
+        for(int m = fin; m < n; m++)
+            t |= (llave[m] & 0xFF) << (24 - 8 * (m - fin));
+        return r ^ t;
     }
 
     /**
-     * Función de dispersión de Bob Jenkins.
+     * Función de dispersión de Bob Jenkins. La mezcla se hace sobre variables
+     * locales, así que la función no crea ningún objeto.
      * @param llave la llave a dispersar.
      * @return la dispersión de Bob Jenkins de la llave.
      */
@@ -87,11 +390,27 @@ public class Dispersores {
                 ((llave[i + 11] & 0xFF) << 24)
             );
 
-            int[] r = merge(a, b, c);
-            a = r[0]; b = r[1]; c = r[2];
+            // "Mezcla"
+            a -= b; a -= c; a ^= (c >>> 13);
+            b -= c; b -= a; b ^= (a << 8);
+            c -= a; c -= b; c ^= (b >>> 13);
+            a -= b; a -= c; a ^= (c >>> 12);
+            b -= c; b -= a; b ^= (a << 16);
+            c -= a; c -= b; c ^= (b >>> 5);
+            a -= b; a -= c; a ^= (c >>> 3);
+            b -= c; b -= a; b ^= (a << 10);
+            c -= a; c -= b; c ^= (b >>> 15);
 
             i += 12; available -= 12;
         }
+        return terminaBJ(a, b, c, llave, i, available, n);
+    }
+
+    /* Agrega a la dispersión de Bob Jenkins los últimos bytes de la llave
+     * (menos de 12, a partir de la posición i) y la longitud de la llave, y
+     * hace la mezcla final. */
+    private static int terminaBJ(int a, int b, int c, byte[] llave, int i,
+                                 int available, int n) {
         c += n;
         switch (available) {
             case 11: c += ((llave[i + 10] & 0xFF) << 24);
@@ -107,8 +426,150 @@ public class Dispersores {
             case 1: a += (llave[i] & 0xFF);
         }
 
-        int[] r = merge(a, b, c);
-        return r[2];
+        // Mezcla final; sólo importa c.
+        a -= b; a -= c; a ^= (c >>> 13);
+        b -= c; b -= a; b ^= (a << 8);
+        c -= a; c -= b; c ^= (b >>> 13);
+        a -= b; a -= c; a ^= (c >>> 12);
+        b -= c; b -= a; b ^= (a << 16);
+        c -= a; c -= b; c ^= (b >>> 5);
+        a -= b; a -= c; a ^= (c >>> 3);
+        b -= c; b -= a; b ^= (a << 10);
+        c -= a; c -= b; c ^= (b >>> 15);
+        return c;
+    }
+
+    /**
+     * Función de dispersión SipHash-1-3 con llave secreta. Sin conocer la
+     * llave secreta no es factible encontrar llaves que choquen, así que un
+     * diccionario que usa una llave secreta aleatoria resiste ataques de
+     * inundación con llaves elegidas.
+     * @param llave la llave a dispersar.
+     * @param k0 la primera mitad de la llave secreta.
+     * @param k1 la segunda mitad de la llave secreta.
+     * @return la dispersión SipHash-1-3 de 64 bits de la llave, doblada a 32
+     *         bits.
+     */
+    public static int dispersaSip(byte[] llave, long k0, long k1) {
+        long h = sipHash(llave, k0, k1, 1, 3);
+        return (int)(h ^ (h >>> 32));
+    }
+
+    /**
+     * Función de dispersión SipHash-1-3 con llave secreta sobre los
+     * caracteres de una cadena, sin codificarla primero en un arreglo de
+     * bytes. Los caracteres se codifican al vuelo en UTF-8, y el resultado es
+     * idéntico al de {@link #dispersaSip(byte[], long, long)} sobre los bytes
+     * UTF-8 de la cadena.
+     * @param cadena la cadena a dispersar.
+     * @param k0 la primera mitad de la llave secreta.
+     * @param k1 la segunda mitad de la llave secreta.
+     * @return la dispersión SipHash-1-3 de 64 bits de la cadena, doblada a
+     *         32 bits.
+     */
+    public static int dispersaSip(CharSequence cadena, long k0, long k1) {
+        long v0 = k0 ^ 0x736f6d6570736575L;
+        long v1 = k1 ^ 0x646f72616e646f6dL;
+        long v2 = k0 ^ 0x6c7967656e657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+        // La palabra en curso y cuántos bytes lleva; el último carácter
+        // codificado y cuántos bytes tiene.
+        long m = 0, u = 0;
+        int p = 0, k = 0, n = 0;
+        int l = cadena.length();
+        for (int i = 0; i <= l;) {
+            long x;
+            if (i == l) {
+                /* El último bloque lleva la longitud en el byte alto. */
+                m |= ((long)n) << 56;
+                i++;
+            } else if (p == 0 && l - i >= 8 &&
+                       (x = palabraASCII64(cadena, i)) >= 0) {
+                m = x;
+                i += 8;
+                n += 8;
+                p = k = 8;
+            } else {
+                char c = cadena.charAt(i);
+                if (c < 0x80) {
+                    u = c; k = 1; i++;
+                } else {
+                    x = codifica(cadena, i, true);
+                    i += caracteres(x);
+                    u = x & 0xFFFFFFFFL;
+                    k = bytes(x);
+                }
+                m |= u << (8 * p);
+                n += k;
+                p += k;
+                if (p < 8)
+                    continue;
+            }
+            v3 ^= m;
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0;
+            v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2;
+            v2 = Long.rotateLeft(v2, 32);
+            v0 ^= m;
+            // Los bytes del carácter que no cupieron empiezan la siguiente.
+            p = Math.max(p - 8, 0);
+            m = p == 0 ? 0 : u >>> (8 * (k - p));
+        }
+        v2 ^= 0xFF;
+        for (int r = 0; r < 3; r++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0;
+            v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2;
+            v2 = Long.rotateLeft(v2, 32);
+        }
+        long h = v0 ^ v1 ^ v2 ^ v3;
+        return (int)(h ^ (h >>> 32));
+    }
+
+    /* SipHash con c rondas por bloque y d rondas finales. */
+    private static long sipHash(byte[] llave, long k0, long k1, int c, int d) {
+        long v0 = k0 ^ 0x736f6d6570736575L;
+        long v1 = k1 ^ 0x646f72616e646f6dL;
+        long v2 = k0 ^ 0x6c7967656e657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+        int n = llave.length;
+        int fin = n - (n % 8);
+        for (int i = 0; i <= fin; i += 8) {
+            long m = 0;
+            if (i < fin) {
+                for (int j = 7; j >= 0; j--)
+                    m = (m << 8) | (llave[i + j] & 0xFFL);
+            } else {
+                /* El último bloque lleva la longitud en el byte alto. */
+                m = ((long)n) << 56;
+                for (int j = n - 1; j >= fin; j--)
+                    m |= (llave[j] & 0xFFL) << (8 * (j - fin));
+            }
+            v3 ^= m;
+            for (int r = 0; r < c; r++) {
+                v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0;
+                v0 = Long.rotateLeft(v0, 32);
+                v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+                v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+                v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2;
+                v2 = Long.rotateLeft(v2, 32);
+            }
+            v0 ^= m;
+        }
+        v2 ^= 0xFF;
+        for (int r = 0; r < d; r++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0;
+            v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2;
+            v2 = Long.rotateLeft(v2, 32);
+        }
+        return v0 ^ v1 ^ v2 ^ v3;
     }
 
     /**
@@ -125,4 +586,924 @@ public class Dispersores {
         return h;
     }
 
+    /**
+     * Función de dispersión MurmurHash3 de 32 bits (x86_32) con semilla 0.
+     * @param llave la llave a dispersar.
+     * @return la dispersión MurmurHash3 de la llave.
+     */
+    public static int dispersaMurmur3(byte[] llave) {
+        return dispersaMurmur3(llave, 0);
+    }
+
+    /**
+     * Función de dispersión MurmurHash3 de 32 bits (x86_32). Lee la llave
+     * en palabras de 4 bytes.
+     * @param llave la llave a dispersar.
+     * @param semilla la semilla.
+     * @return la dispersión MurmurHash3 de la llave.
+     */
+    public static int dispersaMurmur3(byte[] llave, int semilla) {
+        int h = semilla;
+        int n = llave.length;
+        int fin = n & ~3;
+        for (int i = 0; i < fin; i += 4) {
+            h ^= revuelveMurmur3(lee32(llave, i));
+            h = Integer.rotateLeft(h, 13);
+            h = h * 5 + 0xe6546b64;
+        }
+        return terminaMurmur3(h, llave, fin, n & 3, n);
+    }
+
+    /**
+     * Función de dispersión MurmurHash3 de 32 bits (x86_32) con semilla 0
+     * sobre los caracteres de una cadena, sin codificarla primero en un
+     * arreglo de bytes. Los caracteres se codifican al vuelo en UTF-8, y el
+     * resultado es idéntico al de {@link #dispersaMurmur3(byte[])} sobre los
+     * bytes UTF-8 de la cadena.
+     * @param cadena la cadena a dispersar.
+     * @return la dispersión MurmurHash3 de la cadena.
+     */
+    public static int dispersaMurmur3(CharSequence cadena) {
+        return dispersaMurmur3(cadena, 0);
+    }
+
+    /**
+     * Función de dispersión MurmurHash3 de 32 bits (x86_32) sobre los
+     * caracteres de una cadena codificados al vuelo en UTF-8, como {@link
+     * #dispersaMurmur3(CharSequence)}.
+     * @param cadena la cadena a dispersar.
+     * @param semilla la semilla.
+     * @return la dispersión MurmurHash3 de la cadena.
+     */
+    public static int dispersaMurmur3(CharSequence cadena, int semilla) {
+        int h = semilla;
+        // La palabra en curso y cuántos bytes lleva; el último carácter
+        // codificado y cuántos bytes tiene.
+        long m = 0, u = 0;
+        int p = 0, k = 0, n = 0;
+        int l = cadena.length();
+        for (int i = 0; i < l;) {
+            int x;
+            if (p == 0 && l - i >= 4 &&
+                (x = palabraASCII(cadena, i, false)) >= 0) {
+                m = x;
+                i += 4;
+                n += 4;
+                p = k = 4;
+            } else {
+                char c = cadena.charAt(i);
+                if (c < 0x80) {
+                    u = c; k = 1; i++;
+                } else {
+                    long y = codifica(cadena, i, true);
+                    i += caracteres(y);
+                    u = y & 0xFFFFFFFFL;
+                    k = bytes(y);
+                }
+                m |= u << (8 * p);
+                n += k;
+                p += k;
+                if (p < 4)
+                    continue;
+            }
+            h ^= revuelveMurmur3((int)m);
+            h = Integer.rotateLeft(h, 13);
+            h = h * 5 + 0xe6546b64;
+            // Los bytes del carácter que no cupieron empiezan la siguiente.
+            p -= 4;
+            m = p == 0 ? 0 : u >>> (8 * (k - p));
+        }
+        if (p > 0)
+            h ^= revuelveMurmur3((int)m);
+        return dispersaEntero(h ^ n);
+    }
+
+    /* Agrega a la dispersión MurmurHash3 los últimos bytes de la llave
+     * (menos de 4, a partir de la posición i) y la longitud de la llave, y
+     * hace la mezcla final. */
+    private static int terminaMurmur3(int h, byte[] llave, int i, int resto,
+                                      int n) {
+        int k = 0;
+        switch (resto) {
+            case 3: k ^= (llave[i + 2] & 0xFF) << 16;
+            case 2: k ^= (llave[i + 1] & 0xFF) << 8;
+            case 1: k ^= (llave[i] & 0xFF);
+                    h ^= revuelveMurmur3(k);
+        }
+        return dispersaEntero(h ^ n);
+    }
+
+    /**
+     * Función de dispersión para enteros: la mezcla final de MurmurHash3.
+     * Es una biyección, y cada bit de la entrada afecta a todos los bits de
+     * la salida.
+     * @param valor el entero a dispersar.
+     * @return la dispersión del entero.
+     */
+    public static int dispersaEntero(int valor) {
+        valor ^= valor >>> 16;
+        valor *= 0x85ebca6b;
+        valor ^= valor >>> 13;
+        valor *= 0xc2b2ae35;
+        valor ^= valor >>> 16;
+        return valor;
+    }
+
+    /* Revuelve una palabra de la llave para MurmurHash3. */
+    private static int revuelveMurmur3(int k) {
+        k *= 0xcc9e2d51;
+        k = Integer.rotateLeft(k, 15);
+        return k * 0x1b873593;
+    }
+
+    /**
+     * Función de dispersión xxHash64 con semilla 0, doblada a 32 bits.
+     * @param llave la llave a dispersar.
+     * @return la dispersión xxHash64 de la llave, doblada a 32 bits.
+     */
+    public static int dispersaXX(byte[] llave) {
+        long h = dispersaXX64(llave, 0);
+        return (int)(h ^ (h >>> 32));
+    }
+
+    /**
+     * Función de dispersión xxHash64. Lee la llave en palabras de 8 bytes,
+     * con cuatro acumuladores independientes para los bloques de 32 bytes.
+     * @param llave la llave a dispersar.
+     * @param semilla la semilla.
+     * @return la dispersión xxHash64 de 64 bits de la llave.
+     */
+    public static long dispersaXX64(byte[] llave, long semilla) {
+        int n = llave.length;
+        int i = 0;
+        long h;
+        if (n >= 32) {
+            long v1 = semilla + XX_P1 + XX_P2;
+            long v2 = semilla + XX_P2;
+            long v3 = semilla;
+            long v4 = semilla - XX_P1;
+            do {
+                v1 = rondaXX(v1, lee64(llave, i));
+                v2 = rondaXX(v2, lee64(llave, i + 8));
+                v3 = rondaXX(v3, lee64(llave, i + 16));
+                v4 = rondaXX(v4, lee64(llave, i + 24));
+                i += 32;
+            } while (i <= n - 32);
+            h = juntaXX(v1, v2, v3, v4);
+        } else {
+            h = semilla + XX_P5;
+        }
+        h += n;
+        return terminaXX(h, llave, i, n);
+    }
+
+    /**
+     * Función de dispersión xxHash64 con semilla 0 sobre los caracteres de
+     * una cadena, sin codificarla primero en un arreglo de bytes, doblada a
+     * 32 bits. Los caracteres se codifican al vuelo en UTF-8, y el resultado
+     * es idéntico al de {@link #dispersaXX(byte[])} sobre los bytes UTF-8 de
+     * la cadena.
+     * @param cadena la cadena a dispersar.
+     * @return la dispersión xxHash64 de la cadena, doblada a 32 bits.
+     */
+    public static int dispersaXX(CharSequence cadena) {
+        long h = dispersaXX64(cadena, 0);
+        return (int)(h ^ (h >>> 32));
+    }
+
+    /**
+     * Función de dispersión xxHash64 sobre los caracteres de una cadena
+     * codificados al vuelo en UTF-8, como {@link #dispersaXX(CharSequence)}.
+     * @param cadena la cadena a dispersar.
+     * @param semilla la semilla.
+     * @return la dispersión xxHash64 de 64 bits de la cadena.
+     */
+    public static long dispersaXX64(CharSequence cadena, long semilla) {
+        long v1 = semilla + XX_P1 + XX_P2;
+        long v2 = semilla + XX_P2;
+        long v3 = semilla;
+        long v4 = semilla - XX_P1;
+        // Las palabras completas del bloque de 32 bytes en curso, cuántas
+        // son, y si ya se procesó algún bloque.
+        long w0 = 0, w1 = 0, w2 = 0;
+        int q = 0;
+        boolean bloques = false;
+        // La palabra en curso y cuántos bytes lleva; el último carácter
+        // codificado y cuántos bytes tiene.
+        long m = 0, u = 0;
+        int p = 0, k = 0, n = 0;
+        int l = cadena.length();
+        for (int i = 0; i < l;) {
+            long x;
+            if (p == 0 && l - i >= 8 &&
+                (x = palabraASCII64(cadena, i)) >= 0) {
+                m = x;
+                i += 8;
+                n += 8;
+                p = k = 8;
+            } else {
+                char c = cadena.charAt(i);
+                if (c < 0x80) {
+                    u = c; k = 1; i++;
+                } else {
+                    x = codifica(cadena, i, true);
+                    i += caracteres(x);
+                    u = x & 0xFFFFFFFFL;
+                    k = bytes(x);
+                }
+                m |= u << (8 * p);
+                n += k;
+                p += k;
+                if (p < 8)
+                    continue;
+            }
+            switch (q) {
+            case 0: w0 = m; q = 1; break;
+            case 1: w1 = m; q = 2; break;
+            case 2: w2 = m; q = 3; break;
+            default:
+                v1 = rondaXX(v1, w0);
+                v2 = rondaXX(v2, w1);
+                v3 = rondaXX(v3, w2);
+                v4 = rondaXX(v4, m);
+                q = 0;
+                bloques = true;
+            }
+            // Los bytes del carácter que no cupieron empiezan la siguiente.
+            p -= 8;
+            m = p == 0 ? 0 : u >>> (8 * (k - p));
+        }
+        long h = bloques ? juntaXX(v1, v2, v3, v4) : semilla + XX_P5;
+        h += n;
+        if (q > 0)
+            h = palabraXX(h, w0);
+        if (q > 1)
+            h = palabraXX(h, w1);
+        if (q > 2)
+            h = palabraXX(h, w2);
+        return finXX(h, m, p);
+    }
+
+    /* Junta los cuatro acumuladores de xxHash64 en la dispersión. */
+    private static long juntaXX(long v1, long v2, long v3, long v4) {
+        long h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) +
+            Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+        h = mezclaXX(h, v1);
+        h = mezclaXX(h, v2);
+        h = mezclaXX(h, v3);
+        return mezclaXX(h, v4);
+    }
+
+    /* Agrega a la dispersión xxHash64 los últimos bytes de la llave (menos
+     * de 32, de la posición i a la posición fin), y hace la mezcla final. */
+    private static long terminaXX(long h, byte[] llave, int i, int fin) {
+        for (; i + 8 <= fin; i += 8)
+            h = palabraXX(h, lee64(llave, i));
+        long m = 0;
+        for (int j = fin - 1; j >= i; j--)
+            m = (m << 8) | (llave[j] & 0xFFL);
+        return finXX(h, m, fin - i);
+    }
+
+    /* Agrega a la dispersión xxHash64 una palabra completa del final de la
+     * llave. */
+    private static long palabraXX(long h, long palabra) {
+        h ^= rondaXX(0, palabra);
+        return Long.rotateLeft(h, 27) * XX_P1 + XX_P4;
+    }
+
+    /* Agrega a la dispersión xxHash64 los últimos r bytes de la llave (menos
+     * de 8), empacados en little-endian en m, y hace la mezcla final. */
+    private static long finXX(long h, long m, int r) {
+        if (r >= 4) {
+            h ^= (m & 0xFFFFFFFFL) * XX_P1;
+            h = Long.rotateLeft(h, 23) * XX_P2 + XX_P3;
+            m >>>= 32;
+            r -= 4;
+        }
+        for (; r > 0; r--, m >>>= 8) {
+            h ^= (m & 0xFF) * XX_P5;
+            h = Long.rotateLeft(h, 11) * XX_P1;
+        }
+        h ^= h >>> 33;
+        h *= XX_P2;
+        h ^= h >>> 29;
+        h *= XX_P3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    /* Primos de xxHash64. */
+    private static final long XX_P1 = 0x9E3779B185EBCA87L;
+    private static final long XX_P2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long XX_P3 = 0x165667B19E3779F9L;
+    private static final long XX_P4 = 0x85EBCA77C2B2AE63L;
+    private static final long XX_P5 = 0x27D4EB2F165667C5L;
+
+    /* Una ronda de xxHash64 sobre un acumulador. */
+    private static long rondaXX(long acumulador, long palabra) {
+        acumulador += palabra * XX_P2;
+        acumulador = Long.rotateLeft(acumulador, 31);
+        return acumulador * XX_P1;
+    }
+
+    /* Mezcla un acumulador de xxHash64 en la dispersión. */
+    private static long mezclaXX(long h, long acumulador) {
+        h ^= rondaXX(0, acumulador);
+        return h * XX_P1 + XX_P4;
+    }
+
+    /**
+     * Función de dispersión wyhash con semilla 0, doblada a 32 bits.
+     * @param llave la llave a dispersar.
+     * @return la dispersión wyhash de la llave, doblada a 32 bits.
+     */
+    public static int dispersaWy(byte[] llave) {
+        long h = dispersaWy64(llave, 0);
+        return (int)(h ^ (h >>> 32));
+    }
+
+    /**
+     * Función de dispersión wyhash (versión final4, con el secreto
+     * predeterminado). Lee la llave en palabras de 8 bytes y mezcla con
+     * multiplicaciones de 64 por 64 bits.
+     * @param llave la llave a dispersar.
+     * @param semilla la semilla.
+     * @return la dispersión wyhash de 64 bits de la llave.
+     */
+    public static long dispersaWy64(byte[] llave, long semilla) {
+        int n = llave.length;
+        semilla ^= mezclaWy(semilla ^ WY_S0, WY_S1);
+        if (n <= 16)
+            return pequenaWy(llave, n, semilla);
+        int i = 0;
+        int resto = n;
+        if (resto > 48) {
+            long s1 = semilla, s2 = semilla;
+            do {
+                semilla = mezclaWy(lee64(llave, i) ^ WY_S1,
+                                   lee64(llave, i + 8) ^ semilla);
+                s1 = mezclaWy(lee64(llave, i + 16) ^ WY_S2,
+                              lee64(llave, i + 24) ^ s1);
+                s2 = mezclaWy(lee64(llave, i + 32) ^ WY_S3,
+                              lee64(llave, i + 40) ^ s2);
+                i += 48;
+                resto -= 48;
+            } while (resto > 48);
+            semilla ^= s1 ^ s2;
+        }
+        while (resto > 16) {
+            semilla = mezclaWy(lee64(llave, i) ^ WY_S1,
+                               lee64(llave, i + 8) ^ semilla);
+            i += 16;
+            resto -= 16;
+        }
+        return terminaWy(lee64(llave, i + resto - 16),
+                         lee64(llave, i + resto - 8), semilla, n);
+    }
+
+    /**
+     * Función de dispersión wyhash con semilla 0 sobre los caracteres de una
+     * cadena, sin codificarla primero en un arreglo de bytes, doblada a 32
+     * bits. Los caracteres se codifican al vuelo en UTF-8, y el resultado es
+     * idéntico al de {@link #dispersaWy(byte[])} sobre los bytes UTF-8 de la
+     * cadena.
+     * @param cadena la cadena a dispersar.
+     * @return la dispersión wyhash de la cadena, doblada a 32 bits.
+     */
+    public static int dispersaWy(CharSequence cadena) {
+        long h = dispersaWy64(cadena, 0);
+        return (int)(h ^ (h >>> 32));
+    }
+
+    /**
+     * Función de dispersión wyhash sobre los caracteres de una cadena
+     * codificados al vuelo en UTF-8, como {@link #dispersaWy(CharSequence)}.
+     * Como wyhash necesita la longitud de la llave desde el principio, la
+     * cadena se recorre dos veces.
+     * @param cadena la cadena a dispersar.
+     * @param semilla la semilla.
+     * @return la dispersión wyhash de 64 bits de la cadena.
+     */
+    public static long dispersaWy64(CharSequence cadena, long semilla) {
+        int n = longitudUTF8(cadena);
+        semilla ^= mezclaWy(semilla ^ WY_S0, WY_S1);
+        // Cuántas palabras se procesan en bloques de 48 bytes y cuántas en
+        // pares de 16; cada bloque o par sólo se procesa si le siguen más
+        // bytes. El resto, de 1 a 16 bytes, es el final.
+        int bloques = n > 48 ? (n - 1) / 48 * 6 : 0;
+        int resto = n - 8 * bloques;
+        int pares = resto > 16 ? (resto - 1) / 16 * 2 : 0;
+        resto -= 8 * pares;
+        long s1 = semilla, s2 = semilla;
+        // Las palabras pendientes del bloque o par en curso; las dos últimas
+        // palabras procesadas, y las dos palabras del final.
+        long x0 = 0, x1 = 0, x2 = 0, x3 = 0, x4 = 0;
+        long a = 0, b = 0, c = 0, d = 0;
+        // La palabra que sigue, y su posición en el bloque de 48 bytes.
+        int j = 0, f = 0;
+        // La palabra en curso y cuántos bytes lleva; el último carácter
+        // codificado y cuántos bytes tiene.
+        long m = 0, u = 0;
+        int p = 0, k = 0;
+        int l = cadena.length();
+        for (int i = 0; i < l;) {
+            long x;
+            if (p == 0 && l - i >= 8 &&
+                (x = palabraASCII64(cadena, i)) >= 0) {
+                m = x;
+                i += 8;
+                p = k = 8;
+            } else {
+                char ch = cadena.charAt(i);
+                if (ch < 0x80) {
+                    u = ch; k = 1; i++;
+                } else {
+                    x = codifica(cadena, i, true);
+                    i += caracteres(x);
+                    u = x & 0xFFFFFFFFL;
+                    k = bytes(x);
+                }
+                m |= u << (8 * p);
+                p += k;
+                if (p < 8)
+                    continue;
+            }
+            if (j < bloques) {
+                switch (f++) {
+                case 0: x0 = m; break;
+                case 1: x1 = m; break;
+                case 2: x2 = m; break;
+                case 3: x3 = m; break;
+                case 4: x4 = m; break;
+                default:
+                    semilla = mezclaWy(x0 ^ WY_S1, x1 ^ semilla);
+                    s1 = mezclaWy(x2 ^ WY_S2, x3 ^ s1);
+                    s2 = mezclaWy(x4 ^ WY_S3, m ^ s2);
+                    a = x4;
+                    b = m;
+                    f = 0;
+                    if (j == bloques - 1)
+                        semilla ^= s1 ^ s2;
+                }
+            } else if (j < bloques + pares) {
+                if (((j - bloques) & 1) == 0) {
+                    x0 = m;
+                } else {
+                    semilla = mezclaWy(x0 ^ WY_S1, m ^ semilla);
+                    a = x0;
+                    b = m;
+                }
+            } else if (j == bloques + pares) {
+                c = m;
+            } else {
+                d = m;
+            }
+            j++;
+            // Los bytes del carácter que no cupieron empiezan la siguiente.
+            p -= 8;
+            m = p == 0 ? 0 : u >>> (8 * (k - p));
+        }
+        if (p > 0) {
+            if (j == bloques + pares)
+                c = m;
+            else
+                d = m;
+        }
+        if (n <= 16)
+            return pequenaWy(c, d, n, semilla);
+        /* Las dos últimas palabras de la llave pueden empezar en la última
+         * palabra procesada. */
+        return terminaWy(ventana(a, b, c, d, resto),
+                         ventana(a, b, c, d, resto + 8), semilla, n);
+    }
+
+    /* Regresa la dispersión wyhash de una llave de a lo más 16 bytes. */
+    private static long pequenaWy(byte[] llave, int n, long semilla) {
+        long lo = 0, hi = 0;
+        for (int i = n - 1; i >= 8; i--)
+            hi = (hi << 8) | (llave[i] & 0xFFL);
+        for (int i = Math.min(n, 8) - 1; i >= 0; i--)
+            lo = (lo << 8) | (llave[i] & 0xFFL);
+        return pequenaWy(lo, hi, n, semilla);
+    }
+
+    /* Regresa la dispersión wyhash de una llave de a lo más 16 bytes,
+     * empacados en little-endian en lo y hi. */
+    private static long pequenaWy(long lo, long hi, int n, long semilla) {
+        long a, b;
+        if (n >= 4) {
+            int d = (n >>> 3) << 2;
+            a = (ventana(lo, hi, 0, 0, 0) & 0xFFFFFFFFL) << 32 |
+                (ventana(lo, hi, 0, 0, d) & 0xFFFFFFFFL);
+            b = (ventana(lo, hi, 0, 0, n - 4) & 0xFFFFFFFFL) << 32 |
+                (ventana(lo, hi, 0, 0, n - 4 - d) & 0xFFFFFFFFL);
+        } else if (n > 0) {
+            a = (lo & 0xFFL) << 16 | (lo >>> (8 * (n >>> 1)) & 0xFFL) << 8 |
+                (lo >>> (8 * (n - 1)) & 0xFFL);
+            b = 0;
+        } else {
+            a = b = 0;
+        }
+        return terminaWy(a, b, semilla, n);
+    }
+
+    /* Regresa los 8 bytes a partir del byte o, de 0 a 24, de las palabras
+     * consecutivas w0, w1, w2 y w3, en orden little-endian. */
+    private static long ventana(long w0, long w1, long w2, long w3, int o) {
+        long x, y;
+        switch (o >>> 3) {
+        case 0: x = w0; y = w1; break;
+        case 1: x = w1; y = w2; break;
+        case 2: x = w2; y = w3; break;
+        default: x = w3; y = 0;
+        }
+        int s = 8 * (o & 7);
+        return s == 0 ? x : x >>> s | y << (64 - s);
+    }
+
+    /* Hace la mezcla final de wyhash con las dos últimas palabras, la
+     * semilla acumulada y la longitud de la llave. */
+    private static long terminaWy(long a, long b, long semilla, long n) {
+        a ^= WY_S1;
+        b ^= semilla;
+        long bajo = a * b;
+        long alto = multiplicaAlto(a, b);
+        return mezclaWy(bajo ^ WY_S0 ^ n, alto ^ WY_S1);
+    }
+
+    /* El secreto predeterminado de wyhash. */
+    private static final long WY_S0 = 0x2d358dccaa6c78a5L;
+    private static final long WY_S1 = 0x8bb84b93962eacc9L;
+    private static final long WY_S2 = 0x4b33a62ed433d4a3L;
+    private static final long WY_S3 = 0x4d5a2da51de1aa47L;
+
+    /* Multiplica a por b en 128 bits y regresa el xor de ambas mitades. */
+    private static long mezclaWy(long a, long b) {
+        return (a * b) ^ multiplicaAlto(a, b);
+    }
+
+    /* Regresa los 64 bits altos del producto sin signo de a y b. */
+    private static long multiplicaAlto(long a, long b) {
+        long a0 = a & 0xFFFFFFFFL, a1 = a >>> 32;
+        long b0 = b & 0xFFFFFFFFL, b1 = b >>> 32;
+        long p01 = a0 * b1, p10 = a1 * b0;
+        long medio = ((a0 * b0) >>> 32) + (p01 & 0xFFFFFFFFL) +
+            (p10 & 0xFFFFFFFFL);
+        return a1 * b1 + (p01 >>> 32) + (p10 >>> 32) + (medio >>> 32);
+    }
+
+    /* Lee el entero de 32 bits en la posición i, en orden little-endian. */
+    private static int lee32(byte[] llave, int i) {
+        return (llave[i] & 0xFF) |
+            ((llave[i + 1] & 0xFF) << 8) |
+            ((llave[i + 2] & 0xFF) << 16) |
+            ((llave[i + 3] & 0xFF) << 24);
+    }
+
+    /* Lee el entero de 64 bits en la posición i, en orden little-endian. */
+    private static long lee64(byte[] llave, int i) {
+        return (lee32(llave, i) & 0xFFFFFFFFL) |
+            ((long)lee32(llave, i + 4) << 32);
+    }
+
+    /**
+     * Función de dispersión XOR sobre los caracteres de una cadena, sin
+     * codificarla primero en un arreglo de bytes. Cada carácter ASCII cuenta
+     * como un byte, y cualquier otro como dos bytes (el alto primero); para
+     * cadenas ASCII el resultado es idéntico al de {@link
+     * #dispersaXOR(byte[])}.
+     * @param cadena la cadena a dispersar.
+     * @return la dispersión de XOR de la cadena.
+     */
+    public static int dispersaXOR(CharSequence cadena) {
+        return dispersaXOR(cadena, false);
+    }
+
+    /**
+     * Función de dispersión XOR sobre los caracteres de una cadena, sin
+     * codificarla primero en un arreglo de bytes.
+     * @param cadena la cadena a dispersar.
+     * @param utf8 si es <code>true</code>, los caracteres se codifican al
+     *        vuelo en UTF-8 y el resultado es idéntico al de {@link
+     *        #dispersaXOR(byte[])} sobre los bytes UTF-8 de la cadena; si es
+     *        <code>false</code>, se usa la codificación de {@link
+     *        #dispersaXOR(CharSequence)}.
+     * @return la dispersión de XOR de la cadena.
+     */
+    public static int dispersaXOR(CharSequence cadena, boolean utf8) {
+        int r = 0, w = 0, p = 0;
+        int l = cadena.length();
+        for (int i = 0; i < l;) {
+            int x;
+            if (p == 0 && l - i >= 4 &&
+                (x = palabraASCII(cadena, i, true)) >= 0) {
+                r ^= x;
+                i += 4;
+                continue;
+            }
+            long u = codifica(cadena, i, utf8);
+            i += caracteres(u);
+            for (int k = bytes(u), v = (int)u; k > 0; k--, v >>>= 8) {
+                w = (w << 8) | (v & 0xFF);
+                if (++p == 4) {
+                    r ^= w;
+                    w = p = 0;
+                }
+            }
+        }
+        // Los bytes que sobran cuentan como si la llave se rellenara con ceros.
+        if (p > 0)
+            r ^= w << (8 * (4 - p));
+        return r;
+    }
+
+    /**
+     * Función de dispersión de Bob Jenkins sobre los caracteres de una
+     * cadena, sin codificarla primero en un arreglo de bytes. Cada carácter
+     * ASCII cuenta como un byte, y cualquier otro como dos bytes (el alto
+     * primero); para cadenas ASCII el resultado es idéntico al de {@link
+     * #dispersaBJ(byte[])}.
+     * @param cadena la cadena a dispersar.
+     * @return la dispersión de Bob Jenkins de la cadena.
+     */
+    public static int dispersaBJ(CharSequence cadena) {
+        return dispersaBJ(cadena, false);
+    }
+
+    /**
+     * Función de dispersión de Bob Jenkins sobre los caracteres de una
+     * cadena, sin codificarla primero en un arreglo de bytes.
+     * @param cadena la cadena a dispersar.
+     * @param utf8 si es <code>true</code>, los caracteres se codifican al
+     *        vuelo en UTF-8 y el resultado es idéntico al de {@link
+     *        #dispersaBJ(byte[])} sobre los bytes UTF-8 de la cadena; si es
+     *        <code>false</code>, se usa la codificación de {@link
+     *        #dispersaBJ(CharSequence)}.
+     * @return la dispersión de Bob Jenkins de la cadena.
+     */
+    public static int dispersaBJ(CharSequence cadena, boolean utf8) {
+        if (esASCII(cadena))
+            return dispersaBJASCII(cadena);
+        int a = 0x9e3779b9, b = 0x9e3779b9;
+        int c = 0xffffffff;
+        // Las palabras completas del bloque en curso, la palabra en curso y
+        // cuántos bytes lleva el bloque.
+        int x = 0, y = 0, w = 0, p = 0;
+        // Los bytes pendientes del último carácter codificado.
+        int k = 0, v = 0;
+        int n = 0, i = 0, l = cadena.length();
+        while (k > 0 || i < l) {
+            if (k == 0) {
+                if ((v = cadena.charAt(i)) < 0x80) {
+                    i++;
+                    k = 1;
+                } else {
+                    long u = codifica(cadena, i, utf8);
+                    i += caracteres(u);
+                    k = bytes(u);
+                    v = (int)u;
+                }
+            }
+            for (; k > 0 && p < 12; k--, v >>>= 8) {
+                w |= (v & 0xFF) << (8 * (p & 3));
+                n++;
+                if ((++p & 3) != 0 || p == 12)
+                    continue;
+                if (p == 4)
+                    x = w;
+                else
+                    y = w;
+                w = 0;
+            }
+            if (p == 12) {
+                a += x; b += y; c += w;
+
+                // "Mezcla"
+                a -= b; a -= c; a ^= (c >>> 13);
+                b -= c; b -= a; b ^= (a << 8);
+                c -= a; c -= b; c ^= (b >>> 13);
+                a -= b; a -= c; a ^= (c >>> 12);
+                b -= c; b -= a; b ^= (a << 16);
+                c -= a; c -= b; c ^= (b >>> 5);
+                a -= b; a -= c; a ^= (c >>> 3);
+                b -= c; b -= a; b ^= (a << 10);
+                c -= a; c -= b; c ^= (b >>> 15);
+
+                x = y = w = p = 0;
+            }
+        }
+        // En la cola, el byte bajo de c es para la longitud.
+        c += n;
+        if (p < 4)
+            a += w;
+        else if (p < 8) {
+            a += x; b += w;
+        } else {
+            a += x; b += y; c += w << 8;
+        }
+
+        // Mezcla final; sólo importa c.
+        a -= b; a -= c; a ^= (c >>> 13);
+        b -= c; b -= a; b ^= (a << 8);
+        c -= a; c -= b; c ^= (b >>> 13);
+        a -= b; a -= c; a ^= (c >>> 12);
+        b -= c; b -= a; b ^= (a << 16);
+        c -= a; c -= b; c ^= (b >>> 5);
+        a -= b; a -= c; a ^= (c >>> 3);
+        b -= c; b -= a; b ^= (a << 10);
+        c -= a; c -= b; c ^= (b >>> 15);
+        return c;
+    }
+
+    /**
+     * Función de dispersión de Daniel J. Bernstein sobre los caracteres de
+     * una cadena, sin codificarla primero en un arreglo de bytes. Cada
+     * carácter ASCII cuenta como un byte, y cualquier otro como dos bytes (el
+     * alto primero); para cadenas ASCII el resultado es idéntico al de {@link
+     * #dispersaDJB(byte[])}.
+     * @param cadena la cadena a dispersar.
+     * @return la dispersión de Daniel Bernstein de la cadena.
+     */
+    public static int dispersaDJB(CharSequence cadena) {
+        return dispersaDJB(cadena, false);
+    }
+
+    /**
+     * Función de dispersión de Daniel J. Bernstein sobre los caracteres de
+     * una cadena, sin codificarla primero en un arreglo de bytes.
+     * @param cadena la cadena a dispersar.
+     * @param utf8 si es <code>true</code>, los caracteres se codifican al
+     *        vuelo en UTF-8 y el resultado es idéntico al de {@link
+     *        #dispersaDJB(byte[])} sobre los bytes UTF-8 de la cadena; si es
+     *        <code>false</code>, se usa la codificación de {@link
+     *        #dispersaDJB(CharSequence)}.
+     * @return la dispersión de Daniel Bernstein de la cadena.
+     */
+    public static int dispersaDJB(CharSequence cadena, boolean utf8) {
+        int h = 5381;
+        int l = cadena.length();
+        for (int i = 0; i < l;) {
+            char c = cadena.charAt(i);
+            if (c < 0x80) {
+                h *= 33;
+                h += c;
+                i++;
+                continue;
+            }
+            long u = codifica(cadena, i, utf8);
+            i += caracteres(u);
+            for (int k = bytes(u), v = (int)u; k > 0; k--, v >>>= 8) {
+                h *= 33;
+                h += v & 0xFF;
+            }
+        }
+        return h;
+    }
+
+    /* Función de dispersión de Bob Jenkins para cadenas ASCII; cada carácter
+     * es un byte. */
+    private static int dispersaBJASCII(CharSequence cadena) {
+        int a = 0x9e3779b9, b = 0x9e3779b9;
+        int c = 0xffffffff;
+        int i = 0, available = cadena.length(), n = cadena.length();
+        while(available >= 12) {
+            a += palabraASCII(cadena, i, false);
+            b += palabraASCII(cadena, i + 4, false);
+            c += palabraASCII(cadena, i + 8, false);
+
+            // "Mezcla"
+            a -= b; a -= c; a ^= (c >>> 13);
+            b -= c; b -= a; b ^= (a << 8);
+            c -= a; c -= b; c ^= (b >>> 13);
+            a -= b; a -= c; a ^= (c >>> 12);
+            b -= c; b -= a; b ^= (a << 16);
+            c -= a; c -= b; c ^= (b >>> 5);
+            a -= b; a -= c; a ^= (c >>> 3);
+            b -= c; b -= a; b ^= (a << 10);
+            c -= a; c -= b; c ^= (b >>> 15);
+
+            i += 12; available -= 12;
+        }
+        c += n;
+        switch (available) {
+            case 11: c += (cadena.charAt(i + 10) << 24);
+            case 10: c += (cadena.charAt(i + 9) << 16);
+            case 9: c += (cadena.charAt(i + 8) << 8);
+            case 8: b += (cadena.charAt(i + 7) << 24);
+            case 7: b += (cadena.charAt(i + 6) << 16);
+            case 6: b += (cadena.charAt(i + 5) << 8);
+            case 5: b += cadena.charAt(i + 4);
+            case 4: a += (cadena.charAt(i + 3) << 24);
+            case 3: a += (cadena.charAt(i + 2) << 16);
+            case 2: a += (cadena.charAt(i + 1) << 8);
+            case 1: a += cadena.charAt(i);
+        }
+
+        // Mezcla final; sólo importa c.
+        a -= b; a -= c; a ^= (c >>> 13);
+        b -= c; b -= a; b ^= (a << 8);
+        c -= a; c -= b; c ^= (b >>> 13);
+        a -= b; a -= c; a ^= (c >>> 12);
+        b -= c; b -= a; b ^= (a << 16);
+        c -= a; c -= b; c ^= (b >>> 5);
+        a -= b; a -= c; a ^= (c >>> 3);
+        b -= c; b -= a; b ^= (a << 10);
+        c -= a; c -= b; c ^= (b >>> 15);
+        return c;
+    }
+
+    /* Regresa si todos los caracteres de la cadena son ASCII. */
+    private static boolean esASCII(CharSequence cadena) {
+        int l = cadena.length();
+        for (int i = 0; i < l; i++)
+            if (cadena.charAt(i) >= 0x80)
+                return false;
+        return true;
+    }
+
+    /* Codifica el carácter de la cadena en la posición i. Regresa los bytes
+     * empacados en los 32 bits bajos (el primero en el byte menos
+     * significativo), el número de bytes en los bits 32 a 39 y el número de
+     * caracteres consumidos en los bits 40 a 47. En UTF-8 un sustituto sin
+     * pareja se codifica como '?', igual que String.getBytes. */
+    private static long codifica(CharSequence cadena, int i, boolean utf8) {
+        char c = cadena.charAt(i);
+        int v, k, m = 1;
+        if (c < 0x80) {
+            v = c; k = 1;
+        } else if (!utf8) {
+            v = (c >>> 8) | (c & 0xFF) << 8; k = 2;
+        } else if (c < 0x800) {
+            v = (0xC0 | c >>> 6) | (0x80 | c & 0x3F) << 8; k = 2;
+        } else if (!Character.isSurrogate(c)) {
+            v = (0xE0 | c >>> 12) | (0x80 | c >>> 6 & 0x3F) << 8 |
+                (0x80 | c & 0x3F) << 16;
+            k = 3;
+        } else if (Character.isHighSurrogate(c) && i + 1 < cadena.length() &&
+                   Character.isLowSurrogate(cadena.charAt(i + 1))) {
+            int q = Character.toCodePoint(c, cadena.charAt(i + 1));
+            v = (0xF0 | q >>> 18) | (0x80 | q >>> 12 & 0x3F) << 8 |
+                (0x80 | q >>> 6 & 0x3F) << 16 | (0x80 | q & 0x3F) << 24;
+            k = 4; m = 2;
+        } else {
+            v = '?'; k = 1;
+        }
+        return (v & 0xFFFFFFFFL) | (long)k << 32 | (long)m << 40;
+    }
+
+    /* Regresa la palabra formada por los cuatro caracteres de la cadena a
+     * partir de la posición i, en orden de bytes de mayor o menor
+     * significancia, o -1 si alguno no es ASCII. */
+    private static int palabraASCII(CharSequence cadena, int i,
+                                    boolean mayor) {
+        int c0 = cadena.charAt(i), c1 = cadena.charAt(i + 1);
+        int c2 = cadena.charAt(i + 2), c3 = cadena.charAt(i + 3);
+        if ((c0 | c1 | c2 | c3) >= 0x80)
+            return -1;
+        return mayor ? c0 << 24 | c1 << 16 | c2 << 8 | c3
+                     : c0 | c1 << 8 | c2 << 16 | c3 << 24;
+    }
+
+    /* Regresa la palabra formada por los ocho caracteres de la cadena a
+     * partir de la posición i, en orden little-endian, o -1 si alguno no es
+     * ASCII. */
+    private static long palabraASCII64(CharSequence cadena, int i) {
+        long x = palabraASCII(cadena, i, false);
+        long y = palabraASCII(cadena, i + 4, false);
+        return (x | y) < 0 ? -1 : x | y << 32;
+    }
+
+    /* Regresa el número de bytes de la cadena codificada en UTF-8, contando
+     * como un byte cada sustituto sin pareja, igual que codifica(). Los
+     * bytes de más se suman sin saltos, porque en texto mezclado serían
+     * difíciles de predecir. */
+    private static int longitudUTF8(CharSequence cadena) {
+        int l = cadena.length();
+        int n = l;
+        for (int i = 0; i < l; i++) {
+            char c = cadena.charAt(i);
+            n += (0x7F - c) >>> 31;
+            n += (0x7FF - c) >>> 31;
+            if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < l &&
+                    Character.isLowSurrogate(cadena.charAt(i + 1)))
+                    i++;
+                else
+                    n -= 2;
+            }
+        }
+        return n;
+    }
+
+    /* Regresa el número de bytes de un carácter codificado. */
+    private static int bytes(long codificado) {
+        return (int)(codificado >>> 32) & 0xFF;
+    }
+
+    /* Regresa el número de caracteres consumidos por un carácter
+     * codificado. */
+    private static int caracteres(long codificado) {
+        return (int)(codificado >>> 40);
+    }
 }
@@ -44,13 +44,13 @@ public class Grafica<T> implements Coleccion<T> {
         /* El índice del vértice. */
         public int indice;
         /* La lista de vecinos del vértice. */
-        public Diccionario<T, Vecino> vecinos;
+        public DiccionarioAbierto<T, Vecino> vecinos;
 
         /* Crea un nuevo vértice a partir de un elemento. */
         public Vertice(T elemento) {
             this.elemento = elemento;
             this.color = Color.NINGUNO;
-            this.vecinos = new Diccionario<T, Vecino>();
+            this.vecinos = new DiccionarioAbierto<T, Vecino>();
         }
 
         /* Regresa el elemento del vértice. */
@@ -134,7 +134,7 @@ public class Grafica<T> implements Coleccion<T> {
     }
 
     /* Vértices. */
-    private Diccionario<T, Vertice> vertices;
+    private DiccionarioAbierto<T, Vertice> vertices;
     /* Número de aristas. */
     private int aristas;
 
@@ -142,7 +142,7 @@ public class Grafica<T> implements Coleccion<T> {
      * Constructor único.
      */
     public Grafica() {
-        this.vertices = new Diccionario<T, Vertice>();
+        this.vertices = new DiccionarioAbierto<T, Vertice>();
     }
 
     /**
@@ -197,9 +197,7 @@ public class Grafica<T> implements Coleccion<T> {
      * @return Vertice encontrado.
      */
     private Vertice getV(T elemento) {
-        if (this.vertices.contiene(elemento))
-            return this.vertices.get(elemento);
-        return null;
+        return this.vertices.getOrDefault(elemento, null);
     }
 
     /**
@@ -209,9 +207,7 @@ public class Grafica<T> implements Coleccion<T> {
      * @return Vecino encontrado
      */
     private Vecino getN(Vertice v, Vertice u) {
-        if(v.vecinos.contiene(u.get()))
-            return v.vecinos.get(u.get());
-        return null;
+        return v.vecinos.getOrDefault(u.get(), null);
     }
 
     /**
@@ -302,9 +298,12 @@ public class Grafica<T> implements Coleccion<T> {
         Vertice v = this.getV(elemento);
         if (v == null) { throw new NoSuchElementException(); }
 
+        // No podemos eliminar de v.vecinos mientras lo recorremos.
         for (Vecino u: v.vecinos) {
-            this.desconecta(v.elemento, u.vecino.elemento);
+            u.vecino.vecinos.elimina(v.elemento);
+            this.aristas -= 1;
         }
+        v.vecinos.limpia();
         this.vertices.elimina(v.get());
     }
 
@@ -559,7 +558,7 @@ public class Grafica<T> implements Coleccion<T> {
         if (g.getElementos() != this.getElementos()) { return false; }
 
         for(Vertice v: this.vertices) {
-            Vertice u = g.vertices.get(v.get());
+            Vertice u = g.vertices.getOrDefault(v.get(), null);
             if(u == null) { return false; }
             for(Vecino n: v.vecinos) {
                 if(!u.vecinos.contiene(n.get())) { return false; }
@@ -0,0 +1,154 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Clase para estimar el número de elementos distintos de una secuencia con
+ * el algoritmo HyperLogLog, usando una cantidad fija de memoria.</p>
+ *
+ * <p>Con precisión <em>b</em> el estimador usa <em>m</em> = 2<sup><em>b</em>
+ * </sup> registros de un byte, y su error estándar relativo es
+ * 1.04/√<em>m</em>: con <em>b</em> = 14 (16 KB) es de 0.81%, y el estimado
+ * queda dentro de dos errores estándar del valor real en el 95% de los casos.
+ * Para cardinalidades pequeñas se usa conteo lineal, que es casi exacto.</p>
+ *
+ * <p>Las dispersiones se revuelven con {@link Dispersores#dispersaEntero}
+ * antes de usarse, así que funcionan incluso dispersores como
+ * <code>hashCode</code> de {@link Integer}, que no distribuyen sus bits.
+ * Como las dispersiones son de 32 bits, dos elementos con la misma dispersión
+ * cuentan como uno, y el estimado pierde precisión arriba de unos cientos de
+ * millones de elementos distintos.</p>
+ *
+ * @param <T> el tipo de los elementos a contar.
+ */
+public class HyperLogLog<T> {
+
+    /** Precisión mínima. */
+    public static final int MINIMA_PRECISION = 4;
+    /** Precisión máxima. */
+    public static final int MAXIMA_PRECISION = 16;
+
+    /* 2 elevado a la 32. */
+    private static final double DOS_32 = 4294967296.0;
+
+    /* Los registros. */
+    private byte[] registros;
+    /* La precisión. */
+    private int precision;
+    /* El dispersor. */
+    private Dispersor<T> dispersor;
+
+    /**
+     * Construye un estimador con la precisión recibida, que dispersa los
+     * elementos con su método <code>hashCode</code>.
+     * @param precision el logaritmo base 2 del número de registros.
+     * @throws IllegalArgumentException si la precisión no está entre {@link
+     *         #MINIMA_PRECISION} y {@link #MAXIMA_PRECISION}.
+     */
+    public HyperLogLog(int precision) {
+        this(precision, (T elemento) -> elemento.hashCode());
+    }
+
+    /**
+     * Construye un estimador con la precisión y el dispersor recibidos.
+     * @param precision el logaritmo base 2 del número de registros.
+     * @param dispersor el dispersor a utilizar.
+     * @throws IllegalArgumentException si la precisión no está entre {@link
+     *         #MINIMA_PRECISION} y {@link #MAXIMA_PRECISION}, o el dispersor
+     *         es <code>null</code>.
+     */
+    public HyperLogLog(int precision, Dispersor<T> dispersor) {
+        if (precision < MINIMA_PRECISION || precision > MAXIMA_PRECISION ||
+            dispersor == null)
+            throw new IllegalArgumentException();
+        this.precision = precision;
+        this.registros = new byte[1 << precision];
+        this.dispersor = dispersor;
+    }
+
+    /**
+     * Agrega un elemento a la secuencia.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es <code>null</code>.
+     */
+    public void agrega(T elemento) {
+        if (elemento == null) { throw new IllegalArgumentException(); }
+        int h = Dispersores.dispersaEntero(this.dispersor.dispersa(elemento));
+        int i = h >>> (32 - this.precision);
+        /* El bit centinela acota el rango a 32 - precision + 1. */
+        int w = (h << this.precision) | (1 << (this.precision - 1));
+        byte rango = (byte)(Integer.numberOfLeadingZeros(w) + 1);
+        if (rango > this.registros[i])
+            this.registros[i] = rango;
+    }
+
+    /**
+     * Regresa el estimado del número de elementos distintos agregados.
+     * @return el estimado del número de elementos distintos.
+     */
+    public long estima() {
+        int m = this.registros.length;
+        double suma = 0;
+        int ceros = 0;
+        for (byte r : this.registros) {
+            suma += Double.longBitsToDouble((1023L - r) << 52);
+            if (r == 0)
+                ceros++;
+        }
+        double e = alfa(m) * m * m / suma;
+        if (e <= 2.5 * m && ceros > 0)
+            e = m * Math.log((double)m / ceros);
+        else if (e > DOS_32 / 30)
+            e = -DOS_32 * Math.log(1 - Math.min(e / DOS_32, 0.999999));
+        return Math.round(e);
+    }
+
+    /* Regresa la constante de corrección para m registros. */
+    private static double alfa(int m) {
+        switch (m) {
+        case 16: return 0.673;
+        case 32: return 0.697;
+        case 64: return 0.709;
+        default: return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    /**
+     * Regresa el error estándar relativo del estimador, 1.04/√<em>m</em>.
+     * @return el error estándar relativo del estimador.
+     */
+    public double errorEstandar() {
+        return 1.04 / Math.sqrt(this.registros.length);
+    }
+
+    /**
+     * Regresa la precisión del estimador.
+     * @return la precisión del estimador.
+     */
+    public int getPrecision() {
+        return this.precision;
+    }
+
+    /**
+     * Combina el estimador recibido con éste, de manera que éste estime los
+     * elementos distintos de la unión de ambas secuencias. Los dos
+     * estimadores deben usar el mismo dispersor.
+     * @param estimador el estimador a combinar con éste.
+     * @throws IllegalArgumentException si el estimador es <code>null</code> o
+     *         tiene otra precisión.
+     */
+    public void combina(HyperLogLog<T> estimador) {
+        if (estimador == null || estimador.precision != this.precision)
+            throw new IllegalArgumentException();
+        for (int i = 0; i < this.registros.length; i++)
+            if (estimador.registros[i] > this.registros[i])
+                this.registros[i] = estimador.registros[i];
+    }
+
+    /**
+     * Limpia el estimador, dejándolo como si no se hubiera agregado ningún
+     * elemento.
+     */
+    public void limpia() {
+        for (int i = 0; i < this.registros.length; i++)
+            this.registros[i] = 0;
+    }
+}
@@ -1,5 +1,6 @@
 package mx.unam.ciencias.edd;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -11,6 +12,12 @@ import java.util.NoSuchElementException;
  * eliminar elementos de la lista, comprobar si un elemento está o no en la
  * lista, y otras operaciones básicas.</p>
  *
+ * <p>Los accesos por índice caminan desde el nodo más cercano entre la
+ * cabeza, el rabo y el último nodo al que se llegó por índice, así que
+ * recorrer la lista con índices consecutivos toma tiempo lineal. Para accesos
+ * al azar en listas largas, la lista puede indexarse con {@link
+ * #setIndexada}.</p>
+ *
  * <p>Las listas no aceptan a <code>null</code> como elemento.</p>
  *
  * @param <T> El tipo de los elementos de la lista.
@@ -91,12 +98,30 @@ public class Lista<T> implements Coleccion<T> {
         }
     }
 
+    /* Victorias seguidas de una corrida para galopar al ordenar. */
+    private static final int GALOPE = 7;
+
     /* Primer elemento de la lista. */
     private Nodo cabeza;
     /* Último elemento de la lista. */
     private Nodo rabo;
     /* Número de elementos en la lista. */
     private int longitud;
+    /* El último nodo al que se llegó por índice, o null. */
+    private Nodo dedo;
+    /* El índice del dedo. */
+    private int indiceDedo;
+    /* Las marcas del índice: el nodo en cada posición múltiplo del
+     * intervalo; null si la lista no está indexada. */
+    private Object[] marcas;
+    /* El número de marcas. */
+    private int nmarcas;
+    /* La distancia entre marcas: una potencia de dos cercana a la raíz
+     * cuadrada de la longitud. */
+    private int intervalo;
+
+    /* El intervalo mínimo entre marcas. */
+    private static final int INTERVALO_MINIMO = 16;
 
     /**
      * Regresa la longitud de la lista. El método es idéntico a {@link
@@ -155,6 +180,7 @@ public class Lista<T> implements Coleccion<T> {
             nodo.anterior = rabo;
             rabo = nodo;
         }
+        insertado(nodo, longitud - 1);
     }
 
     /**
@@ -189,6 +215,7 @@ public class Lista<T> implements Coleccion<T> {
             nodo.siguiente = cabeza;
             cabeza = nodo;
         }
+        insertado(nodo, 0);
     }
 
     /**
@@ -217,19 +244,64 @@ public class Lista<T> implements Coleccion<T> {
             agregaFinal(elemento);
         }
         else {
-            longitud += 1;
             Nodo nodo = new Nodo(elemento);
 
             Nodo leftNode = getNodo(i - 1);
             Nodo rightNode = leftNode.siguiente;
+            longitud += 1;
             leftNode.siguiente = nodo;
             rightNode.anterior = nodo;
 
             nodo.siguiente = rightNode;
             nodo.anterior = leftNode;
+            insertado(nodo, i);
         }
     }
 
+    /* Actualiza el dedo y las marcas porque se insertó el nodo en el índice
+     * i; la longitud ya incluye al nodo. El nodo queda como dedo. */
+    private void insertado(Nodo nodo, int i) {
+        dedo = nodo;
+        indiceDedo = i;
+        if (marcas == null)
+            return;
+        /* Las marcas desde i quedan un nodo antes de su posición. */
+        for (int j = (i + intervalo - 1) / intervalo; j < nmarcas; j++)
+            marcas[j] = marca(j).anterior;
+        if ((longitud - 1) % intervalo == 0) {
+            if (nmarcas == marcas.length)
+                marcas = Arrays.copyOf(marcas, 2 * nmarcas);
+            marcas[nmarcas++] = rabo;
+        }
+        if (longitud > 2L * intervalo * intervalo)
+            reindexa();
+    }
+
+    /* Desenlaza el nodo, que está en el índice i, y actualiza la longitud,
+     * el dedo y las marcas. */
+    private void eliminaNodo(Nodo n, int i) {
+        if (marcas != null) {
+            /* Las marcas desde i pasan al nodo siguiente; si la última era el
+             * rabo, desaparece. */
+            for (int j = (i + intervalo - 1) / intervalo; j < nmarcas; j++)
+                marcas[j] = marca(j).siguiente;
+            if (nmarcas > 0 && marcas[nmarcas - 1] == null)
+                nmarcas--;
+        }
+        if (dedo == n) {
+            dedo = n.siguiente != null ? n.siguiente : n.anterior;
+            if (n.siguiente == null)
+                indiceDedo--;
+        } else if (dedo != null && indiceDedo > i) {
+            indiceDedo--;
+        }
+        enlaza(n.anterior, n.siguiente);
+        longitud -= 1;
+        if (marcas != null && intervalo > INTERVALO_MINIMO &&
+            8L * longitud < (long)intervalo * intervalo)
+            reindexa();
+    }
+
     /**
      * Regresa primer nodo de la lista que  sea igual al elemento.
      * Si no lo encuentra, regresa null.
@@ -254,21 +326,11 @@ public class Lista<T> implements Coleccion<T> {
      * @param elemento el elemento a eliminar.
      */
     @Override public void elimina(T elemento) {
-        Nodo n = buscaNodo(elemento);
-        if (n != null) {
-            longitud -= 1;
-            if (cabeza == rabo) {
-                cabeza = null;
-                rabo = null;
-            } else if (n == cabeza) {
-                n.siguiente.anterior = null;
-                cabeza = n.siguiente;
-            } else if (n == rabo) {
-                n.anterior.siguiente = null;
-                rabo = n.anterior;
-            } else {
-                n.anterior.siguiente = n.siguiente;
-                n.siguiente.anterior = n.anterior;
+        int i = 0;
+        for (Nodo n = cabeza; n != null; n = n.siguiente, i++) {
+            if (n.elemento.equals(elemento)) {
+                eliminaNodo(n, i);
+                return;
             }
         }
     }
@@ -284,9 +346,8 @@ public class Lista<T> implements Coleccion<T> {
         }
 
         T e = cabeza.elemento;
-        elimina(e);
+        eliminaNodo(cabeza, 0);
         return e;
-
     }
 
     /**
@@ -299,14 +360,7 @@ public class Lista<T> implements Coleccion<T> {
             throw new NoSuchElementException();
         }
         T e = rabo.elemento;
-        longitud -= 1;
-        if (cabeza == rabo) {
-            cabeza = null;
-            rabo = null;
-        } else {
-            rabo.anterior.siguiente = null;
-            rabo = rabo.anterior;
-        }
+        eliminaNodo(rabo, longitud - 1);
         return e;
     }
 
@@ -353,6 +407,9 @@ public class Lista<T> implements Coleccion<T> {
         cabeza = null;
         rabo = null;
         longitud = 0;
+        dedo = null;
+        if (marcas != null)
+            reindexa();
     }
 
     /**
@@ -380,7 +437,9 @@ public class Lista<T> implements Coleccion<T> {
     }
 
     /**
-     * Regresa el <em>i</em>-ésimo nodo de la lista.
+     * Regresa el <em>i</em>-ésimo nodo de la lista. Camina desde el más
+     * cercano de la cabeza, el rabo, el dedo y, si la lista está indexada, la
+     * marca más cercana; el nodo queda como dedo.
      * @param i el índice del elemento que queremos.
      * @return el <em>i</em>-ésimo nodo de la lista.
      * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor o
@@ -392,11 +451,80 @@ public class Lista<T> implements Coleccion<T> {
         }
 
         Nodo nodo = cabeza;
-        while(i-- > 0)
+        int desde = 0;
+        if (longitud - 1 - i < i) {
+            nodo = rabo;
+            desde = longitud - 1;
+        }
+        if (dedo != null &&
+            Math.abs(i - indiceDedo) < Math.abs(i - desde)) {
+            nodo = dedo;
+            desde = indiceDedo;
+        }
+        if (marcas != null && nmarcas > 0) {
+            int j = Math.min((i + intervalo / 2) / intervalo, nmarcas - 1);
+            if (Math.abs(i - j * intervalo) < Math.abs(i - desde)) {
+                nodo = marca(j);
+                desde = j * intervalo;
+            }
+        }
+        for (; desde < i; desde++)
             nodo = nodo.siguiente;
+        for (; desde > i; desde--)
+            nodo = nodo.anterior;
+        dedo = nodo;
+        indiceDedo = i;
         return nodo;
     }
 
+    /* Regresa la j-ésima marca. */
+    @SuppressWarnings("unchecked") private Nodo marca(int j) {
+        return (Nodo)marcas[j];
+    }
+
+    /* Reconstruye las marcas, con el intervalo más chico tal que la longitud
+     * no pase de dos veces su cuadrado. */
+    private void reindexa() {
+        int k = INTERVALO_MINIMO;
+        while (2L * k * k < longitud)
+            k <<= 1;
+        intervalo = k;
+        nmarcas = 0;
+        marcas = new Object[Math.max(4, 2 * ((longitud + k - 1) / k))];
+        int i = 0;
+        for (Nodo n = cabeza; n != null; n = n.siguiente, i++)
+            if (i % k == 0)
+                marcas[nmarcas++] = n;
+    }
+
+    /**
+     * Define si la lista está indexada. Una lista indexada guarda, además
+     * del último nodo al que se llegó por índice, una referencia a cada
+     * <em>k</em>-ésimo nodo, con <em>k</em> cercano a la raíz cuadrada de
+     * la longitud. Así {@link #get} e {@link #inserta} toman tiempo
+     * <em>O</em>(&radic;<em>n</em>) en lugar de <em>O</em>(<em>n</em>), con
+     * memoria extra <em>O</em>(&radic;<em>n</em>); agregar al final sigue
+     * tomando tiempo constante amortizado. Indexar la lista toma tiempo
+     * <em>O</em>(<em>n</em>).
+     * @param indexada si la lista debe estar indexada.
+     */
+    public void setIndexada(boolean indexada) {
+        if (!indexada)
+            marcas = null;
+        else if (marcas == null)
+            reindexa();
+    }
+
+    /**
+     * Nos dice si la lista está indexada.
+     * @return <code>true</code> si la lista está indexada, <code>false</code>
+     *         en otro caso.
+     * @see #setIndexada
+     */
+    public boolean esIndexada() {
+        return marcas != null;
+    }
+
     /**
      * Regresa el <em>i</em>-ésimo elemento de la lista.
      * @param i el índice del elemento que queremos.
@@ -416,14 +544,13 @@ public class Lista<T> implements Coleccion<T> {
      *         no está contenido en la lista.
      */
     public int indiceDe(T elemento) {
-        if (cabeza == null && rabo == null) { return -1; }
         int c = 0;
-        Iterator<T> i = iteradorLista();
-        while(i.hasNext()) {
-            if(i.next().equals(elemento)) {
+        for (Nodo n = cabeza; n != null; n = n.siguiente, c++) {
+            if (n.elemento.equals(elemento)) {
+                dedo = n;
+                indiceDedo = c;
                 return c;
             }
-            c++;
         }
         return -1;
     }
@@ -483,41 +610,6 @@ public class Lista<T> implements Coleccion<T> {
         return new Iterador();
     }
 
-    /**
-     * Dadas dos listas ordenadas, l y r, regresa una nueva lista ordenada
-     * resultado de unir ambas.
-     * @param l lista ordenada (con al menos un elemento).
-     * @param r lista ordenada (con al menos un elemento).
-     * @param comparador el comparador que la lista usará para hacer el ordenamiento.
-     * @return una nueva lista ordenada.
-     */
-    private Lista<T> MSMerge(Lista<T> l, Lista<T> r, Comparator<T> comparador) {
-        Lista<T> newList = new Lista<>();
-        Nodo nodoA = l.cabeza;
-        Nodo nodoB = r.cabeza;
-        while(nodoA != null && nodoB != null) {
-            if(comparador.compare(nodoA.elemento, nodoB.elemento) <= 0) {
-                newList.agrega(nodoA.elemento);
-                nodoA = nodoA.siguiente;
-            } else {
-                newList.agrega(nodoB.elemento);
-                nodoB = nodoB.siguiente;
-            }
-        }
-        if (nodoA == null) {
-            while(nodoB != null) {
-                newList.agrega(nodoB.elemento);
-                nodoB = nodoB.siguiente;
-            }
-        } else {
-            while(nodoA != null) {
-                newList.agrega(nodoA.elemento);
-                nodoA = nodoA.siguiente;
-            }
-        }
-        return newList;
-    }
-
     /**
      * Regresa una copia de la lista, pero ordenada. Para poder hacer el
      * ordenamiento, el método necesita una instancia de {@link Comparator} para
@@ -527,40 +619,300 @@ public class Lista<T> implements Coleccion<T> {
      * @return una copia de la lista, pero ordenada.
      */
     public Lista<T> mergeSort(Comparator<T> comparador) {
-        if (this.getLongitud() < 2) {
-            return this.copia();
+        Lista<T> lista = this.copia();
+        lista.ordenaEnSitio(comparador);
+        return lista;
+    }
+
+    /**
+     * Regresa una copia de la lista recibida, pero ordenada. La lista recibida
+     * tiene que contener nada más elementos que implementan la interfaz {@link
+     * Comparable}.
+     * @param <T> tipo del que puede ser la lista.
+     * @param lista la lista que se ordenará.
+     * @return una copia de la lista recibida, pero ordenada.
+     */
+    public static <T extends Comparable<T>> Lista<T> mergeSort(Lista<T> lista) {
+        return lista.mergeSort((a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Regresa una copia de la lista, pero ordenada, usando varios hilos. Los
+     * elementos se copian a un arreglo, que se ordena con {@link
+     * Arreglos#ordenaParalelo(Object[],Comparator)}, y con él se construye la
+     * copia. El ordenamiento es estable.
+     * @param comparador el comparador que la lista usará para hacer el
+     *                   ordenamiento; tiene que poder usarse desde varios hilos
+     *                   a la vez.
+     * @return una copia de la lista, pero ordenada.
+     * @throws IllegalArgumentException si el comparador es <code>null</code>.
+     */
+    public Lista<T> mergeSortParalelo(Comparator<T> comparador) {
+        if (comparador == null) { throw new IllegalArgumentException(); }
+        @SuppressWarnings("unchecked") T[] arreglo =
+            (T[])new Object[this.longitud];
+        int i = 0;
+        for (Nodo n = this.cabeza; n != null; n = n.siguiente)
+            arreglo[i++] = n.elemento;
+        Arreglos.ordenaParalelo(arreglo, comparador);
+        Lista<T> lista = new Lista<T>();
+        for (T e : arreglo)
+            lista.agregaFinal(e);
+        return lista;
+    }
+
+    /**
+     * Regresa una copia de la lista recibida, pero ordenada, usando varios
+     * hilos. La lista recibida tiene que contener nada más elementos que
+     * implementan la interfaz {@link Comparable}.
+     * @param <T> tipo del que puede ser la lista.
+     * @param lista la lista que se ordenará.
+     * @return una copia de la lista recibida, pero ordenada.
+     * @see #mergeSortParalelo(Comparator)
+     */
+    public static <T extends Comparable<T>>
+    Lista<T> mergeSortParalelo(Lista<T> lista) {
+        return lista.mergeSortParalelo((a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * <p>Ordena la lista usando el comparador recibido, sin crear nodos
+     * nuevos: los nodos se reacomodan cambiando sus referencias.</p>
+     *
+     * <p>Es un <em>MergeSort</em> natural, como <em>TimSort</em>: recorre la
+     * lista buscando corridas ya ordenadas, voltea las estrictamente
+     * descendientes, y las mezcla en una pila que mantiene sus longitudes
+     * balanceadas. Al mezclar, los tramos de nodos que se quedan juntos se
+     * enlazan de una vez, y cuando una corrida gana muchas comparaciones
+     * seguidas la mezcla galopa, comparando con saltos exponenciales.</p>
+     *
+     * <p>Toma tiempo <em>O</em>(<em>n</em> log <em>n</em>) en el peor caso y
+     * <em>O</em>(<em>n</em>) si la lista ya está ordenada, o al revés, y
+     * memoria extra constante. El ordenamiento es estable. Los iteradores de
+     * la lista dejan de ser válidos.</p>
+     * @param comparador el comparador que la lista usará para hacer el
+     *                   ordenamiento.
+     * @throws IllegalArgumentException si el comparador es <code>null</code>.
+     */
+    public void ordenaEnSitio(Comparator<T> comparador) {
+        if (comparador == null) { throw new IllegalArgumentException(); }
+        if (this.longitud < 2)
+            return;
+        /* Con las invariantes de la pila las longitudes crecen como los
+         * números de Fibonacci, así que 64 corridas alcanzan. */
+        Object[] inicios = new Object[64];
+        int[] longitudes = new int[64];
+        int corridas = 0;
+        Nodo n = this.cabeza;
+        while (n != null) {
+            Nodo inicio = n;
+            int longitud = 1;
+            n = n.siguiente;
+            if (n != null &&
+                comparador.compare(n.elemento, inicio.elemento) < 0) {
+                do {
+                    n = n.siguiente;
+                    longitud++;
+                } while (n != null && comparador.compare(n.elemento,
+                                                         n.anterior.elemento) < 0);
+                inicio = this.voltea(inicio, n);
+            } else if (n != null) {
+                do {
+                    n = n.siguiente;
+                    longitud++;
+                } while (n != null && comparador.compare(n.elemento,
+                                                         n.anterior.elemento) >= 0);
+            }
+            inicios[corridas] = inicio;
+            longitudes[corridas++] = longitud;
+            /* Mezcla hasta restablecer las invariantes de la pila. */
+            while (corridas > 1) {
+                int k = corridas - 2;
+                int[] l = longitudes;
+                if ((k > 0 && l[k-1] <= l[k] + l[k+1]) ||
+                    (k > 1 && l[k-2] <= l[k-1] + l[k])) {
+                    if (l[k-1] < l[k+1])
+                        k--;
+                } else if (l[k] > l[k+1]) {
+                    break;
+                }
+                corridas = this.mezcla(inicios, longitudes, corridas, k,
+                                       comparador);
+            }
+        }
+        while (corridas > 1) {
+            int k = corridas - 2;
+            if (k > 0 && longitudes[k-1] < longitudes[k+1])
+                k--;
+            corridas = this.mezcla(inicios, longitudes, corridas, k,
+                                   comparador);
         }
-        Lista<T> leftHalf = new Lista<>();
-        Lista<T> rigthHalf = new Lista<>();
+        /* Los nodos cambiaron de posición. */
+        this.dedo = null;
+        if (this.marcas != null)
+            this.reindexa();
+    }
 
-        int half = this.getLongitud() / 2;
-        int elementsCount = 0;
+    /* Voltea los nodos desde inicio hasta antes de fin, y regresa el nuevo
+     * primero. */
+    private Nodo voltea(Nodo inicio, Nodo fin) {
+        Nodo antes = inicio.anterior, n = inicio, ultimo = null;
+        while (n != fin) {
+            Nodo s = n.siguiente;
+            n.siguiente = n.anterior;
+            n.anterior = s;
+            ultimo = n;
+            n = s;
+        }
+        this.enlaza(antes, ultimo);
+        this.enlaza(inicio, fin);
+        return ultimo;
+    }
 
-        Nodo nodo = this.cabeza;
-        while (nodo != null) {
-            if (elementsCount < half) { leftHalf.agrega(nodo.elemento); }
-            else { rigthHalf.agrega(nodo.elemento); }
-            elementsCount += 1;
-            nodo = nodo.siguiente;
+    /* Enlaza dos nodos; si alguno es null, el otro queda de cabeza o rabo. */
+    private void enlaza(Nodo a, Nodo b) {
+        if (a == null)
+            this.cabeza = b;
+        else
+            a.siguiente = b;
+        if (b == null)
+            this.rabo = a;
+        else
+            b.anterior = a;
+    }
+
+    /* Regresa el nodo k lugares después del recibido. */
+    private Nodo avanza(Nodo n, int k) {
+        while (k-- > 0)
+            n = n.siguiente;
+        return n;
+    }
+
+    /* Mezcla las corridas k y k+1 de la pila, y regresa el nuevo número de
+     * corridas. */
+    @SuppressWarnings("unchecked")
+    private int mezcla(Object[] inicios, int[] longitudes, int corridas,
+                       int k, Comparator<T> comparador) {
+        inicios[k] = this.mezcla((Nodo)inicios[k], longitudes[k],
+                                 (Nodo)inicios[k+1], longitudes[k+1],
+                                 comparador);
+        longitudes[k] += longitudes[k+1];
+        if (k == corridas - 3) {
+            inicios[k+1] = inicios[k+2];
+            longitudes[k+1] = longitudes[k+2];
+        }
+        return corridas - 1;
+    }
+
+    /* Mezcla la corrida de n1 nodos que empieza en p con la de n2 nodos que
+     * le sigue, que empieza en q, y regresa el primer nodo de la mezcla. Los
+     * nodos de un tramo que se queda junto ya están enlazados, así que sólo se
+     * reenlazan los extremos de cada tramo. */
+    private Nodo mezcla(Nodo p, int n1, Nodo q, int n2,
+                        Comparator<T> comparador) {
+        Nodo primero = null, cola = p.anterior;
+        /* La comparación que termina un tramo decide de qué corrida es el
+         * siguiente, así que sólo se compara al principio. */
+        boolean turno = comparador.compare(p.elemento, q.elemento) <= 0;
+        while (n1 > 0 && n2 > 0) {
+            Nodo desde, hasta;
+            int t;
+            if (turno) {
+                /* Los de p menores o iguales que q, por estabilidad. */
+                t = this.cuenta(p, n1, q.elemento, true, comparador);
+                desde = p;
+                hasta = this.avanza(p, t - 1);
+                p = hasta.siguiente;
+                n1 -= t;
+            } else {
+                t = this.cuenta(q, n2, p.elemento, false, comparador);
+                desde = q;
+                hasta = this.avanza(q, t - 1);
+                q = hasta.siguiente;
+                n2 -= t;
+            }
+            turno = !turno;
+            this.enlaza(cola, desde);
+            if (primero == null)
+                primero = desde;
+            cola = hasta;
+        }
+        if (n1 > 0) {
+            /* Se acabó la segunda corrida; q es el nodo que le seguía. */
+            this.enlaza(cola, p);
+            this.enlaza(this.avanza(p, n1 - 1), q);
+        } else {
+            this.enlaza(cola, q);
         }
+        return primero;
+    }
 
-        leftHalf = leftHalf.mergeSort(comparador);
-        rigthHalf = rigthHalf.mergeSort(comparador);
+    /* Cuenta cuántos de los primeros n nodos desde el recibido son menores
+     * que el elemento (o menores o iguales, si se incluyen los iguales),
+     * sabiendo que el primero lo es. Compara uno por uno las primeras veces;
+     * después galopa: compara con saltos de 1, 2, 4, ... nodos, y termina con
+     * una búsqueda binaria, así que hace O(log t) comparaciones aunque
+     * recorra los t nodos. */
+    private int cuenta(Nodo n, int max, T elemento, boolean iguales,
+                       Comparator<T> comparador) {
+        int t = 1;
+        n = n.siguiente;
+        while (t < max && t < GALOPE) {
+            if (!this.precede(n, elemento, iguales, comparador))
+                return t;
+            n = n.siguiente;
+            t++;
+        }
+        if (t == max)
+            return t;
+        /* Los primeros t nodos preceden; n es el nodo t. */
+        int bien = t - 1, mal = max, salto = 1;
+        Nodo b = null;
+        while (t < max) {
+            if (!this.precede(n, elemento, iguales, comparador)) {
+                mal = t;
+                break;
+            }
+            bien = t;
+            b = n;
+            if (t + salto >= max)
+                break;
+            n = this.avanza(n, salto);
+            t += salto;
+            salto <<= 1;
+        }
+        if (b == null)
+            return bien + 1;
+        while (mal - bien > 1) {
+            int m = (bien + mal) >>> 1;
+            Nodo nm = this.avanza(b, m - bien);
+            if (this.precede(nm, elemento, iguales, comparador)) {
+                bien = m;
+                b = nm;
+            } else {
+                mal = m;
+            }
+        }
+        return bien + 1;
+    }
 
-        Lista<T> newList = MSMerge(leftHalf, rigthHalf, comparador);
-        return newList;
+    /* Nos dice si el elemento del nodo va antes del elemento recibido. */
+    private boolean precede(Nodo n, T elemento, boolean iguales,
+                            Comparator<T> comparador) {
+        int c = comparador.compare(n.elemento, elemento);
+        return iguales ? c <= 0 : c < 0;
     }
 
     /**
-     * Regresa una copia de la lista recibida, pero ordenada. La lista recibida
-     * tiene que contener nada más elementos que implementan la interfaz {@link
+     * Ordena la lista recibida sin crear nodos nuevos. La lista recibida tiene
+     * que contener nada más elementos que implementan la interfaz {@link
      * Comparable}.
      * @param <T> tipo del que puede ser la lista.
      * @param lista la lista que se ordenará.
-     * @return una copia de la lista recibida, pero ordenada.
+     * @see #ordenaEnSitio(Comparator)
      */
-    public static <T extends Comparable<T>> Lista<T> mergeSort(Lista<T> lista) {
-        return lista.mergeSort((a, b) -> a.compareTo(b));
+    public static <T extends Comparable<T>> void ordenaEnSitio(Lista<T> lista) {
+        lista.ordenaEnSitio((a, b) -> a.compareTo(b));
     }
 
     /**
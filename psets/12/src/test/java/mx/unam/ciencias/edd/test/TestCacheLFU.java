@@ -0,0 +1,196 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.CacheLFU;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link CacheLFU}.
+ */
+public class TestCacheLFU {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* La capacidad del caché. */
+    private int total;
+    /* El caché. */
+    private CacheLFU<Integer, String> cache;
+
+    /**
+     * Crea un generador de números aleatorios, una capacidad y un caché para
+     * cada prueba.
+     */
+    public TestCacheLFU() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        cache = new CacheLFU<Integer, String>(total);
+    }
+
+    /**
+     * Prueba unitaria para {@link CacheLFU#CacheLFU}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(cache.esVacia());
+        Assert.assertTrue(cache.getCapacidad() == total);
+        try {
+            new CacheLFU<Integer, String>(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new CacheLFU<Integer, String>(total, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link CacheLFU#busca} y {@link CacheLFU#getUsos}.
+     */
+    @Test public void testUsos() {
+        int[] usos = new int[total];
+        for (int i = 0; i < total; i++) {
+            cache.agrega(i, String.valueOf(i));
+            usos[i] = 1;
+        }
+        for (int r = 0; r < 10 * total; r++) {
+            int i = random.nextInt(total);
+            Assert.assertTrue(cache.busca(i).equals(String.valueOf(i)));
+            usos[i]++;
+        }
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(cache.getUsos(i) == usos[i]);
+        Assert.assertTrue(cache.getUsos(total) == 0);
+        Assert.assertTrue(cache.getUsos(null) == 0);
+        Assert.assertTrue(cache.getAciertos() == 10 * total);
+        Assert.assertTrue(cache.getDesalojos() == 0);
+    }
+
+    /**
+     * Prueba unitaria para el desalojo de {@link CacheLFU}.
+     */
+    @Test public void testDesalojo() {
+        Lista<Integer> desalojadas = new Lista<Integer>();
+        cache.setAccionDesalojo((k, v) -> desalojadas.agrega(k));
+        int[] usos = new int[total];
+        for (int i = 0; i < total; i++) {
+            cache.agrega(i, String.valueOf(i));
+            usos[i] = 1 + random.nextInt(5);
+            for (int j = 1; j < usos[i]; j++)
+                cache.busca(i);
+        }
+        /* Cada llave nueva se desaloja con la siguiente, porque tiene un solo
+         * uso y es la más reciente de su cubeta; las anteriores nunca. */
+        for (int i = total; i < 3 * total; i++)
+            cache.agrega(i, String.valueOf(i));
+        Assert.assertTrue(cache.getElementos() == total);
+        int k = 0;
+        for (Integer d : desalojadas) {
+            Assert.assertTrue(d >= total || usos[d] == 1);
+            k++;
+        }
+        Assert.assertTrue(k == cache.getDesalojos());
+        Assert.assertTrue(cache.contiene(3 * total - 1));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(cache.contiene(i) == (usos[i] > 1));
+    }
+
+    /**
+     * Prueba unitaria para el desalojo de {@link CacheLFU} entre entradas
+     * con los mismos usos.
+     */
+    @Test public void testEmpates() {
+        for (int i = 0; i < total; i++)
+            cache.agrega(i, String.valueOf(i));
+        for (int i = total - 1; i >= 0; i--)
+            cache.busca(i);
+        /* Todas tienen dos usos; la usada hace más tiempo es total - 1. */
+        cache.agrega(total, "x");
+        Assert.assertTrue(cache.contiene(total));
+        cache.agrega(total + 1, "y");
+        Assert.assertFalse(cache.contiene(total));
+        Assert.assertTrue(cache.getElementos() == total);
+        cache.busca(total + 1);
+        cache.busca(total + 1);
+        cache.agrega(total + 2, "z");
+        Assert.assertFalse(cache.contiene(total - 1));
+        Assert.assertTrue(cache.getUsos(total + 1) == 3);
+    }
+
+    /**
+     * Prueba unitaria para {@link CacheLFU#agrega} con una llave existente
+     * cuyo nuevo valor pesa más: se desalojan otras entradas para hacerle
+     * espacio, nunca ella misma, y conserva sus usos.
+     */
+    @Test public void testActualizaPesada() {
+        CacheLFU<Integer, String> c =
+            new CacheLFU<Integer, String>(10, (k, v) -> v.length());
+        Lista<Integer> desalojadas = new Lista<Integer>();
+        c.setAccionDesalojo((k, v) -> desalojadas.agrega(k));
+        c.agrega(0, "aaaa");
+        c.agrega(1, "bb");
+        c.agrega(2, "cc");
+        for (int i = 0; i < 3; i++)
+            c.busca(1);
+        c.busca(2);
+        c.busca(2);
+        /* La llave 0 es la usada menos veces aun con la escritura, pero es la
+         * que se escribe: se desaloja la 2, que le sigue, y no la 1. */
+        c.agrega(0, "aaaaaaaa");
+        Assert.assertTrue(desalojadas.getLongitud() == 1);
+        Assert.assertTrue(desalojadas.getPrimero() == 2);
+        Assert.assertTrue(c.getPeso() == 10);
+        Assert.assertTrue(c.getUsos(0) == 2);
+        Assert.assertTrue(c.getUsos(1) == 4);
+        Assert.assertTrue(c.busca(0).equals("aaaaaaaa"));
+        /* Con todo el peso, se desalojan las dos, primero la de menos usos. */
+        c.agrega(1, "bbbbbbbbbb");
+        Assert.assertTrue(desalojadas.getLongitud() == 2);
+        Assert.assertTrue(desalojadas.getUltimo() == 0);
+        Assert.assertTrue(c.getElementos() == 1);
+        Assert.assertTrue(c.getUsos(1) == 5);
+        Assert.assertTrue(c.getDesalojos() == 2);
+        /* Sin desalojos, la entrada queda en la cubeta que le toca. */
+        c.agrega(1, "b");
+        c.agrega(2, "c");
+        c.agrega(3, "d");
+        c.busca(3);
+        c.agrega(3, "dd");
+        Assert.assertTrue(c.getUsos(1) == 6);
+        Assert.assertTrue(c.getUsos(3) == 3);
+        c.agrega(4, "eeeeeee");
+        Assert.assertTrue(desalojadas.getUltimo() == 2);
+        Assert.assertTrue(c.contiene(1) && c.contiene(3) && c.contiene(4));
+    }
+
+    /**
+     * Prueba unitaria para {@link CacheLFU#extrae}, {@link CacheLFU#agrega}
+     * con una llave existente y {@link CacheLFU#limpia}.
+     */
+    @Test public void testExtraeLimpia() {
+        for (int i = 0; i < total; i++)
+            cache.agrega(i, String.valueOf(i));
+        cache.agrega(0, "cero");
+        Assert.assertTrue(cache.getUsos(0) == 2);
+        Assert.assertTrue(cache.busca(0).equals("cero"));
+        int k = 1 + random.nextInt(total - 1);
+        Assert.assertTrue(cache.extrae(k).equals(String.valueOf(k)));
+        Assert.assertTrue(cache.extrae(k) == null);
+        Assert.assertTrue(cache.getElementos() == total - 1);
+        for (int i = 0; i < total; i++)
+            if (i != k)
+                Assert.assertTrue(cache.contiene(i));
+        cache.limpia();
+        Assert.assertTrue(cache.esVacia());
+        for (int i = 0; i < 2 * total; i++)
+            cache.agrega(i, String.valueOf(i));
+        Assert.assertTrue(cache.getElementos() == total);
+        Assert.assertTrue(cache.getDesalojos() == total);
+        Assert.assertTrue(cache.contiene(2 * total - 1));
+    }
+}
@@ -144,6 +144,33 @@ public class TestConjunto {
         Assert.assertTrue(conjunto.getElementos() == 0);
     }
 
+    /**
+     * Prueba unitaria para {@link Conjunto#compacta}, {@link
+     * Conjunto#ajustaCapacidad} y {@link Conjunto#limpia(int)}.
+     */
+    @Test public void testCompacta() {
+        for (int i = 0; i < 64 * total; i++)
+            conjunto.agrega(i);
+        for (int i = total; i < 64 * total; i++)
+            conjunto.elimina(i);
+        conjunto.compacta();
+        Assert.assertTrue(conjunto.getElementos() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(conjunto.contiene(i));
+        conjunto.ajustaCapacidad(0);
+        Assert.assertTrue(conjunto.getElementos() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(conjunto.contiene(i));
+        conjunto.limpia(10 * total);
+        Assert.assertTrue(conjunto.esVacia());
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(conjunto.contiene(i));
+        try {
+            conjunto.limpia(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
     /**
      * Prueba unitaria para {@link Conjunto#interseccion}.
      */
@@ -196,6 +223,82 @@ public class TestConjunto {
             Assert.assertTrue(union.contiene(n));
     }
 
+    /* Llena dos conjuntos de tamaños distintos que comparten algunos
+     * elementos: el primero tiene los múltiplos de 2 menores a n, y el
+     * segundo los múltiplos de 3 menores a m. */
+    private void llena(Conjunto<Integer> a, int n, Conjunto<Integer> b, int m) {
+        for (int i = 0; i < n; i += 2)
+            a.agrega(i);
+        for (int i = 0; i < m; i += 3)
+            b.agrega(i);
+    }
+
+    /**
+     * Prueba unitaria para {@link Conjunto#agregaTodos}.
+     */
+    @Test public void testAgregaTodos() {
+        int n = 4 * total, m = n * (1 + random.nextInt(20));
+        Conjunto<Integer> c2 = new Conjunto<Integer>();
+        llena(conjunto, n, c2, m);
+        conjunto.agregaTodos(c2);
+        for (int i = 0; i < Math.max(n, m); i++)
+            Assert.assertTrue(conjunto.contiene(i) ==
+                              ((i < n && i % 2 == 0) || i % 3 == 0));
+        Assert.assertTrue(conjunto.equals(c2.union(conjunto)));
+        int e = conjunto.getElementos();
+        conjunto.agregaTodos(conjunto);
+        conjunto.agregaTodos(new Conjunto<Integer>());
+        Assert.assertTrue(conjunto.getElementos() == e);
+    }
+
+    /**
+     * Prueba unitaria para {@link Conjunto#retieneTodos}.
+     */
+    @Test public void testRetieneTodos() {
+        int n = 4 * total, m = n * (1 + random.nextInt(20));
+        for (int k = 0; k < 2; k++) {
+            Conjunto<Integer> a = new Conjunto<Integer>(), b =
+                new Conjunto<Integer>(total, 0.01);
+            if (k == 0)
+                llena(a, n, b, m);
+            else
+                llena(b, m, a, n);
+            Conjunto<Integer> interseccion = a.interseccion(b);
+            b.retieneTodos(a);
+            Assert.assertTrue(b.equals(interseccion));
+            for (int i = 0; i < Math.max(n, m); i++)
+                Assert.assertTrue(b.contiene(i) == interseccion.contiene(i));
+            b.retieneTodos(b);
+            Assert.assertTrue(b.equals(interseccion));
+            b.retieneTodos(new Conjunto<Integer>());
+            Assert.assertTrue(b.esVacia());
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Conjunto#eliminaTodos}.
+     */
+    @Test public void testEliminaTodos() {
+        int n = 4 * total, m = n * (1 + random.nextInt(20));
+        for (int k = 0; k < 2; k++) {
+            Conjunto<Integer> a = new Conjunto<Integer>(), b =
+                new Conjunto<Integer>(total, 0.01);
+            int x = k == 0 ? n : m, y = k == 0 ? m : n;
+            for (int i = 0; i < x; i += 2)
+                b.agrega(i);
+            for (int i = 0; i < y; i += 3)
+                a.agrega(i);
+            b.eliminaTodos(a);
+            for (int i = 0; i < Math.max(x, y); i++)
+                Assert.assertTrue(b.contiene(i) ==
+                                  (i < x && i % 2 == 0 &&
+                                   (i >= y || i % 3 != 0)));
+            Assert.assertTrue(b.interseccion(a).esVacia());
+            b.eliminaTodos(b);
+            Assert.assertTrue(b.esVacia());
+        }
+    }
+
     /**
      * Prueba unitaria para {@link Conjunto#toString}.
      */
@@ -230,7 +333,13 @@ public class TestConjunto {
             Assert.assertFalse(conjunto.equals(c2));
             c2.agrega(a[i]);
             Assert.assertTrue(conjunto.equals(c2));
+            Assert.assertTrue(conjunto.hashCode() == c2.hashCode());
         }
+        c2.elimina(a[0]);
+        c2.agrega(ini + total);
+        Assert.assertFalse(conjunto.equals(c2));
+        Assert.assertFalse(c2.equals(conjunto));
+        Assert.assertFalse(conjunto.equals(null));
     }
 
     /**
@@ -258,4 +367,65 @@ public class TestConjunto {
             c++;
         Assert.assertTrue(c == 0);
     }
+
+    /**
+     * Prueba unitaria para {@link Conjunto#activaFiltro}, {@link
+     * Conjunto#desactivaFiltro} y el constructor con filtro.
+     */
+    @Test public void testFiltro() {
+        Conjunto<Integer> c = new Conjunto<Integer>(total, 0.01);
+        Assert.assertTrue(c.tieneFiltro());
+        Assert.assertFalse(conjunto.tieneFiltro());
+        /* Rebasa varias veces la capacidad del filtro. */
+        int n = 20 * total;
+        for (int i = 0; i < n; i++) {
+            c.agrega(i);
+            c.agrega(i);
+        }
+        Assert.assertTrue(c.getElementos() == n);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(c.contiene(i));
+        for (int i = n; i < 2 * n; i++)
+            Assert.assertFalse(c.contiene(i));
+        for (int i = 0; i < n; i += 2)
+            c.elimina(i);
+        for (int i = n; i < 2 * n; i++)
+            c.elimina(i);
+        Assert.assertTrue(c.getElementos() == n / 2);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(c.contiene(i) == (i % 2 == 1));
+        c.compacta();
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(c.contiene(i) == (i % 2 == 1));
+        c.desactivaFiltro();
+        Assert.assertFalse(c.tieneFiltro());
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(c.contiene(i) == (i % 2 == 1));
+        c.activaFiltro(0.001);
+        Assert.assertTrue(c.tieneFiltro());
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(c.contiene(i) == (i % 2 == 1));
+        Conjunto<Integer> d = new Conjunto<Integer>();
+        for (int i = 0; i < n; i += 3)
+            d.agrega(i);
+        Conjunto<Integer> interseccion = d.interseccion(c);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(interseccion.contiene(i) == (i % 6 == 3));
+        c.limpia();
+        Assert.assertTrue(c.tieneFiltro());
+        for (int i = 0; i < n; i++)
+            Assert.assertFalse(c.contiene(i));
+        c.agrega(n);
+        Assert.assertTrue(c.contiene(n));
+        c.limpia(total);
+        Assert.assertFalse(c.contiene(n));
+        try {
+            c.activaFiltro(1.5);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new Conjunto<Integer>(total, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
 }
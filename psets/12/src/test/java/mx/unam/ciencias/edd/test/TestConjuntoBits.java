@@ -0,0 +1,235 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ConjuntoBits;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ConjuntoBits}.
+ */
+public class TestConjuntoBits {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Tamaño del dominio. */
+    private int total;
+    /* El conjunto. */
+    private ConjuntoBits conjunto;
+
+    /**
+     * Crea un generador de números aleatorios, un tamaño de dominio y un
+     * conjunto para cada prueba.
+     */
+    public TestConjuntoBits() {
+        random = new Random();
+        total = 100 + random.nextInt(1000);
+        conjunto = new ConjuntoBits();
+    }
+
+    /* Llena el conjunto con enteros aleatorios del dominio, y regresa qué
+     * enteros quedaron en el conjunto. */
+    private boolean[] llena(ConjuntoBits c, double densidad) {
+        boolean[] b = new boolean[total];
+        for (int i = 0; i < total; i++) {
+            if (random.nextDouble() < densidad) {
+                b[i] = true;
+                c.agrega(i);
+            }
+        }
+        return b;
+    }
+
+    /* Verifica que el conjunto tenga exactamente los enteros marcados. */
+    private void verifica(ConjuntoBits c, boolean[] b) {
+        int n = 0;
+        for (int i = 0; i < b.length; i++) {
+            Assert.assertTrue(c.contiene(i) == b[i]);
+            if (b[i])
+                n++;
+        }
+        Assert.assertTrue(c.getElementos() == n);
+        Assert.assertTrue(c.esVacia() == (n == 0));
+        int anterior = -1, k = 0;
+        for (Integer e : c) {
+            Assert.assertTrue(e > anterior);
+            Assert.assertTrue(e < b.length && b[e]);
+            anterior = e;
+            k++;
+        }
+        Assert.assertTrue(k == n);
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoBits#ConjuntoBits}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(conjunto.esVacia());
+        Assert.assertTrue(conjunto.getElementos() == 0);
+        Assert.assertTrue(new ConjuntoBits(total).esVacia());
+        try {
+            new ConjuntoBits(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoBits#agrega}.
+     */
+    @Test public void testAgrega() {
+        try {
+            conjunto.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            conjunto.agrega(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        boolean[] b = llena(conjunto, 0.3);
+        verifica(conjunto, b);
+        for (int i = 0; i < total; i++)
+            if (b[i])
+                conjunto.agrega(i);
+        verifica(conjunto, b);
+        int lejano = (1 << 22) + random.nextInt(64);
+        conjunto.agrega(lejano);
+        Assert.assertTrue(conjunto.contiene(lejano));
+        Assert.assertTrue(conjunto.siguiente(total) == lejano);
+        Iterator<Integer> it = conjunto.iterator();
+        int ultimo = -1;
+        while (it.hasNext())
+            ultimo = it.next();
+        Assert.assertTrue(ultimo == lejano);
+        try {
+            it.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoBits#elimina} y {@link
+     * ConjuntoBits#contiene}.
+     */
+    @Test public void testElimina() {
+        boolean[] b = llena(conjunto, 0.5);
+        for (int i = 0; i < total; i++) {
+            if (random.nextBoolean()) {
+                conjunto.elimina(i);
+                b[i] = false;
+            }
+        }
+        verifica(conjunto, b);
+        conjunto.elimina(null);
+        conjunto.elimina(-5);
+        conjunto.elimina(total * 100);
+        Assert.assertFalse(conjunto.contiene(null));
+        Assert.assertFalse(conjunto.contiene(-5));
+        Assert.assertFalse(conjunto.contiene(total * 100));
+        verifica(conjunto, b);
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoBits#siguiente}.
+     */
+    @Test public void testSiguiente() {
+        boolean[] b = llena(conjunto, 0.05);
+        for (int i = 0; i < total; i++) {
+            int esperado = -1;
+            for (int j = i; j < total; j++) {
+                if (b[j]) {
+                    esperado = j;
+                    break;
+                }
+            }
+            Assert.assertTrue(conjunto.siguiente(i) == esperado);
+        }
+        Assert.assertTrue(conjunto.siguiente(Integer.MAX_VALUE) == -1);
+        try {
+            conjunto.siguiente(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoBits#limpia} y {@link
+     * ConjuntoBits#compacta}.
+     */
+    @Test public void testLimpiaCompacta() {
+        boolean[] b = llena(conjunto, 0.5);
+        conjunto.agrega(64 * total);
+        conjunto.elimina(64 * total);
+        conjunto.compacta();
+        verifica(conjunto, b);
+        conjunto.limpia();
+        verifica(conjunto, new boolean[total]);
+        conjunto.compacta();
+        conjunto.agrega(total);
+        Assert.assertTrue(conjunto.contiene(total));
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoBits#union}, {@link
+     * ConjuntoBits#interseccion} y {@link ConjuntoBits#diferencia}.
+     */
+    @Test public void testOperaciones() {
+        boolean[] a = llena(conjunto, 0.4);
+        int t = total;
+        total = t / 2 + random.nextInt(t);
+        ConjuntoBits c2 = new ConjuntoBits();
+        boolean[] b = llena(c2, 0.4);
+        int n = Math.max(a.length, b.length);
+        boolean[] u = new boolean[n], i = new boolean[n], d = new boolean[n];
+        for (int k = 0; k < n; k++) {
+            boolean x = k < a.length && a[k], y = k < b.length && b[k];
+            u[k] = x || y;
+            i[k] = x && y;
+            d[k] = x && !y;
+        }
+        verifica(conjunto.union(c2), u);
+        verifica(c2.union(conjunto), u);
+        verifica(conjunto.interseccion(c2), i);
+        verifica(c2.interseccion(conjunto), i);
+        verifica(conjunto.diferencia(c2), d);
+        verifica(conjunto, a);
+        verifica(c2, b);
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoBits#equals} y {@link
+     * ConjuntoBits#hashCode}.
+     */
+    @Test public void testEquals() {
+        ConjuntoBits c2 = new ConjuntoBits(64 * total);
+        Assert.assertTrue(conjunto.equals(c2));
+        Assert.assertTrue(conjunto.hashCode() == c2.hashCode());
+        boolean[] b = llena(conjunto, 0.5);
+        Assert.assertFalse(conjunto.equals(c2));
+        for (int i = 0; i < total; i++)
+            if (b[i])
+                c2.agrega(i);
+        Assert.assertTrue(conjunto.equals(c2));
+        Assert.assertTrue(c2.equals(conjunto));
+        Assert.assertTrue(conjunto.hashCode() == c2.hashCode());
+        c2.agrega(total + 1);
+        Assert.assertFalse(conjunto.equals(c2));
+        Assert.assertFalse(conjunto.equals(null));
+        Assert.assertFalse(conjunto.equals("conjunto"));
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoBits#toString}.
+     */
+    @Test public void testToString() {
+        Assert.assertTrue(conjunto.toString().equals("{  }"));
+        conjunto.agrega(70);
+        conjunto.agrega(3);
+        Assert.assertTrue(conjunto.toString().equals("{ 3, 70 }"));
+    }
+}
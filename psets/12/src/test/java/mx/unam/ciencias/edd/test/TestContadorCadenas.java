@@ -0,0 +1,217 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ContadorCadenas;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ContadorCadenas}.
+ */
+public class TestContadorCadenas {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El contador. */
+    private ContadorCadenas contador;
+
+    /**
+     * Crea un contador para cada prueba.
+     */
+    public TestContadorCadenas() {
+        int N = 64;
+        random = new Random();
+        total = N + random.nextInt(N);
+        contador = new ContadorCadenas(total);
+    }
+
+    /* Regresa un arreglo con total cadenas distintas. */
+    private String[] cadenas() {
+        String[] a = new String[total];
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++)
+            a[i] = String.format("%x", ini + i * 1000);
+        return a;
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#ContadorCadenas}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(contador.esVacia());
+        Assert.assertTrue(contador.getElementos() == 0);
+        Assert.assertTrue(contador.getTotal() == 0);
+        Assert.assertTrue(contador.carga() == 0.0);
+        Assert.assertFalse(contador.iterator().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#incrementa(String)} y
+     * {@link ContadorCadenas#cuenta}.
+     */
+    @Test public void testIncrementa() {
+        try {
+            contador.incrementa(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        String[] a = cadenas();
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(contador.cuenta(a[i]) == 0);
+            for (int j = 1; j <= i % 5 + 1; j++)
+                Assert.assertTrue(contador.incrementa(a[i]) == j);
+        }
+        Assert.assertTrue(contador.getElementos() == total);
+        long t = 0;
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(contador.cuenta(a[i]) == i % 5 + 1);
+            t += i % 5 + 1;
+        }
+        Assert.assertTrue(contador.getTotal() == t);
+        Assert.assertTrue(contador.incrementa(a[0], 10) == 11);
+        Assert.assertTrue(contador.getTotal() == t + 10);
+        Assert.assertTrue(contador.cuenta(null) == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#incrementa(char[], int,
+     * int)}.
+     */
+    @Test public void testIncrementaFragmento() {
+        char[] texto = "el perro y el gato y el raton".toCharArray();
+        int inicio = 0;
+        for (int i = 0; i <= texto.length; i++) {
+            if (i == texto.length || texto[i] == ' ') {
+                contador.incrementa(texto, inicio, i - inicio);
+                inicio = i + 1;
+            }
+        }
+        Assert.assertTrue(contador.getElementos() == 5);
+        Assert.assertTrue(contador.getTotal() == 8);
+        Assert.assertTrue(contador.cuenta("el") == 3);
+        Assert.assertTrue(contador.cuenta("y") == 2);
+        Assert.assertTrue(contador.cuenta("raton") == 1);
+        Assert.assertTrue(contador.incrementa("gato") == 2);
+        Assert.assertTrue(contador.incrementa(texto, 3, 0) == 1);
+        Assert.assertTrue(contador.cuenta("") == 1);
+        try {
+            contador.incrementa(texto, texto.length - 1, 2);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+        try {
+            contador.incrementa(null, 0, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#elimina}.
+     */
+    @Test public void testElimina() {
+        String[] a = cadenas();
+        for (int i = 0; i < total; i++)
+            contador.incrementa(a[i], i + 1);
+        for (int i = 0; i < total; i++) {
+            contador.elimina(a[i]);
+            Assert.assertFalse(contador.contiene(a[i]));
+            Assert.assertTrue(contador.getElementos() == total - (i + 1));
+            for (int j = i + 1; j < total; j++)
+                Assert.assertTrue(contador.cuenta(a[j]) == j + 1);
+            try {
+                contador.elimina(a[i]);
+                Assert.fail();
+            } catch (NoSuchElementException nsee) {}
+        }
+        Assert.assertTrue(contador.esVacia());
+        Assert.assertTrue(contador.getTotal() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#compacta} y {@link
+     * ContadorCadenas#limpia(int)}.
+     */
+    @Test public void testCompacta() {
+        for (int i = 0; i < 64 * total; i++)
+            contador.incrementa(String.valueOf(i));
+        for (int i = total; i < 64 * total; i++)
+            contador.elimina(String.valueOf(i));
+        contador.compacta();
+        int longitud = total <= 64 ? 128 : 256;
+        Assert.assertTrue(contador.carga() == (double)total / longitud);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(contador.cuenta(String.valueOf(i)) == 1);
+        contador.limpia(1000);
+        Assert.assertTrue(contador.esVacia());
+        Assert.assertTrue(contador.getTotal() == 0);
+        contador.incrementa("a");
+        Assert.assertTrue(contador.carga() == 1.0 / 2048);
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#limpia}.
+     */
+    @Test public void testLimpia() {
+        String[] a = cadenas();
+        for (int i = 0; i < total; i++)
+            contador.incrementa(a[i]);
+        contador.limpia();
+        Assert.assertTrue(contador.esVacia());
+        Assert.assertTrue(contador.getTotal() == 0);
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(contador.contiene(a[i]));
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#equals}.
+     */
+    @Test public void testEquals() {
+        ContadorCadenas c2 = new ContadorCadenas();
+        Assert.assertFalse(contador.equals(null));
+        Assert.assertTrue(contador.equals(c2));
+        String[] a = cadenas();
+        for (int i = 0; i < total; i++) {
+            contador.incrementa(a[i]);
+            Assert.assertFalse(contador.equals(c2));
+            c2.incrementa(a[i]);
+            Assert.assertTrue(contador.equals(c2));
+        }
+        c2.incrementa(a[0]);
+        Assert.assertFalse(contador.equals(c2));
+    }
+
+    /**
+     * Prueba unitaria para {@link ContadorCadenas#cursor} y {@link
+     * ContadorCadenas#iterator}.
+     */
+    @Test public void testCursor() {
+        String[] a = cadenas();
+        for (int i = 0; i < total; i++)
+            contador.incrementa(a[i], i);
+        ContadorCadenas.Cursor c = contador.cursor();
+        int n = 0;
+        while (c.avanza()) {
+            Assert.assertTrue(contador.cuenta(c.llave()) == c.cuenta());
+            n++;
+        }
+        Assert.assertTrue(n == total);
+        try {
+            c.cuenta();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        n = 0;
+        Iterator<String> it = contador.iterator();
+        while (it.hasNext()) {
+            Assert.assertTrue(contador.contiene(it.next()));
+            n++;
+        }
+        Assert.assertTrue(n == total);
+    }
+}
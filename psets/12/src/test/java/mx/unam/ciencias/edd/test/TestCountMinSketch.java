@@ -0,0 +1,143 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.AlgoritmoDispersor;
+import mx.unam.ciencias.edd.CountMinSketch;
+import mx.unam.ciencias.edd.FabricaDispersores;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link CountMinSketch}.
+ */
+public class TestCountMinSketch {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número de elementos distintos. */
+    private int total;
+    /* El estimador. */
+    private CountMinSketch<Integer> estimador;
+
+    /**
+     * Crea un generador de números aleatorios, un número de elementos
+     * distintos y un estimador para cada prueba.
+     */
+    public TestCountMinSketch() {
+        random = new Random();
+        total = 1000 + random.nextInt(1000);
+        estimador = new CountMinSketch<Integer>(0.001, 0.01);
+    }
+
+    /* Agrega al estimador una secuencia en la que el elemento i aparece
+     * total / (i + 1) veces, y regresa las frecuencias. */
+    private int[] zipf(CountMinSketch<Integer> e) {
+        int[] frecuencias = new int[total];
+        for (int i = 0; i < total; i++) {
+            frecuencias[i] = total / (i + 1);
+            for (int k = 0; k < frecuencias[i]; k++)
+                e.incrementa(i);
+        }
+        return frecuencias;
+    }
+
+    /**
+     * Prueba unitaria para {@link CountMinSketch#CountMinSketch}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(estimador.getAncho() == 2719);
+        Assert.assertTrue(estimador.getProfundidad() == 5);
+        Assert.assertTrue(estimador.getTotal() == 0);
+        Assert.assertTrue(estimador.estima(random.nextInt()) == 0);
+        double[][] invalidos = { { 0, 0.5 }, { 1, 0.5 }, { 0.5, 0 },
+                                 { 0.5, 1 }, { Double.NaN, 0.5 },
+                                 { 1e-9, 1e-9 } };
+        for (double[] p : invalidos) {
+            try {
+                new CountMinSketch<Integer>(p[0], p[1]);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        }
+        try {
+            new CountMinSketch<Integer>(0.01, 0.01, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link CountMinSketch#incrementa} y {@link
+     * CountMinSketch#estima}.
+     */
+    @Test public void testEstima() {
+        int[] frecuencias = zipf(estimador);
+        long n = estimador.getTotal(), cota = estimador.cotaError();
+        Assert.assertTrue(cota == (long)Math.ceil(Math.E / 2719 * n));
+        int fuera = 0;
+        for (int i = 0; i < total; i++) {
+            int e = estimador.estima(i);
+            Assert.assertTrue(e >= frecuencias[i]);
+            if (e - frecuencias[i] > cota)
+                fuera++;
+        }
+        Assert.assertTrue(fuera <= total / 20);
+        Assert.assertTrue(estimador.estima(null) == 0);
+        try {
+            estimador.incrementa(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link CountMinSketch#agrega}.
+     */
+    @Test public void testAgrega() {
+        CountMinSketch<String> e = new CountMinSketch<String>(0.01, 0.01,
+            FabricaDispersores.dispersorCadena(AlgoritmoDispersor.BJ_STRING));
+        int c = 1 + random.nextInt(100);
+        Assert.assertTrue(e.agrega("a", c) == c);
+        Assert.assertTrue(e.incrementa("a") == c + 1);
+        Assert.assertTrue(e.agrega("a", 0) == c + 1);
+        Assert.assertTrue(e.getTotal() == c + 1);
+        e.agrega("b", Integer.MAX_VALUE);
+        Assert.assertTrue(e.agrega("b", Integer.MAX_VALUE) ==
+                          Integer.MAX_VALUE);
+        try {
+            e.agrega("a", -1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link CountMinSketch#combina}.
+     */
+    @Test public void testCombina() {
+        CountMinSketch<Integer> otro = new CountMinSketch<Integer>(0.001,
+                                                                  0.01);
+        int[] frecuencias = zipf(estimador);
+        zipf(otro);
+        estimador.combina(otro);
+        Assert.assertTrue(estimador.getTotal() == 2 * otro.getTotal());
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(estimador.estima(i) >= 2 * frecuencias[i]);
+        try {
+            estimador.combina(new CountMinSketch<Integer>(0.01, 0.01));
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link CountMinSketch#limpia}.
+     */
+    @Test public void testLimpia() {
+        zipf(estimador);
+        estimador.limpia();
+        Assert.assertTrue(estimador.getTotal() == 0);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(estimador.estima(i) == 0);
+    }
+}
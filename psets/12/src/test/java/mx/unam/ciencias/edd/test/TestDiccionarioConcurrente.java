@@ -0,0 +1,264 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntConsumer;
+import mx.unam.ciencias.edd.DiccionarioConcurrente;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioConcurrente}.
+ */
+public class TestDiccionarioConcurrente {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Número de hilos para las pruebas concurrentes. */
+    private static final int HILOS = 4;
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioConcurrente<String, String> diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioConcurrente() {
+        int N = 64;
+        random = new Random();
+        total = N + random.nextInt(N);
+        diccionario = new DiccionarioConcurrente<String, String>(total);
+    }
+
+    /* Ejecuta la tarea en varios hilos a la vez, pasándole a cada uno su
+     * número, y espera a que terminen. */
+    private static void enHilos(int n, IntConsumer tarea)
+        throws InterruptedException {
+        Thread[] hilos = new Thread[n];
+        Throwable[] error = new Throwable[1];
+        for (int i = 0; i < n; i++) {
+            final int id = i;
+            hilos[i] = new Thread(() -> tarea.accept(id));
+            hilos[i].setUncaughtExceptionHandler((h, e) -> error[0] = e);
+            hilos[i].start();
+        }
+        for (Thread h : hilos)
+            h.join();
+        if (error[0] != null)
+            throw new AssertionError(error[0]);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * DiccionarioConcurrente#DiccionarioConcurrente}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertFalse(diccionario.iteradorLlaves().hasNext());
+        Assert.assertFalse(diccionario.iterator().hasNext());
+        try {
+            new DiccionarioConcurrente<String, String>(total, 0, s -> 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#agrega}, {@link
+     * DiccionarioConcurrente#get} y {@link DiccionarioConcurrente#elimina}.
+     */
+    @Test public void testAgregaElimina() {
+        try {
+            diccionario.agrega(null, "a");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        String[] a = new String[total];
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            a[i] = String.format("%x", ini + i * 1000);
+            diccionario.agrega(a[i], a[i]);
+            Assert.assertTrue(diccionario.get(a[i]).equals(a[i]));
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+        }
+        diccionario.agrega(a[0], "b");
+        Assert.assertTrue(diccionario.get(a[0]).equals("b"));
+        Assert.assertTrue(diccionario.getElementos() == total);
+        for (int i = 0; i < total; i++) {
+            diccionario.elimina(a[i]);
+            Assert.assertFalse(diccionario.contiene(a[i]));
+            Assert.assertTrue(diccionario.getElementos() == total - (i + 1));
+            try {
+                diccionario.get(a[i]);
+                Assert.fail();
+            } catch (NoSuchElementException nsee) {}
+        }
+        try {
+            diccionario.elimina(a[0]);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Assert.assertTrue(diccionario.esVacia());
+    }
+
+    /**
+     * Prueba que cada operación de {@link DiccionarioConcurrente} dispersa la
+     * llave una sola vez, aunque la use para elegir el segmento y la
+     * posición en él.
+     */
+    @Test public void testDispersaUnaVez() {
+        int[] llamadas = new int[1];
+        DiccionarioConcurrente<String, Integer> d =
+            new DiccionarioConcurrente<String, Integer>(total, HILOS, s -> {
+                    llamadas[0]++;
+                    return s.hashCode();
+                });
+        int operaciones = 0;
+        for (int i = 0; i < total; i++) {
+            String s = String.valueOf(i);
+            d.agrega(s, i);
+            Assert.assertTrue(d.get(s) == i);
+            Assert.assertTrue(d.contiene(s));
+            Assert.assertTrue(d.computeIfAbsent(s, k -> -1) == i);
+            Assert.assertTrue(d.merge(s, 1, Integer::sum) == i + 1);
+            Assert.assertTrue(d.incrementa(s, 1) == i + 2);
+            operaciones += 6;
+            Assert.assertTrue(llamadas[0] == operaciones);
+        }
+        for (int i = 0; i < total; i++) {
+            String s = String.valueOf(i);
+            Assert.assertTrue(d.extrae(s) == i + 2);
+            Assert.assertFalse(d.contiene(s));
+            operaciones += 2;
+            Assert.assertTrue(llamadas[0] == operaciones);
+        }
+        Assert.assertTrue(d.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#incrementa} desde
+     * varios hilos.
+     */
+    @Test public void testIncrementaConcurrente() throws InterruptedException {
+        DiccionarioConcurrente<Integer, Integer> d =
+            new DiccionarioConcurrente<Integer, Integer>();
+        int rondas = 50;
+        enHilos(HILOS, id -> {
+            for (int r = 0; r < rondas; r++)
+                for (int i = 0; i < total; i++)
+                    d.incrementa(i, 1);
+        });
+        Assert.assertTrue(d.getElementos() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(d.get(i) == HILOS * rondas);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#merge} desde varios
+     * hilos, agregando y eliminando llaves.
+     */
+    @Test public void testMergeConcurrente() throws InterruptedException {
+        DiccionarioConcurrente<Integer, Integer> d =
+            new DiccionarioConcurrente<Integer, Integer>();
+        enHilos(HILOS, id -> {
+            for (int r = 0; r < 100; r++)
+                for (int i = 0; i < total; i++)
+                    d.merge(i, id % 2 == 0 ? 1 : -1,
+                            (x, y) -> x + y == 0 ? null : x + y);
+        });
+        int n = 0;
+        for (int i = 0; i < total; i++)
+            n += d.contiene(i) ? 1 : 0;
+        Assert.assertTrue(d.getElementos() == n);
+        Iterator<Integer> it = d.iterator();
+        while (it.hasNext())
+            Assert.assertTrue(it.next() != 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#computeIfAbsent}
+     * desde varios hilos.
+     */
+    @Test public void testComputeIfAbsentConcurrente()
+        throws InterruptedException {
+        DiccionarioConcurrente<Integer, Object> d =
+            new DiccionarioConcurrente<Integer, Object>();
+        Object[][] vistos = new Object[HILOS][total];
+        enHilos(HILOS, id -> {
+            for (int i = 0; i < total; i++)
+                vistos[id][i] = d.computeIfAbsent(i, k -> new Object());
+        });
+        Assert.assertTrue(d.getElementos() == total);
+        for (int h = 1; h < HILOS; h++)
+            for (int i = 0; i < total; i++)
+                Assert.assertTrue(vistos[h][i] == vistos[0][i]);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#iteradorLlaves}
+     * mientras otros hilos modifican el diccionario.
+     */
+    @Test public void testIteradorLlavesConcurrente()
+        throws InterruptedException {
+        DiccionarioConcurrente<Integer, Integer> d =
+            new DiccionarioConcurrente<Integer, Integer>();
+        for (int i = 0; i < total; i++)
+            d.agrega(i, i);
+        AtomicBoolean termina = new AtomicBoolean();
+        enHilos(HILOS, id -> {
+            if (id == 0) {
+                try {
+                    for (int r = 0; r < 200; r++) {
+                        Iterator<Integer> it = d.iteradorLlaves();
+                        while (it.hasNext())
+                            Assert.assertTrue(it.next() != null);
+                    }
+                } finally {
+                    termina.set(true);
+                }
+            } else {
+                int k = total * id;
+                while (!termina.get()) {
+                    d.agrega(k, k);
+                    d.elimina(k);
+                }
+            }
+        });
+        Lista<Integer> llaves = new Lista<Integer>();
+        Iterator<Integer> it = d.iteradorLlaves();
+        while (it.hasNext())
+            llaves.agrega(it.next());
+        Assert.assertTrue(llaves.getLongitud() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(llaves.contiene(i));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        Assert.assertTrue(diccionario.getElementos() == total);
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertFalse(diccionario.iterator().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#toString}.
+     */
+    @Test public void testToString() {
+        Assert.assertTrue(diccionario.toString().equals("{}"));
+        diccionario.agrega("a", "b");
+        Assert.assertTrue(diccionario.toString().equals("{ 'a': 'b', }"));
+    }
+}
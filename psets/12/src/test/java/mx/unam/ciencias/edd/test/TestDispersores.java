@@ -1,5 +1,6 @@
 package mx.unam.ciencias.edd.test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 import mx.unam.ciencias.edd.Dispersores;
 import org.junit.Assert;
@@ -116,6 +117,56 @@ public class TestDispersores {
         0xea5b748b, 0x35ca067d, 0xef0ad6a0, 0xd065aacb
     };
 
+    /* Los resultados para SipHash-1-3 con llave 00..0f y mensajes 00..n-1. */
+    private static final int[] RESULTADOS_SIP = {
+        0xaea3c584, 0xb4a35160, 0xcf0c4f4f, 0x6c25fd43, 0x47a6d448,
+        0x97aaee48, 0x009209f7, 0x48236cd8, 0xbbb90f9f, 0x49a2b357,
+        0xeb218c91, 0x898cdb93, 0x2f175d13, 0x224689ab, 0xa0a3fc25,
+        0xf971413b
+    };
+
+    /* Longitudes de los subarreglos para MurmurHash3 y xxHash64. */
+    private static final int[] LONGITUDES = {
+        0, 1, 2, 3, 4, 5, 7, 8, 11, 12, 15, 16, 17, 31, 32, 33, 48, 49, 63,
+        64, 65, 96, 97, 99
+    };
+
+    /* Los resultados de MurmurHash3 con semilla 0. */
+    private static final int[] RESULTADOS_MURMUR3 = {
+        0x00000000, 0x0fc7a1b4, 0x680b0f29, 0x8ef7c3b0, 0x81c25590,
+        0xbe2ed914, 0x9ecbdd75, 0xec11611a, 0xf0615c1d, 0xb7960c1c,
+        0x52068636, 0x32d4e2f1, 0xd3c600bd, 0x195ff654, 0x4c96ea7a,
+        0xc75ff4c8, 0x9f92d51d, 0xf7c8598c, 0x1573f5fc, 0x8f66f249,
+        0x1d5c6a1c, 0xc12fc33d, 0x120e8e0f, 0xe163178c
+    };
+
+    /* Los resultados de xxHash64 con semilla 0. */
+    private static final long[] RESULTADOS_XX = {
+        0xef46db3751d8e999L, 0x26167c2af5162ca4L, 0xc805de1ac719be5aL,
+        0xf7a9c5eb82061f79L, 0x2fa26dd85c729daaL, 0xd9b31fe596a5cd5aL,
+        0x23cc395d599a7808L, 0x0f1b28f7229909d1L, 0x03f9f62fb7c84fb2L,
+        0x68f6f4704c1e76c8L, 0xa805cfa1d4b5b7eaL, 0x54d40dd9c58d9175L,
+        0xa6143873801269caL, 0x63cde5c5316f4da0L, 0x96981f7f67184141L,
+        0x09901a63b9388677L, 0x03033fd9bc10762cL, 0x3e855ff41d04a770L,
+        0x90c543d77f7d1142L, 0xbe3fd5c4bb87f331L, 0xb12c764b45800fd6L,
+        0x0d7e5d324d374e2eL, 0x5028b29f0df951d0L, 0xf3e703dd9d53845eL
+    };
+
+    /* Los mensajes de los vectores de prueba de wyhash. */
+    private static final String[] MENSAJES_WY = {
+        "", "a", "abc", "message digest", "abcdefghijklmnopqrstuvwxyz",
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789",
+        "1234567890123456789012345678901234567890" +
+        "1234567890123456789012345678901234567890"
+    };
+
+    /* Los resultados de wyhash, con el índice del mensaje como semilla. */
+    private static final long[] RESULTADOS_WY = {
+        0x93228a4de0eec5a2L, 0xc5bac3db178713c4L, 0xa97f2f7b1d9b3314L,
+        0x786d1f1df3801df4L, 0xdca5a8138ad37c87L, 0xb9e734f117cfaf70L,
+        0x6cc5eab49a92d617L
+    };
+
     /* Regresa un subarreglo del arreglo. */
     private byte[] subArreglo(int n) {
         byte[] sub = new byte[n];
@@ -156,4 +207,190 @@ public class TestDispersores {
             Assert.assertTrue(RESULTADOS_DJB[i-1] == r);
         }
     }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaSip}.
+     */
+    @Test public void testDispersaSip() {
+        long k0 = 0x0706050403020100L, k1 = 0x0f0e0d0c0b0a0908L;
+        for (int n = 0; n < RESULTADOS_SIP.length; n++) {
+            byte[] m = new byte[n];
+            for (int i = 0; i < n; i++)
+                m[i] = (byte)i;
+            Assert.assertTrue(Dispersores.dispersaSip(m, k0, k1) == RESULTADOS_SIP[n]);
+        }
+        for (int i = 1; i < ARREGLO.length; i++) {
+            byte[] sub = subArreglo(i);
+            int r = Dispersores.dispersaSip(sub, k0, k1);
+            Assert.assertTrue(r == Dispersores.dispersaSip(sub, k0, k1));
+            Assert.assertFalse(r == Dispersores.dispersaSip(sub, k0 + 1, k1));
+            Assert.assertFalse(r == Dispersores.dispersaSip(sub, k0, k1 + 1));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaMurmur3}.
+     */
+    @Test public void testDispersaMurmur3() {
+        for (int i = 0; i < LONGITUDES.length; i++) {
+            byte[] sub = subArreglo(LONGITUDES[i]);
+            Assert.assertTrue(Dispersores.dispersaMurmur3(sub) ==
+                              RESULTADOS_MURMUR3[i]);
+        }
+        Assert.assertTrue(Dispersores.dispersaMurmur3(new byte[0], 1) ==
+                          0x514e28b7);
+        byte[] zorro = "The quick brown fox jumps over the lazy dog"
+            .getBytes(StandardCharsets.US_ASCII);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(zorro) == 0x2e4ff723);
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaXX64} y {@link
+     * Dispersores#dispersaXX}.
+     */
+    @Test public void testDispersaXX() {
+        for (int i = 0; i < LONGITUDES.length; i++) {
+            byte[] sub = subArreglo(LONGITUDES[i]);
+            long h = RESULTADOS_XX[i];
+            Assert.assertTrue(Dispersores.dispersaXX64(sub, 0) == h);
+            Assert.assertTrue(Dispersores.dispersaXX(sub) ==
+                              (int)(h ^ (h >>> 32)));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaWy64} y {@link
+     * Dispersores#dispersaWy}.
+     */
+    @Test public void testDispersaWy() {
+        for (int i = 0; i < MENSAJES_WY.length; i++) {
+            byte[] m = MENSAJES_WY[i].getBytes(StandardCharsets.US_ASCII);
+            Assert.assertTrue(Dispersores.dispersaWy64(m, i) ==
+                              RESULTADOS_WY[i]);
+        }
+        for (int i = 1; i < ARREGLO.length; i++) {
+            byte[] sub = subArreglo(i);
+            long h = Dispersores.dispersaWy64(sub, 0);
+            Assert.assertTrue(Dispersores.dispersaWy(sub) ==
+                              (int)(h ^ (h >>> 32)));
+            Assert.assertFalse(h == Dispersores.dispersaWy64(sub, 1));
+        }
+    }
+
+    /* Regresa una cadena aleatoria de la longitud recibida; si ascii es
+     * falso, incluye letras acentuadas, caracteres de tres bytes en UTF-8,
+     * pares sustitutos y sustitutos sin pareja. */
+    private static String cadena(Random random, int n, boolean ascii) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            switch (ascii ? 0 : random.nextInt(5)) {
+            case 0: sb.append((char)random.nextInt(0x80)); break;
+            case 1: sb.append((char)(0x80 + random.nextInt(0x780))); break;
+            case 2: sb.append((char)(0x800 + random.nextInt(0xD000))); break;
+            case 3: sb.appendCodePoint(0x10000 + random.nextInt(0x100000)); break;
+            default: sb.append((char)(0xD800 + random.nextInt(0x800)));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaXOR(CharSequence)},
+     * {@link Dispersores#dispersaBJ(CharSequence)} y {@link
+     * Dispersores#dispersaDJB(CharSequence)} con cadenas ASCII.
+     */
+    @Test public void testDispersaCadenaASCII() {
+        Random random = new Random();
+        for (int n = 0; n < 40; n++) {
+            String s = cadena(random, n, true);
+            byte[] b = s.getBytes(StandardCharsets.US_ASCII);
+            Assert.assertTrue(Dispersores.dispersaXOR(s) ==
+                              Dispersores.dispersaXOR(b));
+            Assert.assertTrue(Dispersores.dispersaBJ(s) ==
+                              Dispersores.dispersaBJ(b));
+            Assert.assertTrue(Dispersores.dispersaDJB(s) ==
+                              Dispersores.dispersaDJB(b));
+        }
+        Assert.assertFalse(Dispersores.dispersaBJ("á") ==
+                           Dispersores.dispersaBJ("é"));
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaXOR(CharSequence,
+     * boolean)}, {@link Dispersores#dispersaBJ(CharSequence, boolean)} y
+     * {@link Dispersores#dispersaDJB(CharSequence, boolean)} codificando en
+     * UTF-8.
+     */
+    @Test public void testDispersaCadenaUTF8() {
+        Random random = new Random();
+        for (int n = 0; n < 40; n++) {
+            String s = cadena(random, n, false);
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            Assert.assertTrue(Dispersores.dispersaXOR(s, true) ==
+                              Dispersores.dispersaXOR(b));
+            Assert.assertTrue(Dispersores.dispersaBJ(s, true) ==
+                              Dispersores.dispersaBJ(b));
+            Assert.assertTrue(Dispersores.dispersaDJB(s, true) ==
+                              Dispersores.dispersaDJB(b));
+        }
+        StringBuilder sb = new StringBuilder("señal");
+        Assert.assertTrue(Dispersores.dispersaBJ(sb, true) ==
+                          Dispersores.dispersaBJ("señal", true));
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaSip(CharSequence,
+     * long, long)}.
+     */
+    @Test public void testDispersaSipCadena() {
+        Random random = new Random();
+        long k0 = random.nextLong(), k1 = random.nextLong();
+        for (int n = 0; n < 80; n++) {
+            for (boolean ascii : new boolean[] { true, false }) {
+                String s = cadena(random, n, ascii);
+                byte[] b = s.getBytes(StandardCharsets.UTF_8);
+                Assert.assertTrue(Dispersores.dispersaSip(s, k0, k1) ==
+                                  Dispersores.dispersaSip(b, k0, k1));
+            }
+        }
+        StringBuilder sb = new StringBuilder("señal");
+        Assert.assertTrue(Dispersores.dispersaSip(sb, k0, k1) ==
+                          Dispersores.dispersaSip("señal", k0, k1));
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaMurmur3(CharSequence,
+     * int)}, {@link Dispersores#dispersaXX64(CharSequence, long)} y {@link
+     * Dispersores#dispersaWy64(CharSequence, long)}, con longitudes que
+     * cubren los bloques de 32 bytes de xxHash64 y los de 48 de wyhash.
+     */
+    @Test public void testDispersaPalabrasCadena() {
+        Random random = new Random();
+        int semilla = random.nextInt();
+        for (int n = 0; n < 130; n++) {
+            for (boolean ascii : new boolean[] { true, false }) {
+                String s = cadena(random, n, ascii);
+                byte[] b = s.getBytes(StandardCharsets.UTF_8);
+                Assert.assertTrue(Dispersores.dispersaMurmur3(s) ==
+                                  Dispersores.dispersaMurmur3(b));
+                Assert.assertTrue(Dispersores.dispersaMurmur3(s, semilla) ==
+                                  Dispersores.dispersaMurmur3(b, semilla));
+                Assert.assertTrue(Dispersores.dispersaXX(s) ==
+                                  Dispersores.dispersaXX(b));
+                Assert.assertTrue(Dispersores.dispersaXX64(s, semilla) ==
+                                  Dispersores.dispersaXX64(b, semilla));
+                Assert.assertTrue(Dispersores.dispersaWy(s) ==
+                                  Dispersores.dispersaWy(b));
+                Assert.assertTrue(Dispersores.dispersaWy64(s, semilla) ==
+                                  Dispersores.dispersaWy64(b, semilla));
+            }
+        }
+        StringBuilder sb = new StringBuilder("señal");
+        Assert.assertTrue(Dispersores.dispersaMurmur3(sb) ==
+                          Dispersores.dispersaMurmur3("señal"));
+        Assert.assertTrue(Dispersores.dispersaXX(sb) ==
+                          Dispersores.dispersaXX("señal"));
+        Assert.assertTrue(Dispersores.dispersaWy(sb) ==
+                          Dispersores.dispersaWy("señal"));
+    }
 }
@@ -1,9 +1,11 @@
 package mx.unam.ciencias.edd.test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 import mx.unam.ciencias.edd.AlgoritmoDispersor;
 import mx.unam.ciencias.edd.FabricaDispersores;
 import mx.unam.ciencias.edd.Dispersor;
+import mx.unam.ciencias.edd.Dispersores;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -115,4 +117,81 @@ public class TestFabricaDispersores {
         for (String mensaje : MENSAJES)
             Assert.assertTrue(djb.dispersa(mensaje) == DISPERSORES_DJB[i++]);
     }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} con la
+     * huella digital SipHash-1-3 y llave secreta aleatoria.
+     */
+    @Test public void testDispersorCadenaSip() {
+        Dispersor<String> sip =
+            FabricaDispersores.dispersorCadena(AlgoritmoDispersor.SIP_STRING);
+        Dispersor<String> otro =
+            FabricaDispersores.dispersorCadena(AlgoritmoDispersor.SIP_STRING);
+        int iguales = 0;
+        for (String mensaje : MENSAJES) {
+            Assert.assertTrue(sip.dispersa(mensaje) == sip.dispersa(mensaje));
+            iguales += sip.dispersa(mensaje) == otro.dispersa(mensaje) ? 1 : 0;
+        }
+        Assert.assertTrue(iguales < MENSAJES.length);
+    }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadenaSip}.
+     */
+    @Test public void testDispersorCadenaSipLlave() {
+        Dispersor<String> a = FabricaDispersores.dispersorCadenaSip(1L, 2L);
+        Dispersor<String> b = FabricaDispersores.dispersorCadenaSip(1L, 2L);
+        for (String mensaje : MENSAJES) {
+            Assert.assertTrue(a.dispersa(mensaje) == b.dispersa(mensaje));
+            byte[] utf8 = mensaje.getBytes(StandardCharsets.UTF_8);
+            Assert.assertTrue(a.dispersa(mensaje) ==
+                              Dispersores.dispersaSip(utf8, 1L, 2L));
+        }
+        Assert.assertTrue(a.dispersa("") ==
+                          Dispersores.dispersaSip(new byte[0], 1L, 2L));
+    }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} sin
+     * compatibilidad con UTF-8.
+     */
+    @Test public void testDispersorCadenaCaracteres() {
+        for (AlgoritmoDispersor algoritmo : new AlgoritmoDispersor[] {
+                AlgoritmoDispersor.XOR_STRING, AlgoritmoDispersor.BJ_STRING,
+                AlgoritmoDispersor.DJB_STRING }) {
+            Dispersor<String> utf8 =
+                FabricaDispersores.dispersorCadena(algoritmo);
+            Dispersor<String> caracteres =
+                FabricaDispersores.dispersorCadena(algoritmo, false);
+            int iguales = 0;
+            for (String mensaje : MENSAJES) {
+                String ascii = mensaje.replaceAll("[^a-z]", "");
+                Assert.assertTrue(utf8.dispersa(ascii) ==
+                                  caracteres.dispersa(ascii));
+                iguales += utf8.dispersa(mensaje) ==
+                    caracteres.dispersa(mensaje) ? 1 : 0;
+            }
+            Assert.assertTrue(iguales < MENSAJES.length);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} con las
+     * huellas digitales MurmurHash3, xxHash64 y wyhash.
+     */
+    @Test public void testDispersorCadenaPalabras() {
+        Dispersor<String> murmur3 =
+            FabricaDispersores.dispersorCadena(AlgoritmoDispersor.MURMUR3_STRING);
+        Dispersor<String> xx =
+            FabricaDispersores.dispersorCadena(AlgoritmoDispersor.XX_STRING);
+        Dispersor<String> wy =
+            FabricaDispersores.dispersorCadena(AlgoritmoDispersor.WY_STRING);
+        for (String mensaje : MENSAJES) {
+            byte[] b = mensaje.getBytes(StandardCharsets.UTF_8);
+            Assert.assertTrue(murmur3.dispersa(mensaje) ==
+                              Dispersores.dispersaMurmur3(b));
+            Assert.assertTrue(xx.dispersa(mensaje) == Dispersores.dispersaXX(b));
+            Assert.assertTrue(wy.dispersa(mensaje) == Dispersores.dispersaWy(b));
+        }
+    }
 }
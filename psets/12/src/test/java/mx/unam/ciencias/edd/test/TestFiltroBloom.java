@@ -0,0 +1,136 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.AlgoritmoDispersor;
+import mx.unam.ciencias.edd.FabricaDispersores;
+import mx.unam.ciencias.edd.FiltroBloom;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link FiltroBloom}.
+ */
+public class TestFiltroBloom {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El filtro. */
+    private FiltroBloom<Integer> filtro;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número
+     * total de elementos y un filtro para ellos.
+     */
+    public TestFiltroBloom() {
+        random = new Random();
+        total = 1000 + random.nextInt(9000);
+        filtro = new FiltroBloom<Integer>(total, 0.01);
+    }
+
+    /* Cuenta los falsos positivos de los enteros en [total, total + n). */
+    private int falsosPositivos(int n) {
+        int falsos = 0;
+        for (int i = total; i < total + n; i++)
+            if (filtro.contiene(i))
+                falsos++;
+        return falsos;
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloom#FiltroBloom}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(filtro.getElementos() == 0);
+        Assert.assertTrue(filtro.getFunciones() == 7);
+        Assert.assertTrue(filtro.getLongitud() >= 9 * total);
+        Assert.assertTrue(filtro.getLongitud() <= 10 * total);
+        Assert.assertTrue(filtro.probabilidadFalsos() == 0);
+        FiltroBloom<Integer> f = new FiltroBloom<Integer>(1, 0.5);
+        Assert.assertTrue(f.getLongitud() == 64);
+        double[] invalidas = { 0, 1, -0.5, 2, Double.NaN };
+        for (double p : invalidas) {
+            try {
+                new FiltroBloom<Integer>(total, p);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        }
+        try {
+            new FiltroBloom<Integer>(0, 0.01);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new FiltroBloom<Integer>(total, 0.01, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloom#agrega}.
+     */
+    @Test public void testAgrega() {
+        try {
+            filtro.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++) {
+            filtro.agrega(i);
+            Assert.assertTrue(filtro.contiene(i));
+            Assert.assertTrue(filtro.getElementos() == i + 1);
+        }
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(filtro.contiene(i));
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloom#contiene}.
+     */
+    @Test public void testContiene() {
+        Assert.assertFalse(filtro.contiene(null));
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(filtro.contiene(random.nextInt()));
+        for (int i = 0; i < total; i++)
+            filtro.agrega(i);
+        int n = 100000;
+        double p = (double)falsosPositivos(n) / n;
+        Assert.assertTrue(p < 0.02);
+        Assert.assertTrue(Math.abs(filtro.probabilidadFalsos() - 0.01) < 0.002);
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloom} con un dispersor de {@link
+     * FabricaDispersores}.
+     */
+    @Test public void testDispersor() {
+        FiltroBloom<String> f = new FiltroBloom<String>(total, 0.001,
+            FabricaDispersores.dispersorCadena(AlgoritmoDispersor.XX_STRING));
+        Assert.assertTrue(f.getFunciones() == 10);
+        for (int i = 0; i < total; i++)
+            f.agrega("llave" + i);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(f.contiene("llave" + i));
+        int falsos = 0, n = 100000;
+        for (int i = 0; i < n; i++)
+            if (f.contiene("otra" + i))
+                falsos++;
+        Assert.assertTrue((double)falsos / n < 0.003);
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloom#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            filtro.agrega(i);
+        filtro.limpia();
+        Assert.assertTrue(filtro.getElementos() == 0);
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(filtro.contiene(i));
+    }
+}
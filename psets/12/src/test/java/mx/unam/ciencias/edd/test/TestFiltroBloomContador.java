@@ -0,0 +1,140 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.FiltroBloomContador;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link FiltroBloomContador}.
+ */
+public class TestFiltroBloomContador {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El filtro. */
+    private FiltroBloomContador<Integer> filtro;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número
+     * total de elementos y un filtro para ellos.
+     */
+    public TestFiltroBloomContador() {
+        random = new Random();
+        total = 1000 + random.nextInt(9000);
+        filtro = new FiltroBloomContador<Integer>(total, 0.01);
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloomContador#FiltroBloomContador}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(filtro.getElementos() == 0);
+        Assert.assertTrue(filtro.getFunciones() == 7);
+        Assert.assertTrue(filtro.getLongitud() >= 9 * total);
+        Assert.assertTrue(filtro.getLongitud() <= 10 * total);
+        try {
+            new FiltroBloomContador<Integer>(-1, 0.01);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new FiltroBloomContador<Integer>(total, 1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new FiltroBloomContador<Integer>(total, 0.01, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloomContador#agrega} y {@link
+     * FiltroBloomContador#contiene}.
+     */
+    @Test public void testAgregaContiene() {
+        try {
+            filtro.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertFalse(filtro.contiene(null));
+        for (int i = 0; i < total; i++)
+            filtro.agrega(i);
+        Assert.assertTrue(filtro.getElementos() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(filtro.contiene(i));
+        int falsos = 0, n = 100000;
+        for (int i = total; i < total + n; i++)
+            if (filtro.contiene(i))
+                falsos++;
+        Assert.assertTrue((double)falsos / n < 0.02);
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloomContador#elimina}.
+     */
+    @Test public void testElimina() {
+        for (int i = 0; i < total; i++)
+            filtro.agrega(i);
+        for (int i = 0; i < total; i += 2)
+            filtro.elimina(i);
+        Assert.assertTrue(filtro.getElementos() == total / 2);
+        for (int i = 1; i < total; i += 2)
+            Assert.assertTrue(filtro.contiene(i));
+        int falsos = 0;
+        for (int i = 0; i < total; i += 2)
+            if (filtro.contiene(i))
+                falsos++;
+        Assert.assertTrue(falsos < total / 50);
+        for (int i = 1; i < total; i += 2)
+            filtro.elimina(i);
+        Assert.assertTrue(filtro.getElementos() == 0);
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(filtro.contiene(i));
+        filtro.elimina(null);
+        filtro.elimina(random.nextInt());
+        Assert.assertTrue(filtro.getElementos() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloomContador#elimina} con contadores
+     * saturados.
+     */
+    @Test public void testSaturacion() {
+        FiltroBloomContador<Integer> f =
+            new FiltroBloomContador<Integer>(1, 0.5);
+        int n = 20 + random.nextInt(20);
+        for (int k = 0; k < n; k++)
+            f.agrega(7);
+        for (int k = 0; k < n - 1; k++)
+            f.elimina(7);
+        Assert.assertTrue(f.contiene(7));
+        int[] otros = new int[100];
+        for (int k = 0; k < otros.length; k++) {
+            otros[k] = random.nextInt();
+            f.agrega(otros[k]);
+        }
+        for (int k = 0; k < otros.length; k++)
+            f.elimina(otros[k]);
+        Assert.assertTrue(f.contiene(7));
+    }
+
+    /**
+     * Prueba unitaria para {@link FiltroBloomContador#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            filtro.agrega(i);
+        filtro.limpia();
+        Assert.assertTrue(filtro.getElementos() == 0);
+        Assert.assertTrue(filtro.probabilidadFalsos() == 0);
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(filtro.contiene(i));
+    }
+}
@@ -0,0 +1,445 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
+import mx.unam.ciencias.edd.IteradorLista;
+import mx.unam.ciencias.edd.ListaDesenrollada;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ListaDesenrollada}.
+ */
+public class TestListaDesenrollada {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos; suficientes para varios bloques. */
+    private int total;
+    /* La lista. */
+    private ListaDesenrollada<Integer> lista;
+
+    /* Valida una lista contra los primeros n elementos del arreglo. */
+    private void validaLista(ListaDesenrollada<Integer> lista,
+                             int[] arreglo, int n) {
+        Assert.assertTrue(lista.getLongitud() == n);
+        Assert.assertTrue(lista.getElementos() == n);
+        Assert.assertTrue(lista.esVacia() == (n == 0));
+        int c = 0;
+        for (Integer e : lista)
+            Assert.assertTrue(arreglo[c++] == e);
+        Assert.assertTrue(c == n);
+        IteradorLista<Integer> i = lista.iteradorLista();
+        i.end();
+        while (i.hasPrevious())
+            Assert.assertTrue(arreglo[--c] == i.previous());
+        Assert.assertTrue(c == 0);
+    }
+
+    /* Valida una lista consigo misma. */
+    private void validaLista(ListaDesenrollada<Integer> lista) {
+        int[] arreglo = new int[lista.getLongitud()];
+        int c = 0;
+        for (Integer e : lista)
+            arreglo[c++] = e;
+        validaLista(lista, arreglo, c);
+    }
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número total
+     * de elementos para nuestra lista, y una lista.
+     */
+    public TestListaDesenrollada() {
+        random = new Random();
+        total = 100 + random.nextInt(400);
+        lista = new ListaDesenrollada<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#ListaDesenrollada}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(lista != null);
+        Assert.assertTrue(lista.esVacia());
+        Assert.assertTrue(lista.getLongitud() == 0);
+        Assert.assertTrue(lista.getElementos() == 0);
+        Assert.assertFalse(lista.iterator().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#agrega} y {@link
+     * ListaDesenrollada#agregaFinal}.
+     */
+    @Test public void testAgrega() {
+        int[] arreglo = new int[total];
+        for (int i = 0; i < total; i++) {
+            arreglo[i] = random.nextInt(total);
+            if (i % 2 == 0)
+                lista.agrega(arreglo[i]);
+            else
+                lista.agregaFinal(arreglo[i]);
+            Assert.assertTrue(lista.getUltimo() == arreglo[i]);
+            Assert.assertTrue(lista.getPrimero() == arreglo[0]);
+        }
+        validaLista(lista, arreglo, total);
+        try {
+            lista.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            lista.agregaFinal(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#agregaInicio}.
+     */
+    @Test public void testAgregaInicio() {
+        int[] arreglo = new int[total];
+        for (int i = 0; i < total; i++) {
+            arreglo[total - 1 - i] = random.nextInt(total);
+            lista.agregaInicio(arreglo[total - 1 - i]);
+            Assert.assertTrue(lista.getPrimero() == arreglo[total - 1 - i]);
+            Assert.assertTrue(lista.getUltimo() == arreglo[total - 1]);
+        }
+        validaLista(lista, arreglo, total);
+        try {
+            lista.agregaInicio(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#inserta}. Las
+     * inserciones en medio llenan y parten los bloques.
+     */
+    @Test public void testInserta() {
+        int[] arreglo = new int[total];
+        int n = 0;
+        for (int i = 0; i < total; i++) {
+            int m = random.nextInt(n + 3) - 1;
+            int e = random.nextInt(total);
+            lista.inserta(m, e);
+            m = Math.max(0, Math.min(m, n));
+            System.arraycopy(arreglo, m, arreglo, m + 1, n - m);
+            arreglo[m] = e;
+            n++;
+            Assert.assertTrue(lista.get(m) == e);
+        }
+        validaLista(lista, arreglo, n);
+        for (int i = -1; i <= total; i++)
+            try {
+                lista.inserta(i, null);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        /* Siempre en el mismo lugar, para partir el mismo bloque. */
+        lista = new ListaDesenrollada<Integer>();
+        lista.agrega(-1);
+        lista.agrega(-2);
+        for (int i = 0; i < total; i++)
+            lista.inserta(1, i);
+        Assert.assertTrue(lista.getPrimero() == -1);
+        Assert.assertTrue(lista.getUltimo() == -2);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.get(i + 1) == total - 1 - i);
+        validaLista(lista);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#elimina}.
+     */
+    @Test public void testElimina() {
+        lista.elimina(null);
+        lista.elimina(0);
+        Assert.assertTrue(lista.esVacia());
+        int[] arreglo = new int[total];
+        for (int i = 0; i < total; i++) {
+            arreglo[i] = i;
+            lista.agrega(i);
+        }
+        int n = total;
+        lista.elimina(total);
+        validaLista(lista, arreglo, n);
+        while (n > 0) {
+            int m = random.nextInt(n);
+            int e = arreglo[m];
+            Assert.assertTrue(lista.contiene(e));
+            lista.elimina(e);
+            Assert.assertFalse(lista.contiene(e));
+            System.arraycopy(arreglo, m + 1, arreglo, m, n - m - 1);
+            n--;
+            validaLista(lista, arreglo, n);
+        }
+        Assert.assertTrue(lista.esVacia());
+        /* Con repetidos se elimina la primera aparición. */
+        lista.agrega(1);
+        lista.agrega(2);
+        lista.agrega(1);
+        lista.elimina(1);
+        Assert.assertTrue(lista.getPrimero() == 2);
+        Assert.assertTrue(lista.getUltimo() == 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#eliminaPrimero}.
+     */
+    @Test public void testEliminaPrimero() {
+        try {
+            lista.eliminaPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++)
+            lista.agrega(i);
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(lista.eliminaPrimero() == i);
+            Assert.assertTrue(lista.getLongitud() == total - 1 - i);
+        }
+        Assert.assertTrue(lista.esVacia());
+        try {
+            lista.eliminaPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#eliminaUltimo}.
+     */
+    @Test public void testEliminaUltimo() {
+        try {
+            lista.eliminaUltimo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++)
+            lista.agrega(i);
+        for (int i = total - 1; i >= 0; i--) {
+            Assert.assertTrue(lista.eliminaUltimo() == i);
+            Assert.assertTrue(lista.getLongitud() == i);
+        }
+        Assert.assertTrue(lista.esVacia());
+        try {
+            lista.eliminaUltimo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#contiene} y {@link
+     * ListaDesenrollada#indiceDe}.
+     */
+    @Test public void testIndiceDe() {
+        Assert.assertFalse(lista.contiene(0));
+        Assert.assertTrue(lista.indiceDe(0) == -1);
+        int ini = random.nextInt(total);
+        for (int i = 0; i < total; i++)
+            lista.agrega(ini + i);
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(lista.contiene(ini + i));
+            Assert.assertTrue(lista.indiceDe(ini + i) == i);
+        }
+        Assert.assertFalse(lista.contiene(ini - 1));
+        Assert.assertTrue(lista.indiceDe(ini + total) == -1);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#get}.
+     */
+    @Test public void testGet() {
+        int[] arreglo = new int[total];
+        for (int i = 0; i < total; i++) {
+            arreglo[i] = random.nextInt(total);
+            lista.agrega(arreglo[i]);
+        }
+        /* Quita elementos al azar para que los bloques no estén llenos. */
+        int n = total;
+        for (int i = 0; i < total / 2; i++) {
+            int m = random.nextInt(n);
+            lista.elimina(arreglo[m]);
+            int p = 0;
+            while (arreglo[p] != arreglo[m])
+                p++;
+            System.arraycopy(arreglo, p + 1, arreglo, p, n - p - 1);
+            n--;
+        }
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(lista.get(i) == arreglo[i]);
+        try {
+            lista.get(-1);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            lista.get(n);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#reversa}.
+     */
+    @Test public void testReversa() {
+        Assert.assertTrue(lista.reversa().esVacia());
+        for (int i = 0; i < total; i++)
+            lista.inserta(random.nextInt(i + 1), i);
+        ListaDesenrollada<Integer> reversa = lista.reversa();
+        Assert.assertTrue(reversa != lista);
+        Assert.assertTrue(reversa.getLongitud() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(reversa.get(i) == lista.get(total - 1 - i));
+        validaLista(reversa);
+        Assert.assertTrue(reversa.reversa().equals(lista));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#copia} y {@link
+     * ListaDesenrollada#equals}.
+     */
+    @Test public void testCopiaEquals() {
+        Assert.assertTrue(lista.copia().equals(lista));
+        Assert.assertFalse(lista.equals(null));
+        Assert.assertFalse(lista.equals("[]"));
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(random.nextInt(total));
+        ListaDesenrollada<Integer> copia = lista.copia();
+        Assert.assertTrue(copia != lista);
+        Assert.assertTrue(copia.equals(lista));
+        Assert.assertTrue(lista.equals(copia));
+        validaLista(copia);
+        copia.eliminaUltimo();
+        Assert.assertFalse(copia.equals(lista));
+        copia.agrega(lista.getUltimo() + 1);
+        Assert.assertFalse(copia.equals(lista));
+        Assert.assertFalse(lista.equals(copia));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            lista.agrega(i);
+        lista.limpia();
+        validaLista(lista, new int[0], 0);
+        try {
+            lista.getPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            lista.getUltimo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        lista.agrega(total);
+        Assert.assertTrue(lista.getPrimero() == total);
+        Assert.assertTrue(lista.getUltimo() == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#toString}.
+     */
+    @Test public void testToString() {
+        Assert.assertTrue(lista.toString().equals("[]"));
+        String cadena = "[";
+        for (int i = 0; i < total; i++) {
+            lista.agrega(i);
+            cadena += i;
+            if (i < total - 1)
+                cadena += ", ";
+        }
+        cadena += "]";
+        Assert.assertTrue(lista.toString().equals(cadena));
+    }
+
+    /**
+     * Prueba unitaria para los iteradores de {@link ListaDesenrollada}.
+     */
+    @Test public void testIterador() {
+        Iterator<Integer> it = lista.iterator();
+        Assert.assertFalse(it.hasNext());
+        try {
+            it.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        IteradorLista<Integer> i = lista.iteradorLista();
+        i.end();
+        Assert.assertFalse(i.hasPrevious());
+        try {
+            i.previous();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int j = 0; j < total; j++)
+            lista.agrega(j);
+        i = lista.iteradorLista();
+        Assert.assertFalse(i.hasPrevious());
+        /* Avanza y retrocede cruzando las fronteras de los bloques. */
+        int c = 0;
+        for (int r = 0; r < total; r++) {
+            if (c > 0 && (c == total || random.nextBoolean())) {
+                Assert.assertTrue(i.hasPrevious());
+                Assert.assertTrue(i.previous() == --c);
+            } else {
+                Assert.assertTrue(i.hasNext());
+                Assert.assertTrue(i.next() == c++);
+            }
+        }
+        i.end();
+        Assert.assertFalse(i.hasNext());
+        try {
+            i.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Assert.assertTrue(i.previous() == total - 1);
+        i.start();
+        Assert.assertFalse(i.hasPrevious());
+        Assert.assertTrue(i.next() == 0);
+    }
+
+    /**
+     * Prueba operaciones aleatorias de {@link ListaDesenrollada} contra un
+     * arreglo.
+     */
+    @Test public void testOperacionesAleatorias() {
+        int[] arreglo = new int[total * 4];
+        int n = 0;
+        for (int r = 0; r < total * 4; r++) {
+            int e = random.nextInt(total);
+            switch (n == 0 ? 0 : random.nextInt(5)) {
+            case 0:
+                int m = random.nextInt(n + 1);
+                lista.inserta(m, e);
+                System.arraycopy(arreglo, m, arreglo, m + 1, n - m);
+                arreglo[m] = e;
+                n++;
+                break;
+            case 1:
+                lista.agregaInicio(e);
+                System.arraycopy(arreglo, 0, arreglo, 1, n++);
+                arreglo[0] = e;
+                break;
+            case 2:
+                Assert.assertTrue(lista.eliminaPrimero() == arreglo[0]);
+                System.arraycopy(arreglo, 1, arreglo, 0, --n);
+                break;
+            case 3:
+                Assert.assertTrue(lista.eliminaUltimo() == arreglo[--n]);
+                break;
+            default:
+                m = random.nextInt(n);
+                e = arreglo[m];
+                Assert.assertTrue(lista.get(m) == e);
+                int p = lista.indiceDe(e);
+                Assert.assertTrue(p <= m && arreglo[p] == e);
+                lista.elimina(e);
+                System.arraycopy(arreglo, p + 1, arreglo, p, n - p - 1);
+                n--;
+                break;
+            }
+        }
+        validaLista(lista, arreglo, n);
+    }
+}
@@ -0,0 +1,161 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.TopK;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link TopK}.
+ */
+public class TestTopK {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* El número de contadores. */
+    private int k;
+    /* La estructura. */
+    private TopK<Integer> topK;
+
+    /**
+     * Crea un generador de números aleatorios, un número de contadores y una
+     * estructura para cada prueba.
+     */
+    public TestTopK() {
+        random = new Random();
+        k = 10 + random.nextInt(90);
+        topK = new TopK<Integer>(k);
+    }
+
+    /* Regresa una secuencia aleatoria en la que el elemento i aparece
+     * aproximadamente n / (i + 1) veces, y guarda las frecuencias. */
+    private int[] secuencia(int n, int[] frecuencias) {
+        Lista<Integer> l = new Lista<Integer>();
+        for (int i = 0; i < frecuencias.length; i++) {
+            frecuencias[i] = n / (i + 1);
+            for (int j = 0; j < frecuencias[i]; j++)
+                l.agrega(i);
+        }
+        int[] s = new int[l.getElementos()];
+        int i = 0;
+        for (Integer e : l)
+            s[i++] = e;
+        for (i = s.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = s[i];
+            s[i] = s[j];
+            s[j] = t;
+        }
+        return s;
+    }
+
+    /**
+     * Prueba unitaria para {@link TopK#TopK}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(topK.getK() == k);
+        Assert.assertTrue(topK.getElementos() == 0);
+        Assert.assertTrue(topK.getTotal() == 0);
+        Assert.assertTrue(topK.mayores(k).esVacia());
+        try {
+            new TopK<Integer>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link TopK#agrega} con menos elementos distintos
+     * que contadores, donde las cuentas son exactas.
+     */
+    @Test public void testExacto() {
+        int[] frecuencias = new int[k];
+        int[] s = secuencia(10 * k, frecuencias);
+        for (int e : s)
+            topK.agrega(e);
+        Assert.assertTrue(topK.getTotal() == s.length);
+        Assert.assertTrue(topK.getElementos() == k);
+        for (int i = 0; i < k; i++) {
+            Assert.assertTrue(topK.getCuenta(i) == frecuencias[i]);
+            Assert.assertTrue(topK.getError(i) == 0);
+        }
+        Assert.assertTrue(topK.getCuenta(k) == 0);
+        Assert.assertTrue(topK.getCuenta(null) == 0);
+        Lista<Integer> mayores = topK.mayores(k);
+        Assert.assertTrue(mayores.getElementos() == k);
+        long anterior = Long.MAX_VALUE;
+        for (Integer e : mayores) {
+            Assert.assertTrue(topK.getCuenta(e) <= anterior);
+            anterior = topK.getCuenta(e);
+        }
+        Assert.assertTrue(mayores.getPrimero() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link TopK#agrega} con más elementos distintos
+     * que contadores.
+     */
+    @Test public void testCotas() {
+        int[] frecuencias = new int[20 * k];
+        int[] s = secuencia(50 * k, frecuencias);
+        for (int e : s)
+            topK.agrega(e);
+        long n = topK.getTotal();
+        Assert.assertTrue(topK.getElementos() == k);
+        for (int i = 0; i < frecuencias.length; i++) {
+            if (frecuencias[i] > n / k)
+                Assert.assertTrue(topK.contiene(i));
+            if (!topK.contiene(i))
+                continue;
+            long c = topK.getCuenta(i), e = topK.getError(i);
+            Assert.assertTrue(c >= frecuencias[i]);
+            Assert.assertTrue(c - e <= frecuencias[i]);
+            Assert.assertTrue(e <= n / k);
+        }
+        Assert.assertTrue(topK.mayores(3).getPrimero() == 0);
+        Assert.assertTrue(topK.mayores(3).getElementos() == 3);
+    }
+
+    /**
+     * Prueba unitaria para {@link TopK#agrega(Object, long)}.
+     */
+    @Test public void testAgregaCuenta() {
+        topK.agrega(1, 5);
+        topK.agrega(1, 0);
+        topK.agrega(2);
+        Assert.assertTrue(topK.getCuenta(1) == 5);
+        Assert.assertTrue(topK.getTotal() == 6);
+        try {
+            topK.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            topK.agrega(1, -1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            topK.mayores(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link TopK#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < 10 * k; i++)
+            topK.agrega(random.nextInt(2 * k));
+        topK.limpia();
+        Assert.assertTrue(topK.getElementos() == 0);
+        Assert.assertTrue(topK.getTotal() == 0);
+        for (int i = 0; i < 2 * k; i++)
+            Assert.assertFalse(topK.contiene(i));
+        topK.agrega(3);
+        Assert.assertTrue(topK.getCuenta(3) == 1);
+    }
+}